@@ -14,6 +14,26 @@ public class ApiConstants {
     public static final String ENV_CRAWL_DELAY_KEY = "LDCBENCH_CRAWL_DELAY";
     public static final String ENV_DISALLOWED_RATIO_KEY = "LDCBENCH_DISALLOWED_RATIO";
     public static final String ENV_COMPRESSED_RATIO_KEY = "LDCBENCH_COMPRESSED_RATIO";
+    /**
+     * Memory budget (in MiB) of the response cache of dereferencing HTTP nodes.
+     * A value of 0 disables the cache.
+     */
+    public static final String ENV_RESPONSE_CACHE_SIZE_KEY = "LDCBENCH_RESPONSE_CACHE_SIZE";
+    /**
+     * The server backend of HTTP nodes ("simple" (default) or "elastic").
+     */
+    public static final String ENV_HTTP_SERVER_BACKEND_KEY = "LDCBENCH_HTTP_SERVER_BACKEND";
+    /**
+     * The (maximum) number of threads handling requests of HTTP nodes. A value
+     * of 0 uses the default of the chosen backend.
+     */
+    public static final String ENV_HTTP_SERVER_THREADS_KEY = "LDCBENCH_HTTP_SERVER_THREADS";
+    /**
+     * Comma separated list of the content encodings (gzip, deflate, br) HTTP
+     * nodes use for dereferenced resources if the client accepts them. An empty
+     * list (the default) disables the encoding of responses.
+     */
+    public static final String ENV_CONTENT_ENCODINGS_KEY = "LDCBENCH_CONTENT_ENCODINGS";
 
     public static final String ENV_SEED_KEY = "LDCBENCH_DATAGENERATOR_SEED";
     public static final String ENV_COMPONENT_COUNT_KEY = "LDCBENCH_COMPONENT_COUNT";
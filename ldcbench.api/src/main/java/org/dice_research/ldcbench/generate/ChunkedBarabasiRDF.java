@@ -0,0 +1,435 @@
+package org.dice_research.ldcbench.generate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A parallel preferential attachment generator that creates the same graph for
+ * the same seed independently of the number of threads it uses.
+ *
+ * <p>
+ * The nodes are split into chunks of {@value #CHUNK_SIZE} nodes. Every chunk
+ * has its own {@link SplittableRandom} that is seeded with a seed of a
+ * {@link SequentialSeedGenerator}. Since the chunk borders do not depend on
+ * the number of threads and a chunk is always processed by a single thread, the
+ * random numbers drawn for a node are always the same.
+ * </p>
+ *
+ * <p>
+ * The degrees of the nodes are not counted explicitly. Instead, the edge list
+ * is the degree structure (following Batagelj and Brandes): every node
+ * {@code v} chooses the nodes it is connected to by drawing a uniformly
+ * distributed position in the edge list of the nodes before it and copying the
+ * node at this position. Since a node occurs in this list once for every edge
+ * it has, it is chosen with a probability proportional to its degree. The
+ * generation is done in the following phases, which are separated by barriers:
+ * </p>
+ * <ol>
+ * <li>Every chunk draws the positions for the edges of its nodes. The positions
+ * are only written to the slots of the chunk's own edges.</li>
+ * <li>Every chunk resolves the drawn positions to nodes. If a position points
+ * to the source of an edge, the node is known beforehand. If it points to the
+ * target of an earlier edge, the final target of this edge is copied. Duplicate
+ * edges are redrawn.</li>
+ * <li>Every chunk chooses the direction of its edges and writes their final
+ * sources and targets.</li>
+ * </ol>
+ *
+ * <p>
+ * The final target of an earlier edge might belong to a chunk that is
+ * processed by a different thread at the same time. Hence, the positions used
+ * to redraw a duplicate are not taken from the random number generator of the
+ * chunk but are a pure function of the seed, the edge and the number of the
+ * attempt. Every thread can compute the final target of any edge on its own
+ * and gets the same result. The computed targets are stored and reused. A
+ * thread might not see a target that another thread has stored already, in
+ * which case it computes the same target again. Hence, no locking is needed.
+ * </p>
+ *
+ * <p>
+ * Every node (except the first one) gets at least one incoming edge from a node
+ * that has been created before it. Hence, all nodes are reachable from the
+ * entrance node {@code 0}. The graph does not contain self loops or duplicate
+ * edges.
+ * </p>
+ */
+public class ChunkedBarabasiRDF implements GraphGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedBarabasiRDF.class);
+
+    /**
+     * The number of nodes that are generated within a single chunk.
+     */
+    public static final int CHUNK_SIZE = 1 << 13;
+    /**
+     * The maximum number of edges this generator can create (the positions in the
+     * edge list have to fit into an int).
+     */
+    public static final int MAX_NUMBER_OF_EDGES = Integer.MAX_VALUE / 2;
+    /**
+     * Marks an edge whose final target has not been computed, yet.
+     */
+    protected static final int UNRESOLVED = -1;
+
+    public String name;
+    /**
+     * The number of threads used to generate the graph.
+     */
+    protected int numberOfThreads;
+
+    public ChunkedBarabasiRDF(String gname) {
+        this(gname, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ChunkedBarabasiRDF(String gname, int numberOfThreads) {
+        name = gname;
+        setNumberOfThreads(numberOfThreads);
+    }
+
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    /**
+     * Sets the number of threads used to generate a graph. Note that the generated
+     * graph does not depend on this number.
+     *
+     * @param numberOfThreads
+     *            the number of threads (has to be &gt; 0)
+     */
+    public void setNumberOfThreads(int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("The number of threads has to be > 0.");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    @Override
+    public void generateGraph(int numberOfNodes, double avgDegree, long seed, GraphBuilder builder) {
+        if (numberOfNodes == 1) {// special case
+            builder.addNodes(numberOfNodes);
+            builder.setEntranceNodes(new int[] { 0 });
+            return;
+        }
+        generate(numberOfNodes, (long) Math.ceil(numberOfNodes * avgDegree / 2), seed, builder);
+    }
+
+    @Override
+    public void generateGraph(double avgDegree, int numberOfEdges, long seed, GraphBuilder builder) {
+        generate((int) Math.ceil(2 * numberOfEdges / avgDegree), numberOfEdges, seed, builder);
+    }
+
+    /**
+     * Generates a graph with the given number of nodes and edges.
+     *
+     * @param numberOfNodes
+     *            the number of nodes of the graph
+     * @param numberOfEdges
+     *            the number of edges of the graph
+     * @param seed
+     *            the seed of the graph
+     * @param builder
+     *            the builder that is used to create the graph
+     */
+    protected void generate(int numberOfNodes, long numberOfEdges, long seed, GraphBuilder builder) {
+        if (numberOfNodes < 2) {
+            throw new IllegalArgumentException("The number of nodes has to be > 1.");
+        }
+        if (numberOfEdges < (numberOfNodes - 1)) {
+            throw new IllegalArgumentException("The graph needs at least (N-1)=" + (numberOfNodes - 1)
+                    + " edges to be connected. Got " + numberOfEdges + ".");
+        }
+        // max links created at any step is the number of nodes created before
+        if (numberOfEdges > (((long) numberOfNodes) * (numberOfNodes - 1) / 2)) {
+            throw new IllegalArgumentException("Degree can NOT be more than (N-1).");
+        }
+        if (numberOfEdges > MAX_NUMBER_OF_EDGES) {
+            throw new IllegalArgumentException(
+                    "The number of edges can not be larger than " + MAX_NUMBER_OF_EDGES + ". Got " + numberOfEdges + ".");
+        }
+        int[] offsets = createEdgeOffsets(numberOfNodes, (int) numberOfEdges);
+        int[] positions = new int[(int) numberOfEdges];
+        int[] targets = new int[(int) numberOfEdges];
+
+        int numberOfChunks = (numberOfNodes + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom[] randoms = new SplittableRandom[numberOfChunks];
+        SeedGenerator seedGenerator = new SequentialSeedGenerator(seed);
+        for (int i = 0; i < numberOfChunks; ++i) {
+            randoms[i] = new SplittableRandom(seedGenerator.getNextSeed());
+        }
+        long redrawSeed = seedGenerator.getNextSeed();
+
+        int firstNode = builder.addNodes(numberOfNodes)[0];
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, numberOfChunks));
+        try {
+            runChunks(executor, numberOfChunks, c -> drawPositions(c, offsets, positions, targets, randoms[c]));
+            runChunks(executor, numberOfChunks, c -> resolveTargets(c, offsets, positions, targets, redrawSeed));
+            // the positions are not needed anymore and can be replaced by the sources
+            runChunks(executor, numberOfChunks,
+                    c -> writeEdges(c, offsets, positions, targets, firstNode, randoms[c]));
+        } finally {
+            executor.shutdown();
+        }
+        int addedEdges = builder.addEdges(positions, targets, null, positions.length, false);
+        if (addedEdges < positions.length) {
+            LOGGER.warn("Failed to add {} of {} edges.", positions.length - addedEdges, positions.length);
+        }
+        builder.setEntranceNodes(new int[] { firstNode });
+    }
+
+    /**
+     * Determines the number of edges every node creates to the nodes before it
+     * and returns the offsets of the nodes' edges in the edge list. Every node
+     * (except the first) creates at least one edge. The edges that are left when
+     * every node has the same number of edges are given to the last nodes.
+     *
+     * @param numberOfNodes
+     *            the number of nodes
+     * @param numberOfEdges
+     *            the number of edges
+     * @return the offsets of the edges of the single nodes (with
+     *         {@code numberOfNodes + 1} elements)
+     */
+    protected static int[] createEdgeOffsets(int numberOfNodes, int numberOfEdges) {
+        int[] degrees = new int[numberOfNodes];
+        int m = numberOfEdges / (numberOfNodes - 1);
+        int missingEdges = numberOfEdges;
+        for (int v = 1; v < numberOfNodes; ++v) {
+            degrees[v] = Math.min(v, m);
+            missingEdges -= degrees[v];
+        }
+        while (missingEdges > 0) {
+            for (int v = numberOfNodes - 1; (v > 0) && (missingEdges > 0); --v) {
+                if (degrees[v] < v) {
+                    ++degrees[v];
+                    --missingEdges;
+                }
+            }
+        }
+        int[] offsets = new int[numberOfNodes + 1];
+        for (int v = 0; v < numberOfNodes; ++v) {
+            offsets[v + 1] = offsets[v] + degrees[v];
+        }
+        return offsets;
+    }
+
+    /**
+     * Phase 1: draws the positions in the edge list the edges of the nodes of the
+     * given chunk copy their node from. The position {@code 2e} refers to the
+     * source of edge {@code e}, the position {@code 2e + 1} refers to its target.
+     * A node that has to be connected to all nodes before it gets these nodes
+     * directly, encoded as {@code -(node + 1)}. The targets of the edges are
+     * marked as {@link #UNRESOLVED}.
+     */
+    private static void drawPositions(int chunk, int[] offsets, int[] positions, int[] targets,
+            SplittableRandom random) {
+        int end = Math.min((chunk + 1) * CHUNK_SIZE, offsets.length - 1);
+        for (int v = chunk * CHUNK_SIZE; v < end; ++v) {
+            int first = offsets[v];
+            int degree = offsets[v + 1] - first;
+            Arrays.fill(targets, first, first + degree, UNRESOLVED);
+            if (degree == v) {
+                for (int k = 0; k < degree; ++k) {
+                    positions[first + k] = -(k + 1);
+                }
+            } else {
+                for (int k = 0; k < degree; ++k) {
+                    positions[first + k] = random.nextInt(2 * first);
+                }
+            }
+        }
+    }
+
+    /**
+     * Phase 2: resolves the positions of the edges of the nodes of the given
+     * chunk to their final targets.
+     */
+    private static void resolveTargets(int chunk, int[] offsets, int[] positions, int[] targets, long redrawSeed) {
+        int end = Math.min((chunk + 1) * CHUNK_SIZE, offsets.length - 1);
+        for (int v = chunk * CHUNK_SIZE; v < end; ++v) {
+            resolveNode(v, offsets, positions, targets, redrawSeed);
+        }
+    }
+
+    /**
+     * Computes the final targets of the edges of the given node (if they haven't
+     * been computed before) and stores them in the targets array. Duplicates are
+     * redrawn using {@link #redrawPosition(long, int, int, int)}. Every element of
+     * the targets array is read only once, since another thread might write it
+     * at the same time (with the same value).
+     *
+     * @return the targets of the edges of the given node
+     */
+    static int[] resolveNode(int v, int[] offsets, int[] positions, int[] targets, long redrawSeed) {
+        int first = offsets[v];
+        int degree = offsets[v + 1] - first;
+        int[] nodeTargets = new int[degree];
+        for (int k = 0; k < degree; ++k) {
+            int target = targets[first + k];
+            if (target == UNRESOLVED) {
+                target = resolve(positions[first + k], offsets, positions, targets, redrawSeed);
+                int attempt = 0;
+                while (contains(nodeTargets, k, target)) {
+                    ++attempt;
+                    target = resolve(redrawPosition(redrawSeed, first + k, attempt, 2 * first), offsets, positions,
+                            targets, redrawSeed);
+                }
+                targets[first + k] = target;
+            }
+            nodeTargets[k] = target;
+        }
+        return nodeTargets;
+    }
+
+    /**
+     * Phase 3: chooses the direction of the edges of the nodes of the given chunk
+     * and writes their final sources (into the positions array) and targets.
+     */
+    private static void writeEdges(int chunk, int[] offsets, int[] positions, int[] targets, int firstNode,
+            SplittableRandom random) {
+        int end = Math.min((chunk + 1) * CHUNK_SIZE, offsets.length - 1);
+        for (int v = chunk * CHUNK_SIZE; v < end; ++v) {
+            int first = offsets[v];
+            int degree = offsets[v + 1] - first;
+            if (degree == 0) {
+                continue;
+            }
+            /*
+             * choose randomly the number of in-links [1,m], 1. select randomly one link
+             * to be in-link then 2. toss a biased coin ((m/2)-1 inlink,(m/2) outlink)
+             */
+            int vinIndex = random.nextInt(degree);
+            double biasedCoin = ((degree / 2.0 - 1) / (degree - 1));
+            for (int k = 0; k < degree; ++k) {
+                int e = first + k;
+                if ((k == vinIndex) || (random.nextDouble() <= biasedCoin)) {
+                    // inverted link
+                    positions[e] = targets[e] + firstNode;
+                    targets[e] = v + firstNode;
+                } else {
+                    positions[e] = v + firstNode;
+                    targets[e] += firstNode;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the node at the given position of the edge list. If the position
+     * points to the target of an edge whose final target is not known, yet, the
+     * targets of the node that created this edge are resolved first.
+     */
+    private static int resolve(int position, int[] offsets, int[] positions, int[] targets, long redrawSeed) {
+        if (position < 0) {
+            return -position - 1;
+        }
+        int edge = position >>> 1;
+        if ((position & 1) == 0) {
+            return getSource(edge, offsets);
+        }
+        int target = targets[edge];
+        if (target == UNRESOLVED) {
+            int source = getSource(edge, offsets);
+            // do not read the array a second time (see resolveNode)
+            target = resolveNode(source, offsets, positions, targets, redrawSeed)[edge - offsets[source]];
+        }
+        return target;
+    }
+
+    /**
+     * Returns the position that is used for the given attempt to redraw the
+     * given edge. The position only depends on the given values.
+     *
+     * @param seed
+     *            the seed of the redraws
+     * @param edge
+     *            the edge that is redrawn
+     * @param attempt
+     *            the number of the attempt (starting with 1)
+     * @param bound
+     *            the upper bound of the position (exclusive)
+     * @return a position in {@code [0, bound)}
+     */
+    static int redrawPosition(long seed, int edge, int attempt, int bound) {
+        // finalizer of MurmurHash3, as used by SplittableRandom
+        long z = seed + (edge * 0x9E3779B97F4A7C15L) + (attempt * 0xC2B2AE3D27D4EB4FL);
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = z ^ (z >>> 33);
+        return (int) ((z >>> 1) % bound);
+    }
+
+    /**
+     * Returns the node that created the given edge, i.e., the node {@code v} with
+     * {@code offsets[v] <= edge < offsets[v + 1]}.
+     */
+    private static int getSource(int edge, int[] offsets) {
+        int low = 0;
+        int high = offsets.length - 2;
+        int mid;
+        while (low < high) {
+            mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= edge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean contains(int[] array, int to, int value) {
+        for (int i = 0; i < to; ++i) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the given task for all chunks and waits until all of them are
+     * finished.
+     */
+    private static void runChunks(ExecutorService executor, int numberOfChunks, ChunkTask task) {
+        List<Callable<Void>> tasks = new ArrayList<>(numberOfChunks);
+        for (int c = 0; c < numberOfChunks; ++c) {
+            final int chunk = c;
+            tasks.add(() -> {
+                task.run(chunk);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating the graph.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Exception while generating the graph.", e.getCause());
+        }
+    }
+
+    /**
+     * The work that has to be done for a single chunk in one of the phases.
+     */
+    private static interface ChunkTask {
+        public void run(int chunk);
+    }
+}
@@ -1,15 +1,23 @@
 package org.dice_research.ldcbench.generate;
 
-import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
 import org.dice_research.ldcbench.generate.seed.DefaultSeedSearcher;
 import org.dice_research.ldcbench.generate.seed.SeedSearcher;
 import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.rdf.ParallelNTriplesLoader;
 import org.dice_research.ldcbench.graph.rdf.SimpleRDF2GrphConverter;
 
 /**
- * A simple graph generator that loads the graph from a given RDF file and
- * converts it into a graph object.
+ * A simple graph generator that parses a given RDF file and streams its triples
+ * into a graph object.
  * 
  * @author Michael R&ouml;der (michael.roeder@uni-paderborn.de)
  *
@@ -19,6 +27,11 @@ public class FileBasedGraphGenerator implements GraphGenerator {
     protected String modelLocation;
     protected String modelBase;
     protected String modelLang;
+    /**
+     * The number of threads used to parse N-Triples files and to search the
+     * entrance nodes.
+     */
+    protected int numberOfThreads;
 
     /**
      * Constructor.
@@ -28,9 +41,24 @@ public class FileBasedGraphGenerator implements GraphGenerator {
      * @param modelLang     the serialization of the RDF model
      */
     public FileBasedGraphGenerator(String modelLocation, String modelBase, String modelLang) {
+        this(modelLocation, modelBase, modelLang, 1);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param modelLocation   the location of the RDF file
+     * @param modelBase       the base IRI of the RDF model
+     * @param modelLang       the serialization of the RDF model
+     * @param numberOfThreads the number of threads used to parse N-Triples files
+     *                        and to search the entrance nodes of the loaded
+     *                        graph
+     */
+    public FileBasedGraphGenerator(String modelLocation, String modelBase, String modelLang, int numberOfThreads) {
         this.modelLocation = modelLocation;
         this.modelBase = modelBase;
         this.modelLang = modelLang;
+        this.numberOfThreads = numberOfThreads;
     }
 
     @Override
@@ -51,35 +79,69 @@ public class FileBasedGraphGenerator implements GraphGenerator {
      * @param builder the builder that should be used to write the graph data
      */
     protected void generateGraph(GraphBuilder builder) {
-        convert(loadRDFModel(), builder);
+        convert(builder);
         setEntranceNodes(builder);
     }
 
-    protected Model loadRDFModel() {
-        Model model = ModelFactory.createDefaultModel();
-        model.read(modelLocation, modelBase, modelLang);
-        return model;
+    /**
+     * Parses the RDF file and streams its triples into the given graph builder.
+     * The file is not loaded into an RDF model. If the file is a local N-Triples
+     * (or N-Quads) file and more than one thread should be used, the file is
+     * parsed in parallel by a {@link ParallelNTriplesLoader}.
+     * 
+     * @param builder the builder to which the result will be written
+     */
+    protected void convert(GraphBuilder builder) {
+        Lang lang = modelLang == null ? null : RDFLanguages.nameToLang(modelLang);
+        Path localFile = getLocalFile();
+        if ((numberOfThreads > 1) && (localFile != null)
+                && (Lang.NTRIPLES.equals(lang) || Lang.NQUADS.equals(lang))) {
+            ParallelNTriplesLoader loader = new ParallelNTriplesLoader(numberOfThreads);
+            loader.setLang(lang);
+            try {
+                loader.load(localFile, builder);
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't read \"" + modelLocation + "\".", e);
+            }
+        } else {
+            SimpleRDF2GrphConverter converter = new SimpleRDF2GrphConverter();
+            converter.convert(modelLocation, modelBase, lang, builder);
+        }
     }
 
     /**
-     * Converts the given RDF model into a graph by using the given graph builder
+     * Returns the path of the RDF file if it is a file of the local file system.
      * 
-     * @param model   the RDF model that should be converted
-     * @param builder the builder to which the result will be written
+     * @return the path of the local RDF file or {@code null} if the location does
+     *         not point to a local file
      */
-    protected void convert(Model model, GraphBuilder builder) {
-        SimpleRDF2GrphConverter converter = new SimpleRDF2GrphConverter();
-        converter.convert(model, builder);
+    protected Path getLocalFile() {
+        Path path = null;
+        try {
+            if (modelLocation.startsWith("file:")) {
+                path = Paths.get(URI.create(modelLocation));
+            } else if (!modelLocation.contains("://")) {
+                path = Paths.get(modelLocation);
+            }
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            // the location is not a valid path
+            return null;
+        }
+        return ((path != null) && Files.isRegularFile(path)) ? path : null;
     }
 
     /**
-     * Sets the entrance nodes of the given graph builder.
+     * Sets the entrance nodes of the given graph builder. The search is done on
+     * the builder itself instead of a graph built from it, i.e., the loaded
+     * graph does not have to be held in memory twice. The builder is not
+     * modified during the search, so several threads can read it at the same
+     * time.
      * 
      * @param builder the graph of which the entrance nodes sould be identified and
      *                set
      */
     protected void setEntranceNodes(GraphBuilder builder) {
-        SeedSearcher searcher = new DefaultSeedSearcher();
+        SeedSearcher searcher = new DefaultSeedSearcher(Math.max(1, numberOfThreads));
         builder.setEntranceNodes(searcher.searchSeedNodes(builder));
     }
 }
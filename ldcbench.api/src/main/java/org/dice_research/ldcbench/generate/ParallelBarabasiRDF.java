@@ -5,52 +5,41 @@ import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.dice_research.ldcbench.generate.sample.FenwickTreeSampler;
+import org.dice_research.ldcbench.generate.sample.SamplingMode;
+import org.dice_research.ldcbench.generate.sample.WeightedSampler;
 import org.dice_research.ldcbench.graph.GraphBuilder;
 
 public class ParallelBarabasiRDF implements GraphGenerator{
 	protected Random generator;
 
     public String name;
+	/**
+	 * The mode of the sampler used to select the nodes that are linked.
+	 */
+	protected SamplingMode samplingMode = SamplingMode.COMPATIBLE;
 
 	public ParallelBarabasiRDF(String gname) {
 		name = gname;
 	}
 
-	protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt,Random generator) {
-		/* without accumulated weights*/
-
-		int[] Res = new int[m];
-
-		int rand;
-		int i;
-	    int Sum = 0;
-	    int n1 = n;
-
-	    for(i = 1; i <= n; i++) Sum += wt[i];
-
-		int[] wt1=Arrays.copyOf(wt,n+1);
-
-		for (int j = 0; j < m; j++) {
-			rand =  generator.nextInt(Sum);
-
-			// find interval
-			for (i = 1; i <= n1; i++) {
-				rand-=wt1[i];
-				if (rand < 0) {//to avoid getting nodes set to zero degree, must be less than
-					Res[j] = i;
-					Sum -= wt1[i];
-					wt1[i] = 0;// to avoid replacement
-
-					break;
-				}
-			}
+	public SamplingMode getSamplingMode() {
+		return samplingMode;
+	}
 
-		}
+	public void setSamplingMode(SamplingMode samplingMode) {
+		this.samplingMode = samplingMode;
+	}
 
-		return (Res);
+	/**
+	 * Samples numbers from 1 to n; m times without replacement using the weights of the given sampler.
+	 * Since the sampler is not changed, several threads can sample at the same time.
+	 */
+	protected int[] weightedSampleWithoutReplacement(int n, int m, WeightedSampler wt,Random generator) {
+		return wt.sampleWithoutReplacement(n, m, generator::nextInt);
 	}
 
-	protected int getInitGraph(int N, double degree, long seed,int[] subj,int[]obj,int[] inDeg,int m,Random generator) {
+	protected int getInitGraph(int N, double degree, long seed,int[] subj,int[]obj,WeightedSampler inDeg,int m,Random generator) {
 		int indexToEdgeList = 0;
 
 		if (degree < 1) {
@@ -67,7 +56,7 @@ public class ParallelBarabasiRDF implements GraphGenerator{
 			subj[indexToEdgeList] = 1;
 			obj[indexToEdgeList] = 2;// first edge
 			indexToEdgeList++;
-			inDeg[2] = 2;
+			inDeg.setWeight(2, 2);
 		}
 
 		// initial part
@@ -113,9 +102,10 @@ public class ParallelBarabasiRDF implements GraphGenerator{
 		int nE=(int) Math.ceil(N*degree);
 		int[] subj = new int[nE];
 		int[] obj = new int[nE];
-		int[] inDeg = new int[N + 1];
-		Arrays.fill(inDeg, 1);
-		inDeg[0] = 0;// not used
+		int[] initialDegrees = new int[N + 1];
+		Arrays.fill(initialDegrees, 1);
+		initialDegrees[0] = 0;// not used
+		WeightedSampler inDeg = new FenwickTreeSampler(initialDegrees, samplingMode);
 		int m = (int) Math.floor(degree);// average degree of graph
 
 		generator=new Random(seed);
@@ -163,11 +153,11 @@ public class ParallelBarabasiRDF implements GraphGenerator{
 				biasedCoin=((m1/2.0-1)/(m1-1));
 				for (int k = 0; k < m1; k++) {
 					if (k != vin_ix && (generator.nextDouble() > biasedCoin) ) {
-						inDeg[tmp[k]] = inDeg[tmp[k]] + 1;
+						inDeg.addWeight(tmp[k], 1);
 						subj[indexToEdgeList] = node;
 						obj[indexToEdgeList] = tmp[k];
 					} else {// inverted link
-						inDeg[node] = inDeg[node] + 1;
+						inDeg.addWeight(node, 1);
 						subj[indexToEdgeList] = tmp[k];
 						obj[indexToEdgeList] = node;
 					}
@@ -194,9 +184,12 @@ public class ParallelBarabasiRDF implements GraphGenerator{
 		int nEdges = indexToEdgeList;
 		int[] idRange=builder.addNodes(N);//Range
 		for(int i=0; i < nEdges; i++) {
-			if(!builder.addEdge(subj[i]-1 + idRange[0], obj[i]-1+idRange[0], 0)) {
-				System.out.println("Failed to add edge : i="+i+" subj="+subj[i]+" idRange[0]=" + idRange[0]+" obj[i]="+ obj[i]);
-			};
+			subj[i] = subj[i]-1 + idRange[0];
+			obj[i] = obj[i]-1 + idRange[0];
+		}
+		int addedEdges = builder.addEdges(subj, obj, null, nEdges, true);
+		if(addedEdges < nEdges) {
+			System.out.println("Failed to add " + (nEdges - addedEdges) + " of " + nEdges + " edges.");
 		}
 		int[] entranceNodes= {0};
 		builder.setEntranceNodes(entranceNodes);
@@ -3,10 +3,12 @@ package org.dice_research.ldcbench.generate;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.stream.IntStream;
-import java.util.LinkedList;
-import java.util.Queue;
 
+import org.dice_research.ldcbench.generate.sample.FenwickTreeSampler;
+import org.dice_research.ldcbench.generate.sample.SamplingMode;
+import org.dice_research.ldcbench.generate.sample.WeightedSampler;
 import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.algorithm.EntranceNodeFinder;
 
 public class RandomCloudGraph implements GraphGenerator {
 //	protected Random generator;
@@ -17,6 +19,10 @@ public class RandomCloudGraph implements GraphGenerator {
     protected int[][] typeconnectivity;
     protected int hcount;
     protected int[] typecounts;
+    /**
+     * The mode of the sampler used to select the nodes that are linked.
+     */
+    protected SamplingMode samplingMode = SamplingMode.COMPATIBLE;
 
     public RandomCloudGraph(String gname, int[] nt, boolean[] ih, int[][] tc) {
         name = gname;
@@ -41,6 +47,14 @@ public class RandomCloudGraph implements GraphGenerator {
     public int[] getNodeTypes() {
         return (nodetypes);
     }
+
+    public SamplingMode getSamplingMode() {
+        return samplingMode;
+    }
+
+    public void setSamplingMode(SamplingMode samplingMode) {
+        this.samplingMode = samplingMode;
+    }
     // -------------------------------------------------------------------------------------------
 
     @Override
@@ -83,12 +97,18 @@ public class RandomCloudGraph implements GraphGenerator {
         int[] subj = new int[nE];
         int[] obj = new int[nE];
         int[] inDeg = new int[N + 1];
-        int[] typewt = new int[N + 1];
         Arrays.fill(inDeg, 1);
         inDeg[0] = 0;// reserved
         int m = (int) Math.floor(degree / 2);// average degree of graph
 
         Random generator = new Random(seed);
+        // samplers that contain the weights of the possible destinations/sources of
+        // a node of a certain type. The weights are updated together with the
+        // degrees instead of being rebuilt for every node.
+        TypeSamplers samplers = new TypeSamplers(N, inDeg);
+        // number of nodes of the single types that have already been added
+        int[] addedNodesOfType = new int[typeconnectivity.length];
+        int addedNodes = 0;
         /*
          * -init:until the number of nodes to connect to for each type is at least d
          * (check if <=d =>conn2all), -source node should be of type able to connect to
@@ -178,23 +198,26 @@ public class RandomCloudGraph implements GraphGenerator {
                 mi = m1 - mo;
 
                 ctype = nodetypes[node - 1];
+                while (addedNodes < node - 1) {
+                    addedNodesOfType[nodetypes[addedNodes]]++;
+                    addedNodes++;
+                }
                 // get possible out connections
                 if (mo > 0) {
                     ndests = 0;
-                    for (int i = 1; i < node; i++) {// only use weights of nodes that accepts connections from current
-                                                    // node.
-                        if (typeconnectivity[ctype][nodetypes[i - 1]] == 1) {
-                            typewt[i] = inDeg[i];
-                            ndests++;
-                        } else
-                            typewt[i] = 0;
+                    for (int t = 0; t < addedNodesOfType.length; t++) {// only count nodes that accept connections
+                                                                       // from current node.
+                        if (typeconnectivity[ctype][t] == 1) {
+                            ndests += addedNodesOfType[t];
+                        }
                     }
                     int[] outlinks;
                     if (ndests > mo) {// sample out-links
-                        outlinks = weightedSampleWithoutReplacement(node - 1, mo, typewt, generator);
+                        outlinks = weightedSampleWithoutReplacement(node - 1, mo, samplers.getOutSampler(ctype),
+                                generator);
 
                         for (int k = 0; k < mo; k++) {
-                            inDeg[outlinks[k]] = inDeg[outlinks[k]] + 1;
+                            samplers.increaseDegree(outlinks[k], 1);
                             subj[indexToEdgeList] = node;
                             obj[indexToEdgeList] = outlinks[k];
                             indexToEdgeList++;
@@ -202,10 +225,10 @@ public class RandomCloudGraph implements GraphGenerator {
                                 break;
                         }
                     } else {// connect to all if count less than m
-                        for (int i = 1; i < node; i++) {// only use weights of nodes that accepts connections from
+                        for (int i = 1; i < node; i++) {// only use nodes that accepts connections from
                                                         // current node.
-                            if (typewt[i] > 0) {
-                                inDeg[i] = inDeg[i] + 1;
+                            if ((typeconnectivity[ctype][nodetypes[i - 1]] == 1) && (inDeg[i] > 0)) {
+                                samplers.increaseDegree(i, 1);
                                 subj[indexToEdgeList] = node;
                                 obj[indexToEdgeList] = i;
                                 indexToEdgeList++;
@@ -220,18 +243,17 @@ public class RandomCloudGraph implements GraphGenerator {
                     break;
                 if (mi > 0) {
                     nsrcs = 0;
-                    for (int i = 1; i < node; i++) {// only use weights of nodes that accepts connections from current
-                                                    // node.
-                        if (typeconnectivity[nodetypes[i - 1]][ctype] == 1) {
-                            typewt[i] = inDeg[i];
-                            nsrcs++;
-                        } else
-                            typewt[i] = 0;
+                    for (int t = 0; t < addedNodesOfType.length; t++) {// only count nodes from which the current
+                                                                       // node accepts connections.
+                        if (typeconnectivity[t][ctype] == 1) {
+                            nsrcs += addedNodesOfType[t];
+                        }
                     }
                     int[] inlinks;
                     if (nsrcs > mi) {// sample in-links
-                        inlinks = weightedSampleWithoutReplacement(node - 1, mi, typewt, generator);
-                        inDeg[node] = inDeg[node] + mi;
+                        inlinks = weightedSampleWithoutReplacement(node - 1, mi, samplers.getInSampler(ctype),
+                                generator);
+                        samplers.increaseDegree(node, mi);
                         for (int k = 0; k < mi; k++) {
                             subj[indexToEdgeList] = inlinks[k];
                             obj[indexToEdgeList] = node;
@@ -240,10 +262,10 @@ public class RandomCloudGraph implements GraphGenerator {
                                 break;
                         }
                     } else {// connect to all if count less than m
-                        inDeg[node] = inDeg[node] + nsrcs;
-                        for (int i = 1; i < node; i++) {// only use weights of nodes that accepts connections from
-                                                        // current node.
-                            if (typewt[i] > 0) {
+                        samplers.increaseDegree(node, nsrcs);
+                        for (int i = 1; i < node; i++) {// only use nodes from which the current node accepts
+                                                        // connections.
+                            if ((typeconnectivity[nodetypes[i - 1]][ctype] == 1) && (inDeg[i] > 0)) {
                                 // inDeg[node] = inDeg[node] + 1;
                                 subj[indexToEdgeList] = i;
                                 obj[indexToEdgeList] = node;
@@ -289,12 +311,12 @@ public class RandomCloudGraph implements GraphGenerator {
         int nEdges = indexToEdgeList;
         int[] idRange = builder.addNodes(N);// Range
         for (int i = 0; i < nEdges; i++) {
-            if (!builder.addEdge(remappedIds[subj[i] - 1] + idRange[0], remappedIds[obj[i] - 1] + idRange[0], 0)) {
-                // if(!builder.addEdge(subj[i]-1 + idRange[0], obj[i]-1+idRange[0], 0)) {
-                System.out.println("Failed to add edge : i=" + i + " subj=" + subj[i] + " idRange[0]=" + idRange[0]
-                        + " obj[i]=" + obj[i] + "remappedIds[obj[i]-1]" + remappedIds[subj[i] - 1]);
-            }
-            ;
+            subj[i] = remappedIds[subj[i] - 1] + idRange[0];
+            obj[i] = remappedIds[obj[i] - 1] + idRange[0];
+        }
+        int addedEdges = builder.addEdges(subj, obj, null, nEdges, true);
+        if (addedEdges < nEdges) {
+            System.out.println("Failed to add " + (nEdges - addedEdges) + " of " + nEdges + " edges.");
         }
 // adjust node types
         int nodetype_index = 0;
@@ -315,67 +337,7 @@ public class RandomCloudGraph implements GraphGenerator {
 //----------------------------------------------------------
 
     public int[] findEnteranceNodes(GraphBuilder g) {
-        int N = g.getNumberOfNodes();
-        boolean[] visited = new boolean[N], isEnterance = new boolean[N];
-        Arrays.fill(visited, false);
-        Arrays.fill(isEnterance, false);
-        int cntENodes = 0;
-
-        Queue<Integer> processQ = new LinkedList<>();
-        for (int i = 0; i < N; i++) {
-            int[] sources = g.incomingEdgeSources(i);
-            if (sources.length == 0) {
-                processQ.add(i);
-                visited[i] = isEnterance[i] = true;
-                cntENodes++;
-            }
-        }
-
-        boolean finished = false;
-        int node;
-        if (cntENodes == 0) {
-            node = 0;// to be processed
-            processQ.add(0);
-            visited[0] = isEnterance[0] = true;
-            cntENodes++;
-        }
-
-        while (!finished) {
-            node = processQ.poll();
-            int[] targets = g.outgoingEdgeTargets(node);
-            // processed[node]=true;
-            for (int dist : targets) {
-                if (!visited[dist]) {
-                    visited[dist] = true;
-                    processQ.add(dist);
-                }
-            }
-
-            if (processQ.isEmpty()) {
-                finished = true;
-                for (int j = 0; j < N; j++) {
-                    if (!visited[j]) {
-                        isEnterance[j] = true;
-                        visited[j] = true;
-                        finished = false;
-                        cntENodes++;
-
-                        processQ.add(j);
-                        break;
-                    }
-                }
-            }
-        }
-
-        int[] enteranceNodes = new int[cntENodes];
-        int j = 0;
-        for (int i = 0; i < N; i++) {
-            if (isEnterance[i]) {
-                // System.out.println(i);
-                enteranceNodes[j++] = i;
-            }
-        }
-        return (enteranceNodes);
+        return EntranceNodeFinder.findEntranceNodes(g);
     }
 
     public int[] getNodeSequence(int[] typeCnts) {
@@ -405,53 +367,110 @@ public class RandomCloudGraph implements GraphGenerator {
         nodeTypesout = Arrays.copyOf(nodeTypes, totalNodes);
         return (nodeTypesout);
     }
-//----------------------------------------------------------------
-
-    protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt, Random generator) {
-        /* without accumulated weights */
-
-        int[] Res = new int[m];
-
-        int rand;
-        int i;
-        int Sum = 0;
-        int cntNNz = 0;// count of non zero values in wt, should be at least m :23.9.19
-
-        for (i = 1; i <= n; i++) {
-            Sum += wt[i];
-            if (wt[i] > 0)
-                cntNNz++;
+    /**
+     * The samplers of the possible destinations and sources of nodes of the
+     * single types. The weight of a node is its in-degree if the connection
+     * between the two types is allowed and 0 otherwise. The samplers are created
+     * when they are needed for the first time. After that, a change of a degree
+     * is applied to all samplers in O(t log n) time (t = number of types)
+     * instead of rebuilding the weights of all nodes for every new node.
+     */
+    protected class TypeSamplers {
+        private final int size;
+        private final int[] inDeg;
+        /**
+         * The samplers of the possible destinations of nodes of a type.
+         */
+        private final FenwickTreeSampler[] outSamplers;
+        /**
+         * The samplers of the possible sources of nodes of a type.
+         */
+        private final FenwickTreeSampler[] inSamplers;
+
+        /**
+         * Constructor.
+         * 
+         * @param size
+         *            the number of nodes
+         * @param inDeg
+         *            the in-degrees of the nodes (index 0 is not used). The array
+         *            is changed by {@link #increaseDegree(int, int)}.
+         */
+        public TypeSamplers(int size, int[] inDeg) {
+            this.size = size;
+            this.inDeg = inDeg;
+            outSamplers = new FenwickTreeSampler[typeconnectivity.length];
+            inSamplers = new FenwickTreeSampler[typeconnectivity.length];
         }
 
-        if (Sum <= 0) {
-            throw new IllegalArgumentException("Error, Sum<=0," + n + " m=" + m + " wt0=" + wt[0] + " Sum=" + Sum);
+        public WeightedSampler getOutSampler(int type) {
+            if (outSamplers[type] == null) {
+                outSamplers[type] = createSampler(type, true);
+            }
+            return outSamplers[type];
         }
 
-        if (cntNNz < m) {
-            throw new IllegalArgumentException("Error, count nonzeros in weights: " + cntNNz + " < " + m + ", n=" + n
-                    + " wt0=" + wt[0] + " Sum=" + Sum);
+        public WeightedSampler getInSampler(int type) {
+            if (inSamplers[type] == null) {
+                inSamplers[type] = createSampler(type, false);
+            }
+            return inSamplers[type];
         }
 
-        int[] wt1 = Arrays.copyOf(wt, n + 1);
-
-        for (int j = 0; j < m; j++) {
-            rand = generator.nextInt(Sum);
-
-            // find interval
-            for (i = 1; i <= n; i++) {
-                rand -= wt1[i];
-                if (rand < 0) {// to avoid getting nodes set to zero degree, must be less than
-                    Res[j] = i;
-                    Sum -= wt1[i];
-                    wt1[i] = 0;// to avoid replacement
-
-                    break;
+        private FenwickTreeSampler createSampler(int type, boolean outgoing) {
+            int[] weights = new int[size + 1];
+            int nodeType;
+            for (int i = 1; i <= size; i++) {
+                nodeType = nodetypes[i - 1];
+                if ((outgoing ? typeconnectivity[type][nodeType] : typeconnectivity[nodeType][type]) == 1) {
+                    weights[i] = inDeg[i];
                 }
             }
+            return new FenwickTreeSampler(weights, samplingMode);
+        }
 
+        /**
+         * Increases the in-degree of the given node and updates its weight in
+         * all samplers that contain it.
+         * 
+         * @param node
+         *            the node
+         * @param delta
+         *            the value that is added to the degree
+         */
+        public void increaseDegree(int node, int delta) {
+            inDeg[node] += delta;
+            int nodeType = nodetypes[node - 1];
+            for (int t = 0; t < typeconnectivity.length; t++) {
+                if ((outSamplers[t] != null) && (typeconnectivity[t][nodeType] == 1)) {
+                    outSamplers[t].setWeight(node, inDeg[node]);
+                }
+                if ((inSamplers[t] != null) && (typeconnectivity[nodeType][t] == 1)) {
+                    inSamplers[t].setWeight(node, inDeg[node]);
+                }
+            }
         }
+    }
+
+//----------------------------------------------------------------
 
-        return (Res);
+    /**
+     * Samples numbers from 1 to n; m times without replacement using the weights
+     * of the given sampler.
+     * 
+     * @param n
+     *            number of values to choose from.
+     * @param m
+     *            number of values to choose.
+     * @param wt
+     *            the sampler containing the weights for the values in index from 1
+     *            to n.
+     * @param generator
+     *            the random number generator
+     * @return int array containing indexes of sampled nodes.
+     */
+    protected int[] weightedSampleWithoutReplacement(int n, int m, WeightedSampler wt, Random generator) {
+        return wt.sampleWithoutReplacement(n, m, generator::nextInt);
     }
 
 }
\ No newline at end of file
@@ -7,152 +7,56 @@ package org.dice_research.ldcbench.generate;
 import java.util.Arrays;
 import java.util.Random;
 
+import org.dice_research.ldcbench.generate.sample.FenwickTreeSampler;
+import org.dice_research.ldcbench.generate.sample.SamplingMode;
+import org.dice_research.ldcbench.generate.sample.WeightedSampler;
 import org.dice_research.ldcbench.graph.GraphBuilder;
 
 public class RandomRDF implements GraphGenerator{
  	protected Random generator;
 //	protected XorShift1024StarRandom generator;
 	public String name;
+	/**
+	 * The mode of the sampler used to select the nodes that are linked.
+	 */
+	protected SamplingMode samplingMode = SamplingMode.COMPATIBLE;
 
 	public RandomRDF(String gname) {
 		name = gname;
 	}
 
-/**
- * Samples numbers from 1 to n; m times without replacement using weights in wt
- * @param n number of values to choose from.
- * @param m number of values to choose.
- * @param wt the weights for the values in index from 1 to n (0 is ignored).
- * @return int array containing indexes of sampled nodes.
- */
-	protected int[] weightedSampleWithoutReplacementwithaw(int n, int m, int[] wt) {
-		/* with accumulated weight array (less efficient)*/
-		int[] Res = new int[m];
-		int[] aw = new int[n + 1];// accumulated weights
-		aw[0] = 0;
-
-		int last = aw.length - 1;
-		int rand;
-		int i;
-
-		for (i = 1; i <= n; i++) {
-			aw[i] = aw[i - 1] + wt[i];
-		}
-
-		for (int j = 0; j < m; j++) {
-			rand = 1 + generator.nextInt(aw[last]);
-
-			// find interval
-			for (i = 1; i < n; i++) {
-				if (rand <= aw[i]) {
-					Res[j] = i;
-					break;
-				}
-			}
-
-			if (Res[j] == 0)
-				Res[j] = n;
-
-			// update probabilities to exclude taken
-			if (j < m - 1) {
-				int Difference = wt[Res[j]];
-				for (i = Res[j]; i < aw.length; i++) {
-					aw[i] -= Difference;
-				}
-			}
-		}
-
-		return (Res);
+	public SamplingMode getSamplingMode() {
+		return samplingMode;
 	}
 
-protected int[] weightedSampleWithoutReplacementbswithawBS(int n, int m, int[] wt) {
-/* with accumulated weight array and binary search (less efficient)*/
-		int[] Res = new int[m];
-		int[] aw = new int[n + 1];// accumulated weights
-		aw[0] = 0;
-
-		int last = aw.length - 1;
-		int rand;
-		int i;
-
-		for (i = 1; i <= n; i++) {
-			aw[i] = aw[i - 1] + wt[i];
-		}
-
-		for (int j = 0; j < m; j++) {
-			rand =  generator.nextInt(aw[last]);
-
-			// find interval
-			Res[j] = Math.abs(Arrays.binarySearch(aw, rand)+1);
-
-			//if (Res[j] == 0)
-				//Res[j] = n;
-
-			// update probabilities to exclude taken
-			if (j < m - 1) {
-				int Difference = wt[Res[j]];
-				for (i = Res[j]; i < aw.length; i++) {
-					aw[i] -= Difference;
-				}
-			}
-		}
+	/**
+	 * Sets the mode of the sampler used to select the nodes that are linked.
+	 * {@link SamplingMode#COMPATIBLE} (the default) generates the same graphs
+	 * for the same seed as the original linear sampling.
+	 * @param samplingMode the sampling mode
+	 */
+	public void setSamplingMode(SamplingMode samplingMode) {
+		this.samplingMode = samplingMode;
+	}
 
-		return (Res);
+/**
+ * Creates the sampler that manages the degrees of the nodes.
+ * @param weights the initial weights for the values in index from 1 to n (0 is ignored).
+ * @return the sampler
+ */
+	protected WeightedSampler createSampler(int[] weights) {
+		return new FenwickTreeSampler(weights, samplingMode);
 	}
 
 /**
- * Samples numbers from 1 to n; m times without replacement using weights in wt
+ * Samples numbers from 1 to n; m times without replacement using the weights of the given sampler.
  * @param n number of values to choose from.
  * @param m number of values to choose.
- * @param wt the weights for the values in index from 1 to n (0 is ignored).
+ * @param wt the sampler containing the weights for the values in index from 1 to n.
  * @return int array containing indexes of sampled nodes.
  */
-protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
-	/* without accumulated weights, select m from n without replacement */
-
-	int[] Res = new int[m];
-
-	int rand;
-	int i;
-    int Sum = 0;//=IntStream.of(wt).sum();
-    int cntNNz = 0;//count of non zero values in wt, should be at least m :23.9.19
-    
-    for(i = 1; i <= n; i++) {
-    	   Sum += wt[i];
-    	   if(wt[i] > 0 ) cntNNz++;
-    }
-    
-    if(Sum<=0) {
-    	throw new IllegalArgumentException("Error, Sum<=0," + n +" m=" + m + " wt0=" + wt[0] + " Sum=" + Sum);    	
-    }
-    
-    if(cntNNz < m) {
-    	throw new IllegalArgumentException("Error, count nonzeros in weights: " + cntNNz + " < " + m +", n=" + n +
-    			" wt0=" + wt[0] + " Sum=" + Sum);    	
-    }
-    
-	int[] wt1=Arrays.copyOf(wt,n+1);
-	
-	for (int j = 0; j < m; j++) {
-		rand =  generator.nextInt(Sum);
-
-		// find interval
-		for (i = 1; i <= n; i++) {
-			rand-=wt1[i];
-			if (rand < 0) {//to avoid getting nodes set to zero degree, must be less than
-				Res[j] = i;
-				Sum -= wt1[i];
-				wt1[i] = 0;// to avoid replacement
-
-				break;
-			}
-		}
-
-		//System.out.println("Sample j="+ j + " i="+i+" Res[j]=" + Res[j]+ " rand="+rand+" Sum="+Sum+" n1="+n1);
-
-	}
-
-	return (Res);
+protected int[] weightedSampleWithoutReplacement(int n, int m, WeightedSampler wt) {
+	return wt.sampleWithoutReplacement(n, m, generator::nextInt);
 }
 
 	/**
@@ -172,9 +76,10 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 			int nE=(int) Math.ceil(N*degree);
 			int[] subj = new int[nE];
 			int[] obj = new int[nE];
-			int[] inDeg = new int[N + 1];
-			Arrays.fill(inDeg, 1);
-			inDeg[0] = 0;// not used
+			int[] initialDegrees = new int[N + 1];
+			Arrays.fill(initialDegrees, 1);
+			initialDegrees[0] = 0;// not used
+			WeightedSampler inDeg = createSampler(initialDegrees);
 			int m = (int) Math.floor(degree);// average degree of graph
 
 			indexToEdgeList=getInitGraph(N,degree,seed,subj,obj,inDeg,m);
@@ -201,11 +106,11 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 				 */
 				for (int k = 0; k < m; k++) {
 					if (k != vin_ix && (generator.nextDouble() > biasedCoin) ) {
-						inDeg[tmp[k]] = inDeg[tmp[k]] + 1;
+						inDeg.addWeight(tmp[k], 1);
 						subj[indexToEdgeList] = i;
 						obj[indexToEdgeList] = tmp[k];
 					} else {// inverted link
-						inDeg[i] = inDeg[i] + 1;
+						inDeg.addWeight(i, 1);
 						subj[indexToEdgeList] = tmp[k];
 						obj[indexToEdgeList] = i;
 					}
@@ -229,9 +134,12 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 			int nEdges = indexToEdgeList;
 			int[] idRange=builder.addNodes(N);//Range
 			for(int i=0; i < nEdges; i++) {
-				if(!builder.addEdge(subj[i]-1 + idRange[0], obj[i]-1+idRange[0], 0)) {
-					System.out.println("Failed to add edge : i="+i+" subj="+subj[i]+" idRange[0]=" + idRange[0]+" obj[i]="+ obj[i]);
-				};
+				subj[i] = subj[i]-1 + idRange[0];
+				obj[i] = obj[i]-1 + idRange[0];
+			}
+			int addedEdges = builder.addEdges(subj, obj, null, nEdges, true);
+			if(addedEdges < nEdges) {
+				System.out.println("Failed to add " + (nEdges - addedEdges) + " of " + nEdges + " edges.");
 			}
 			int[] entranceNodes= {0};
 			builder.setEntranceNodes(entranceNodes);
@@ -240,7 +148,7 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 		}
 
 /*-----------------------------------------------------------------------*/
-		int getOneNodeLinks(int node,int m1,int indexToEdgeList,int[] subj,int[] obj,int[] inDeg){		
+		int getOneNodeLinks(int node,int m1,int indexToEdgeList,int[] subj,int[] obj,WeightedSampler inDeg){		
 			/* finds m1 connections from/to to node*/
 			
 			int[] tmp = weightedSampleWithoutReplacement((node - 1), m1, inDeg);// #new links			
@@ -258,11 +166,11 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 			biasedCoin=((m1/2.0-1)/(m1-1));
 			for (int k = 0; k < m1; k++) {
 				if (k != vin_ix && (generator.nextDouble() > biasedCoin) ) {
-					inDeg[tmp[k]] = inDeg[tmp[k]] + 1;
+					inDeg.addWeight(tmp[k], 1);
 					subj[indexToEdgeList] = node;
 					obj[indexToEdgeList] = tmp[k];
 				} else {// inverted link
-					inDeg[node] = inDeg[node] + 1;
+					inDeg.addWeight(node, 1);
 					subj[indexToEdgeList] = tmp[k];
 					obj[indexToEdgeList] = node;
 				}
@@ -284,9 +192,10 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 			int nE=(int) Math.ceil(N*degree/2);//19/8/2019
 			int[] subj = new int[nE];
 			int[] obj = new int[nE];
-			int[] inDeg = new int[N + 1];
-			Arrays.fill(inDeg, 1);
-			inDeg[0] = 0;// not used
+			int[] initialDegrees = new int[N + 1];
+			Arrays.fill(initialDegrees, 1);
+			initialDegrees[0] = 0;// not used
+			WeightedSampler inDeg = createSampler(initialDegrees);
 			int m = (int) Math.floor(degree/2);// average degree of graph
 
 			indexToEdgeList=getInitGraph(N,degree,seed,subj,obj,inDeg,m);
@@ -348,9 +257,12 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 			int nEdges = indexToEdgeList;
 			int[] idRange=builder.addNodes(N);//Range
 			for( i=0; i < nEdges; i++) {
-				if(!builder.addEdge(subj[i]-1 + idRange[0], obj[i]-1+idRange[0], 0)) {
-					System.out.println("Failed to add edge : i="+i+" subj="+subj[i]+" idRange[0]=" + idRange[0]+" obj[i]="+ obj[i]);
-				};
+				subj[i] = subj[i]-1 + idRange[0];
+				obj[i] = obj[i]-1 + idRange[0];
+			}
+			int addedEdges = builder.addEdges(subj, obj, null, nEdges, true);
+			if(addedEdges < nEdges) {
+				System.out.println("Failed to add " + (nEdges - addedEdges) + " of " + nEdges + " edges.");
 			}
 			int[] entranceNodes= {0};
 			builder.setEntranceNodes(entranceNodes);
@@ -365,7 +277,7 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 
 //-------------------------------------------------------------------------------------------
 
-		protected int getInitGraph(int N, double degree, long seed,int[] subj,int[]obj,int[] inDeg,int m) {
+		protected int getInitGraph(int N, double degree, long seed,int[] subj,int[]obj,WeightedSampler inDeg,int m) {
 			int indexToEdgeList = 0;
 
 //			if (degree < 1 && N>1) {
@@ -385,14 +297,13 @@ protected int[] weightedSampleWithoutReplacement(int n, int m, int[] wt) {
 				subj[indexToEdgeList] = 1;
 				obj[indexToEdgeList] = 2;// first edge
 				indexToEdgeList++;
-				inDeg[2] = 2;
+				inDeg.setWeight(2, 2);
 			}
 
 			// initial part
 			if (m > 2) {
 				for (int i = 3; i <= m; i++) {
 					int[] tmp = weightedSampleWithoutReplacement(i - 1, 2, inDeg);// new links
-					//int[] tmp = weightedSampleWithoutReplacementbswithawBS(i - 1, 2, inDeg);// new links
 					
 					boolean randIndex = generator.nextBoolean();
 					int vto;
@@ -0,0 +1,276 @@
+package org.dice_research.ldcbench.generate.sample;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A {@link WeightedSampler} based on a Fenwick tree (binary indexed tree) over
+ * the weights. Updating a weight and drawing a single index need O(log n)
+ * time. In contrast to the {@link LinearScanSampler}, the weights are neither
+ * copied nor scanned for every sample.
+ * 
+ * <p>
+ * Drawing without replacement does not change the tree. In
+ * {@link SamplingMode#COMPATIBLE} mode, the weights of the already drawn
+ * indexes are skipped by shifting the drawn random number accordingly, which
+ * leads to exactly the same result as the linear scan over an array in which
+ * the weights of the drawn indexes have been set to 0. In
+ * {@link SamplingMode#FAST} mode, indexes that have already been drawn are
+ * simply rejected. If the already drawn indexes carry most of the weight, this
+ * could lead to a large number of rejections. Hence, if a single draw is
+ * rejected {@link #MAX_REJECTIONS} times in a row, the remaining indexes are
+ * drawn in the same way as in {@link SamplingMode#COMPATIBLE} mode. Since
+ * sampling is read-only, several threads can draw samples at the same time as
+ * long as no weight is changed.
+ * </p>
+ */
+public class FenwickTreeSampler implements WeightedSampler {
+
+    /**
+     * The number of consecutive rejections of a single draw in
+     * {@link SamplingMode#FAST} mode after which the sampler falls back to
+     * skipping the weights of the drawn indexes.
+     */
+    public static final int MAX_REJECTIONS = 32;
+
+    private final SamplingMode mode;
+    /**
+     * The weights of the single indexes (index 0 is not used).
+     */
+    private final int[] weights;
+    /**
+     * The Fenwick tree of the weights.
+     */
+    private final long[] tree;
+    /**
+     * The Fenwick tree counting the weights that are larger than 0.
+     */
+    private final int[] nonZeroTree;
+
+    /**
+     * Constructor for a sampler with the given number of indexes that all have
+     * the weight 0.
+     * 
+     * @param size
+     *            the largest index of the sampler
+     * @param mode
+     *            the sampling mode
+     */
+    public FenwickTreeSampler(int size, SamplingMode mode) {
+        this.mode = mode;
+        weights = new int[size + 1];
+        tree = new long[size + 1];
+        nonZeroTree = new int[size + 1];
+    }
+
+    /**
+     * Constructor. The tree is built in O(n) time.
+     * 
+     * @param weights
+     *            the initial weights (index 0 is ignored). The array is copied.
+     * @param mode
+     *            the sampling mode
+     */
+    public FenwickTreeSampler(int[] weights, SamplingMode mode) {
+        this(weights.length - 1, mode);
+        reset(weights, weights.length - 1);
+    }
+
+    /**
+     * Replaces the weights of the indexes {@code 1} to {@code n} with the given
+     * weights and sets all other weights to 0. This needs O(n) time.
+     * 
+     * @param newWeights
+     *            the new weights (index 0 is ignored)
+     * @param n
+     *            the largest index that should be taken from the given weights
+     */
+    public void reset(int[] newWeights, int n) {
+        if (n > size()) {
+            throw new IllegalArgumentException("Can not set " + n + " weights in a sampler of size " + size() + ".");
+        }
+        int next;
+        for (int i = 1; i <= n; ++i) {
+            if (newWeights[i] < 0) {
+                throw new IllegalArgumentException("Got a negative weight for index " + i + ".");
+            }
+            weights[i] = newWeights[i];
+            tree[i] = newWeights[i];
+            nonZeroTree[i] = newWeights[i] > 0 ? 1 : 0;
+        }
+        for (int i = n + 1; i < weights.length; ++i) {
+            weights[i] = 0;
+            tree[i] = 0;
+            nonZeroTree[i] = 0;
+        }
+        // add the value of every node to its parent
+        for (int i = 1; i <= n; ++i) {
+            next = i + (i & -i);
+            if (next < tree.length) {
+                tree[next] += tree[i];
+                nonZeroTree[next] += nonZeroTree[i];
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return weights.length - 1;
+    }
+
+    @Override
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    @Override
+    public void setWeight(int index, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Got a negative weight for index " + index + ".");
+        }
+        if (index < 1) {
+            throw new IndexOutOfBoundsException("The index " + index + " is not managed by this sampler.");
+        }
+        int delta = weight - weights[index];
+        int nonZeroDelta = (weight > 0 ? 1 : 0) - (weights[index] > 0 ? 1 : 0);
+        weights[index] = weight;
+        for (int i = index; i < tree.length; i += (i & -i)) {
+            tree[i] += delta;
+            nonZeroTree[i] += nonZeroDelta;
+        }
+    }
+
+    /**
+     * Returns the sum of the weights of the indexes {@code 1} to {@code n}.
+     * 
+     * @param n
+     *            the last index (inclusive)
+     * @return the sum of the weights
+     */
+    public long getPrefixSum(int n) {
+        long sum = 0;
+        for (int i = n; i > 0; i -= (i & -i)) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of indexes from {@code 1} to {@code n} that have a
+     * weight larger than 0.
+     * 
+     * @param n
+     *            the last index (inclusive)
+     * @return the number of non-zero weights
+     */
+    public int getNonZeroCount(int n) {
+        int count = 0;
+        for (int i = n; i > 0; i -= (i & -i)) {
+            count += nonZeroTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the smallest index {@code i <= n} for which the sum of the weights
+     * from {@code 1} to {@code i} is larger than the given value.
+     * 
+     * @param value
+     *            the value that has to be exceeded. It has to be smaller than
+     *            the sum of the weights from {@code 1} to {@code n}.
+     * @param n
+     *            the largest index that can be returned
+     * @return the found index
+     */
+    protected int search(long value, int n) {
+        int position = 0;
+        int next;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+            next = position + step;
+            if ((next <= n) && (tree[next] <= value)) {
+                position = next;
+                value -= tree[next];
+            }
+        }
+        return position + 1;
+    }
+
+    @Override
+    public int[] sampleWithoutReplacement(int n, int m, IntUnaryOperator random) {
+        long sum = getPrefixSum(n);
+        LinearScanSampler.checkSample(n, m, sum, getNonZeroCount(n));
+        if (mode == SamplingMode.FAST) {
+            return sampleWithRejection(n, m, sum, random);
+        } else {
+            return sampleWithExclusion(n, m, sum, random, new int[m], 0);
+        }
+    }
+
+    /**
+     * Draws the indexes in the same way as the {@link LinearScanSampler}.
+     * 
+     * @param result
+     *            the array for the drawn indexes
+     * @param start
+     *            the number of indexes that have already been drawn, i.e., the
+     *            first position of the result array that has to be filled
+     */
+    private int[] sampleWithExclusion(int n, int m, long sum, IntUnaryOperator random, int[] result, int start) {
+        // the already drawn indexes, sorted ascending
+        int[] drawn = new int[m];
+        System.arraycopy(result, 0, drawn, 0, start);
+        Arrays.sort(drawn, 0, start);
+        for (int j = 0; j < start; ++j) {
+            sum -= weights[drawn[j]];
+        }
+        long value;
+        int index;
+        int pos;
+        for (int j = start; j < m; ++j) {
+            value = random.applyAsInt((int) sum);
+            // Skip the weights of all drawn indexes that are in front of the
+            // searched index, i.e., act as if their weights would be 0.
+            for (pos = 0; pos < j; ++pos) {
+                if (getPrefixSum(drawn[pos] - 1) > value) {
+                    break;
+                }
+                value += weights[drawn[pos]];
+            }
+            index = search(value, n);
+            result[j] = index;
+            sum -= weights[index];
+            // insert the index into the sorted array of drawn indexes
+            System.arraycopy(drawn, pos, drawn, pos + 1, j - pos);
+            drawn[pos] = index;
+        }
+        return result;
+    }
+
+    /**
+     * Draws indexes from the complete distribution and rejects indexes that have
+     * already been drawn. Falls back to
+     * {@link #sampleWithExclusion(int, int, long, IntUnaryOperator, int[], int)}
+     * if a draw is rejected too often.
+     */
+    private int[] sampleWithRejection(int n, int m, long sum, IntUnaryOperator random) {
+        int[] result = new int[m];
+        int index;
+        int rejections;
+        boolean alreadyDrawn;
+        for (int j = 0; j < m; ++j) {
+            rejections = 0;
+            do {
+                index = search(random.applyAsInt((int) sum), n);
+                alreadyDrawn = false;
+                for (int k = 0; (k < j) && !alreadyDrawn; ++k) {
+                    alreadyDrawn = (result[k] == index);
+                }
+                if (alreadyDrawn && (++rejections >= MAX_REJECTIONS)) {
+                    return sampleWithExclusion(n, m, sum, random, result, j);
+                }
+            } while (alreadyDrawn);
+            result[j] = index;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package org.dice_research.ldcbench.generate.sample;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The original sampler of the generators. It copies the weights and scans them
+ * linearly for every drawn index, i.e., sampling needs O(n) time. It is kept as
+ * reference for the {@link FenwickTreeSampler}.
+ */
+public class LinearScanSampler implements WeightedSampler {
+
+    private final int[] weights;
+
+    /**
+     * Constructor.
+     * 
+     * @param weights
+     *            the initial weights (index 0 is ignored). The array is copied.
+     */
+    public LinearScanSampler(int[] weights) {
+        this.weights = Arrays.copyOf(weights, weights.length);
+    }
+
+    @Override
+    public int size() {
+        return weights.length - 1;
+    }
+
+    @Override
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    @Override
+    public void setWeight(int index, int weight) {
+        weights[index] = weight;
+    }
+
+    @Override
+    public int[] sampleWithoutReplacement(int n, int m, IntUnaryOperator random) {
+        int[] result = new int[m];
+        int rand;
+        int i;
+        int sum = 0;
+        int nonZeroWeights = 0;
+        for (i = 1; i <= n; i++) {
+            sum += weights[i];
+            if (weights[i] > 0) {
+                nonZeroWeights++;
+            }
+        }
+        checkSample(n, m, sum, nonZeroWeights);
+
+        int[] remainingWeights = Arrays.copyOf(weights, n + 1);
+        for (int j = 0; j < m; j++) {
+            rand = random.applyAsInt(sum);
+            // find interval
+            for (i = 1; i <= n; i++) {
+                rand -= remainingWeights[i];
+                if (rand < 0) {
+                    result[j] = i;
+                    sum -= remainingWeights[i];
+                    remainingWeights[i] = 0;// to avoid replacement
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether {@code m} indexes can be sampled from the given weights.
+     * 
+     * @param n
+     *            the largest index that can be sampled
+     * @param m
+     *            the number of indexes that should be sampled
+     * @param sum
+     *            the sum of the weights
+     * @param nonZeroWeights
+     *            the number of weights that are larger than 0
+     * @throws IllegalArgumentException
+     *             if the indexes can not be sampled
+     */
+    static void checkSample(int n, int m, long sum, int nonZeroWeights) {
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Error, Sum<=0, n=" + n + " m=" + m + " Sum=" + sum);
+        }
+        if (nonZeroWeights < m) {
+            throw new IllegalArgumentException(
+                    "Error, count nonzeros in weights: " + nonZeroWeights + " < " + m + ", n=" + n + " Sum=" + sum);
+        }
+        if (sum > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The sum of the weights (" + sum + ") exceeds the integer range.");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.dice_research.ldcbench.generate.sample;
+
+/**
+ * The modes in which a {@link FenwickTreeSampler} can draw samples.
+ */
+public enum SamplingMode {
+    /**
+     * Draws exactly the same random numbers and returns exactly the same indexes
+     * as the original linear scan of the weight array (see
+     * {@link LinearScanSampler}). Hence, a generator produces the same graph for
+     * the same seed as before.
+     */
+    COMPATIBLE,
+    /**
+     * Draws from the complete weight distribution and rejects indexes that have
+     * already been drawn. This needs fewer operations per drawn index but leads
+     * to different graphs than the {@link #COMPATIBLE} mode.
+     */
+    FAST;
+}
@@ -0,0 +1,67 @@
+package org.dice_research.ldcbench.generate.sample;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A weighted sampler manages non-negative integer weights of the indexes
+ * {@code 1} to {@link #size()} (index 0 is not used) and offers to draw
+ * indexes without replacement with a probability proportional to their
+ * weights. The generators use it to implement preferential attachment, i.e.,
+ * the weights are the degrees of the nodes.
+ */
+public interface WeightedSampler {
+
+    /**
+     * @return the largest index managed by this sampler
+     */
+    public int size();
+
+    /**
+     * @param index
+     *            the index of the weight
+     * @return the current weight of the given index
+     */
+    public int getWeight(int index);
+
+    /**
+     * Sets the weight of the given index.
+     * 
+     * @param index
+     *            the index of the weight
+     * @param weight
+     *            the new weight (has to be &gt;= 0)
+     */
+    public void setWeight(int index, int weight);
+
+    /**
+     * Adds the given value to the weight of the given index.
+     * 
+     * @param index
+     *            the index of the weight
+     * @param delta
+     *            the value that should be added to the weight
+     */
+    public default void addWeight(int index, int delta) {
+        setWeight(index, getWeight(index) + delta);
+    }
+
+    /**
+     * Samples {@code m} indexes from {@code 1} to {@code n} without replacement
+     * using the current weights. The weights are not changed by this method.
+     * 
+     * @param n
+     *            the largest index that can be sampled
+     * @param m
+     *            the number of indexes that should be sampled
+     * @param random
+     *            the source of random numbers. It has to return a uniformly
+     *            distributed value from {@code 0} (inclusive) to the given bound
+     *            (exclusive), e.g., {@code random::nextInt}.
+     * @return the sampled indexes in the order in which they have been drawn
+     * @throws IllegalArgumentException
+     *             if the weights of the indexes {@code 1} to {@code n} sum up to
+     *             0 or less than {@code m} of them are larger than 0
+     */
+    public int[] sampleWithoutReplacement(int n, int m, IntUnaryOperator random);
+
+}
@@ -1,12 +1,7 @@
 package org.dice_research.ldcbench.generate.seed;
 
-import java.util.BitSet;
-import java.util.stream.IntStream;
-
 import org.dice_research.ldcbench.graph.Graph;
-
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
+import org.dice_research.ldcbench.graph.algorithm.EntranceNodeFinder;
 
 /**
  * Default implementation of the seed searcher interface that follows partially
@@ -14,59 +9,45 @@ import it.unimi.dsi.fastutil.ints.IntSet;
  * within the given graph. These nodes are used as first seed nodes. If these
  * nodes do not cover the complete graph, a greedy algorithm iterates over the
  * remaining vertices and adds more of them to the list of seed nodes until all
- * vertices of the graph are covered.
+ * vertices of the graph are covered. The search is done by the
+ * {@link EntranceNodeFinder}, optionally using several threads for large
+ * graphs.
  * 
  * @author Michael R&ouml;der (michael.roeder@uni-paderborn.de)
  *
  */
 public class DefaultSeedSearcher implements SeedSearcher {
 
-    @Override
-    public int[] searchSeedNodes(Graph graph) {
-        int numberOfNodes = graph.getNumberOfNodes();
-        // Search for authority nodes, i.e., nodes that have no incoming edges
-        int[] hubs = searchHubs(graph);
-        BitSet visitedNodes = new BitSet();
-        for (int i = 0; i < hubs.length; ++i) {
-            visitNodes(hubs[i], graph, visitedNodes);
-        }
-        // If we can already reach all nodes
-        if(visitedNodes.cardinality() >= numberOfNodes) {
-            return hubs;
-        }
-        // While there are still nodes unreachable, apply a greedy approach
-        int nextStartNode = 0;
-        IntSet seedNodes = new IntOpenHashSet(hubs);
-        while (visitedNodes.cardinality() < numberOfNodes) {
-            nextStartNode = visitedNodes.nextClearBit(nextStartNode);
-            visitNodes(nextStartNode, graph, visitedNodes);
-            seedNodes.add(nextStartNode);
-        }
-        return seedNodes.toIntArray();
-    }
+    /**
+     * The number of threads used to search the reachable nodes.
+     */
+    protected int numberOfThreads;
 
     /**
-     * Recursive function visiting nodes starting at the given node.
+     * Constructor for a searcher that uses a single thread.
      */
-    private void visitNodes(int node, Graph graph, BitSet visitedNodes) {
-        visitedNodes.set(node);
-        if (graph.outgoingEdgeCount(node) > 0) {
-            int[] targets = graph.outgoingEdgeTargets(node);
-            for (int i = 0; i < targets.length; ++i) {
-                if (!visitedNodes.get(targets[i])) {
-                    visitNodes(targets[i], graph, visitedNodes);
-                }
-            }
-        }
+    public DefaultSeedSearcher() {
+        this(1);
     }
 
     /**
-     * This method identifies hub nodes, i.e., nodes that have no incoming edge.
+     * Constructor.
      * 
-     * @param graph the graph from which these nodes should be derived
-     * @return the IDs of the hub nodes
+     * @param numberOfThreads
+     *            the number of threads used to search the reachable nodes. If it
+     *            is &gt; 1, the searched graphs have to support concurrent reads
+     *            (e.g., graphs created by
+     *            {@link org.dice_research.ldcbench.graph.GraphBuilder#build()}).
      */
-    private int[] searchHubs(Graph graph) {
-        return IntStream.range(0, graph.getNumberOfNodes()).filter(i -> graph.incomingEdgeCount(i) <= 0).toArray();
+    public DefaultSeedSearcher(int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("The number of threads has to be > 0.");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    @Override
+    public int[] searchSeedNodes(Graph graph) {
+        return EntranceNodeFinder.findEntranceNodes(graph, numberOfThreads);
     }
 }
@@ -0,0 +1,22 @@
+package org.dice_research.ldcbench.generate.seed;
+
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.algorithm.StronglyConnectedComponents;
+
+/**
+ * A seed searcher that returns the smallest possible set of seed nodes. The
+ * graph is condensed into the directed acyclic graph of its strongly connected
+ * components. Every component without incoming edges can not be reached from
+ * any other component and needs exactly one seed while all other components
+ * are reachable from these seeds. Hence, the node with the lowest ID of every
+ * such source component is returned. In contrast to the
+ * {@link DefaultSeedSearcher}, the number of seeds does not depend on the
+ * order of the node IDs. See {@link StronglyConnectedComponents} for details.
+ */
+public class MinimalSeedSearcher implements SeedSearcher {
+
+    @Override
+    public int[] searchSeedNodes(Graph graph) {
+        return new StronglyConnectedComponents(graph).getSourceComponentRepresentatives();
+    }
+}
@@ -0,0 +1,289 @@
+package org.dice_research.ldcbench.graph;
+
+import java.util.Arrays;
+
+/**
+ * An immutable {@link Graph} implementation based on the compressed sparse row
+ * (CSR) format. The outgoing edges of all nodes are stored in two parallel
+ * arrays (targets and types) that are sorted by their source node. An offset
+ * array points to the first edge of every node, i.e., the outgoing edges of
+ * node {@code n} can be found at the positions {@code outOffsets[n]} (inclusive)
+ * to {@code outOffsets[n + 1]} (exclusive). The incoming edges are stored in
+ * the same way.
+ *
+ * <p>
+ * In contrast to the {@link GrphBasedGraph}, the arrays returned by this class
+ * do not have to be sorted or mapped before they are returned. Counting and
+ * visiting the edges of a node (see {@link #forEachOutgoingEdge(int, EdgeConsumer)}
+ * and {@link #outgoingEdges(int, EdgeCursor)}) does not need any allocation at
+ * all.
+ * </p>
+ */
+public class CSRGraph implements Graph {
+
+    /**
+     * Offsets of the outgoing edges of the single nodes. The array has
+     * {@code numberOfNodes + 1} elements.
+     */
+    protected final int[] outOffsets;
+    /**
+     * Targets of the outgoing edges.
+     */
+    protected final int[] outTargets;
+    /**
+     * Types of the outgoing edges.
+     */
+    protected final int[] outTypes;
+    /**
+     * Offsets of the incoming edges of the single nodes. The array has
+     * {@code numberOfNodes + 1} elements.
+     */
+    protected final int[] inOffsets;
+    /**
+     * Sources of the incoming edges.
+     */
+    protected final int[] inSources;
+    /**
+     * Types of the incoming edges.
+     */
+    protected final int[] inTypes;
+    /**
+     * Entrance nodes of this graph.
+     */
+    protected final int[] entranceNodes;
+    /**
+     * Graph IDs of the single nodes or {@code null} if the graph does not contain
+     * external nodes.
+     */
+    protected final int[] graphIds;
+    /**
+     * External IDs of the single nodes or {@code null} if the graph does not
+     * contain external nodes.
+     */
+    protected final int[] externalIds;
+
+    /**
+     * Creates a frozen copy of the given graph. The order of the outgoing edges of
+     * the single nodes is preserved.
+     *
+     * @param other
+     *            the graph that should be copied
+     */
+    public CSRGraph(Graph other) {
+        int numberOfNodes = other.getNumberOfNodes();
+        outOffsets = new int[numberOfNodes + 1];
+        for (int i = 0; i < numberOfNodes; ++i) {
+            outOffsets[i + 1] = outOffsets[i] + other.outgoingEdgeCount(i);
+        }
+        outTargets = new int[outOffsets[numberOfNodes]];
+        outTypes = new int[outTargets.length];
+        EdgeCursor cursor = new EdgeCursor();
+        int position;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            other.outgoingEdges(i, cursor);
+            position = outOffsets[i];
+            while (cursor.next()) {
+                outTargets[position] = cursor.nodeId();
+                outTypes[position] = cursor.typeId();
+                ++position;
+            }
+        }
+
+        int[][] externalNodes = copyExternalNodes(other);
+        graphIds = externalNodes[0];
+        externalIds = externalNodes[1];
+        int[] otherEntranceNodes = other.getEntranceNodes();
+        entranceNodes = otherEntranceNodes == null ? new int[0]
+                : Arrays.copyOf(otherEntranceNodes, otherEntranceNodes.length);
+
+        inOffsets = new int[numberOfNodes + 1];
+        inSources = new int[outTargets.length];
+        inTypes = new int[outTargets.length];
+        fillIncomingEdges();
+    }
+
+    /**
+     * Creates a graph based on the given arrays. Note that the arrays are not
+     * copied, i.e., they must not be changed after calling this constructor. The
+     * incoming edges are derived from the outgoing edges.
+     *
+     * @param outOffsets
+     *            offsets of the outgoing edges with {@code numberOfNodes + 1}
+     *            elements. The last element has to be the number of edges.
+     * @param outTargets
+     *            the targets of the outgoing edges
+     * @param outTypes
+     *            the types of the outgoing edges
+     * @param entranceNodes
+     *            the entrance nodes of the graph
+     * @param graphIds
+     *            the graph IDs of the nodes or {@code null} if the graph does not
+     *            have external nodes
+     * @param externalIds
+     *            the external IDs of the nodes or {@code null} if the graph does
+     *            not have external nodes
+     */
+    public CSRGraph(int[] outOffsets, int[] outTargets, int[] outTypes, int[] entranceNodes, int[] graphIds,
+            int[] externalIds) {
+        if (outTargets.length != outTypes.length) {
+            throw new IllegalArgumentException("The arrays of targets (" + outTargets.length + ") and types ("
+                    + outTypes.length + ") have different lengths.");
+        }
+        if ((outOffsets.length == 0) || (outOffsets[outOffsets.length - 1] != outTargets.length)) {
+            throw new IllegalArgumentException("The offset array does not fit to the given edges.");
+        }
+        if ((graphIds == null) != (externalIds == null)) {
+            throw new IllegalArgumentException(
+                    "Either both or none of the graph ID and external ID arrays have to be given.");
+        }
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outTypes = outTypes;
+        this.entranceNodes = entranceNodes == null ? new int[0] : entranceNodes;
+        this.graphIds = graphIds;
+        this.externalIds = externalIds;
+
+        inOffsets = new int[outOffsets.length];
+        inSources = new int[outTargets.length];
+        inTypes = new int[outTargets.length];
+        fillIncomingEdges();
+    }
+
+    /**
+     * Copies the graph IDs and external IDs of the given graph into two dense
+     * arrays. If the graph does not have any external node, both arrays are
+     * {@code null}.
+     *
+     * @param other
+     *            the graph from which the information should be copied
+     * @return an array containing the graph IDs ([0]) and the external node IDs
+     *         ([1])
+     */
+    private static int[][] copyExternalNodes(Graph other) {
+        int numberOfNodes = other.getNumberOfNodes();
+        int[] graphIds = null;
+        int[] externalIds = null;
+        int graphId;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            graphId = other.getGraphId(i);
+            if (graphId != INTERNAL_NODE_GRAPH_ID) {
+                if (graphIds == null) {
+                    graphIds = new int[numberOfNodes];
+                    Arrays.fill(graphIds, INTERNAL_NODE_GRAPH_ID);
+                    externalIds = new int[numberOfNodes];
+                    for (int j = 0; j < numberOfNodes; ++j) {
+                        externalIds[j] = j;
+                    }
+                }
+                graphIds[i] = graphId;
+                externalIds[i] = other.getExternalNodeId(i);
+            }
+        }
+        return new int[][] { graphIds, externalIds };
+    }
+
+    /**
+     * Derives the incoming edges from the outgoing edges using a counting sort.
+     * The incoming edges of a node are sorted by their source.
+     */
+    private void fillIncomingEdges() {
+        int numberOfNodes = outOffsets.length - 1;
+        for (int i = 0; i < outTargets.length; ++i) {
+            ++inOffsets[outTargets[i] + 1];
+        }
+        for (int i = 0; i < numberOfNodes; ++i) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] positions = Arrays.copyOf(inOffsets, numberOfNodes);
+        int position;
+        for (int source = 0; source < numberOfNodes; ++source) {
+            for (int e = outOffsets[source]; e < outOffsets[source + 1]; ++e) {
+                position = positions[outTargets[e]]++;
+                inSources[position] = source;
+                inTypes[position] = outTypes[e];
+            }
+        }
+    }
+
+    @Override
+    public int[] outgoingEdgeTargets(int nodeId) {
+        return Arrays.copyOfRange(outTargets, outOffsets[nodeId], outOffsets[nodeId + 1]);
+    }
+
+    @Override
+    public int[] outgoingEdgeTypes(int nodeId) {
+        return Arrays.copyOfRange(outTypes, outOffsets[nodeId], outOffsets[nodeId + 1]);
+    }
+
+    @Override
+    public int outgoingEdgeCount(int nodeId) {
+        return outOffsets[nodeId + 1] - outOffsets[nodeId];
+    }
+
+    @Override
+    public void forEachOutgoingEdge(int nodeId, EdgeConsumer consumer) {
+        int end = outOffsets[nodeId + 1];
+        for (int e = outOffsets[nodeId]; e < end; ++e) {
+            consumer.accept(outTargets[e], outTypes[e]);
+        }
+    }
+
+    @Override
+    public EdgeCursor outgoingEdges(int nodeId, EdgeCursor cursor) {
+        return cursor.reset(outTargets, outTypes, outOffsets[nodeId], outOffsets[nodeId + 1]);
+    }
+
+    @Override
+    public int[] incomingEdgeSources(int nodeId) {
+        return Arrays.copyOfRange(inSources, inOffsets[nodeId], inOffsets[nodeId + 1]);
+    }
+
+    @Override
+    public int[] incomingEdgeTypes(int nodeId) {
+        return Arrays.copyOfRange(inTypes, inOffsets[nodeId], inOffsets[nodeId + 1]);
+    }
+
+    @Override
+    public int incomingEdgeCount(int nodeId) {
+        return inOffsets[nodeId + 1] - inOffsets[nodeId];
+    }
+
+    @Override
+    public void forEachIncomingEdge(int nodeId, EdgeConsumer consumer) {
+        int end = inOffsets[nodeId + 1];
+        for (int e = inOffsets[nodeId]; e < end; ++e) {
+            consumer.accept(inSources[e], inTypes[e]);
+        }
+    }
+
+    @Override
+    public EdgeCursor incomingEdges(int nodeId, EdgeCursor cursor) {
+        return cursor.reset(inSources, inTypes, inOffsets[nodeId], inOffsets[nodeId + 1]);
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return outOffsets.length - 1;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return outTargets.length;
+    }
+
+    @Override
+    public int[] getEntranceNodes() {
+        return entranceNodes;
+    }
+
+    @Override
+    public int getGraphId(int nodeId) {
+        return graphIds == null ? INTERNAL_NODE_GRAPH_ID : graphIds[nodeId];
+    }
+
+    @Override
+    public int getExternalNodeId(int nodeId) {
+        return externalIds == null ? nodeId : externalIds[nodeId];
+    }
+
+}
@@ -0,0 +1,388 @@
+package org.dice_research.ldcbench.graph;
+
+import java.util.Arrays;
+
+/**
+ * A {@link GraphBuilder} that collects the edges in three parallel arrays
+ * (sources, targets and types) and creates a {@link CSRGraph} from them. In
+ * contrast to the {@link GrphBasedGraph}, adding edges does not update any
+ * adjacency structure. The edges are simply appended to the arrays and sorted
+ * by their source with a single counting sort when the graph is built. The
+ * order of the outgoing edges of a node is the order in which they have been
+ * added.
+ *
+ * <p>
+ * The methods of the {@link Graph} interface are answered by the
+ * {@link CSRGraph} returned by {@link #build()}, which is created when one of
+ * them is called for the first time after a change of the builder. Hence, this
+ * builder is meant for generators that add their edges with a few calls of
+ * {@link #addEdges(int[], int[], int[], int, boolean)}. Alternating between
+ * changing and reading the graph is expensive and adding a single edge with
+ * {@link #addEdge(int, int, int)} has to compare it with all edges of the
+ * graph.
+ * </p>
+ */
+public class CSRGraphBuilder implements GraphBuilder {
+
+    /**
+     * The number of nodes of this graph.
+     */
+    protected int numberOfNodes = 0;
+    /**
+     * The number of edges of this graph, i.e., the number of used elements of
+     * the edge arrays.
+     */
+    protected int numberOfEdges = 0;
+    /**
+     * Sources of the edges in the order in which they have been added.
+     */
+    protected int[] sources = new int[0];
+    /**
+     * Targets of the edges in the order in which they have been added.
+     */
+    protected int[] targets = new int[0];
+    /**
+     * Types of the edges in the order in which they have been added.
+     */
+    protected int[] types = new int[0];
+    /**
+     * Entrance nodes of this graph.
+     */
+    protected int[] entranceNodes = new int[0];
+    /**
+     * Graph IDs of the nodes of this graph. The array is {@code null} as long as
+     * no external node has been added. Nodes with an ID that is larger than the
+     * array are internal nodes.
+     */
+    protected int[] graphIds = null;
+    /**
+     * IDs of the nodes in their external graphs. The array has always the same
+     * length as {@link #graphIds}.
+     */
+    protected int[] externalIds = null;
+    /**
+     * The graph built from the current state of this builder or {@code null} if
+     * the builder has been changed since the last call of {@link #build()}.
+     */
+    protected CSRGraph graph = null;
+
+    @Override
+    public boolean addEdge(int sourceId, int targetId, int typeId) {
+        // Do not add the edge if any of incident vertices are missing.
+        if (!(containsNode(sourceId) && containsNode(targetId))) {
+            return false;
+        }
+
+        // Do not add the edge if there's already another edge with the same type.
+        for (int i = 0; i < numberOfEdges; ++i) {
+            if ((sources[i] == sourceId) && (targets[i] == targetId) && (types[i] == typeId)) {
+                return false;
+            }
+        }
+
+        ensureEdgeCapacity(numberOfEdges + 1);
+        appendEdge(sourceId, targetId, typeId);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The duplicates are identified per source node (see
+     * {@link DuplicateEdgeFinder}). The remaining edges are appended to the edge
+     * arrays, which grow at most once per call.
+     * </p>
+     */
+    @Override
+    public int addEdges(int[] sourceIds, int[] targetIds, int[] typeIds, int count, boolean deduplicate) {
+        GraphBuilder.checkEdgeArrays(sourceIds, targetIds, typeIds, count);
+        // Do not add edges if any of incident vertices are missing.
+        boolean[] skip = new boolean[count];
+        int validEdges = 0;
+        for (int i = 0; i < count; ++i) {
+            skip[i] = !(containsNode(sourceIds[i]) && containsNode(targetIds[i]));
+            if (!skip[i]) {
+                ++validEdges;
+            }
+        }
+        if (deduplicate) {
+            DuplicateEdgeFinder.markDuplicateEdges(sourceIds, targetIds, typeIds, count, skip,
+                    this::getOutgoingEdgeKeys);
+        }
+
+        ensureEdgeCapacity(numberOfEdges + validEdges);
+        int added = 0;
+        for (int i = 0; i < count; ++i) {
+            if (!skip[i]) {
+                appendEdge(sourceIds[i], targetIds[i], typeIds == null ? 0 : typeIds[i]);
+                ++added;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Returns the sorted keys (see {@link DuplicateEdgeFinder#edgeKey(int, int)})
+     * of the outgoing edges the given node already has.
+     *
+     * @param nodeId
+     *            the source node of the edges
+     * @return the sorted keys or {@code null} if the node does not have
+     *         outgoing edges
+     */
+    private long[] getOutgoingEdgeKeys(int nodeId) {
+        if (numberOfEdges == 0) {
+            return null;
+        }
+        CSRGraph current = build();
+        int start = current.outOffsets[nodeId];
+        int end = current.outOffsets[nodeId + 1];
+        if (start == end) {
+            return null;
+        }
+        long[] keys = new long[end - start];
+        for (int e = start; e < end; ++e) {
+            keys[e - start] = DuplicateEdgeFinder.edgeKey(current.outTargets[e], current.outTypes[e]);
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private boolean containsNode(int nodeId) {
+        return (nodeId >= 0) && (nodeId < numberOfNodes);
+    }
+
+    /**
+     * Appends the given edge to the edge arrays, which must have enough space
+     * left.
+     */
+    private void appendEdge(int sourceId, int targetId, int typeId) {
+        sources[numberOfEdges] = sourceId;
+        targets[numberOfEdges] = targetId;
+        types[numberOfEdges] = typeId;
+        ++numberOfEdges;
+        graph = null;
+    }
+
+    /**
+     * Makes sure that the edge arrays have at least the given length. The
+     * arrays grow by 50% if necessary.
+     *
+     * @param capacity
+     *            the minimum length the arrays should have
+     */
+    protected void ensureEdgeCapacity(int capacity) {
+        if (capacity <= sources.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, sources.length + (sources.length >> 1));
+        sources = Arrays.copyOf(sources, newLength);
+        targets = Arrays.copyOf(targets, newLength);
+        types = Arrays.copyOf(types, newLength);
+    }
+
+    @Override
+    public int addNode() {
+        graph = null;
+        return numberOfNodes++;
+    }
+
+    @Override
+    public int[] addNodes(int nodeCount) {
+        int[] range = new int[] { numberOfNodes, numberOfNodes + nodeCount };
+        numberOfNodes += nodeCount;
+        graph = null;
+        return range;
+    }
+
+    @Override
+    public void setEntranceNodes(int[] entranceNodes) {
+        this.entranceNodes = entranceNodes;
+        graph = null;
+    }
+
+    @Override
+    public int[] getEntranceNodes() {
+        return entranceNodes;
+    }
+
+    @Override
+    public int getGraphId(int nodeId) {
+        if ((graphIds != null) && (nodeId < graphIds.length)) {
+            return graphIds[nodeId];
+        }
+        return INTERNAL_NODE_GRAPH_ID;
+    }
+
+    @Override
+    public int getExternalNodeId(int nodeId) {
+        if ((externalIds != null) && (nodeId < externalIds.length)) {
+            return externalIds[nodeId];
+        }
+        return nodeId;
+    }
+
+    @Override
+    public void setGraphIdOfNode(int nodeId, int graphId, int externalId) {
+        graph = null;
+        if (graphId == INTERNAL_NODE_GRAPH_ID) {
+            // Only reset the node if it has been marked as external before
+            if ((graphIds != null) && (nodeId < graphIds.length)) {
+                graphIds[nodeId] = INTERNAL_NODE_GRAPH_ID;
+                externalIds[nodeId] = nodeId;
+            }
+            return;
+        }
+        ensureExternalNodeCapacity(nodeId + 1);
+        graphIds[nodeId] = graphId;
+        externalIds[nodeId] = externalId;
+    }
+
+    @Override
+    public void setGraphIdsOfNodes(int[] nodeIds, int[] graphIds, int[] externalIds) {
+        if ((nodeIds.length != graphIds.length) || (nodeIds.length != externalIds.length)) {
+            throw new IllegalArgumentException("The given arrays have different lengths.");
+        }
+        int maxNodeId = -1;
+        for (int i = 0; i < nodeIds.length; ++i) {
+            if ((graphIds[i] != INTERNAL_NODE_GRAPH_ID) && (nodeIds[i] > maxNodeId)) {
+                maxNodeId = nodeIds[i];
+            }
+        }
+        if (maxNodeId >= 0) {
+            ensureExternalNodeCapacity(maxNodeId + 1);
+        }
+        for (int i = 0; i < nodeIds.length; ++i) {
+            setGraphIdOfNode(nodeIds[i], graphIds[i], externalIds[i]);
+        }
+    }
+
+    /**
+     * Makes sure that the arrays for the external node information have at least
+     * the given length. The arrays are sized to the current number of nodes of
+     * the graph and grow by 50% if necessary.
+     *
+     * @param capacity
+     *            the minimum length the arrays should have
+     */
+    protected void ensureExternalNodeCapacity(int capacity) {
+        int oldLength = (graphIds == null) ? 0 : graphIds.length;
+        if (capacity <= oldLength) {
+            return;
+        }
+        int newLength = Math.max(capacity, Math.max(numberOfNodes, oldLength + (oldLength >> 1)));
+        graphIds = (graphIds == null) ? new int[newLength] : Arrays.copyOf(graphIds, newLength);
+        externalIds = (externalIds == null) ? new int[newLength] : Arrays.copyOf(externalIds, newLength);
+        Arrays.fill(graphIds, oldLength, newLength, INTERNAL_NODE_GRAPH_ID);
+        for (int i = oldLength; i < newLength; ++i) {
+            externalIds[i] = i;
+        }
+    }
+
+    /**
+     * Returns a frozen {@link CSRGraph} containing the graph that has been built
+     * so far. The outgoing edges are sorted by their source with a counting sort
+     * that keeps the order in which they have been added. Later changes of this
+     * builder are not reflected by the returned graph.
+     *
+     * @return a {@link CSRGraph} instance containing the built graph.
+     */
+    @Override
+    public CSRGraph build() {
+        if (graph != null) {
+            return graph;
+        }
+        int[] offsets = new int[numberOfNodes + 1];
+        for (int i = 0; i < numberOfEdges; ++i) {
+            ++offsets[sources[i] + 1];
+        }
+        for (int i = 0; i < numberOfNodes; ++i) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] positions = Arrays.copyOf(offsets, numberOfNodes);
+        int[] outTargets = new int[numberOfEdges];
+        int[] outTypes = new int[numberOfEdges];
+        int position;
+        for (int i = 0; i < numberOfEdges; ++i) {
+            position = positions[sources[i]]++;
+            outTargets[position] = targets[i];
+            outTypes[position] = types[i];
+        }
+
+        int[] nodeGraphIds = null;
+        int[] nodeExternalIds = null;
+        if (graphIds != null) {
+            nodeGraphIds = Arrays.copyOf(graphIds, numberOfNodes);
+            nodeExternalIds = Arrays.copyOf(externalIds, numberOfNodes);
+            for (int i = graphIds.length; i < numberOfNodes; ++i) {
+                nodeGraphIds[i] = INTERNAL_NODE_GRAPH_ID;
+                nodeExternalIds[i] = i;
+            }
+        }
+        graph = new CSRGraph(offsets, outTargets, outTypes,
+                entranceNodes == null ? null : Arrays.copyOf(entranceNodes, entranceNodes.length), nodeGraphIds,
+                nodeExternalIds);
+        return graph;
+    }
+
+    @Override
+    public int[] outgoingEdgeTargets(int nodeId) {
+        return build().outgoingEdgeTargets(nodeId);
+    }
+
+    @Override
+    public int[] outgoingEdgeTypes(int nodeId) {
+        return build().outgoingEdgeTypes(nodeId);
+    }
+
+    @Override
+    public int outgoingEdgeCount(int nodeId) {
+        return build().outgoingEdgeCount(nodeId);
+    }
+
+    @Override
+    public void forEachOutgoingEdge(int nodeId, EdgeConsumer consumer) {
+        build().forEachOutgoingEdge(nodeId, consumer);
+    }
+
+    @Override
+    public EdgeCursor outgoingEdges(int nodeId, EdgeCursor cursor) {
+        return build().outgoingEdges(nodeId, cursor);
+    }
+
+    @Override
+    public int[] incomingEdgeSources(int nodeId) {
+        return build().incomingEdgeSources(nodeId);
+    }
+
+    @Override
+    public int[] incomingEdgeTypes(int nodeId) {
+        return build().incomingEdgeTypes(nodeId);
+    }
+
+    @Override
+    public int incomingEdgeCount(int nodeId) {
+        return build().incomingEdgeCount(nodeId);
+    }
+
+    @Override
+    public void forEachIncomingEdge(int nodeId, EdgeConsumer consumer) {
+        build().forEachIncomingEdge(nodeId, consumer);
+    }
+
+    @Override
+    public EdgeCursor incomingEdges(int nodeId, EdgeCursor cursor) {
+        return build().incomingEdges(nodeId, cursor);
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return numberOfEdges;
+    }
+}
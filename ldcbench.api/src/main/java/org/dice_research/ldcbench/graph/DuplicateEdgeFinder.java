@@ -0,0 +1,125 @@
+package org.dice_research.ldcbench.graph;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Identifies the edges of a bulk insertion (see
+ * {@link GraphBuilder#addEdges(int[], int[], int[], int, boolean)}) that are
+ * already part of a graph or occur several times in the given arrays. The
+ * given edges are grouped by their source node using a counting sort and the
+ * duplicates are identified per source node. Only source nodes that already
+ * have outgoing edges have to be compared with the existing edges.
+ */
+final class DuplicateEdgeFinder {
+
+    private DuplicateEdgeFinder() {
+    }
+
+    /**
+     * Marks all edges that are already part of the graph or that occur at an
+     * earlier position of the given arrays.
+     *
+     * @param sourceIds
+     *            the ids of the source nodes
+     * @param targetIds
+     *            the ids of the target nodes
+     * @param typeIds
+     *            the type ids of the edges or {@code null}
+     * @param count
+     *            the number of given edges
+     * @param skip
+     *            the flags of the edges that should not be added. Edges that
+     *            are already marked are ignored.
+     * @param existingKeys
+     *            returns the sorted keys (see {@link #edgeKey(int, int)}) of the
+     *            outgoing edges a given node already has or {@code null} if the
+     *            node does not have outgoing edges
+     */
+    static void markDuplicateEdges(int[] sourceIds, int[] targetIds, int[] typeIds, int count, boolean[] skip,
+            IntFunction<long[]> existingKeys) {
+        int maxSource = -1;
+        for (int i = 0; i < count; ++i) {
+            if (!skip[i] && (sourceIds[i] > maxSource)) {
+                maxSource = sourceIds[i];
+            }
+        }
+        // group the edges by their source (the order within a group is kept)
+        int[] offsets = new int[maxSource + 2];
+        for (int i = 0; i < count; ++i) {
+            if (!skip[i]) {
+                ++offsets[sourceIds[i] + 1];
+            }
+        }
+        for (int i = 0; i <= maxSource; ++i) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] positions = Arrays.copyOf(offsets, maxSource + 1);
+        int[] order = new int[offsets[maxSource + 1]];
+        for (int i = 0; i < count; ++i) {
+            if (!skip[i]) {
+                order[positions[sourceIds[i]]++] = i;
+            }
+        }
+
+        long[] groupKeys = new long[16];
+        boolean[] used = new boolean[16];
+        long[] sourceKeys;
+        long key;
+        int start, end, length, uniqueKeys, pos;
+        for (int source = 0; source <= maxSource; ++source) {
+            start = offsets[source];
+            end = offsets[source + 1];
+            length = end - start;
+            sourceKeys = (length > 0) ? existingKeys.apply(source) : null;
+            if ((length < 2) && (sourceKeys == null)) {
+                continue;
+            }
+            if (groupKeys.length < length) {
+                groupKeys = new long[Math.max(length, groupKeys.length << 1)];
+                used = new boolean[groupKeys.length];
+            }
+            // determine the sorted, unique keys of this group
+            for (int j = 0; j < length; ++j) {
+                groupKeys[j] = edgeKey(targetIds, typeIds, order[start + j]);
+            }
+            Arrays.sort(groupKeys, 0, length);
+            uniqueKeys = 0;
+            for (int j = 0; j < length; ++j) {
+                if ((j == 0) || (groupKeys[j] != groupKeys[uniqueKeys - 1])) {
+                    groupKeys[uniqueKeys] = groupKeys[j];
+                    used[uniqueKeys] = false;
+                    ++uniqueKeys;
+                }
+            }
+            // keep the first occurrence of every key that is not already part of the graph
+            for (int j = start; j < end; ++j) {
+                key = edgeKey(targetIds, typeIds, order[j]);
+                if ((sourceKeys != null) && (Arrays.binarySearch(sourceKeys, key) >= 0)) {
+                    skip[order[j]] = true;
+                } else {
+                    pos = Arrays.binarySearch(groupKeys, 0, uniqueKeys, key);
+                    if (used[pos]) {
+                        skip[order[j]] = true;
+                    } else {
+                        used[pos] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs the target and the type of an edge into a single key.
+     */
+    static long edgeKey(int targetId, int typeId) {
+        return (((long) targetId) << 32) | (typeId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the target and the type of the given edge into a single key.
+     */
+    private static long edgeKey(int[] targetIds, int[] typeIds, int edge) {
+        return edgeKey(targetIds[edge], typeIds == null ? 0 : typeIds[edge]);
+    }
+}
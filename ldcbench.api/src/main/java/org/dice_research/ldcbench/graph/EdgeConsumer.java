@@ -0,0 +1,20 @@
+package org.dice_research.ldcbench.graph;
+
+/**
+ * A consumer of edges that is called for every edge of a node without the need
+ * to create arrays or box the IDs of the edge.
+ */
+@FunctionalInterface
+public interface EdgeConsumer {
+
+    /**
+     * Consumes a single edge of a node.
+     * 
+     * @param nodeId
+     *            the ID of the other node of the edge, i.e., the target of an
+     *            outgoing edge or the source of an incoming edge
+     * @param typeId
+     *            the type ID of the edge
+     */
+    public void accept(int nodeId, int typeId);
+}
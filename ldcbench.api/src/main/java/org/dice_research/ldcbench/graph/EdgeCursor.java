@@ -0,0 +1,145 @@
+package org.dice_research.ldcbench.graph;
+
+import java.nio.IntBuffer;
+
+/**
+ * A reusable cursor over the edges of a single node. The cursor is positioned
+ * in front of the first edge after it has been reset. {@link #next()} moves it
+ * to the next edge after which the ID of the other node and the type of the
+ * edge can be retrieved.
+ * 
+ * <pre>
+ * EdgeCursor cursor = new EdgeCursor();
+ * for (int n = 0; n &lt; graph.getNumberOfNodes(); ++n) {
+ *     graph.outgoingEdges(n, cursor);
+ *     while (cursor.next()) {
+ *         handle(n, cursor.nodeId(), cursor.typeId());
+ *     }
+ * }
+ * </pre>
+ * 
+ * <p>
+ * A graph implementation can let the cursor point directly into its internal
+ * arrays or (e.g., for memory mapped graphs) buffers. Hence, a cursor must not
+ * be used to change these arrays and should not be shared between threads.
+ * </p>
+ */
+public class EdgeCursor {
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * IDs of the other nodes of the edges.
+     */
+    protected int[] nodeIds = EMPTY;
+    /**
+     * Types of the edges.
+     */
+    protected int[] typeIds = EMPTY;
+    /**
+     * IDs of the other nodes of the edges if the cursor points into buffers
+     * ({@code null} if it points into arrays).
+     */
+    protected IntBuffer nodeIdBuffer = null;
+    /**
+     * Types of the edges if the cursor points into buffers ({@code null} if it
+     * points into arrays).
+     */
+    protected IntBuffer typeIdBuffer = null;
+    /**
+     * The current position of the cursor.
+     */
+    protected int position = -1;
+    /**
+     * The first position after the last edge of the cursor.
+     */
+    protected int end = 0;
+
+    /**
+     * Resets the cursor to the given edges. The cursor is positioned in front of
+     * the edge at position {@code start}.
+     * 
+     * @param nodeIds
+     *            the array containing the IDs of the other nodes of the edges
+     * @param typeIds
+     *            the array containing the types of the edges
+     * @param start
+     *            the position of the first edge (inclusive)
+     * @param end
+     *            the position after the last edge (exclusive)
+     * @return this cursor
+     */
+    public EdgeCursor reset(int[] nodeIds, int[] typeIds, int start, int end) {
+        this.nodeIds = nodeIds;
+        this.typeIds = typeIds;
+        this.nodeIdBuffer = null;
+        this.typeIdBuffer = null;
+        this.position = start - 1;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Resets the cursor to the given edges stored in buffers. The cursor is
+     * positioned in front of the edge at position {@code start}. The positions
+     * are absolute positions in the buffers, i.e., the buffers are not changed.
+     * 
+     * @param nodeIds
+     *            the buffer containing the IDs of the other nodes of the edges
+     * @param typeIds
+     *            the buffer containing the types of the edges
+     * @param start
+     *            the position of the first edge (inclusive)
+     * @param end
+     *            the position after the last edge (exclusive)
+     * @return this cursor
+     */
+    public EdgeCursor reset(IntBuffer nodeIds, IntBuffer typeIds, int start, int end) {
+        this.nodeIds = EMPTY;
+        this.typeIds = EMPTY;
+        this.nodeIdBuffer = nodeIds;
+        this.typeIdBuffer = typeIds;
+        this.position = start - 1;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if there is a further edge, i.e., if a call to
+     * {@link #next()} would succeed.
+     * 
+     * @return {@code true} if there is a further edge
+     */
+    public boolean hasNext() {
+        return (position + 1) < end;
+    }
+
+    /**
+     * Moves the cursor to the next edge.
+     * 
+     * @return {@code true} if the cursor points to an edge or {@code false} if
+     *         there are no further edges
+     */
+    public boolean next() {
+        return ++position < end;
+    }
+
+    /**
+     * Returns the ID of the other node of the current edge, i.e., the target of an
+     * outgoing edge or the source of an incoming edge.
+     * 
+     * @return the ID of the other node of the current edge
+     */
+    public int nodeId() {
+        return (nodeIdBuffer == null) ? nodeIds[position] : nodeIdBuffer.get(position);
+    }
+
+    /**
+     * Returns the type of the current edge.
+     * 
+     * @return the type ID of the current edge
+     */
+    public int typeId() {
+        return (typeIdBuffer == null) ? typeIds[position] : typeIdBuffer.get(position);
+    }
+}
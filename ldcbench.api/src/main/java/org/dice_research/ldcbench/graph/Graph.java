@@ -48,6 +48,36 @@ public interface Graph {
         return outgoingEdgeTypes == null ? 0 : outgoingEdgeTypes.length;
     }
 
+    /**
+     * Calls the given consumer for every outgoing edge of the given node with the
+     * target and the type of the edge. The edges are visited in the same order in
+     * which they are returned by {@link #outgoingEdgeTargets(int)}.
+     * 
+     * @param nodeId   the source node ID of the edges that should be visited
+     * @param consumer the consumer that is called for every edge
+     */
+    public default void forEachOutgoingEdge(int nodeId, EdgeConsumer consumer) {
+        int[] targets = outgoingEdgeTargets(nodeId);
+        int[] types = outgoingEdgeTypes(nodeId);
+        for (int i = 0; i < targets.length; ++i) {
+            consumer.accept(targets[i], types[i]);
+        }
+    }
+
+    /**
+     * Resets the given cursor to the outgoing edges of the given node. Graph
+     * implementations may let the cursor point directly into their internal data
+     * structures, i.e., no copies of the edges have to be created.
+     * 
+     * @param nodeId the source node ID of the edges that should be visited
+     * @param cursor the cursor that should be reused
+     * @return the given cursor pointing in front of the first outgoing edge
+     */
+    public default EdgeCursor outgoingEdges(int nodeId, EdgeCursor cursor) {
+        int[] targets = outgoingEdgeTargets(nodeId);
+        return cursor.reset(targets, outgoingEdgeTypes(nodeId), 0, targets.length);
+    }
+
     /**
      * Returns an array containing the source node IDs of the edges that have the
      * given node as target. Note that this method returns the incoming edges in the
@@ -81,6 +111,36 @@ public interface Graph {
         return incomingEdgeTypes == null ? 0 : incomingEdgeTypes.length;
     }
 
+    /**
+     * Calls the given consumer for every incoming edge of the given node with the
+     * source and the type of the edge. The edges are visited in the same order in
+     * which they are returned by {@link #incomingEdgeSources(int)}.
+     * 
+     * @param nodeId   the target node ID of the edges that should be visited
+     * @param consumer the consumer that is called for every edge
+     */
+    public default void forEachIncomingEdge(int nodeId, EdgeConsumer consumer) {
+        int[] sources = incomingEdgeSources(nodeId);
+        int[] types = incomingEdgeTypes(nodeId);
+        for (int i = 0; i < sources.length; ++i) {
+            consumer.accept(sources[i], types[i]);
+        }
+    }
+
+    /**
+     * Resets the given cursor to the incoming edges of the given node. Graph
+     * implementations may let the cursor point directly into their internal data
+     * structures, i.e., no copies of the edges have to be created.
+     * 
+     * @param nodeId the target node ID of the edges that should be visited
+     * @param cursor the cursor that should be reused
+     * @return the given cursor pointing in front of the first incoming edge
+     */
+    public default EdgeCursor incomingEdges(int nodeId, EdgeCursor cursor) {
+        int[] sources = incomingEdgeSources(nodeId);
+        return cursor.reset(sources, incomingEdgeTypes(nodeId), 0, sources.length);
+    }
+
     /**
      * Returns the number of nodes of this graph.
      * 
@@ -35,6 +35,80 @@ public interface GraphBuilder extends Graph {
      */
     public boolean addEdge(int sourceId, int targetId, int typeId);
 
+    /**
+     * Adds the given edges. The three arrays are parallel arrays, i.e., the i-th
+     * edge is defined by the i-th source, target and type. Edges that are
+     * already part of the graph or occur several times in the given arrays are
+     * only added once. This method has the same result as calling
+     * {@link #addEdge(int, int, int)} for every given edge but might be
+     * implemented more efficiently.
+     *
+     * @param sourceIds
+     *            the ids of the source nodes
+     * @param targetIds
+     *            the ids of the target nodes
+     * @param typeIds
+     *            the type ids of the edges or {@code null} if all edges have the
+     *            type 0
+     * @return the number of edges that have been added
+     */
+    public default int addEdges(int[] sourceIds, int[] targetIds, int[] typeIds) {
+        return addEdges(sourceIds, targetIds, typeIds, sourceIds.length, true);
+    }
+
+    /**
+     * Adds the first {@code count} edges of the given arrays. The three arrays
+     * are parallel arrays, i.e., the i-th edge is defined by the i-th source,
+     * target and type. If {@code deduplicate} is {@code false}, the caller
+     * guarantees that the given edges are neither part of the graph nor contain
+     * duplicates, which allows implementations to skip the according checks.
+     *
+     * @param sourceIds
+     *            the ids of the source nodes
+     * @param targetIds
+     *            the ids of the target nodes
+     * @param typeIds
+     *            the type ids of the edges or {@code null} if all edges have the
+     *            type 0
+     * @param count
+     *            the number of edges that should be added
+     * @param deduplicate
+     *            whether edges that already exist should be skipped
+     * @return the number of edges that have been added
+     */
+    public default int addEdges(int[] sourceIds, int[] targetIds, int[] typeIds, int count, boolean deduplicate) {
+        checkEdgeArrays(sourceIds, targetIds, typeIds, count);
+        int added = 0;
+        for (int i = 0; i < count; ++i) {
+            if (addEdge(sourceIds[i], targetIds[i], typeIds == null ? 0 : typeIds[i])) {
+                ++added;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Checks whether the given edge arrays contain at least {@code count}
+     * elements.
+     *
+     * @param sourceIds
+     *            the ids of the source nodes
+     * @param targetIds
+     *            the ids of the target nodes
+     * @param typeIds
+     *            the type ids of the edges or {@code null}
+     * @param count
+     *            the number of edges that should be added
+     * @throws IllegalArgumentException
+     *             if one of the arrays is too short
+     */
+    public static void checkEdgeArrays(int[] sourceIds, int[] targetIds, int[] typeIds, int count) {
+        if ((count < 0) || (sourceIds.length < count) || (targetIds.length < count)
+                || ((typeIds != null) && (typeIds.length < count))) {
+            throw new IllegalArgumentException("The given arrays do not contain " + count + " edges.");
+        }
+    }
+
     /**
      * Adds a new node to the graph and returns its ID.
      * 
@@ -80,4 +154,27 @@ public interface GraphBuilder extends Graph {
      *            graphID != {@link #INTERNAL_NODE_GRAPH_ID})
      */
     public void setGraphIdOfNode(int nodeId, int graphId, int externalId);
+
+    /**
+     * Sets the graph IDs and external IDs of several nodes at once. The three
+     * arrays are parallel arrays, i.e., the i-th node ID gets the i-th graph ID
+     * and the i-th external ID. Implementations can use this method to allocate
+     * their data structures only once.
+     * 
+     * @param nodeIds
+     *            the IDs of the nodes in this graph
+     * @param graphIds
+     *            the IDs of the graphs the nodes belong to (see
+     *            {@link #setGraphIdOfNode(int, int, int)})
+     * @param externalIds
+     *            the IDs of the nodes inside the other graphs
+     */
+    public default void setGraphIdsOfNodes(int[] nodeIds, int[] graphIds, int[] externalIds) {
+        if ((nodeIds.length != graphIds.length) || (nodeIds.length != externalIds.length)) {
+            throw new IllegalArgumentException("The given arrays have different lengths.");
+        }
+        for (int i = 0; i < nodeIds.length; ++i) {
+            setGraphIdOfNode(nodeIds[i], graphIds[i], externalIds[i]);
+        }
+    }
 }
@@ -1,39 +1,37 @@
 package org.dice_research.ldcbench.graph;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.stream.IntStream;
 
 import grph.Grph;
 import grph.in_memory.InMemoryGrph;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
 public class GrphBasedGraph implements GraphBuilder {
 
+    protected Grph graph = new InMemoryGrph();
     /**
-     * Index of the graph ID in the array used as value in {@link #externalNodes}.
-     */
-    protected static final int EXTERNAL_NODE_GRAPH_ID_INDEX = 0;
-    /**
-     * Index of the external node ID in the array used as value in
-     * {@link #externalNodes}.
+     * Types of the edges. The type of an edge can be found at the position of
+     * the edge ID.
      */
-    protected static final int EXTERNAL_NODE_NODE_ID_INDEX = 1;
-
-    protected Grph graph = new InMemoryGrph();
-    protected ArrayList<Integer> edgeTypes = new ArrayList<>();
+    protected IntArrayList edgeTypes = new IntArrayList();
     /**
      * Entrance nodes of this graph.
      */
     protected int[] entranceNodes = new int[0];
     /**
-     * Storage of additional information (graph ID and node ID in this graph) of
-     * external nodes.
+     * Graph IDs of the nodes of this graph. The array is {@code null} as long as
+     * no external node has been added. Nodes with an ID that is larger than the
+     * array are internal nodes.
+     */
+    protected int[] graphIds = null;
+    /**
+     * IDs of the nodes in their external graphs. The array has always the same
+     * length as {@link #graphIds}.
      */
-    protected Map<Integer, int[]> externalNodes = new HashMap<>();
+    protected int[] externalIds = null;
 
     /**
      * Constructor for an empty GraphBuilder.
@@ -47,16 +45,25 @@ public class GrphBasedGraph implements GraphBuilder {
     public GrphBasedGraph(Graph other) {
         int nodes = other.getNumberOfNodes();
         addNodes(nodes);
+        int edges = other.getNumberOfEdges();
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int[] types = new int[edges];
+        int count = 0;
+        EdgeCursor cursor = new EdgeCursor();
         for (int i = 0; i < nodes; i++) {
-            int[] targets = other.outgoingEdgeTargets(i);
-            int[] types = other.outgoingEdgeTypes(i);
-            for (int j = 0; j < targets.length; j++) {
-                addEdge(i, targets[j], types[j]);
+            other.outgoingEdges(i, cursor);
+            while (cursor.next()) {
+                sources[count] = i;
+                targets[count] = cursor.nodeId();
+                types[count] = cursor.typeId();
+                ++count;
             }
             if (other.getGraphId(i) != Graph.INTERNAL_NODE_GRAPH_ID) {
                 setGraphIdOfNode(i, other.getGraphId(i), other.getExternalNodeId(i));
             }
         }
+        addEdges(sources, targets, types, count, true);
         setEntranceNodes(other.getEntranceNodes());
     }
 
@@ -68,7 +75,22 @@ public class GrphBasedGraph implements GraphBuilder {
      * @return the edge type
      */
     private int getEdgeType(int edge) {
-        return edgeTypes.get(edge);
+        return edgeTypes.getInt(edge);
+    }
+
+    /**
+     * Sets the type of the given edge.
+     *
+     * @param edge
+     *            the edge ID
+     * @param typeId
+     *            the type of the edge
+     */
+    private void setEdgeType(int edge, int typeId) {
+        if (edge >= edgeTypes.size()) {
+            edgeTypes.size(edge + 1);
+        }
+        edgeTypes.set(edge, typeId);
     }
 
     /**
@@ -143,21 +165,79 @@ public class GrphBasedGraph implements GraphBuilder {
 
         // Do not add the edge if there's already another edge with the same type.
         for (int edge : graph.getEdgesConnecting(sourceId, targetId)) {
-            if (edgeTypes.get(edge) == typeId) {
+            if (edgeTypes.getInt(edge) == typeId) {
                 return false;
             }
         }
 
-        int edge = graph.addSimpleEdge(sourceId, targetId, true);
-        try {
-            edgeTypes.set(edge, typeId);
-        } catch (IndexOutOfBoundsException e) {
-            // Assume new edge IDs are sequential. Otherwise this will throw.
-            edgeTypes.add(edge, typeId);
-        }
+        setEdgeType(graph.addSimpleEdge(sourceId, targetId, true), typeId);
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation does not search for existing edges between the single
+     * pairs of nodes. Instead, the duplicates are identified per source node
+     * (see {@link DuplicateEdgeFinder}). The edges are added in the given order,
+     * i.e., the result is the same as adding them one by one.
+     * </p>
+     *
+     * <p>
+     * Only the duplicate detection is done in bulk. The edges themselves are
+     * still inserted one by one since {@link Grph} does not offer a way to add
+     * the adjacency of many edges at once. Hence, the insertion remains the
+     * dominant cost of this builder. Callers that add their edges in bulk
+     * should use a {@link CSRGraphBuilder} instead.
+     * </p>
+     */
+    @Override
+    public int addEdges(int[] sourceIds, int[] targetIds, int[] typeIds, int count, boolean deduplicate) {
+        GraphBuilder.checkEdgeArrays(sourceIds, targetIds, typeIds, count);
+        // Do not add edges if any of incident vertices are missing.
+        boolean[] skip = new boolean[count];
+        for (int i = 0; i < count; ++i) {
+            skip[i] = !(graph.containsVertex(sourceIds[i]) && graph.containsVertex(targetIds[i]));
+        }
+        if (deduplicate) {
+            DuplicateEdgeFinder.markDuplicateEdges(sourceIds, targetIds, typeIds, count, skip,
+                    this::getOutgoingEdgeKeys);
+        }
+
+        edgeTypes.ensureCapacity(edgeTypes.size() + count);
+        int added = 0;
+        for (int i = 0; i < count; ++i) {
+            if (!skip[i]) {
+                setEdgeType(graph.addSimpleEdge(sourceIds[i], targetIds[i], true), typeIds == null ? 0 : typeIds[i]);
+                ++added;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Returns the sorted keys (see {@link DuplicateEdgeFinder#edgeKey(int, int)}) of the
+     * outgoing edges the given node already has.
+     *
+     * @param nodeId
+     *            the source node of the edges
+     * @return the sorted keys or {@code null} if the node does not have
+     *         outgoing edges
+     */
+    private long[] getOutgoingEdgeKeys(int nodeId) {
+        if (graph.getOutEdgeDegree(nodeId) == 0) {
+            return null;
+        }
+        int[] edges = graph.getOutEdges(nodeId).toIntArray();
+        long[] keys = new long[edges.length];
+        for (int i = 0; i < edges.length; ++i) {
+            keys[i] = DuplicateEdgeFinder.edgeKey(graph.getDirectedSimpleEdgeHead(edges[i]), getEdgeType(edges[i]));
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
     public int addNode() {
         return graph.addVertex();
     }
@@ -210,43 +290,85 @@ public class GrphBasedGraph implements GraphBuilder {
 
     @Override
     public int getGraphId(int nodeId) {
-        Integer n = nodeId;
-        if (externalNodes.containsKey(n)) {
-            int[] externalNode = externalNodes.get(n);
-            if ((externalNode != null) && (externalNode.length > EXTERNAL_NODE_GRAPH_ID_INDEX)) {
-                return externalNode[EXTERNAL_NODE_GRAPH_ID_INDEX];
-            }
+        if ((graphIds != null) && (nodeId < graphIds.length)) {
+            return graphIds[nodeId];
         }
         return INTERNAL_NODE_GRAPH_ID;
     }
 
     @Override
     public int getExternalNodeId(int nodeId) {
-        Integer n = nodeId;
-        if (externalNodes.containsKey(n)) {
-            int[] externalNode = externalNodes.get(n);
-            if ((externalNode != null) && (externalNode.length > EXTERNAL_NODE_NODE_ID_INDEX)) {
-                return externalNode[EXTERNAL_NODE_NODE_ID_INDEX];
-            }
+        if ((externalIds != null) && (nodeId < externalIds.length)) {
+            return externalIds[nodeId];
         }
         return nodeId;
     }
 
     @Override
     public void setGraphIdOfNode(int nodeId, int graphId, int externalId) {
-        Integer n = nodeId;
-        if (externalNodes.containsKey(n)) {
-            // Reuse the existing array if possible
-            int[] externalNode = externalNodes.get(n);
-            if ((externalNode != null) && (externalNode.length > EXTERNAL_NODE_NODE_ID_INDEX)) {
-                externalNode[EXTERNAL_NODE_GRAPH_ID_INDEX] = graphId;
-                externalNode[EXTERNAL_NODE_NODE_ID_INDEX] = externalId;
-                // The information has been updated. So let's leave the method
-                return;
+        if (graphId == INTERNAL_NODE_GRAPH_ID) {
+            // Only reset the node if it has been marked as external before
+            if ((graphIds != null) && (nodeId < graphIds.length)) {
+                graphIds[nodeId] = INTERNAL_NODE_GRAPH_ID;
+                externalIds[nodeId] = nodeId;
+            }
+            return;
+        }
+        ensureExternalNodeCapacity(nodeId + 1);
+        graphIds[nodeId] = graphId;
+        externalIds[nodeId] = externalId;
+    }
+
+    @Override
+    public void setGraphIdsOfNodes(int[] nodeIds, int[] graphIds, int[] externalIds) {
+        if ((nodeIds.length != graphIds.length) || (nodeIds.length != externalIds.length)) {
+            throw new IllegalArgumentException("The given arrays have different lengths.");
+        }
+        int maxNodeId = -1;
+        for (int i = 0; i < nodeIds.length; ++i) {
+            if ((graphIds[i] != INTERNAL_NODE_GRAPH_ID) && (nodeIds[i] > maxNodeId)) {
+                maxNodeId = nodeIds[i];
             }
         }
-        // There is nothing we can reuse so create a new array
-        externalNodes.put(n, new int[] { graphId, externalId });
+        if (maxNodeId >= 0) {
+            ensureExternalNodeCapacity(maxNodeId + 1);
+        }
+        for (int i = 0; i < nodeIds.length; ++i) {
+            setGraphIdOfNode(nodeIds[i], graphIds[i], externalIds[i]);
+        }
+    }
+
+    /**
+     * Makes sure that the arrays for the external node information have at least
+     * the given length. The arrays are sized to the current number of nodes of
+     * the graph and grow by 50% if necessary.
+     *
+     * @param capacity
+     *            the minimum length the arrays should have
+     */
+    protected void ensureExternalNodeCapacity(int capacity) {
+        int oldLength = (graphIds == null) ? 0 : graphIds.length;
+        if (capacity <= oldLength) {
+            return;
+        }
+        int newLength = Math.max(capacity, Math.max(getNumberOfNodes(), oldLength + (oldLength >> 1)));
+        graphIds = (graphIds == null) ? new int[newLength] : Arrays.copyOf(graphIds, newLength);
+        externalIds = (externalIds == null) ? new int[newLength] : Arrays.copyOf(externalIds, newLength);
+        Arrays.fill(graphIds, oldLength, newLength, INTERNAL_NODE_GRAPH_ID);
+        for (int i = oldLength; i < newLength; ++i) {
+            externalIds[i] = i;
+        }
+    }
+
+    /**
+     * Returns a frozen {@link CSRGraph} copy of the graph that has been built so
+     * far. Later changes of this builder are not reflected by the returned graph.
+     *
+     * @return a {@link CSRGraph} instance containing the built graph.
+     */
+    @Override
+    public Graph build() {
+        return new CSRGraph(this);
     }
 
     @Override
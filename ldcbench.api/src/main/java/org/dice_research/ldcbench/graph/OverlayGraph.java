@@ -0,0 +1,258 @@
+package org.dice_research.ldcbench.graph;
+
+import java.util.Arrays;
+
+/**
+ * A read-only {@link Graph} that extends a base graph with additional internal
+ * nodes. Every additional node has a single incoming edge from a node of the
+ * base graph and no outgoing edges. The base graph is neither copied nor
+ * changed, i.e., a memory mapped graph stays mapped. The additional node
+ * {@code i} gets the ID {@code base.getNumberOfNodes() + i}.
+ *
+ * <p>
+ * Nodes of the base graph that do not have additional edges are answered by
+ * the base graph directly (including its {@link EdgeCursor}s). Only the few
+ * nodes with additional edges need to combine the edges of both graphs.
+ * </p>
+ */
+public class OverlayGraph implements Graph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Graph base;
+    private final int numberOfBaseNodes;
+    /**
+     * The sources of the additional edges (i.e., the nodes linking to the
+     * additional nodes) indexed by the additional nodes.
+     */
+    private final int[] linkingNodes;
+    /**
+     * The types of the additional edges indexed by the additional nodes.
+     */
+    private final int[] linkTypes;
+    /**
+     * The sources of the additional edges sorted ascending.
+     */
+    private final int[] sortedSources;
+    /**
+     * The targets of the additional edges in the order of {@link #sortedSources}.
+     */
+    private final int[] sortedTargets;
+    /**
+     * The types of the additional edges in the order of {@link #sortedSources}.
+     */
+    private final int[] sortedTypes;
+
+    /**
+     * Constructor.
+     *
+     * @param base
+     *            the graph that is extended
+     * @param linkingNodes
+     *            for every additional node, the node of the base graph from which
+     *            the additional node is linked
+     * @param linkTypes
+     *            for every additional node, the type of the edge linking to it
+     */
+    public OverlayGraph(Graph base, int[] linkingNodes, int[] linkTypes) {
+        if (linkingNodes.length != linkTypes.length) {
+            throw new IllegalArgumentException("The arrays of linking nodes (" + linkingNodes.length
+                    + ") and link types (" + linkTypes.length + ") have different lengths.");
+        }
+        this.base = base;
+        this.numberOfBaseNodes = base.getNumberOfNodes();
+        for (int i = 0; i < linkingNodes.length; ++i) {
+            if ((linkingNodes[i] < 0) || (linkingNodes[i] >= numberOfBaseNodes)) {
+                throw new IllegalArgumentException("The linking node " + linkingNodes[i]
+                        + " is not part of the base graph.");
+            }
+        }
+        this.linkingNodes = linkingNodes;
+        this.linkTypes = linkTypes;
+
+        // sort the additional edges by their source (stable, i.e., the edges of a
+        // node keep the order in which the nodes have been added)
+        long[] edges = new long[linkingNodes.length];
+        for (int i = 0; i < edges.length; ++i) {
+            edges[i] = (((long) linkingNodes[i]) << 32) | i;
+        }
+        Arrays.sort(edges);
+        sortedSources = new int[edges.length];
+        sortedTargets = new int[edges.length];
+        sortedTypes = new int[edges.length];
+        int node;
+        for (int i = 0; i < edges.length; ++i) {
+            node = (int) edges[i];
+            sortedSources[i] = linkingNodes[node];
+            sortedTargets[i] = numberOfBaseNodes + node;
+            sortedTypes[i] = linkTypes[node];
+        }
+    }
+
+    /**
+     * Returns the position of the first additional edge of the given node in
+     * the sorted arrays or a negative value if the node does not have
+     * additional edges.
+     */
+    private int firstAdditionalEdge(int nodeId) {
+        int pos = Arrays.binarySearch(sortedSources, nodeId);
+        if (pos < 0) {
+            return -1;
+        }
+        while ((pos > 0) && (sortedSources[pos - 1] == nodeId)) {
+            --pos;
+        }
+        return pos;
+    }
+
+    private int additionalEdgeEnd(int start) {
+        int end = start + 1;
+        while ((end < sortedSources.length) && (sortedSources[end] == sortedSources[start])) {
+            ++end;
+        }
+        return end;
+    }
+
+    private boolean isAdditionalNode(int nodeId) {
+        return nodeId >= numberOfBaseNodes;
+    }
+
+    private static int[] concat(int[] first, int[] second, int start, int end) {
+        int[] result = Arrays.copyOf(first, first.length + (end - start));
+        System.arraycopy(second, start, result, first.length, end - start);
+        return result;
+    }
+
+    @Override
+    public int[] outgoingEdgeTargets(int nodeId) {
+        if (isAdditionalNode(nodeId)) {
+            return EMPTY;
+        }
+        int start = firstAdditionalEdge(nodeId);
+        if (start < 0) {
+            return base.outgoingEdgeTargets(nodeId);
+        }
+        return concat(base.outgoingEdgeTargets(nodeId), sortedTargets, start, additionalEdgeEnd(start));
+    }
+
+    @Override
+    public int[] outgoingEdgeTypes(int nodeId) {
+        if (isAdditionalNode(nodeId)) {
+            return EMPTY;
+        }
+        int start = firstAdditionalEdge(nodeId);
+        if (start < 0) {
+            return base.outgoingEdgeTypes(nodeId);
+        }
+        return concat(base.outgoingEdgeTypes(nodeId), sortedTypes, start, additionalEdgeEnd(start));
+    }
+
+    @Override
+    public int outgoingEdgeCount(int nodeId) {
+        if (isAdditionalNode(nodeId)) {
+            return 0;
+        }
+        int start = firstAdditionalEdge(nodeId);
+        return base.outgoingEdgeCount(nodeId) + ((start < 0) ? 0 : (additionalEdgeEnd(start) - start));
+    }
+
+    @Override
+    public void forEachOutgoingEdge(int nodeId, EdgeConsumer consumer) {
+        if (isAdditionalNode(nodeId)) {
+            return;
+        }
+        base.forEachOutgoingEdge(nodeId, consumer);
+        int start = firstAdditionalEdge(nodeId);
+        if (start >= 0) {
+            int end = additionalEdgeEnd(start);
+            for (int e = start; e < end; ++e) {
+                consumer.accept(sortedTargets[e], sortedTypes[e]);
+            }
+        }
+    }
+
+    @Override
+    public EdgeCursor outgoingEdges(int nodeId, EdgeCursor cursor) {
+        if (isAdditionalNode(nodeId)) {
+            return cursor.reset(EMPTY, EMPTY, 0, 0);
+        }
+        if (firstAdditionalEdge(nodeId) < 0) {
+            return base.outgoingEdges(nodeId, cursor);
+        }
+        int[] targets = outgoingEdgeTargets(nodeId);
+        return cursor.reset(targets, outgoingEdgeTypes(nodeId), 0, targets.length);
+    }
+
+    @Override
+    public int[] incomingEdgeSources(int nodeId) {
+        if (isAdditionalNode(nodeId)) {
+            return new int[] { linkingNodes[nodeId - numberOfBaseNodes] };
+        }
+        return base.incomingEdgeSources(nodeId);
+    }
+
+    @Override
+    public int[] incomingEdgeTypes(int nodeId) {
+        if (isAdditionalNode(nodeId)) {
+            return new int[] { linkTypes[nodeId - numberOfBaseNodes] };
+        }
+        return base.incomingEdgeTypes(nodeId);
+    }
+
+    @Override
+    public int incomingEdgeCount(int nodeId) {
+        return isAdditionalNode(nodeId) ? 1 : base.incomingEdgeCount(nodeId);
+    }
+
+    @Override
+    public void forEachIncomingEdge(int nodeId, EdgeConsumer consumer) {
+        if (isAdditionalNode(nodeId)) {
+            consumer.accept(linkingNodes[nodeId - numberOfBaseNodes], linkTypes[nodeId - numberOfBaseNodes]);
+        } else {
+            base.forEachIncomingEdge(nodeId, consumer);
+        }
+    }
+
+    @Override
+    public EdgeCursor incomingEdges(int nodeId, EdgeCursor cursor) {
+        if (isAdditionalNode(nodeId)) {
+            int pos = nodeId - numberOfBaseNodes;
+            return cursor.reset(linkingNodes, linkTypes, pos, pos + 1);
+        }
+        return base.incomingEdges(nodeId, cursor);
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return numberOfBaseNodes + linkingNodes.length;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return base.getNumberOfEdges() + linkingNodes.length;
+    }
+
+    @Override
+    public int[] getEntranceNodes() {
+        return base.getEntranceNodes();
+    }
+
+    @Override
+    public int getGraphId(int nodeId) {
+        return isAdditionalNode(nodeId) ? INTERNAL_NODE_GRAPH_ID : base.getGraphId(nodeId);
+    }
+
+    @Override
+    public int getExternalNodeId(int nodeId) {
+        return isAdditionalNode(nodeId) ? nodeId : base.getExternalNodeId(nodeId);
+    }
+
+    /**
+     * Returns the graph that is extended by this graph.
+     *
+     * @return the base graph
+     */
+    public Graph getBase() {
+        return base;
+    }
+}
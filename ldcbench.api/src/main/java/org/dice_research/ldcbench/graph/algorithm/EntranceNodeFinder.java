@@ -0,0 +1,93 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * Searches for a set of entrance nodes from which all nodes of a graph can be
+ * reached. First, all nodes without incoming edges are used as entrance nodes.
+ * If they do not cover the complete graph, the unreachable node with the lowest
+ * ID is added as entrance node until all nodes are covered.
+ *
+ * <p>
+ * The search runs in O(nodes + edges): the reachable nodes are marked by a
+ * {@link ReachabilitySearch} that does not recurse and counts the visited
+ * nodes, and the search for the next unreachable node continues where the
+ * previous search stopped. For large graphs, the reachable nodes can be
+ * searched by several threads (see {@link #findEntranceNodes(Graph, int)}).
+ * </p>
+ */
+public class EntranceNodeFinder {
+
+    /**
+     * Returns the IDs of the entrance nodes of the given graph.
+     *
+     * @param graph
+     *            the graph for which the entrance nodes should be searched
+     * @return the sorted IDs of the entrance nodes
+     */
+    public static int[] findEntranceNodes(Graph graph) {
+        return findEntranceNodes(graph, 1);
+    }
+
+    /**
+     * Returns the IDs of the entrance nodes of the given graph using the given
+     * number of threads. If more than one thread should be used, the given graph
+     * has to support concurrent reads (see {@link ParallelReachabilitySearch}).
+     *
+     * @param graph
+     *            the graph for which the entrance nodes should be searched
+     * @param numberOfThreads
+     *            the number of threads used to search the reachable nodes
+     * @return the sorted IDs of the entrance nodes
+     */
+    public static int[] findEntranceNodes(Graph graph, int numberOfThreads) {
+        try (ReachabilitySearch search = (numberOfThreads > 1)
+                ? new ParallelReachabilitySearch(graph, numberOfThreads)
+                : new IterativeReachabilitySearch(graph)) {
+            return findEntranceNodes(graph, search);
+        }
+    }
+
+    /**
+     * Returns the IDs of the entrance nodes of the given graph using the given
+     * search to mark the reachable nodes.
+     *
+     * @param graph
+     *            the graph for which the entrance nodes should be searched
+     * @param search
+     *            the search that is used to mark the reachable nodes of the
+     *            given graph. Nodes that have already been visited by it are
+     *            treated as covered.
+     * @return the sorted IDs of the entrance nodes
+     */
+    public static int[] findEntranceNodes(Graph graph, ReachabilitySearch search) {
+        int numberOfNodes = graph.getNumberOfNodes();
+        BitSet entranceNodes = new BitSet(numberOfNodes);
+
+        // nodes without incoming edges can not be reached from other nodes
+        int[] roots = new int[16];
+        int numberOfRoots = 0;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            if (graph.incomingEdgeCount(i) == 0) {
+                entranceNodes.set(i);
+                if (numberOfRoots == roots.length) {
+                    roots = Arrays.copyOf(roots, roots.length << 1);
+                }
+                roots[numberOfRoots] = i;
+                ++numberOfRoots;
+            }
+        }
+        search.visitFrom(Arrays.copyOf(roots, numberOfRoots));
+        // add the remaining unreachable nodes greedily
+        int nextNode = search.nextUnvisitedNode(0);
+        while (nextNode >= 0) {
+            entranceNodes.set(nextNode);
+            search.visitFrom(nextNode);
+            nextNode = search.nextUnvisitedNode(nextNode + 1);
+        }
+        return entranceNodes.stream().toArray();
+    }
+}
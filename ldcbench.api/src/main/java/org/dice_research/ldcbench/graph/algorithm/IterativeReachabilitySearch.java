@@ -0,0 +1,108 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+import java.util.Arrays;
+
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * A sequential {@link ReachabilitySearch} that traverses the graph depth-first
+ * using an explicit stack of node IDs. In contrast to a recursive search, the
+ * depth of the graph is not limited by the size of the call stack. Nodes are
+ * marked when they are pushed onto the stack. Hence, the stack never contains
+ * more elements than the graph has nodes.
+ */
+public class IterativeReachabilitySearch implements ReachabilitySearch {
+
+    private static final int INITIAL_STACK_SIZE = 1024;
+
+    /**
+     * The graph that is searched.
+     */
+    protected final Graph graph;
+    /**
+     * Flags marking the visited nodes.
+     */
+    protected final boolean[] visited;
+    /**
+     * The number of visited nodes.
+     */
+    protected int numberOfVisitedNodes = 0;
+    /**
+     * The stack of nodes whose edges have not been followed yet.
+     */
+    private int[] stack;
+    private final EdgeCursor cursor = new EdgeCursor();
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *            the graph that should be searched
+     */
+    public IterativeReachabilitySearch(Graph graph) {
+        this.graph = graph;
+        int numberOfNodes = graph.getNumberOfNodes();
+        visited = new boolean[numberOfNodes];
+        stack = new int[Math.min(INITIAL_STACK_SIZE, Math.max(numberOfNodes, 1))];
+    }
+
+    @Override
+    public int visitFrom(int... startNodes) {
+        int before = numberOfVisitedNodes;
+        int size = 0;
+        for (int i = 0; i < startNodes.length; ++i) {
+            size = push(startNodes[i], size);
+        }
+        int target;
+        while (size > 0) {
+            --size;
+            graph.outgoingEdges(stack[size], cursor);
+            while (cursor.next()) {
+                target = cursor.nodeId();
+                if (!visited[target]) {
+                    size = push(target, size);
+                }
+            }
+        }
+        return numberOfVisitedNodes - before;
+    }
+
+    /**
+     * Marks the given node as visited and pushes it onto the stack if it has not
+     * been visited before.
+     *
+     * @param nodeId
+     *            the ID of the node
+     * @param size
+     *            the current size of the stack
+     * @return the new size of the stack
+     */
+    private int push(int nodeId, int size) {
+        if (visited[nodeId]) {
+            return size;
+        }
+        visited[nodeId] = true;
+        ++numberOfVisitedNodes;
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, Math.min(stack.length << 1, visited.length));
+        }
+        stack[size] = nodeId;
+        return size + 1;
+    }
+
+    @Override
+    public boolean isVisited(int nodeId) {
+        return visited[nodeId];
+    }
+
+    @Override
+    public int getNumberOfVisitedNodes() {
+        return numberOfVisitedNodes;
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return visited.length;
+    }
+}
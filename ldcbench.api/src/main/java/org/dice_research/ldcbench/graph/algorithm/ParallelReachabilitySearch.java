@@ -0,0 +1,235 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * A {@link ReachabilitySearch} that traverses the graph breadth-first, level
+ * by level. If the current frontier (i.e., the nodes visited in the last level)
+ * contains at least {@link #MIN_PARALLEL_FRONTIER_SIZE} nodes, it is split into
+ * chunks that are expanded by several threads. The visited nodes are marked in
+ * a bit set using compare-and-set operations. Hence, every node is claimed by
+ * exactly one thread and is part of exactly one frontier.
+ *
+ * <p>
+ * Note that the given graph has to support concurrent reads, e.g., a
+ * {@link org.dice_research.ldcbench.graph.CSRGraph} as created by
+ * {@link org.dice_research.ldcbench.graph.GraphBuilder#build()}. The threads are
+ * created when they are needed for the first time and are stopped by
+ * {@link #close()}.
+ * </p>
+ */
+public class ParallelReachabilitySearch implements ReachabilitySearch {
+
+    /**
+     * The minimum size of a frontier that is expanded in parallel. Smaller
+     * frontiers are expanded by the calling thread.
+     */
+    public static final int MIN_PARALLEL_FRONTIER_SIZE = 1 << 12;
+    /**
+     * The number of chunks per thread into which a large frontier is split.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The graph that is searched.
+     */
+    protected final Graph graph;
+    /**
+     * The number of nodes of the graph.
+     */
+    protected final int numberOfNodes;
+    /**
+     * The number of threads used to expand large frontiers.
+     */
+    protected final int numberOfThreads;
+    /**
+     * Bit set marking the visited nodes (32 nodes per element).
+     */
+    private final AtomicIntegerArray visited;
+    /**
+     * The number of visited nodes.
+     */
+    private int numberOfVisitedNodes = 0;
+    private final EdgeCursor cursor = new EdgeCursor();
+    private ExecutorService executor = null;
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *            the graph that should be searched. It has to support concurrent
+     *            reads.
+     * @param numberOfThreads
+     *            the number of threads (has to be &gt; 0)
+     */
+    public ParallelReachabilitySearch(Graph graph, int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("The number of threads has to be > 0.");
+        }
+        this.graph = graph;
+        this.numberOfNodes = graph.getNumberOfNodes();
+        this.numberOfThreads = numberOfThreads;
+        visited = new AtomicIntegerArray((numberOfNodes + 31) >>> 5);
+    }
+
+    @Override
+    public int visitFrom(int... startNodes) {
+        int[] frontier = new int[startNodes.length];
+        int size = 0;
+        for (int i = 0; i < startNodes.length; ++i) {
+            if (markVisited(startNodes[i])) {
+                frontier[size] = startNodes[i];
+                ++size;
+            }
+        }
+        frontier = Arrays.copyOf(frontier, size);
+        int newlyVisited = 0;
+        while (frontier.length > 0) {
+            newlyVisited += frontier.length;
+            if ((numberOfThreads > 1) && (frontier.length >= MIN_PARALLEL_FRONTIER_SIZE)) {
+                frontier = expandInParallel(frontier);
+            } else {
+                frontier = expand(frontier, 0, frontier.length, cursor);
+            }
+        }
+        numberOfVisitedNodes += newlyVisited;
+        return newlyVisited;
+    }
+
+    /**
+     * Marks all unvisited targets of the given part of the frontier as visited
+     * and returns them.
+     *
+     * @param frontier
+     *            the current frontier
+     * @param from
+     *            the first position of the frontier that should be expanded
+     *            (inclusive)
+     * @param to
+     *            the last position of the frontier that should be expanded
+     *            (exclusive)
+     * @param cursor
+     *            the cursor used to iterate over the outgoing edges
+     * @return the nodes that have been visited for the first time
+     */
+    protected int[] expand(int[] frontier, int from, int to, EdgeCursor cursor) {
+        int[] next = new int[Math.max(16, to - from)];
+        int size = 0;
+        int target;
+        for (int i = from; i < to; ++i) {
+            graph.outgoingEdges(frontier[i], cursor);
+            while (cursor.next()) {
+                target = cursor.nodeId();
+                if (markVisited(target)) {
+                    if (size == next.length) {
+                        next = Arrays.copyOf(next, next.length << 1);
+                    }
+                    next[size] = target;
+                    ++size;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    /**
+     * Splits the given frontier into chunks, expands them in parallel and
+     * returns the concatenated next frontier.
+     *
+     * @param frontier
+     *            the current frontier
+     * @return the next frontier
+     */
+    protected int[] expandInParallel(int[] frontier) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(numberOfThreads);
+        }
+        int numberOfChunks = numberOfThreads * CHUNKS_PER_THREAD;
+        int chunkSize = (frontier.length + numberOfChunks - 1) / numberOfChunks;
+        List<Callable<int[]>> tasks = new ArrayList<>(numberOfChunks);
+        for (int start = 0; start < frontier.length; start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(start + chunkSize, frontier.length);
+            tasks.add(() -> expand(frontier, from, to, new EdgeCursor()));
+        }
+        int[][] parts = new int[tasks.size()][];
+        int size = 0;
+        try {
+            List<Future<int[]>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < parts.length; ++i) {
+                parts[i] = futures.get(i).get();
+                size += parts[i].length;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching the graph.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Exception while searching the graph.", e.getCause());
+        }
+        int[] next = new int[size];
+        int position = 0;
+        for (int i = 0; i < parts.length; ++i) {
+            System.arraycopy(parts[i], 0, next, position, parts[i].length);
+            position += parts[i].length;
+        }
+        return next;
+    }
+
+    /**
+     * Marks the given node as visited.
+     *
+     * @param nodeId
+     *            the ID of the node
+     * @return {@code true} if the node has not been visited before, i.e., the
+     *         calling thread is the one that visited it
+     */
+    protected boolean markVisited(int nodeId) {
+        int index = nodeId >>> 5;
+        int mask = 1 << (nodeId & 31);
+        int word;
+        do {
+            word = visited.get(index);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!visited.compareAndSet(index, word, word | mask));
+        return true;
+    }
+
+    @Override
+    public boolean isVisited(int nodeId) {
+        return (visited.get(nodeId >>> 5) & (1 << (nodeId & 31))) != 0;
+    }
+
+    @Override
+    public int getNumberOfVisitedNodes() {
+        return numberOfVisitedNodes;
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
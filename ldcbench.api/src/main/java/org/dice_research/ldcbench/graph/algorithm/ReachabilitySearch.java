@@ -0,0 +1,82 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+/**
+ * A search that marks the nodes of a graph that can be reached from given start
+ * nodes. The search keeps its state between calls, i.e., nodes that have been
+ * visited by a previous call are not visited again, and counts the visited
+ * nodes while marking them. Hence, checking whether the complete graph has been
+ * covered does not need a scan over all nodes.
+ */
+public interface ReachabilitySearch extends AutoCloseable {
+
+    /**
+     * Visits the given start nodes and all nodes that can be reached from them
+     * and that have not been visited before.
+     *
+     * @param startNodes
+     *            the nodes from which the search starts
+     * @return the number of nodes that have been visited by this call
+     */
+    public int visitFrom(int... startNodes);
+
+    /**
+     * Returns {@code true} if the given node has been visited.
+     *
+     * @param nodeId
+     *            the ID of the node
+     * @return {@code true} if the given node has been visited
+     */
+    public boolean isVisited(int nodeId);
+
+    /**
+     * Returns the number of nodes that have been visited so far.
+     *
+     * @return the number of nodes that have been visited so far
+     */
+    public int getNumberOfVisitedNodes();
+
+    /**
+     * Returns the number of nodes of the graph that is searched.
+     *
+     * @return the number of nodes of the graph
+     */
+    public int getNumberOfNodes();
+
+    /**
+     * Returns {@code true} if all nodes of the graph have been visited.
+     *
+     * @return {@code true} if all nodes of the graph have been visited
+     */
+    public default boolean isComplete() {
+        return getNumberOfVisitedNodes() >= getNumberOfNodes();
+    }
+
+    /**
+     * Returns the ID of the first node that has not been visited and has an ID
+     * &ge; the given node ID or -1 if there is no such node.
+     *
+     * @param fromNode
+     *            the ID of the node at which the search should start
+     * @return the ID of the next unvisited node or -1
+     */
+    public default int nextUnvisitedNode(int fromNode) {
+        if (isComplete()) {
+            return -1;
+        }
+        int numberOfNodes = getNumberOfNodes();
+        for (int i = fromNode; i < numberOfNodes; ++i) {
+            if (!isVisited(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Frees the resources of this search. The default implementation does
+     * nothing.
+     */
+    @Override
+    public default void close() {
+    }
+}
@@ -0,0 +1,227 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+import java.util.Arrays;
+
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * The strongly connected components (SCCs) of a graph computed with Tarjan's
+ * algorithm in O(nodes + edges). The algorithm does not recurse. Instead, it
+ * maintains an explicit stack of call frames. When a node is entered, the
+ * targets of its outgoing edges are copied onto a shared edge stack from which
+ * the frame consumes them one after the other. Hence, the depth of the graph is
+ * not limited by the size of the call stack.
+ *
+ * <p>
+ * Condensing every SCC into a single node leads to a directed acyclic graph.
+ * The SCCs without incoming edges in this graph (source components) can not be
+ * reached from any other component. Since every other component can be reached
+ * from at least one source component, a set containing one node of every
+ * source component is the smallest set of nodes from which the complete graph
+ * can be reached (see {@link #getSourceComponentRepresentatives()}).
+ * </p>
+ */
+public class StronglyConnectedComponents {
+
+    /**
+     * The graph the components belong to.
+     */
+    protected final Graph graph;
+    /**
+     * The component ID of every node.
+     */
+    protected final int[] componentIds;
+    /**
+     * The number of components.
+     */
+    protected int numberOfComponents = 0;
+
+    /**
+     * Constructor. Computes the strongly connected components of the given
+     * graph.
+     *
+     * @param graph
+     *            the graph whose components should be computed
+     */
+    public StronglyConnectedComponents(Graph graph) {
+        this.graph = graph;
+        componentIds = new int[graph.getNumberOfNodes()];
+        computeComponents();
+    }
+
+    /**
+     * Runs Tarjan's algorithm and fills the {@link #componentIds} array.
+     */
+    private void computeComponents() {
+        int numberOfNodes = componentIds.length;
+        Arrays.fill(componentIds, -1);
+        // index of the node in the DFS order (starting at 1, 0 = not visited)
+        int[] index = new int[numberOfNodes];
+        int[] lowLink = new int[numberOfNodes];
+        // nodes that have been visited but are not assigned to a component yet
+        int[] componentStack = new int[numberOfNodes];
+        int componentStackSize = 0;
+        // call frames: the node and the range of its remaining targets on the edge
+        // stack
+        int[] frameNodes = new int[numberOfNodes];
+        int[] frameStarts = new int[numberOfNodes];
+        int[] framePositions = new int[numberOfNodes];
+        int[] frameEnds = new int[numberOfNodes];
+        int depth = 0;
+        int[] edgeStack = new int[16];
+        int edgeStackSize = 0;
+        EdgeCursor cursor = new EdgeCursor();
+        int counter = 0;
+
+        int node;
+        int target;
+        int frame;
+        for (int root = 0; root < numberOfNodes; ++root) {
+            if (index[root] != 0) {
+                continue;
+            }
+            target = root;
+            while (true) {
+                if (target >= 0) {
+                    // enter the target node
+                    ++counter;
+                    index[target] = counter;
+                    lowLink[target] = counter;
+                    componentStack[componentStackSize] = target;
+                    ++componentStackSize;
+                    frameNodes[depth] = target;
+                    frameStarts[depth] = edgeStackSize;
+                    framePositions[depth] = edgeStackSize;
+                    int degree = graph.outgoingEdgeCount(target);
+                    if (edgeStack.length < edgeStackSize + degree) {
+                        edgeStack = Arrays.copyOf(edgeStack,
+                                Math.max(edgeStackSize + degree, edgeStack.length << 1));
+                    }
+                    graph.outgoingEdges(target, cursor);
+                    while (cursor.next()) {
+                        edgeStack[edgeStackSize] = cursor.nodeId();
+                        ++edgeStackSize;
+                    }
+                    frameEnds[depth] = edgeStackSize;
+                    ++depth;
+                }
+                frame = depth - 1;
+                node = frameNodes[frame];
+                if (framePositions[frame] < frameEnds[frame]) {
+                    target = edgeStack[framePositions[frame]];
+                    ++framePositions[frame];
+                    if (index[target] == 0) {
+                        // descend into the target node in the next iteration
+                        continue;
+                    }
+                    if ((componentIds[target] < 0) && (index[target] < lowLink[node])) {
+                        // the target is on the component stack
+                        lowLink[node] = index[target];
+                    }
+                    target = -1;
+                    continue;
+                }
+                // all edges of the node have been processed
+                if (lowLink[node] == index[node]) {
+                    do {
+                        --componentStackSize;
+                        target = componentStack[componentStackSize];
+                        componentIds[target] = numberOfComponents;
+                    } while (target != node);
+                    ++numberOfComponents;
+                }
+                edgeStackSize = frameStarts[frame];
+                --depth;
+                if (depth == 0) {
+                    break;
+                }
+                if (lowLink[node] < lowLink[frameNodes[depth - 1]]) {
+                    lowLink[frameNodes[depth - 1]] = lowLink[node];
+                }
+                target = -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of the component the given node belongs to.
+     *
+     * @param nodeId
+     *            the ID of the node
+     * @return the ID of the node's component
+     */
+    public int getComponentId(int nodeId) {
+        return componentIds[nodeId];
+    }
+
+    /**
+     * Returns the component IDs of all nodes. Note that the returned array is
+     * not a copy and must not be changed.
+     *
+     * @return the component IDs of all nodes
+     */
+    public int[] getComponentIds() {
+        return componentIds;
+    }
+
+    public int getNumberOfComponents() {
+        return numberOfComponents;
+    }
+
+    /**
+     * Condenses the graph into the DAG of its components and returns the flags
+     * marking the components without incoming edges from other components.
+     *
+     * @return an array containing a flag for every component that is
+     *         {@code true} if the component is a source component
+     */
+    public boolean[] getSourceComponents() {
+        boolean[] sourceComponents = new boolean[numberOfComponents];
+        Arrays.fill(sourceComponents, true);
+        EdgeCursor cursor = new EdgeCursor();
+        int component;
+        int targetComponent;
+        for (int i = 0; i < componentIds.length; ++i) {
+            component = componentIds[i];
+            graph.outgoingEdges(i, cursor);
+            while (cursor.next()) {
+                targetComponent = componentIds[cursor.nodeId()];
+                if (targetComponent != component) {
+                    sourceComponents[targetComponent] = false;
+                }
+            }
+        }
+        return sourceComponents;
+    }
+
+    /**
+     * Returns one node of every source component, i.e., the smallest set of
+     * nodes from which all nodes of the graph can be reached. For every source
+     * component, the node with the lowest ID is chosen.
+     *
+     * @return the sorted IDs of the representatives of the source components
+     */
+    public int[] getSourceComponentRepresentatives() {
+        boolean[] sourceComponents = getSourceComponents();
+        int numberOfSources = 0;
+        for (int c = 0; c < sourceComponents.length; ++c) {
+            if (sourceComponents[c]) {
+                ++numberOfSources;
+            }
+        }
+        int[] representatives = new int[numberOfSources];
+        int size = 0;
+        int component;
+        for (int i = 0; (i < componentIds.length) && (size < numberOfSources); ++i) {
+            component = componentIds[i];
+            if (sourceComponents[component]) {
+                representatives[size] = i;
+                ++size;
+                // make sure that no other node of this component is added
+                sourceComponents[component] = false;
+            }
+        }
+        return representatives;
+    }
+}
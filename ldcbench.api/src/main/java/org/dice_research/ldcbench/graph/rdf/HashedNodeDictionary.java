@@ -0,0 +1,196 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import java.util.Arrays;
+
+/**
+ * A compact dictionary that maps strings (e.g., URIs) to consecutive IDs
+ * starting at 0. Instead of the strings, only their 64-bit hashes are stored in
+ * an open addressing hash table consisting of a {@code long} and an
+ * {@code int} array. Hence, a single entry needs 16 to 32 bytes (depending on
+ * the load of the table) independent of the length of the string.
+ *
+ * <p>
+ * Note that two different strings with the same hash are mapped to the same
+ * ID. For a dictionary with {@code n} entries, the probability of such a
+ * collision is roughly {@code n^2 / 2^65}, i.e., below 10^-3 for 100 million
+ * entries.
+ * </p>
+ */
+public class HashedNodeDictionary {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    /**
+     * The value that marks an empty slot. Hashes with this value are replaced by
+     * {@link #ZERO_HASH_REPLACEMENT}.
+     */
+    private static final long EMPTY = 0L;
+    private static final long ZERO_HASH_REPLACEMENT = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[] ids;
+    private int mask;
+    private int size = 0;
+
+    public HashedNodeDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param expectedSize
+     *            the expected number of entries
+     */
+    public HashedNodeDictionary(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        keys = new long[capacity];
+        ids = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the ID of the given string. If the string is not known, it gets the
+     * next free ID.
+     *
+     * @param key
+     *            the string
+     * @param seed
+     *            the seed of the hash function. It can be used to separate
+     *            different kinds of strings (e.g., URIs and blank node labels)
+     * @return the ID of the given string
+     */
+    public int getOrAdd(String key, long seed) {
+        return getOrAdd(hash(key, seed));
+    }
+
+    /**
+     * Returns the ID of the given hash. If the hash is not known, it gets the
+     * next free ID.
+     *
+     * @param hash
+     *            the hash of a string
+     * @return the ID of the given hash
+     */
+    public int getOrAdd(long hash) {
+        if (hash == EMPTY) {
+            hash = ZERO_HASH_REPLACEMENT;
+        }
+        int position = findSlot(hash);
+        if (keys[position] == hash) {
+            return ids[position];
+        }
+        int id = size;
+        keys[position] = hash;
+        ids[position] = id;
+        ++size;
+        // keep the load factor below 0.75
+        if (size > ((mask + 1) >>> 2) * 3) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the ID of the given string or -1 if it is not known.
+     *
+     * @param key
+     *            the string
+     * @param seed
+     *            the seed of the hash function
+     * @return the ID of the given string or -1
+     */
+    public int get(String key, long seed) {
+        long hash = hash(key, seed);
+        if (hash == EMPTY) {
+            hash = ZERO_HASH_REPLACEMENT;
+        }
+        int position = findSlot(hash);
+        return keys[position] == hash ? ids[position] : -1;
+    }
+
+    /**
+     * Returns the position of the slot containing the given hash or of the empty
+     * slot at which the hash would be inserted.
+     */
+    private int findSlot(long hash) {
+        int position = mix(hash) & mask;
+        while ((keys[position] != EMPTY) && (keys[position] != hash)) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    /**
+     * Doubles the size of the hash table.
+     */
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldIds = ids;
+        int capacity = oldKeys.length << 1;
+        keys = new long[capacity];
+        ids = new int[capacity];
+        mask = capacity - 1;
+        int position;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != EMPTY) {
+                position = mix(oldKeys[i]) & mask;
+                while (keys[position] != EMPTY) {
+                    position = (position + 1) & mask;
+                }
+                keys[position] = oldKeys[i];
+                ids[position] = oldIds[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries of this dictionary.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries from this dictionary.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Calculates the 64-bit hash of the given string (FNV-1a over the chars of
+     * the string followed by the finalization step of MurmurHash3).
+     *
+     * @param key
+     *            the string
+     * @param seed
+     *            the seed of the hash function
+     * @return the hash of the given string
+     */
+    public static long hash(String key, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        int length = key.length();
+        for (int i = 0; i < length; ++i) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= length;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Derives the position in the hash table from the given hash.
+     */
+    private static int mix(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
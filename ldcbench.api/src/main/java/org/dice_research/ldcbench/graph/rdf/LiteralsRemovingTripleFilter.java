@@ -0,0 +1,16 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import org.apache.jena.graph.Triple;
+
+/**
+ * This filter removes (i.e., returns {@code false}) all triples that have a
+ * literal as object.
+ */
+public class LiteralsRemovingTripleFilter implements TripleFilter {
+
+    @Override
+    public boolean test(Triple t) {
+        return !t.getObject().isLiteral();
+    }
+
+}
@@ -0,0 +1,302 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+
+/**
+ * A loader that parses a line-based RDF file (N-Triples or N-Quads) with
+ * several threads and adds its triples to a {@link GraphBuilder}. The file is
+ * split into chunks at line boundaries. The chunks are parsed on a
+ * {@link ForkJoinPool} and every chunk is reduced to the 64-bit hashes of the
+ * subjects, properties and objects of its triples (see
+ * {@link StreamingRDF2GraphConverter#hashNode(org.apache.jena.graph.Node)}).
+ *
+ * <p>
+ * The IDs of the nodes and properties are assigned in a final pass that
+ * handles the chunks in the order of the file while the following chunks are
+ * still being parsed. Only {@link #CHUNKS_IN_FLIGHT_PER_THREAD} chunks per
+ * thread are submitted ahead of this pass, i.e., the memory needed for the
+ * parsed chunks does not grow with the size of the file. Hence, the IDs do not depend on the number of threads or
+ * the chunk size and are the same as the IDs assigned by the
+ * {@link StreamingRDF2GraphConverter}. The edges of every chunk are added with
+ * {@link GraphBuilder#addEdges(int[], int[], int[], int, boolean)}. Blank node
+ * labels are used as they are given in the file, i.e., a label used in two
+ * different chunks refers to the same node.
+ * </p>
+ */
+public class ParallelNTriplesLoader {
+
+    /**
+     * The default size of the chunks in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+    /**
+     * The number of chunks per thread that are parsed (or wait for being added to
+     * the builder) at the same time.
+     */
+    public static final int CHUNKS_IN_FLIGHT_PER_THREAD = 2;
+
+    /**
+     * The number of threads used to parse the chunks.
+     */
+    protected int numberOfThreads;
+    /**
+     * The (minimum) size of a single chunk in bytes.
+     */
+    protected int chunkSize = DEFAULT_CHUNK_SIZE;
+    /**
+     * The serialization of the file.
+     */
+    protected Lang lang = Lang.NTRIPLES;
+    /**
+     * The filter that decides which triples are added.
+     */
+    protected TripleFilter tripleFilter = new LiteralsRemovingTripleFilter();
+
+    /**
+     * Constructor.
+     *
+     * @param numberOfThreads
+     *            the number of threads used to parse the file (has to be &gt;
+     *            0)
+     */
+    public ParallelNTriplesLoader(int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("The number of threads has to be > 0.");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Parses the given file and adds its triples to the given builder.
+     *
+     * @param file
+     *            the file that should be loaded
+     * @param builder
+     *            the builder to which the triples are added
+     * @return the number of nodes that have been added to the builder
+     * @throws IOException
+     *             if the file can not be read
+     */
+    public int load(Path file, GraphBuilder builder) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel);
+            int numberOfChunks = boundaries.length - 1;
+            int maxChunksInFlight = numberOfThreads * CHUNKS_IN_FLIGHT_PER_THREAD;
+            // the tasks that have been submitted and not merged, yet (in the order of the file)
+            Deque<ForkJoinTask<HashedTriples>> tasks = new ArrayDeque<>(maxChunksInFlight);
+            int nextChunk = 0;
+
+            int firstNodeId = builder.getNumberOfNodes();
+            HashedNodeDictionary nodes = new HashedNodeDictionary();
+            HashedNodeDictionary properties = new HashedNodeDictionary();
+            int[] sources = new int[0];
+            int[] targets = new int[0];
+            int[] types = new int[0];
+            HashedTriples triples;
+            while (!tasks.isEmpty() || (nextChunk < numberOfChunks)) {
+                // keep the window of parsed chunks filled
+                while ((tasks.size() < maxChunksInFlight) && (nextChunk < numberOfChunks)) {
+                    final long start = boundaries[nextChunk];
+                    final long end = boundaries[nextChunk + 1];
+                    tasks.addLast(pool.submit(() -> parseChunk(channel, start, end)));
+                    ++nextChunk;
+                }
+                try {
+                    // removing the task frees the memory of the chunk after it has been merged
+                    triples = tasks.removeFirst().join();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (sources.length < triples.size) {
+                    sources = new int[triples.size];
+                    targets = new int[triples.size];
+                    types = new int[triples.size];
+                }
+                for (int t = 0; t < triples.size; ++t) {
+                    sources[t] = firstNodeId + nodes.getOrAdd(triples.subjects[t]);
+                    types[t] = properties.getOrAdd(triples.properties[t]);
+                    targets[t] = firstNodeId + nodes.getOrAdd(triples.objects[t]);
+                }
+                int missingNodes = firstNodeId + nodes.size() - builder.getNumberOfNodes();
+                if (missingNodes > 0) {
+                    builder.addNodes(missingNodes);
+                }
+                builder.addEdges(sources, targets, types, triples.size, true);
+            }
+            return nodes.size();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Determines the positions at which the file is split. Every chunk (except
+     * the last one) has at least {@link #chunkSize} bytes and ends directly
+     * after a line break.
+     *
+     * @param channel
+     *            the channel of the file
+     * @return the boundaries of the chunks, i.e., the start of the first chunk
+     *         (0) followed by the ends of all chunks
+     * @throws IOException
+     *             if the file can not be read
+     */
+    protected long[] findChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long[] boundaries = new long[(int) Math.min(Integer.MAX_VALUE - 8, size / chunkSize + 2)];
+        int count = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long end = 0;
+        while (end < size) {
+            end = end + chunkSize;
+            if (end >= size) {
+                end = size;
+            } else {
+                end = findLineEnd(channel, end - 1, size, buffer);
+            }
+            if (count == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, count << 1);
+            }
+            boundaries[count] = end;
+            ++count;
+        }
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Returns the position directly after the first line break at or after the
+     * given position or the size of the file if there is no further line break.
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size, ByteBuffer buffer)
+            throws IOException {
+        int read;
+        while (position < size) {
+            buffer.clear();
+            read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; ++i) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Reads the given part of the file and parses its triples.
+     *
+     * @param channel
+     *            the channel of the file
+     * @param start
+     *            the position of the first byte of the chunk (inclusive)
+     * @param end
+     *            the position after the last byte of the chunk (exclusive)
+     * @return the hashes of the triples of the chunk
+     */
+    protected HashedTriples parseChunk(FileChannel channel, long start, long end) {
+        byte[] data = new byte[(int) (end - start)];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file at position " + (start + buffer.position()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        HashedTriples triples = new HashedTriples(tripleFilter, Math.max(16, data.length >>> 6));
+        RDFParser.create().source(new ByteArrayInputStream(data)).lang(lang)
+                .labelToNode(LabelToNode.createUseLabelAsGiven()).parse(triples);
+        return triples;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size has to be > 0.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the serialization of the files. It has to be a line-based format
+     * without prefixes, i.e., N-Triples or N-Quads.
+     *
+     * @param lang
+     *            the serialization of the files
+     */
+    public void setLang(Lang lang) {
+        if (!Lang.NTRIPLES.equals(lang) && !Lang.NQUADS.equals(lang)) {
+            throw new IllegalArgumentException("The language " + lang + " is not a line-based format.");
+        }
+        this.lang = lang;
+    }
+
+    public void setTripleFilter(TripleFilter tripleFilter) {
+        this.tripleFilter = tripleFilter;
+    }
+
+    /**
+     * The hashes of the triples of a single chunk.
+     */
+    protected static class HashedTriples extends StreamRDFBase {
+        private final TripleFilter filter;
+        protected long[] subjects;
+        protected long[] properties;
+        protected long[] objects;
+        protected int size = 0;
+
+        public HashedTriples(TripleFilter filter, int capacity) {
+            this.filter = filter;
+            subjects = new long[capacity];
+            properties = new long[capacity];
+            objects = new long[capacity];
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            if (!filter.test(triple)) {
+                return;
+            }
+            if (size == subjects.length) {
+                int capacity = subjects.length << 1;
+                subjects = Arrays.copyOf(subjects, capacity);
+                properties = Arrays.copyOf(properties, capacity);
+                objects = Arrays.copyOf(objects, capacity);
+            }
+            subjects[size] = StreamingRDF2GraphConverter.hashNode(triple.getSubject());
+            properties[size] = StreamingRDF2GraphConverter.hashProperty(triple.getPredicate());
+            objects[size] = StreamingRDF2GraphConverter.hashNode(triple.getObject());
+            ++size;
+        }
+
+        @Override
+        public void quad(Quad quad) {
+            triple(quad.asTriple());
+        }
+    }
+}
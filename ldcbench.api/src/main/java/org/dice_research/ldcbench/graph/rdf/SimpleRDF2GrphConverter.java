@@ -7,6 +7,7 @@ import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.riot.Lang;
 import org.dice_research.ldcbench.graph.GraphBuilder;
 import org.dice_research.ldcbench.graph.GrphBasedGraph;
 
@@ -52,6 +53,21 @@ public class SimpleRDF2GrphConverter {
         }
     }
 
+    /**
+     * Parses the RDF data at the given location and adds its triples directly to
+     * the given graph without loading them into a model (see
+     * {@link StreamingRDF2GraphConverter}).
+     * 
+     * @param location the location (file name or URL) of the RDF data
+     * @param base     the base IRI used to resolve relative IRIs
+     * @param lang     the serialization of the data or {@code null} if it should
+     *                 be guessed based on the location
+     * @param graph    the graph to which the triples will be added
+     */
+    public void convert(String location, String base, Lang lang, GraphBuilder graph) {
+        new StreamingRDF2GraphConverter(graph).parse(location, base, lang);
+    }
+
     protected void addTripleToGraph(Statement s, GraphBuilder graph, Map<String, Integer> nodeMapping,
             Map<String, Integer> propertiesMapping) {
         // Get IDs for the single elements of the triple
@@ -0,0 +1,187 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+
+/**
+ * A converter that receives the triples of an RDF parser and adds them directly
+ * to a {@link GraphBuilder}. In contrast to the {@link SimpleRDF2GrphConverter},
+ * the data is never loaded into a model. The nodes and properties are mapped
+ * to IDs using {@link HashedNodeDictionary} instances that store only a 64-bit
+ * hash of every URI instead of the URI itself. The edges are collected in
+ * buffers and added with {@link GraphBuilder#addEdges(int[], int[], int[], int, boolean)}.
+ * Triples that occur several times are added only once.
+ *
+ * <pre>
+ * GraphBuilder builder = new GrphBasedGraph();
+ * new StreamingRDF2GraphConverter(builder).parse("file:///data.nt", null, Lang.NTRIPLES);
+ * </pre>
+ *
+ * <p>
+ * Note that the IDs of the nodes are assigned in the order in which the nodes
+ * occur in the stream, starting at the number of nodes the builder had when
+ * the converter was created.
+ * </p>
+ */
+public class StreamingRDF2GraphConverter extends StreamRDFBase {
+
+    /**
+     * The number of edges that are collected before they are added to the
+     * builder.
+     */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    private static final long URI_SEED = 0L;
+    private static final long BLANK_NODE_SEED = 1L;
+    private static final long LITERAL_SEED = 2L;
+
+    /**
+     * The builder to which the triples are added.
+     */
+    protected final GraphBuilder builder;
+    /**
+     * The ID of the first node added by this converter.
+     */
+    protected final int firstNodeId;
+    /**
+     * The filter that decides which triples are added.
+     */
+    protected TripleFilter tripleFilter = new LiteralsRemovingTripleFilter();
+    protected HashedNodeDictionary nodes = new HashedNodeDictionary();
+    protected HashedNodeDictionary properties = new HashedNodeDictionary();
+
+    private int[] sources = new int[BUFFER_SIZE];
+    private int[] targets = new int[BUFFER_SIZE];
+    private int[] types = new int[BUFFER_SIZE];
+    private int bufferedEdges = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param builder
+     *            the builder to which the triples are added
+     */
+    public StreamingRDF2GraphConverter(GraphBuilder builder) {
+        this.builder = builder;
+        this.firstNodeId = builder.getNumberOfNodes();
+    }
+
+    /**
+     * Parses the RDF data at the given location and adds its triples to the
+     * builder.
+     *
+     * @param location
+     *            the location (file name or URL) of the RDF data
+     * @param base
+     *            the base IRI used to resolve relative IRIs (can be
+     *            {@code null})
+     * @param lang
+     *            the serialization of the data or {@code null} if it should be
+     *            guessed based on the location
+     */
+    public void parse(String location, String base, Lang lang) {
+        RDFDataMgr.parse(this, location, base, lang);
+    }
+
+    @Override
+    public void triple(Triple triple) {
+        if (!tripleFilter.test(triple)) {
+            return;
+        }
+        if (bufferedEdges == sources.length) {
+            flush();
+        }
+        sources[bufferedEdges] = firstNodeId + getNodeId(triple.getSubject());
+        types[bufferedEdges] = properties.getOrAdd(hashProperty(triple.getPredicate()));
+        targets[bufferedEdges] = firstNodeId + getNodeId(triple.getObject());
+        ++bufferedEdges;
+    }
+
+    @Override
+    public void quad(Quad quad) {
+        triple(quad.asTriple());
+    }
+
+    @Override
+    public void finish() {
+        flush();
+    }
+
+    /**
+     * Adds the nodes that are not part of the builder yet and the buffered edges
+     * to the builder.
+     */
+    protected void flush() {
+        int missingNodes = firstNodeId + nodes.size() - builder.getNumberOfNodes();
+        if (missingNodes > 0) {
+            builder.addNodes(missingNodes);
+        }
+        if (bufferedEdges > 0) {
+            builder.addEdges(sources, targets, types, bufferedEdges, true);
+            bufferedEdges = 0;
+        }
+    }
+
+    /**
+     * Returns the ID of the given node within the node dictionary.
+     *
+     * @param node
+     *            the RDF node
+     * @return the ID of the node within the dictionary
+     */
+    protected int getNodeId(Node node) {
+        return nodes.getOrAdd(hashNode(node));
+    }
+
+    /**
+     * Returns the hash of the given node that is used as key in the node
+     * dictionary. URIs, blank nodes and literals are hashed with different seeds.
+     *
+     * @param node
+     *            the RDF node
+     * @return the hash of the node
+     */
+    public static long hashNode(Node node) {
+        if (node.isURI()) {
+            return HashedNodeDictionary.hash(node.getURI(), URI_SEED);
+        } else if (node.isBlank()) {
+            return HashedNodeDictionary.hash(node.getBlankNodeLabel(), BLANK_NODE_SEED);
+        } else if (node.isLiteral()) {
+            return HashedNodeDictionary.hash(node.getLiteralLexicalForm(), LITERAL_SEED);
+        } else {
+            // Shouldn't be possible
+            throw new IllegalArgumentException(
+                    "Got an RDF node that is neither a URI, a literal nor a blank node: " + node.toString());
+        }
+    }
+
+    /**
+     * Returns the hash of the given property that is used as key in the property
+     * dictionary.
+     *
+     * @param property
+     *            the property of a triple
+     * @return the hash of the property
+     */
+    public static long hashProperty(Node property) {
+        return HashedNodeDictionary.hash(property.getURI(), URI_SEED);
+    }
+
+    public void setTripleFilter(TripleFilter tripleFilter) {
+        this.tripleFilter = tripleFilter;
+    }
+
+    /**
+     * Returns the number of nodes that have been added by this converter.
+     *
+     * @return the number of nodes that have been added by this converter
+     */
+    public int getNumberOfNodes() {
+        return nodes.size();
+    }
+}
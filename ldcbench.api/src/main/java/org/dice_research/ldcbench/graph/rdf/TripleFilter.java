@@ -0,0 +1,14 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import java.util.function.Predicate;
+
+import org.apache.jena.graph.Triple;
+
+/**
+ * A filter that implements true or false for a given {@link Triple}. It is the
+ * counterpart of the {@link StatementFilter} for converters that work on a
+ * stream of triples instead of a model.
+ */
+public interface TripleFilter extends Predicate<Triple> {
+
+}
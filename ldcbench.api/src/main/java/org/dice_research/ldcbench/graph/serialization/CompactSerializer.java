@@ -0,0 +1,385 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.dice_research.ldcbench.graph.CSRGraph;
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * A compact serializer (format version {@value #FORMAT_VERSION}). In contrast
+ * to the {@link DumbSerializer}, which writes three raw integers per edge, this
+ * serializer groups the edges by their source node and encodes all numbers as
+ * variable-length integers.
+ *
+ * <p>
+ * The format has the following structure (all numbers are varints):
+ * </p>
+ * <ol>
+ * <li>a single byte containing the format version</li>
+ * <li>header: number of nodes, edges, external nodes and entrance nodes</li>
+ * <li>for every node: the number of outgoing edges shifted by one bit to the
+ * left. The lowest bit is set if all edges of the node have the type 0. In
+ * this case, only the targets of the edges follow. Otherwise, the edges are
+ * written as runs of consecutive edges with the same type. Every run consists
+ * of the type, the length of the run and the targets of the edges. The edges
+ * are written in their original order. The targets of a node are
+ * delta-encoded, i.e., every target is written as (zig-zag encoded)
+ * difference to the previous target of the node (or to 0 for the first
+ * target).</li>
+ * <li>for every external node: the difference of its ID to the previous
+ * external node, its graph ID and its external ID</li>
+ * <li>the IDs of the entrance nodes</li>
+ * </ol>
+ *
+ * <p>
+ * Since the edge types of the generated graphs are nearly always 0, a node
+ * typically needs a single byte in addition to its targets. The
+ * deserialization fills the arrays of a {@link CSRGraph} in one linear pass.
+ * The counts of the header are only trusted up to
+ * {@link #MAX_INITIAL_CAPACITY} elements. Larger arrays grow while the data is
+ * read. All counts and IDs are checked during the deserialization, i.e.,
+ * corrupted or truncated data leads to an {@link IOException}.
+ * </p>
+ */
+public class CompactSerializer implements Serializer {
+
+    /**
+     * The version of the format written by this serializer.
+     */
+    public static final int FORMAT_VERSION = 3;
+    /**
+     * The maximum number of elements that are allocated in advance based on
+     * the counts of the header. Larger arrays grow while the data is read,
+     * i.e., a corrupted header can not lead to allocations that are not backed
+     * by data.
+     */
+    protected static final int MAX_INITIAL_CAPACITY = 1 << 16;
+    /**
+     * The maximum length of an array (some VMs reserve header words).
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    @Override
+    public byte[] serialize(Graph graph) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            serializeTo(graph, out);
+        } catch (IOException e) {
+            // can not happen since we are writing into a byte array
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Graph deserialize(byte[] data) {
+        try {
+            return deserializeFrom(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The given data does not contain a complete graph.", e);
+        }
+    }
+
+    @Override
+    public void serializeTo(Graph graph, OutputStream out) throws IOException {
+        VarIntWriter writer = new VarIntWriter(out);
+        write(graph, writer);
+        writer.flush();
+    }
+
+    @Override
+    public Graph deserializeFrom(InputStream in) throws IOException {
+        return read(new VarIntReader(in));
+    }
+
+    /**
+     * Writes the given graph.
+     *
+     * @param graph
+     *            the graph that should be written
+     * @param writer
+     *            the writer that is used to write the data
+     * @throws IOException
+     *             if an error occurs while writing
+     */
+    protected void write(Graph graph, VarIntWriter writer) throws IOException {
+        int numberOfNodes = graph.getNumberOfNodes();
+        int numberOfExternalNodes = 0;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            if (graph.getGraphId(i) != Graph.INTERNAL_NODE_GRAPH_ID) {
+                ++numberOfExternalNodes;
+            }
+        }
+        int[] entranceNodes = graph.getEntranceNodes();
+        if (entranceNodes == null) {
+            entranceNodes = new int[0];
+        }
+
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeVarInt(numberOfNodes);
+        writer.writeVarInt(graph.getNumberOfEdges());
+        writer.writeVarInt(numberOfExternalNodes);
+        writer.writeVarInt(entranceNodes.length);
+
+        EdgeCursor cursor = new EdgeCursor();
+        int[] targets = new int[16];
+        int[] types = new int[16];
+        int degree;
+        boolean onlyDefaultType;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            degree = graph.outgoingEdgeCount(i);
+            if (degree == 0) {
+                writer.writeVarInt(0);
+                continue;
+            }
+            if (targets.length < degree) {
+                targets = new int[Math.max(degree, targets.length << 1)];
+                types = new int[targets.length];
+            }
+            graph.outgoingEdges(i, cursor);
+            onlyDefaultType = true;
+            for (int e = 0; e < degree; ++e) {
+                cursor.next();
+                targets[e] = cursor.nodeId();
+                types[e] = cursor.typeId();
+                onlyDefaultType &= (types[e] == 0);
+            }
+            if (onlyDefaultType) {
+                writer.writeVarInt((degree << 1) | 1);
+                writeTargets(targets, 0, degree, 0, writer);
+            } else {
+                writer.writeVarInt(degree << 1);
+                writeRuns(targets, types, degree, writer);
+            }
+        }
+
+        int previousNode = 0;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            int graphId = graph.getGraphId(i);
+            if (graphId != Graph.INTERNAL_NODE_GRAPH_ID) {
+                writer.writeVarInt(i - previousNode);
+                writer.writeVarInt(graphId);
+                writer.writeVarInt(graph.getExternalNodeId(i));
+                previousNode = i;
+            }
+        }
+        for (int i = 0; i < entranceNodes.length; ++i) {
+            writer.writeVarInt(entranceNodes[i]);
+        }
+    }
+
+    /**
+     * Writes the edges of a single node as runs of consecutive edges with the
+     * same type.
+     *
+     * @param targets
+     *            the targets of the edges
+     * @param types
+     *            the types of the edges
+     * @param degree
+     *            the number of edges in the arrays
+     * @param writer
+     *            the writer that is used to write the data
+     * @throws IOException
+     *             if an error occurs while writing
+     */
+    private static void writeRuns(int[] targets, int[] types, int degree, VarIntWriter writer) throws IOException {
+        int runStart = 0;
+        int runEnd;
+        int previousTarget = 0;
+        while (runStart < degree) {
+            runEnd = runStart + 1;
+            while ((runEnd < degree) && (types[runEnd] == types[runStart])) {
+                ++runEnd;
+            }
+            writer.writeVarInt(types[runStart]);
+            writer.writeVarInt(runEnd - runStart);
+            previousTarget = writeTargets(targets, runStart, runEnd, previousTarget, writer);
+            runStart = runEnd;
+        }
+    }
+
+    /**
+     * Writes the delta-encoded targets of the given edges.
+     *
+     * @param targets
+     *            the targets of the edges
+     * @param start
+     *            the position of the first edge that should be written
+     *            (inclusive)
+     * @param end
+     *            the position of the last edge that should be written (exclusive)
+     * @param previousTarget
+     *            the target to which the first target is encoded as difference
+     * @param writer
+     *            the writer that is used to write the data
+     * @return the last written target
+     * @throws IOException
+     *             if an error occurs while writing
+     */
+    private static int writeTargets(int[] targets, int start, int end, int previousTarget, VarIntWriter writer)
+            throws IOException {
+        for (int e = start; e < end; ++e) {
+            writer.writeSignedVarInt(targets[e] - previousTarget);
+            previousTarget = targets[e];
+        }
+        return previousTarget;
+    }
+
+    /**
+     * Reads a graph.
+     *
+     * @param reader
+     *            the reader that is used to read the data
+     * @return the graph
+     * @throws IOException
+     *             if an error occurs while reading or if the data has an
+     *             unsupported format
+     */
+    protected Graph read(VarIntReader reader) throws IOException {
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version " + version + ". Expected " + FORMAT_VERSION + ".");
+        }
+        int numberOfNodes = reader.readVarInt();
+        int numberOfEdges = reader.readVarInt();
+        int numberOfExternalNodes = reader.readVarInt();
+        int numberOfEntranceNodes = reader.readVarInt();
+        if ((numberOfNodes < 0) || (numberOfEdges < 0) || (numberOfEntranceNodes < 0)) {
+            throw new IOException("The header contains a negative count.");
+        }
+        if ((numberOfNodes > MAX_ARRAY_LENGTH) || (numberOfEdges > MAX_ARRAY_LENGTH)
+                || (numberOfEntranceNodes > MAX_ARRAY_LENGTH)) {
+            throw new IOException("The header contains a count that exceeds the maximum array length.");
+        }
+        if ((numberOfExternalNodes < 0) || (numberOfExternalNodes > numberOfNodes)) {
+            throw new IOException("The header announces " + numberOfExternalNodes + " external nodes for a graph with "
+                    + numberOfNodes + " nodes.");
+        }
+
+        // The arrays grow while reading since the counts have not been checked yet
+        int[] offsets = new int[Math.min(numberOfNodes, MAX_INITIAL_CAPACITY) + 1];
+        int[] targets = new int[Math.min(numberOfEdges, MAX_INITIAL_CAPACITY)];
+        int[] types = new int[targets.length];
+        int position = 0;
+        int end;
+        int type;
+        int runLength;
+        int target;
+        int degree;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            offsets = ensureCapacity(offsets, i + 2, numberOfNodes + 1);
+            degree = reader.readVarInt();
+            end = position + (degree >>> 1);
+            if ((end > numberOfEdges) || (end < position)) {
+                throw new IOException("The data contains more edges than announced in the header.");
+            }
+            target = 0;
+            if ((degree & 1) != 0) {
+                // all edges have the default type 0
+                while (position < end) {
+                    target = readTarget(reader, target, numberOfNodes);
+                    if (position == targets.length) {
+                        targets = ensureCapacity(targets, position + 1, numberOfEdges);
+                        types = Arrays.copyOf(types, targets.length);
+                    }
+                    targets[position] = target;
+                    ++position;
+                }
+            }
+            while (position < end) {
+                type = reader.readVarInt();
+                runLength = reader.readVarInt();
+                if (type < 0) {
+                    throw new IOException("Got the negative edge type " + type + " for node " + i + ".");
+                }
+                if ((runLength > end - position) || (runLength <= 0)) {
+                    throw new IOException("The edge run of node " + i + " has an invalid length.");
+                }
+                for (int e = 0; e < runLength; ++e) {
+                    target = readTarget(reader, target, numberOfNodes);
+                    if (position == targets.length) {
+                        targets = ensureCapacity(targets, position + 1, numberOfEdges);
+                        types = Arrays.copyOf(types, targets.length);
+                    }
+                    targets[position] = target;
+                    types[position] = type;
+                    ++position;
+                }
+            }
+            offsets[i + 1] = position;
+        }
+        if (position != numberOfEdges) {
+            throw new IOException("The data contains less edges than announced in the header.");
+        }
+
+        // Every node has been read, i.e., arrays with one element per node are backed by data
+        int[] graphIds = null;
+        int[] externalIds = null;
+        if (numberOfExternalNodes > 0) {
+            graphIds = new int[numberOfNodes];
+            Arrays.fill(graphIds, Graph.INTERNAL_NODE_GRAPH_ID);
+            externalIds = new int[numberOfNodes];
+            for (int i = 0; i < numberOfNodes; ++i) {
+                externalIds[i] = i;
+            }
+            int nodeId = 0;
+            int delta;
+            for (int i = 0; i < numberOfExternalNodes; ++i) {
+                delta = reader.readVarInt();
+                // the IDs are strictly ascending
+                if ((delta < ((i == 0) ? 0 : 1)) || (delta >= numberOfNodes - nodeId)) {
+                    throw new IOException("Got an invalid ID for the external node #" + i + ".");
+                }
+                nodeId += delta;
+                graphIds[nodeId] = reader.readVarInt();
+                externalIds[nodeId] = reader.readVarInt();
+                if ((graphIds[nodeId] < 0) || (externalIds[nodeId] < 0)) {
+                    throw new IOException("Got a negative graph ID or external ID for the external node " + nodeId
+                            + ".");
+                }
+            }
+        }
+        int[] entranceNodes = new int[Math.min(numberOfEntranceNodes, MAX_INITIAL_CAPACITY)];
+        for (int i = 0; i < numberOfEntranceNodes; ++i) {
+            entranceNodes = ensureCapacity(entranceNodes, i + 1, numberOfEntranceNodes);
+            entranceNodes[i] = reader.readVarInt();
+            if ((entranceNodes[i] < 0) || (entranceNodes[i] >= numberOfNodes)) {
+                throw new IOException("Got the entrance node " + entranceNodes[i] + " for a graph with "
+                        + numberOfNodes + " nodes.");
+            }
+        }
+        return new CSRGraph(offsets, targets, types, entranceNodes, graphIds, externalIds);
+    }
+
+    /**
+     * Returns the given array or a copy with a larger capacity if the array is
+     * smaller than the given minimum capacity. The capacity is doubled but does
+     * not exceed the given maximum capacity.
+     */
+    private static int[] ensureCapacity(int[] array, int minCapacity, int maxCapacity) {
+        if (array.length >= minCapacity) {
+            return array;
+        }
+        return Arrays.copyOf(array, (int) Math.min(maxCapacity, Math.max(minCapacity, 2L * array.length)));
+    }
+
+    /**
+     * Reads the next delta-encoded target and checks whether it is a valid node
+     * ID.
+     */
+    private static int readTarget(VarIntReader reader, int previousTarget, int numberOfNodes) throws IOException {
+        long target = (long) previousTarget + reader.readSignedVarInt();
+        if ((target < 0) || (target >= numberOfNodes)) {
+            throw new IOException("Got the edge target " + target + " for a graph with " + numberOfNodes + " nodes.");
+        }
+        return (int) target;
+    }
+}
@@ -3,6 +3,7 @@ package org.dice_research.ldcbench.graph.serialization;
 import java.nio.ByteBuffer;
 import java.util.stream.IntStream;
 
+import org.dice_research.ldcbench.graph.EdgeCursor;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.graph.GrphBasedGraph;
 
@@ -29,13 +30,13 @@ public class DumbSerializer implements Serializer {
         buf.putInt(numberOfExternalNodes);
         buf.putInt(entranceNodes.length);
 
+        EdgeCursor cursor = new EdgeCursor();
         for (int i = 0; i < numberOfNodes; i++) {
-            int[] targets = graph.outgoingEdgeTargets(i);
-            int[] types = graph.outgoingEdgeTypes(i);
-            for (int j = 0; j < targets.length; j++) {
+            graph.outgoingEdges(i, cursor);
+            while (cursor.next()) {
                 buf.putInt(i);
-                buf.putInt(types[j]);
-                buf.putInt(targets[j]);
+                buf.putInt(cursor.typeId());
+                buf.putInt(cursor.nodeId());
             }
         }
         if (numberOfExternalNodes > 0) {
@@ -65,27 +66,31 @@ public class DumbSerializer implements Serializer {
             graph.addNode();
         }
 
-        int src, type, dest;
+        int[] sources = new int[edges];
+        int[] types = new int[edges];
+        int[] targets = new int[edges];
         for (int j = 0; j < edges; j++) {
-            src = buf.getInt();
-            type = buf.getInt();
-            dest = buf.getInt();
-            graph.addEdge(src, dest, type);
+            sources[j] = buf.getInt();
+            types[j] = buf.getInt();
+            targets[j] = buf.getInt();
         }
-        int nodeId, graphId, externalId;
+        graph.addEdges(sources, targets, types);
+        int[] nodeIds = new int[numberOfExternalNodes];
+        int[] graphIds = new int[numberOfExternalNodes];
+        int[] externalIds = new int[numberOfExternalNodes];
         for (int i = 0; i < numberOfExternalNodes; ++i) {
-            nodeId = buf.getInt();
-            graphId = buf.getInt();
-            externalId = buf.getInt();
-            graph.setGraphIdOfNode(nodeId, graphId, externalId);
+            nodeIds[i] = buf.getInt();
+            graphIds[i] = buf.getInt();
+            externalIds[i] = buf.getInt();
         }
+        graph.setGraphIdsOfNodes(nodeIds, graphIds, externalIds);
         int[] entranceNodes = new int[numberOfEntranceNodes];
         for (int i = 0; i < numberOfEntranceNodes; ++i) {
             entranceNodes[i] = buf.getInt();
         }
         graph.setEntranceNodes(entranceNodes);
 
-        return graph;
+        return graph.build();
     }
 
 }
@@ -0,0 +1,149 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only array of integers that is backed by one or more
+ * {@link IntBuffer}s. A single {@link java.nio.MappedByteBuffer} can not be
+ * larger than 2GB. Hence, a mapped array is split into chunks of
+ * {@code 2^}{@value #CHUNK_BITS} integers.
+ */
+final class IntBufferArray {
+
+    static final int CHUNK_BITS = 28;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final IntBuffer[] chunks;
+    private final int length;
+
+    private IntBufferArray(IntBuffer[] chunks, int length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    /**
+     * Maps the given part of the file into memory.
+     *
+     * @param channel
+     *            the channel of the file
+     * @param position
+     *            the position of the first integer in the file
+     * @param length
+     *            the number of integers
+     * @return the array of mapped integers
+     * @throws IOException
+     *             if the file can not be mapped
+     */
+    static IntBufferArray map(FileChannel channel, long position, int length) throws IOException {
+        IntBuffer[] chunks = new IntBuffer[(int) ((length + (long) CHUNK_MASK) >>> CHUNK_BITS)];
+        long chunkStart;
+        for (int c = 0; c < chunks.length; ++c) {
+            chunkStart = ((long) c) << CHUNK_BITS;
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, position + (chunkStart * Integer.BYTES),
+                    Math.min(CHUNK_SIZE, length - chunkStart) * Integer.BYTES).asIntBuffer();
+        }
+        return new IntBufferArray(chunks, length);
+    }
+
+    /**
+     * Creates a view on the given part of the given buffer. The buffer itself is
+     * not changed.
+     *
+     * @param buffer
+     *            the buffer containing the integers
+     * @param position
+     *            the position of the first integer in the buffer
+     * @param length
+     *            the number of integers
+     * @return the array of integers
+     */
+    static IntBufferArray wrap(ByteBuffer buffer, int position, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(position + (length * Integer.BYTES));
+        view.position(position);
+        return new IntBufferArray(new IntBuffer[] { view.slice().asIntBuffer() }, length);
+    }
+
+    int get(int index) {
+        return chunks[index >>> CHUNK_BITS].get(index & CHUNK_MASK);
+    }
+
+    /**
+     * Returns the chunk containing the integers of the given range or
+     * {@code null} if the range spans several chunks. The position of an
+     * integer within the chunk can be determined with {@link #chunkIndex(int)}.
+     *
+     * @param from
+     *            the first index (inclusive)
+     * @param to
+     *            the last index (exclusive), has to be larger than {@code from}
+     * @return the chunk containing the range or {@code null}
+     */
+    IntBuffer chunkOf(int from, int to) {
+        int chunk = from >>> CHUNK_BITS;
+        return (chunk == ((to - 1) >>> CHUNK_BITS)) ? chunks[chunk] : null;
+    }
+
+    /**
+     * Returns the position of the given index within its chunk.
+     *
+     * @param index
+     *            the index of an integer of this array
+     * @return the position of the integer within its chunk
+     */
+    static int chunkIndex(int index) {
+        return index & CHUNK_MASK;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * Copies the integers of the given range into a new array.
+     *
+     * @param from
+     *            the first index (inclusive)
+     * @param to
+     *            the last index (exclusive)
+     * @return the copied integers
+     */
+    int[] copyOfRange(int from, int to) {
+        int[] result = new int[to - from];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = get(from + i);
+        }
+        return result;
+    }
+
+    /**
+     * Searches the given key in this array which has to be sorted ascending.
+     *
+     * @param key
+     *            the value that should be searched
+     * @return the index of the key or a negative value if the array does not
+     *         contain the key
+     */
+    int binarySearch(int key) {
+        int low = 0;
+        int high = length - 1;
+        int middle;
+        int value;
+        while (low <= high) {
+            middle = (low + high) >>> 1;
+            value = get(middle);
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,25 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * A {@link Serializer} with a format that can be used directly from a memory
+ * mapped file, i.e., without deserializing the graph into the heap.
+ */
+public interface MappableSerializer extends Serializer {
+
+    /**
+     * Maps the graph that has been serialized into the given file.
+     * The returned graph stays valid after the channel has been closed.
+     *
+     * @param channel the channel of the file containing the graph
+     * @param position the position at which the serialization of the graph starts
+     * @return a read-only graph backed by the mapped file
+     * @throws IOException if the file can not be mapped or has a wrong format
+     */
+    public Graph map(FileChannel channel, long position) throws IOException;
+
+}
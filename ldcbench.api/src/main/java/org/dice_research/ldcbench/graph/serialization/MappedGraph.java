@@ -0,0 +1,247 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+import org.dice_research.ldcbench.graph.EdgeConsumer;
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * A read-only {@link Graph} that works directly on the fixed-layout format
+ * written by the {@link MappedGraphSerializer}. The data can either be mapped
+ * from a file (see {@link #map(FileChannel, long)}) or wrapped in a buffer (see
+ * {@link #wrap(ByteBuffer)}). In the first case, the graph does not need
+ * any heap space for its edges, i.e., it can be much larger than the heap and
+ * is available as soon as the file has been received.
+ *
+ * <p>
+ * The external nodes are stored in a table that is sorted by the IDs of the
+ * nodes. Hence, {@link #getGraphId(int)} and {@link #getExternalNodeId(int)}
+ * need a binary search.
+ * </p>
+ *
+ * <p>
+ * The {@link EdgeCursor}s returned by {@link #outgoingEdges(int, EdgeCursor)}
+ * and {@link #incomingEdges(int, EdgeCursor)} read the mapped buffers directly,
+ * i.e., iterating over the edges does not create any arrays.
+ * </p>
+ */
+public class MappedGraph implements Graph {
+
+    /**
+     * Creates the array of a single section of the graph file.
+     */
+    @FunctionalInterface
+    private static interface SectionFactory {
+        IntBufferArray create(long offset, int length) throws IOException;
+    }
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int numberOfNodes;
+    private final int numberOfEdges;
+    private final IntBufferArray outOffsets;
+    private final IntBufferArray outTargets;
+    private final IntBufferArray outTypes;
+    private final IntBufferArray inOffsets;
+    private final IntBufferArray inSources;
+    private final IntBufferArray inTypes;
+    private final IntBufferArray externalNodes;
+    private final IntBufferArray externalGraphIds;
+    private final IntBufferArray externalIds;
+    private final int[] entranceNodes;
+
+    private MappedGraph(ByteBuffer header, long availableBytes, SectionFactory factory) throws IOException {
+        if (header.getInt() != MappedGraphSerializer.MAGIC_NUMBER) {
+            throw new IOException("The data does not start with the expected magic number.");
+        }
+        int version = header.getInt();
+        if (version != MappedGraphSerializer.FORMAT_VERSION) {
+            throw new IOException("Unsupported format version " + version + ". Expected "
+                    + MappedGraphSerializer.FORMAT_VERSION + ".");
+        }
+        numberOfNodes = header.getInt();
+        numberOfEdges = header.getInt();
+        int numberOfExternalNodes = header.getInt();
+        int numberOfEntranceNodes = header.getInt();
+        if ((numberOfNodes < 0) || (numberOfEdges < 0) || (numberOfExternalNodes < 0)
+                || (numberOfEntranceNodes < 0)) {
+            throw new IOException("The header of the graph contains negative numbers.");
+        }
+        long expectedBytes = MappedGraphSerializer.getSize(numberOfNodes, numberOfEdges, numberOfExternalNodes,
+                numberOfEntranceNodes);
+        if (availableBytes < expectedBytes) {
+            throw new EOFException("The graph needs " + expectedBytes + " bytes but only " + availableBytes
+                    + " bytes are available.");
+        }
+
+        long offset = MappedGraphSerializer.HEADER_SIZE;
+        outOffsets = factory.create(offset, numberOfNodes + 1);
+        offset += ((long) numberOfNodes + 1) * Integer.BYTES;
+        outTargets = factory.create(offset, numberOfEdges);
+        offset += ((long) numberOfEdges) * Integer.BYTES;
+        outTypes = factory.create(offset, numberOfEdges);
+        offset += ((long) numberOfEdges) * Integer.BYTES;
+        inOffsets = factory.create(offset, numberOfNodes + 1);
+        offset += ((long) numberOfNodes + 1) * Integer.BYTES;
+        inSources = factory.create(offset, numberOfEdges);
+        offset += ((long) numberOfEdges) * Integer.BYTES;
+        inTypes = factory.create(offset, numberOfEdges);
+        offset += ((long) numberOfEdges) * Integer.BYTES;
+        externalNodes = factory.create(offset, numberOfExternalNodes);
+        offset += ((long) numberOfExternalNodes) * Integer.BYTES;
+        externalGraphIds = factory.create(offset, numberOfExternalNodes);
+        offset += ((long) numberOfExternalNodes) * Integer.BYTES;
+        externalIds = factory.create(offset, numberOfExternalNodes);
+        offset += ((long) numberOfExternalNodes) * Integer.BYTES;
+        entranceNodes = factory.create(offset, numberOfEntranceNodes).copyOfRange(0, numberOfEntranceNodes);
+    }
+
+    /**
+     * Maps the graph that has been written into the given file.
+     *
+     * @param channel
+     *            the channel of the file containing the graph
+     * @param position
+     *            the position in the file at which the graph starts
+     * @return the mapped graph
+     * @throws IOException
+     *             if the file can not be read or mapped or if its content does
+     *             not have the expected format
+     */
+    public static MappedGraph map(FileChannel channel, long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(MappedGraphSerializer.HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, position + header.position()) < 0) {
+                throw new EOFException("The file ends before the header of the graph has been read.");
+            }
+        }
+        header.flip();
+        return new MappedGraph(header, channel.size() - position,
+                (offset, length) -> IntBufferArray.map(channel, position + offset, length));
+    }
+
+    /**
+     * Creates a graph backed by the given buffer. The data of the graph has to
+     * start at the current position of the buffer. The buffer is not changed.
+     *
+     * @param buffer
+     *            the buffer containing the graph
+     * @return the graph backed by the buffer
+     * @throws IOException
+     *             if the content of the buffer does not have the expected format
+     */
+    public static MappedGraph wrap(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < MappedGraphSerializer.HEADER_SIZE) {
+            throw new EOFException("The buffer ends before the header of the graph has been read.");
+        }
+        int start = buffer.position();
+        return new MappedGraph(buffer.duplicate(), buffer.remaining(),
+                (offset, length) -> IntBufferArray.wrap(buffer, (int) (start + offset), length));
+    }
+
+    @Override
+    public int[] outgoingEdgeTargets(int nodeId) {
+        return outTargets.copyOfRange(outOffsets.get(nodeId), outOffsets.get(nodeId + 1));
+    }
+
+    @Override
+    public int[] outgoingEdgeTypes(int nodeId) {
+        return outTypes.copyOfRange(outOffsets.get(nodeId), outOffsets.get(nodeId + 1));
+    }
+
+    @Override
+    public int outgoingEdgeCount(int nodeId) {
+        return outOffsets.get(nodeId + 1) - outOffsets.get(nodeId);
+    }
+
+    @Override
+    public void forEachOutgoingEdge(int nodeId, EdgeConsumer consumer) {
+        int end = outOffsets.get(nodeId + 1);
+        for (int e = outOffsets.get(nodeId); e < end; ++e) {
+            consumer.accept(outTargets.get(e), outTypes.get(e));
+        }
+    }
+
+    @Override
+    public EdgeCursor outgoingEdges(int nodeId, EdgeCursor cursor) {
+        return reset(cursor, outTargets, outTypes, outOffsets.get(nodeId), outOffsets.get(nodeId + 1));
+    }
+
+    @Override
+    public int[] incomingEdgeSources(int nodeId) {
+        return inSources.copyOfRange(inOffsets.get(nodeId), inOffsets.get(nodeId + 1));
+    }
+
+    @Override
+    public int[] incomingEdgeTypes(int nodeId) {
+        return inTypes.copyOfRange(inOffsets.get(nodeId), inOffsets.get(nodeId + 1));
+    }
+
+    @Override
+    public int incomingEdgeCount(int nodeId) {
+        return inOffsets.get(nodeId + 1) - inOffsets.get(nodeId);
+    }
+
+    @Override
+    public void forEachIncomingEdge(int nodeId, EdgeConsumer consumer) {
+        int end = inOffsets.get(nodeId + 1);
+        for (int e = inOffsets.get(nodeId); e < end; ++e) {
+            consumer.accept(inSources.get(e), inTypes.get(e));
+        }
+    }
+
+    @Override
+    public EdgeCursor incomingEdges(int nodeId, EdgeCursor cursor) {
+        return reset(cursor, inSources, inTypes, inOffsets.get(nodeId), inOffsets.get(nodeId + 1));
+    }
+
+    /**
+     * Lets the given cursor point to the given range of the given arrays.
+     */
+    private static EdgeCursor reset(EdgeCursor cursor, IntBufferArray nodeIds, IntBufferArray typeIds, int from,
+            int to) {
+        if (from == to) {
+            return cursor.reset(EMPTY, EMPTY, 0, 0);
+        }
+        IntBuffer nodeIdChunk = nodeIds.chunkOf(from, to);
+        if (nodeIdChunk == null) {
+            // the edges are split between two chunks (happens for at most one node per chunk)
+            return cursor.reset(nodeIds.copyOfRange(from, to), typeIds.copyOfRange(from, to), 0, to - from);
+        }
+        int start = IntBufferArray.chunkIndex(from);
+        return cursor.reset(nodeIdChunk, typeIds.chunkOf(from, to), start, start + (to - from));
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return numberOfEdges;
+    }
+
+    @Override
+    public int[] getEntranceNodes() {
+        return entranceNodes;
+    }
+
+    @Override
+    public int getGraphId(int nodeId) {
+        int pos = externalNodes.binarySearch(nodeId);
+        return pos < 0 ? INTERNAL_NODE_GRAPH_ID : externalGraphIds.get(pos);
+    }
+
+    @Override
+    public int getExternalNodeId(int nodeId) {
+        int pos = externalNodes.binarySearch(nodeId);
+        return pos < 0 ? nodeId : externalIds.get(pos);
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+
+/**
+ * A serializer writing graphs in a fixed-layout format that can be used
+ * without deserialization by a {@link MappedGraph}. In contrast to the
+ * {@link CompactSerializer}, the format is larger (four integers per edge) but
+ * a graph file can be mapped into memory and used directly.
+ *
+ * <p>
+ * The format comprises the following sections. All numbers are 32 bit
+ * integers in big-endian byte order.
+ * </p>
+ * <ol>
+ * <li>header: the magic number {@value #MAGIC_NUMBER}, the format version,
+ * the number of nodes, edges, external nodes and entrance nodes</li>
+ * <li>offsets of the outgoing edges ({@code numberOfNodes + 1} elements)</li>
+ * <li>targets of the outgoing edges</li>
+ * <li>types of the outgoing edges</li>
+ * <li>offsets of the incoming edges ({@code numberOfNodes + 1} elements)</li>
+ * <li>sources of the incoming edges</li>
+ * <li>types of the incoming edges</li>
+ * <li>IDs of the external nodes (sorted ascending)</li>
+ * <li>graph IDs of the external nodes</li>
+ * <li>external IDs of the external nodes</li>
+ * <li>IDs of the entrance nodes</li>
+ * </ol>
+ */
+public class MappedGraphSerializer implements MappableSerializer {
+
+    /**
+     * The first integer of every graph written by this serializer.
+     */
+    public static final int MAGIC_NUMBER = 0x4C444347;
+    /**
+     * The version of the format written by this serializer.
+     */
+    public static final int FORMAT_VERSION = 1;
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Override
+    public byte[] serialize(Graph graph) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            serializeTo(graph, out);
+        } catch (IOException e) {
+            // can not happen since we are writing into a byte array
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Graph deserialize(byte[] data) {
+        try {
+            return MappedGraph.wrap(ByteBuffer.wrap(data));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The given data does not contain a complete graph.", e);
+        }
+    }
+
+    @Override
+    public Graph map(FileChannel channel, long position) throws IOException {
+        return MappedGraph.map(channel, position);
+    }
+
+    @Override
+    public void serializeTo(Graph graph, OutputStream out) throws IOException {
+        int numberOfNodes = graph.getNumberOfNodes();
+        int numberOfEdges = graph.getNumberOfEdges();
+        int numberOfExternalNodes = 0;
+        for (int i = 0; i < numberOfNodes; ++i) {
+            if (graph.getGraphId(i) != Graph.INTERNAL_NODE_GRAPH_ID) {
+                ++numberOfExternalNodes;
+            }
+        }
+        int[] entranceNodes = graph.getEntranceNodes();
+        if (entranceNodes == null) {
+            entranceNodes = new int[0];
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC_NUMBER);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(numberOfNodes);
+        buffer.putInt(numberOfEdges);
+        buffer.putInt(numberOfExternalNodes);
+        buffer.putInt(entranceNodes.length);
+
+        EdgeCursor cursor = new EdgeCursor();
+        // outgoing edges
+        int offset = 0;
+        putInt(offset, buffer, out);
+        for (int i = 0; i < numberOfNodes; ++i) {
+            offset += graph.outgoingEdgeCount(i);
+            putInt(offset, buffer, out);
+        }
+        checkNumberOfEdges(offset, numberOfEdges);
+        for (int i = 0; i < numberOfNodes; ++i) {
+            graph.outgoingEdges(i, cursor);
+            while (cursor.next()) {
+                putInt(cursor.nodeId(), buffer, out);
+            }
+        }
+        for (int i = 0; i < numberOfNodes; ++i) {
+            graph.outgoingEdges(i, cursor);
+            while (cursor.next()) {
+                putInt(cursor.typeId(), buffer, out);
+            }
+        }
+        // incoming edges
+        offset = 0;
+        putInt(offset, buffer, out);
+        for (int i = 0; i < numberOfNodes; ++i) {
+            offset += graph.incomingEdgeCount(i);
+            putInt(offset, buffer, out);
+        }
+        checkNumberOfEdges(offset, numberOfEdges);
+        for (int i = 0; i < numberOfNodes; ++i) {
+            graph.incomingEdges(i, cursor);
+            while (cursor.next()) {
+                putInt(cursor.nodeId(), buffer, out);
+            }
+        }
+        for (int i = 0; i < numberOfNodes; ++i) {
+            graph.incomingEdges(i, cursor);
+            while (cursor.next()) {
+                putInt(cursor.typeId(), buffer, out);
+            }
+        }
+        // external nodes
+        for (int i = 0; i < numberOfNodes; ++i) {
+            if (graph.getGraphId(i) != Graph.INTERNAL_NODE_GRAPH_ID) {
+                putInt(i, buffer, out);
+            }
+        }
+        for (int i = 0; i < numberOfNodes; ++i) {
+            if (graph.getGraphId(i) != Graph.INTERNAL_NODE_GRAPH_ID) {
+                putInt(graph.getGraphId(i), buffer, out);
+            }
+        }
+        for (int i = 0; i < numberOfNodes; ++i) {
+            if (graph.getGraphId(i) != Graph.INTERNAL_NODE_GRAPH_ID) {
+                putInt(graph.getExternalNodeId(i), buffer, out);
+            }
+        }
+        for (int i = 0; i < entranceNodes.length; ++i) {
+            putInt(entranceNodes[i], buffer, out);
+        }
+        out.write(buffer.array(), 0, buffer.position());
+        out.flush();
+    }
+
+    private static void putInt(int value, ByteBuffer buffer, OutputStream out) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+        buffer.putInt(value);
+    }
+
+    private static void checkNumberOfEdges(int counted, int numberOfEdges) throws IOException {
+        if (counted != numberOfEdges) {
+            throw new IOException("The graph reports " + numberOfEdges + " edges but its nodes have " + counted
+                    + " edges.");
+        }
+    }
+
+    /**
+     * Determines the size of a serialized graph.
+     *
+     * @param numberOfNodes
+     *            the number of nodes of the graph
+     * @param numberOfEdges
+     *            the number of edges of the graph
+     * @param numberOfExternalNodes
+     *            the number of external nodes of the graph
+     * @param numberOfEntranceNodes
+     *            the number of entrance nodes of the graph
+     * @return the size of the serialized graph in bytes
+     */
+    public static long getSize(int numberOfNodes, int numberOfEdges, int numberOfExternalNodes,
+            int numberOfEntranceNodes) {
+        return HEADER_SIZE + (Integer.BYTES * ((2L * (numberOfNodes + 1L)) + (4L * numberOfEdges)
+                + (3L * numberOfExternalNodes) + numberOfEntranceNodes));
+    }
+
+}
@@ -1,7 +1,21 @@
 package org.dice_research.ldcbench.graph.serialization;
 
 import org.dice_research.ldcbench.graph.Graph;
-import java.nio.ByteBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * A helper for serializing and deserializing graphs.
@@ -9,6 +23,22 @@ import java.nio.ByteBuffer;
  */
 public class SerializationHelper {
 
+    /**
+     * The serializer class that is used if no other class is given.
+     */
+    public static final Class<? extends Serializer> DEFAULT_SERIALIZER_CLASS = CompactSerializer.class;
+
+    /**
+     * Serializes given Graph using the {@link #DEFAULT_SERIALIZER_CLASS}.
+     * Serialization includes the information about which Serializer was used.
+     *
+     * @param graph a Graph to serialize
+     * @return byte array containing the serialization of the graph
+     */
+    public static byte[] serialize(Graph graph) throws InstantiationException, IllegalAccessException {
+        return serialize(DEFAULT_SERIALIZER_CLASS, graph);
+    }
+
     /**
      * Serializes given Graph using given Serializer.
      * Serialization includes the information about which Serializer was used.
@@ -18,20 +48,52 @@ public class SerializationHelper {
      * @return byte array containing the serialization of the graph
      */
     public static byte[] serialize(Class<?> serializerClass, Graph graph) throws InstantiationException, IllegalAccessException {
-        if (!Serializer.class.isAssignableFrom(serializerClass)) {
-            throw new InstantiationException("Specified serializer class does not implement Serializer interface");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            serialize(serializerClass, graph, out);
+        } catch (IOException e) {
+            // can not happen since we are writing into a byte array
+            throw new IllegalStateException(e);
         }
+        return out.toByteArray();
+    }
 
-        Serializer serializer = (Serializer) serializerClass.newInstance();
-        byte[] data = serializer.serialize(graph);
+    /**
+     * Serializes given Graph into the given stream using the
+     * {@link #DEFAULT_SERIALIZER_CLASS}.
+     * Serialization includes the information about which Serializer was used.
+     * The stream is flushed but not closed.
+     *
+     * @param graph a Graph to serialize
+     * @param out the stream the serialization is written to
+     * @throws IOException if an error occurs while writing to the stream
+     */
+    public static void serialize(Graph graph, OutputStream out) throws InstantiationException, IllegalAccessException, IOException {
+        serialize(DEFAULT_SERIALIZER_CLASS, graph, out);
+    }
+
+    /**
+     * Serializes given Graph into the given stream using given Serializer.
+     * Serialization includes the information about which Serializer was used.
+     * The graph is written directly into the stream without creating an
+     * intermediate copy of the complete serialization if the serializer
+     * supports it. The stream is flushed but not closed.
+     *
+     * @param serializerClass a Class which would be used to serialize the graph
+     * @param graph a Graph to serialize
+     * @param out the stream the serialization is written to
+     * @throws IOException if an error occurs while writing to the stream
+     */
+    public static void serialize(Class<?> serializerClass, Graph graph, OutputStream out) throws InstantiationException, IllegalAccessException, IOException {
+        Serializer serializer = createSerializer(serializerClass);
 
         byte[] serializerName = serializerClass.getName().getBytes();
-        ByteBuffer buf = ByteBuffer.allocate((Integer.SIZE / Byte.SIZE) + serializerName.length + data.length);
-        buf.putInt(serializerName.length);
-        buf.put(serializerName);
+        DataOutputStream dout = new DataOutputStream(out);
+        dout.writeInt(serializerName.length);
+        dout.write(serializerName);
+        dout.flush();
 
-        buf.put(data);
-        return buf.array();
+        serializer.serializeTo(graph, out);
     }
 
     /**
@@ -42,18 +104,93 @@ public class SerializationHelper {
      * @return deserialized Graph
      */
     public static Graph deserialize(byte[] data) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
-        ByteBuffer buf = ByteBuffer.wrap(data);
-        int serializerNameLength = buf.getInt();
+        try {
+            return deserialize(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The given data does not contain a complete graph.", e);
+        }
+    }
+
+    /**
+     * Deserializes a Graph from the given stream
+     * using a Serializer implementation encoded in the serialized data.
+     * The stream is not closed.
+     *
+     * @param in the stream containing the serialization of a graph
+     * @return deserialized Graph
+     * @throws IOException if an error occurs while reading from the stream
+     */
+    public static Graph deserialize(InputStream in) throws ClassNotFoundException, InstantiationException, IllegalAccessException, IOException {
+        Serializer serializer = readSerializer(in);
+        return serializer.deserializeFrom(in);
+    }
+
+    /**
+     * Deserializes a Graph from the given channel
+     * using a Serializer implementation encoded in the serialized data.
+     * The channel is not closed.
+     *
+     * @param channel the channel containing the serialization of a graph
+     * @return deserialized Graph
+     * @throws IOException if an error occurs while reading from the channel
+     */
+    public static Graph deserialize(ReadableByteChannel channel) throws ClassNotFoundException, InstantiationException, IllegalAccessException, IOException {
+        return deserialize(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Loads the Graph stored in the given file
+     * using a Serializer implementation encoded in the file.
+     * If the Serializer is a {@link MappableSerializer}, the graph is mapped
+     * into memory instead of being deserialized into the heap.
+     *
+     * @param file the file containing the serialization of a graph
+     * @return the loaded Graph
+     * @throws IOException if an error occurs while reading the file
+     */
+    public static Graph load(File file) throws ClassNotFoundException, InstantiationException, IllegalAccessException, IOException {
+        return load(file.toPath());
+    }
+
+    /**
+     * Loads the Graph stored in the given file
+     * using a Serializer implementation encoded in the file.
+     * If the Serializer is a {@link MappableSerializer}, the graph is mapped
+     * into memory instead of being deserialized into the heap.
+     *
+     * @param file the file containing the serialization of a graph
+     * @return the loaded Graph
+     * @throws IOException if an error occurs while reading the file
+     */
+    public static Graph load(Path file) throws ClassNotFoundException, InstantiationException, IllegalAccessException, IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the stream of the channel is not buffered, i.e., it does not read beyond the header
+            Serializer serializer = readSerializer(Channels.newInputStream(channel));
+            if (serializer instanceof MappableSerializer) {
+                return ((MappableSerializer) serializer).map(channel, channel.position());
+            } else {
+                return serializer.deserializeFrom(new BufferedInputStream(Channels.newInputStream(channel)));
+            }
+        }
+    }
+
+    private static Serializer readSerializer(InputStream in) throws ClassNotFoundException, InstantiationException, IllegalAccessException, IOException {
+        DataInputStream din = new DataInputStream(in);
+        int serializerNameLength = din.readInt();
+        if (serializerNameLength < 0) {
+            throw new IOException("Got a negative serializer name length.");
+        }
         byte[] serializerName = new byte[serializerNameLength];
-        buf.get(serializerName, 0, serializerNameLength);
+        din.readFully(serializerName);
 
-        Class<?> serializerClass = Class.forName(new String(serializerName));
+        return createSerializer(Class.forName(new String(serializerName)));
+    }
+
+    private static Serializer createSerializer(Class<?> serializerClass) throws InstantiationException, IllegalAccessException {
         if (!Serializer.class.isAssignableFrom(serializerClass)) {
             throw new InstantiationException("Specified serializer class does not implement Serializer interface");
         }
-
-        Serializer serializer = (Serializer) serializerClass.newInstance();
-        return serializer.deserialize(buf.compact().array());
+        return (Serializer) serializerClass.newInstance();
     }
 
 }
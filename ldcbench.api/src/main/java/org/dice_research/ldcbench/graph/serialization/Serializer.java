@@ -1,5 +1,12 @@
 package org.dice_research.ldcbench.graph.serialization;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
 import org.dice_research.ldcbench.graph.Graph;
 
 /**
@@ -25,4 +32,53 @@ public interface Serializer {
      */
     public Graph deserialize(byte[] data);
 
+    /**
+     * Serializes given Graph into the given stream
+     * using implementation-defined serialization.
+     * The stream is flushed but not closed.
+     * The default implementation writes the result of {@link #serialize(Graph)}.
+     *
+     * @param graph a Graph to serialize
+     * @param out the stream the serialization is written to
+     * @throws IOException if an error occurs while writing to the stream
+     */
+    public default void serializeTo(Graph graph, OutputStream out) throws IOException {
+        out.write(serialize(graph));
+        out.flush();
+    }
+
+    /**
+     * Deserializes a Graph from the given stream
+     * using implementation-defined serialization.
+     * The stream is not closed but it might be read beyond the end of the graph.
+     * The default implementation reads the complete stream into a byte array
+     * and calls {@link #deserialize(byte[])}.
+     *
+     * @param in the stream containing the serialization of a graph
+     * @return deserialized Graph
+     * @throws IOException if an error occurs while reading from the stream
+     */
+    public default Graph deserializeFrom(InputStream in) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int length;
+        while ((length = in.read(buffer)) >= 0) {
+            data.write(buffer, 0, length);
+        }
+        return deserialize(data.toByteArray());
+    }
+
+    /**
+     * Deserializes a Graph from the given channel
+     * using implementation-defined serialization.
+     * The channel is not closed.
+     *
+     * @param channel the channel containing the serialization of a graph
+     * @return deserialized Graph
+     * @throws IOException if an error occurs while reading from the channel
+     */
+    public default Graph deserializeFrom(ReadableByteChannel channel) throws IOException {
+        return deserializeFrom(Channels.newInputStream(channel));
+    }
+
 }
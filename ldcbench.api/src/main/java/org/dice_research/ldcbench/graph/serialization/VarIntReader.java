@@ -0,0 +1,67 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The counterpart of the {@link VarIntWriter}. The reader buffers the given
+ * stream internally, i.e., it may read more bytes from the stream than it
+ * returns.
+ */
+class VarIntReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position = 0;
+    private int limit = 0;
+
+    VarIntReader(InputStream in) {
+        this.in = in;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    int readByte() throws IOException {
+        if (position == limit) {
+            fillBuffer();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed varint: more than 5 bytes.");
+            }
+            if (position == limit) {
+                fillBuffer();
+            }
+            b = buffer[position++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Reads a value written by {@link VarIntWriter#writeSignedVarInt(int)}.
+     */
+    int readSignedVarInt() throws IOException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private void fillBuffer() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            throw new EOFException("Reached the end of the stream before the graph was completely read.");
+        }
+        position = 0;
+        limit = read;
+    }
+}
@@ -0,0 +1,66 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A small, unsynchronized buffered writer for variable-length encoded integers
+ * (LEB128 style, 7 bits per byte, least significant group first). Negative
+ * values are written as unsigned 32 bit values, i.e., they need 5 bytes.
+ */
+class VarIntWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position = 0;
+
+    VarIntWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    void writeByte(int value) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarInt(int value) throws IOException {
+        // A varint needs at most 5 bytes
+        if (position + 5 > buffer.length) {
+            flushBuffer();
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Writes the given value zig-zag encoded, i.e., values with a small
+     * absolute value need only a few bytes even if they are negative.
+     */
+    void writeSignedVarInt(int value) throws IOException {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Writes all buffered bytes to the underlying stream and flushes it. The
+     * underlying stream is not closed.
+     */
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+}
@@ -0,0 +1,311 @@
+package org.dice_research.ldcbench.rdf;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.jena.graph.Node;
+
+/**
+ * A bounded cache for {@link Node} instances with primitive {@code long} keys
+ * (see {@link #key(int, int)}). The cache is split into several segments that
+ * are locked independently. If a segment is full, an entry is evicted using
+ * the CLOCK algorithm, i.e., an approximation of LRU in which every entry has a
+ * reference bit that is set on every hit and cleared by the clock hand before
+ * the entry is evicted. The cache counts its hits, misses and evictions.
+ */
+public class ClockNodeCache {
+
+    /**
+     * The default number of segments.
+     */
+    public static final int DEFAULT_NUMBER_OF_SEGMENTS = 16;
+
+    /**
+     * The segments of this cache. Their number is a power of 2.
+     */
+    protected final Segment[] segments;
+    /**
+     * The segment of a key is chosen based on the upper bits of its hash while
+     * the hash tables of the segments use the lower bits.
+     */
+    private final int segmentShift;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the maximum number of entries of this cache
+     */
+    public ClockNodeCache(int capacity) {
+        this(capacity, DEFAULT_NUMBER_OF_SEGMENTS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the maximum number of entries of this cache
+     * @param numberOfSegments
+     *            the number of segments (will be rounded up to a power of 2)
+     */
+    public ClockNodeCache(int capacity, int numberOfSegments) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity has to be > 0.");
+        }
+        if (numberOfSegments < 1) {
+            throw new IllegalArgumentException("The number of segments has to be > 0.");
+        }
+        int size = Integer.highestOneBit(numberOfSegments);
+        if (size < numberOfSegments) {
+            size <<= 1;
+        }
+        size = Math.min(size, Integer.highestOneBit(capacity));
+        segments = new Segment[size];
+        segmentShift = Integer.numberOfLeadingZeros(size) + 1;
+        int segmentCapacity = (capacity + size - 1) / size;
+        for (int i = 0; i < size; ++i) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Creates the key of the node with the given ID in the given graph.
+     *
+     * @param graphId
+     *            the ID of the graph (may be negative)
+     * @param nodeId
+     *            the ID of the node
+     * @return the key of the node
+     */
+    public static long key(int graphId, int nodeId) {
+        return (((long) graphId) << 32) | (nodeId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the cached node for the given key or {@code null} if it is not
+     * cached.
+     *
+     * @param key
+     *            the key of the node
+     * @return the cached node or {@code null}
+     */
+    public Node get(long key) {
+        Node node = segmentFor(key).get(key);
+        if (node == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return node;
+    }
+
+    /**
+     * Adds the given node to the cache. If the segment of the key is full, an
+     * entry of this segment is evicted.
+     *
+     * @param key
+     *            the key of the node
+     * @param node
+     *            the node that should be cached (must not be {@code null})
+     */
+    public void put(long key, Node node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Null values can not be cached.");
+        }
+        if (segmentFor(key).put(key, node)) {
+            evictions.increment();
+        }
+    }
+
+    private Segment segmentFor(long key) {
+        // Java uses only the lowest 5 bits of the shift distance
+        return segmentShift == 32 ? segments[0] : segments[mix(key) >>> segmentShift];
+    }
+
+    /**
+     * Spreads the bits of the given key (murmur3 finalizer).
+     */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Removes all entries from the cache. The metrics are not reset.
+     */
+    public void clear() {
+        for (int i = 0; i < segments.length; ++i) {
+            segments[i].clear();
+        }
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of cached entries
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < segments.length; ++i) {
+            size += segments[i].size();
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to all requests or 0 if the cache has not been
+     * used, yet.
+     *
+     * @return the hit rate of this cache
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : ((double) h) / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ClockNodeCache [size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions="
+                + getEvictions() + "]";
+    }
+
+    /**
+     * A single segment of the cache. The entries are stored in slots that are
+     * visited by the clock hand. An open addressing hash table maps the keys to
+     * their slots.
+     */
+    protected static class Segment {
+        private final long[] keys;
+        private final Node[] values;
+        private final boolean[] referenced;
+        /**
+         * Hash table containing slot + 1 (0 marks an empty bucket).
+         */
+        private final int[] table;
+        private final int tableMask;
+        private int size = 0;
+        private int hand = 0;
+
+        public Segment(int capacity) {
+            keys = new long[capacity];
+            values = new Node[capacity];
+            referenced = new boolean[capacity];
+            // keep the load factor of the table <= 0.5
+            int tableSize = Integer.highestOneBit(Math.max(2, capacity) - 1) << 2;
+            table = new int[tableSize];
+            tableMask = tableSize - 1;
+        }
+
+        public synchronized Node get(long key) {
+            int slot = findSlot(key);
+            if (slot < 0) {
+                return null;
+            }
+            referenced[slot] = true;
+            return values[slot];
+        }
+
+        /**
+         * Adds the given entry and returns {@code true} if another entry has been
+         * evicted.
+         */
+        public synchronized boolean put(long key, Node node) {
+            int slot = findSlot(key);
+            if (slot >= 0) {
+                values[slot] = node;
+                referenced[slot] = true;
+                return false;
+            }
+            boolean evicted = false;
+            if (size < keys.length) {
+                slot = size;
+                ++size;
+            } else {
+                while (referenced[hand]) {
+                    referenced[hand] = false;
+                    hand = (hand + 1) % keys.length;
+                }
+                slot = hand;
+                hand = (hand + 1) % keys.length;
+                removeFromTable(keys[slot]);
+                evicted = true;
+            }
+            keys[slot] = key;
+            values[slot] = node;
+            referenced[slot] = false;
+            int bucket = mix(key) & tableMask;
+            while (table[bucket] != 0) {
+                bucket = (bucket + 1) & tableMask;
+            }
+            table[bucket] = slot + 1;
+            return evicted;
+        }
+
+        public synchronized void clear() {
+            Arrays.fill(values, null);
+            Arrays.fill(referenced, false);
+            Arrays.fill(table, 0);
+            size = 0;
+            hand = 0;
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        private int findSlot(long key) {
+            int bucket = mix(key) & tableMask;
+            int entry;
+            while ((entry = table[bucket]) != 0) {
+                if (keys[entry - 1] == key) {
+                    return entry - 1;
+                }
+                bucket = (bucket + 1) & tableMask;
+            }
+            return -1;
+        }
+
+        /**
+         * Removes the given key from the hash table using backward shift deletion.
+         */
+        private void removeFromTable(long key) {
+            int bucket = mix(key) & tableMask;
+            while (keys[table[bucket] - 1] != key) {
+                bucket = (bucket + 1) & tableMask;
+            }
+            int next = (bucket + 1) & tableMask;
+            int home;
+            while (table[next] != 0) {
+                home = mix(keys[table[next] - 1]) & tableMask;
+                // move the entry if its home bucket is not in (bucket, next]
+                if (((next - home) & tableMask) >= ((next - bucket) & tableMask)) {
+                    table[bucket] = table[next];
+                    bucket = next;
+                }
+                next = (next + 1) & tableMask;
+            }
+            table[bucket] = 0;
+        }
+    }
+}
@@ -1,23 +1,31 @@
 package org.dice_research.ldcbench.rdf;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
 import org.apache.jena.graph.Node;
+import org.dice_research.ldcbench.graph.Graph;
 
 /**
- * A simple extension of the {@link SimpleTripleCreator} which uses internal
- * maps for caching created nodes. Note that the used maps have no size
- * restriction.
+ * A simple extension of the {@link SimpleTripleCreator} which uses bounded
+ * {@link ClockNodeCache} instances for caching created nodes. The nodes are
+ * identified by the graph of their URI template and their (external) ID. Since
+ * the caches are thread-safe, a single instance of this class can be shared by
+ * all threads working on the same graph.
  * 
  * @author Michael R&ouml;der (michael.roeder@uni-paderborn.de)
  *
  */
 public class SimpleCachingTripleCreator extends SimpleTripleCreator {
 
-    protected Map<Integer, Node> resourceCache = Collections.synchronizedMap(new HashMap<Integer, Node>());
-    protected Map<Integer, Node> propertyCache = Collections.synchronizedMap(new HashMap<Integer, Node>());
+    /**
+     * The default maximum number of cached resources.
+     */
+    public static final int DEFAULT_RESOURCE_CACHE_SIZE = 1 << 18;
+    /**
+     * The default maximum number of cached properties.
+     */
+    public static final int DEFAULT_PROPERTY_CACHE_SIZE = 1 << 12;
+
+    protected ClockNodeCache resourceCache;
+    protected ClockNodeCache propertyCache;
 
     /**
      * Constructor.
@@ -31,17 +39,52 @@ public class SimpleCachingTripleCreator extends SimpleTripleCreator {
      *            a mapping from graph Ids to access URL templates.
      */
     public SimpleCachingTripleCreator(int baseGraphId, String[] resourceUriTemplates, String[] accessUriTemplates) {
+        this(baseGraphId, resourceUriTemplates, accessUriTemplates, DEFAULT_RESOURCE_CACHE_SIZE,
+                DEFAULT_PROPERTY_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param baseGraphId
+     *            the graph Id of nodes that are not external nodes of the graph for
+     *            which this triple creator is used.
+     * @param resourceUriTemplates
+     *            a mapping from graph Ids to resource IRI templates.
+     * @param accessUriTemplates
+     *            a mapping from graph Ids to access URL templates.
+     * @param resourceCacheSize
+     *            the maximum number of cached resources
+     * @param propertyCacheSize
+     *            the maximum number of cached properties
+     */
+    public SimpleCachingTripleCreator(int baseGraphId, String[] resourceUriTemplates, String[] accessUriTemplates,
+            int resourceCacheSize, int propertyCacheSize) {
         super(baseGraphId, resourceUriTemplates, accessUriTemplates);
+        resourceCache = new ClockNodeCache(resourceCacheSize);
+        propertyCache = new ClockNodeCache(propertyCacheSize);
     }
 
     @Override
     public Node createNode(int nodeId, int externalId, int extGraphId, boolean isProperty) {
-        Map<Integer, Node> cache = isProperty ? propertyCache : resourceCache;
-        if (cache.containsKey(nodeId)) {
-            return cache.get(nodeId);
+        ClockNodeCache cache = isProperty ? propertyCache : resourceCache;
+        // internal nodes (and nodes using the access template of the base graph)
+        // are identified by their node ID, external nodes by their external ID
+        long key = ClockNodeCache.key(extGraphId,
+                ((extGraphId == Graph.INTERNAL_NODE_GRAPH_ID) || (extGraphId == -2)) ? nodeId : externalId);
+        Node n = cache.get(key);
+        if (n == null) {
+            n = super.createNode(nodeId, externalId, extGraphId, isProperty);
+            cache.put(key, n);
         }
-        Node n = super.createNode(nodeId, externalId, extGraphId, isProperty);
-        cache.put(nodeId, n);
         return n;
     }
+
+    public ClockNodeCache getResourceCache() {
+        return resourceCache;
+    }
+
+    public ClockNodeCache getPropertyCache() {
+        return propertyCache;
+    }
 }
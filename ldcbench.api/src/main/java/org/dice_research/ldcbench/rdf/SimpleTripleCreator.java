@@ -1,8 +1,8 @@
 package org.dice_research.ldcbench.rdf;
 
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
-import org.apache.jena.rdf.model.ResourceFactory;
 import org.dice_research.ldcbench.graph.Graph;
 
 /**
@@ -18,6 +18,14 @@ public class SimpleTripleCreator implements TripleCreator {
     protected int baseGraphId;
     protected String resourceUriTemplates[];
     protected String accessUriTemplates[];
+    /**
+     * The compiled versions of the resource URI templates.
+     */
+    protected UriTemplate compiledResourceUriTemplates[];
+    /**
+     * The compiled versions of the access URI templates.
+     */
+    protected UriTemplate compiledAccessUriTemplates[];
 
     /**
      * Constructor.
@@ -34,6 +42,8 @@ public class SimpleTripleCreator implements TripleCreator {
         this.baseGraphId = baseGraphId;
         this.resourceUriTemplates = resourceUriTemplates;
         this.accessUriTemplates = accessUriTemplates;
+        this.compiledResourceUriTemplates = UriTemplate.compileAll(resourceUriTemplates);
+        this.compiledAccessUriTemplates = UriTemplate.compileAll(accessUriTemplates);
     }
 
     @Override
@@ -59,25 +69,31 @@ public class SimpleTripleCreator implements TripleCreator {
      * @return the created {@link Node} instance
      */
     public Node createNode(int nodeId, int externalId, int extGraphId, boolean isProperty) {
-        String domain;
+        UriTemplate domain;
         if (extGraphId == Graph.INTERNAL_NODE_GRAPH_ID) {
             externalId = nodeId;
-            domain = resourceUriTemplates[baseGraphId];
+            domain = compiledResourceUriTemplates[baseGraphId];
         } else if (extGraphId == -2) {
             externalId = nodeId;
-            domain = accessUriTemplates[baseGraphId];
+            domain = compiledAccessUriTemplates[baseGraphId];
         } else {
-            domain = accessUriTemplates[extGraphId];
+            domain = compiledAccessUriTemplates[extGraphId];
             // TODO get the datasetId on the other server
         }
         Node n;
         if (isProperty) {
-            n = ResourceFactory.createProperty(UriHelper.createUri(domain, 0, UriHelper.PROPERTY_NODE_TYPE, externalId))
-                    .asNode();
+            n = NodeFactory.createURI(domain.createUri(0, UriHelper.PROPERTY_NODE_TYPE, externalId));
         } else {
-            n = ResourceFactory.createResource(UriHelper.createUri(domain, 0, UriHelper.RESOURCE_NODE_TYPE, externalId))
-                    .asNode();
+            n = NodeFactory.createURI(domain.createUri(0, UriHelper.RESOURCE_NODE_TYPE, externalId));
         }
         return n;
     }
+
+    public String[] getResourceUriTemplates() {
+        return resourceUriTemplates;
+    }
+
+    public String[] getAccessUriTemplates() {
+        return accessUriTemplates;
+    }
 }
@@ -6,8 +6,11 @@ public class UriHelper {
     public static final String PROPERTY_NODE_TYPE = "property";
     public static final String RESOURCE_NODE_TYPE = "resource";
 
+    /**
+     * Creates a URI based on the given template. The template is compiled only
+     * once (see {@link UriTemplate#getInstance(String)}).
+     */
     public static String createUri(String uriTemplate, int datasetId, String nodeType, int nodeId) {
-        String uri = String.format(uriTemplate, DATASET_KEY_WORD, datasetId, nodeType, nodeId);
-        return uri;
+        return UriTemplate.getInstance(uriTemplate).createUri(datasetId, nodeType, nodeId);
     }
 }
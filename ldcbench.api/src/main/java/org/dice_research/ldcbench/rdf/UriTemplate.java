@@ -0,0 +1,265 @@
+package org.dice_research.ldcbench.rdf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precompiled URI template. The templates used by the benchmark are format
+ * strings (e.g., {@code "http://domain0.org/%s-%s/%s-%s"}) that are filled
+ * with the arguments {@link UriHelper#DATASET_KEY_WORD}, the dataset ID, the
+ * node type and the node ID (see {@link UriHelper#createUri(String, int, String, int)}).
+ * Instead of parsing the template with {@link String#format(String, Object...)}
+ * every time a URI is created, the template is split once into its literal
+ * segments. A URI is created by appending the segments and the arguments to a
+ * {@link StringBuilder}.
+ *
+ * <p>
+ * Only the placeholders {@code %s} and {@code %d} (for the numeric arguments)
+ * as well as {@code %%} and {@code %n} are compiled. Templates containing any
+ * other format specifier (e.g., flags, a width or an argument index) are
+ * handled by {@link String#format(String, Object...)} to ensure that the
+ * result is always the same.
+ * </p>
+ */
+public class UriTemplate {
+
+    /**
+     * The number of arguments a template can refer to.
+     */
+    private static final int NUMBER_OF_ARGUMENTS = 4;
+    /**
+     * Cache of compiled templates (see {@link #getInstance(String)}).
+     */
+    private static final Map<String, UriTemplate> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The original template.
+     */
+    protected final String template;
+    /**
+     * The literal segments of the template or {@code null} if the template can
+     * not be compiled. A placeholder is located between two neighbouring
+     * segments.
+     */
+    protected final String[] segments;
+    /**
+     * The summed length of all segments.
+     */
+    protected final int segmentsLength;
+
+    /**
+     * Constructor.
+     *
+     * @param template
+     *            the template that should be compiled
+     */
+    protected UriTemplate(String template) {
+        this.template = template;
+        this.segments = split(template);
+        int length = 0;
+        if (segments != null) {
+            for (int i = 0; i < segments.length; ++i) {
+                length += segments[i].length();
+            }
+        }
+        this.segmentsLength = length;
+    }
+
+    /**
+     * Compiles the given template.
+     *
+     * @param template
+     *            the template that should be compiled
+     * @return the compiled template
+     */
+    public static UriTemplate compile(String template) {
+        if (template == null) {
+            throw new IllegalArgumentException("The given template is null.");
+        }
+        return new UriTemplate(template);
+    }
+
+    /**
+     * Returns the compiled version of the given template. Compiled templates are
+     * cached, i.e., every template is compiled only once.
+     *
+     * @param template
+     *            the template
+     * @return the compiled template
+     */
+    public static UriTemplate getInstance(String template) {
+        UriTemplate compiled = CACHE.get(template);
+        if (compiled == null) {
+            compiled = compile(template);
+            CACHE.put(template, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Compiles every template of the given array.
+     *
+     * @param templates
+     *            the templates (may contain {@code null} values)
+     * @return an array with the compiled templates ({@code null} values stay
+     *         {@code null})
+     */
+    public static UriTemplate[] compileAll(String[] templates) {
+        UriTemplate[] compiled = new UriTemplate[templates.length];
+        for (int i = 0; i < templates.length; ++i) {
+            if (templates[i] != null) {
+                compiled[i] = getInstance(templates[i]);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Splits the given template into its literal segments.
+     *
+     * @param template
+     *            the template
+     * @return the literal segments or {@code null} if the template contains a
+     *         format specifier that is not supported
+     */
+    private static String[] split(String template) {
+        List<String> segments = new ArrayList<>(NUMBER_OF_ARGUMENTS + 1);
+        StringBuilder segment = new StringBuilder();
+        int length = template.length();
+        char c;
+        for (int i = 0; i < length; ++i) {
+            c = template.charAt(i);
+            if (c != '%') {
+                segment.append(c);
+                continue;
+            }
+            ++i;
+            if (i >= length) {
+                return null;
+            }
+            switch (template.charAt(i)) {
+            case '%':
+                segment.append('%');
+                break;
+            case 'n':
+                segment.append(System.lineSeparator());
+                break;
+            case 's':
+                segments.add(segment.toString());
+                segment.setLength(0);
+                break;
+            case 'd':
+                // the dataset key word and the node type are no numbers
+                if ((segments.size() != 1) && (segments.size() != 3)) {
+                    return null;
+                }
+                segments.add(segment.toString());
+                segment.setLength(0);
+                break;
+            default:
+                return null;
+            }
+            if (segments.size() > NUMBER_OF_ARGUMENTS) {
+                return null;
+            }
+        }
+        segments.add(segment.toString());
+        return segments.toArray(new String[segments.size()]);
+    }
+
+    /**
+     * Creates a URI.
+     *
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeType
+     *            the type of the node (e.g., {@link UriHelper#RESOURCE_NODE_TYPE})
+     * @param nodeId
+     *            the ID of the node
+     * @return the created URI
+     */
+    public String createUri(int datasetId, String nodeType, int nodeId) {
+        if (segments == null) {
+            return String.format(template, UriHelper.DATASET_KEY_WORD, datasetId, nodeType, nodeId);
+        }
+        // 2 * 11 chars for the numbers
+        return appendUri(new StringBuilder(segmentsLength + 32), datasetId, nodeType, nodeId).toString();
+    }
+
+    /**
+     * Appends a URI to the given builder. This method can be used to create
+     * several URIs with a single, reused builder.
+     *
+     * @param builder
+     *            the builder to which the URI is appended
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeType
+     *            the type of the node (e.g., {@link UriHelper#RESOURCE_NODE_TYPE})
+     * @param nodeId
+     *            the ID of the node
+     * @return the given builder
+     */
+    public StringBuilder appendUri(StringBuilder builder, int datasetId, String nodeType, int nodeId) {
+        if (segments == null) {
+            return builder.append(String.format(template, UriHelper.DATASET_KEY_WORD, datasetId, nodeType, nodeId));
+        }
+        builder.append(segments[0]);
+        for (int i = 1; i < segments.length; ++i) {
+            switch (i) {
+            case 1:
+                builder.append(UriHelper.DATASET_KEY_WORD);
+                break;
+            case 2:
+                builder.append(datasetId);
+                break;
+            case 3:
+                builder.append(nodeType);
+                break;
+            default:
+                builder.append(nodeId);
+                break;
+            }
+            builder.append(segments[i]);
+        }
+        return builder;
+    }
+
+    /**
+     * Returns the constant parts of the URIs in front of and behind the node ID
+     * for the given dataset and node type. This enables serializers to write
+     * the URIs of many nodes by writing the two parts around the node ID.
+     *
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeType
+     *            the type of the node (e.g., {@link UriHelper#RESOURCE_NODE_TYPE})
+     * @return an array containing the prefix and the suffix or {@code null} if
+     *         the template could not be compiled or does not contain the node ID
+     */
+    public String[] getNodeIdAffixes(int datasetId, String nodeType) {
+        if ((segments == null) || (segments.length != NUMBER_OF_ARGUMENTS + 1)) {
+            return null;
+        }
+        StringBuilder prefix = new StringBuilder();
+        prefix.append(segments[0]).append(UriHelper.DATASET_KEY_WORD).append(segments[1]).append(datasetId)
+                .append(segments[2]).append(nodeType).append(segments[3]);
+        return new String[] { prefix.toString(), segments[4] };
+    }
+
+    /**
+     * Returns the original template.
+     *
+     * @return the original template
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
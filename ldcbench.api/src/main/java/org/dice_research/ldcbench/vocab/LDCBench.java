@@ -23,6 +23,7 @@ public class LDCBench {
     public static final Property averageRdfGraphDegree = property("averageRdfGraphDegree");
     public static final Property averageTriplesPerNode = property("averageTriplesPerNode");
     public static final Property ckanNodeWeight = property("ckanNodeWeight");
+    public static final Property dataGeneratorThreads = property("dataGeneratorThreads");
     public static final Property dereferencingHttpNodeWeight = property("dereferencingHttpNodeWeight");
     public static final Property graphVisualization = property("graphVisualization");
     public static final Property httpDumpNodeCompressedRatio = property("httpDumpNodeCompressedRatio");
@@ -0,0 +1,126 @@
+package org.dice_research.ldcbench.generate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Test;
+
+public class ChunkedBarabasiRDFTest {
+
+    /**
+     * Number of nodes (leads to several chunks).
+     */
+    private static final int N = 3 * ChunkedBarabasiRDF.CHUNK_SIZE - 100;
+
+    @Test
+    public void testSameGraphForDifferentThreadCounts() {
+        GrphBasedGraph expected = new GrphBasedGraph();
+        new ChunkedBarabasiRDF("1 thread", 1).generateGraph(N, 4.5, 123L, expected);
+        for (int threads : new int[] { 2, 4 }) {
+            GrphBasedGraph g = new GrphBasedGraph();
+            new ChunkedBarabasiRDF(threads + " threads", threads).generateGraph(N, 4.5, 123L, g);
+            assertEquals("Number of edges", expected.getNumberOfEdges(), g.getNumberOfEdges());
+            for (int n = 0; n < N; ++n) {
+                int[] expectedTargets = expected.outgoingEdgeTargets(n);
+                int[] targets = g.outgoingEdgeTargets(n);
+                Arrays.sort(expectedTargets);
+                Arrays.sort(targets);
+                assertArrayEquals("Targets of node " + n + " with " + threads + " threads", expectedTargets, targets);
+            }
+        }
+    }
+
+    /**
+     * Makes sure that an edge copying the target of an earlier edge gets the
+     * final target of this edge, even if the earlier edge has been redrawn.
+     */
+    @Test
+    public void testCopyRedrawnTarget() {
+        // node 1 has edge 0, node 2 has edges 1 and 2, node 3 has edges 3 and 4,
+        // node 4 has edge 5
+        int[] offsets = new int[] { 0, 0, 1, 3, 5, 6 };
+        // nodes 1 and 2 are connected to all nodes before them, both edges of node
+        // 3 copy the source of edge 0 (i.e., edge 4 has to be redrawn) and edge 5
+        // copies the target of edge 4
+        int[] positions = new int[] { -1, -1, -2, 0, 0, 9 };
+        for (long seed = 0; seed < 10; ++seed) {
+            int[] targets = new int[positions.length];
+            Arrays.fill(targets, ChunkedBarabasiRDF.UNRESOLVED);
+            // resolve the last node first, i.e., the earlier nodes are resolved on demand
+            int[] lastTargets = ChunkedBarabasiRDF.resolveNode(4, offsets, positions, targets, seed);
+            for (int v = 0; v < 4; ++v) {
+                ChunkedBarabasiRDF.resolveNode(v, offsets, positions, targets, seed);
+            }
+            assertEquals("Target of edge 3", 1, targets[3]);
+            assertFalse("Edge 4 has not been redrawn", targets[4] == 1);
+            assertEquals("Copied target of edge 4", targets[4], targets[5]);
+            assertArrayEquals("Returned targets of node 4", new int[] { targets[5] }, lastTargets);
+        }
+    }
+
+    @Test
+    public void testGraphStructure() {
+        GrphBasedGraph g = new GrphBasedGraph();
+        new ChunkedBarabasiRDF("Chunked Barabasi").generateGraph(N, 2.5, 42L, g);
+        assertEquals("Number of nodes", N, g.getNumberOfNodes());
+        assertEquals("Number of edges", (int) Math.ceil(N * 2.5 / 2), g.getNumberOfEdges());
+        assertArrayEquals("Entrance nodes", new int[] { 0 }, g.getEntranceNodes());
+        for (int n = 0; n < N; ++n) {
+            for (int target : g.outgoingEdgeTargets(n)) {
+                assertFalse("Node " + n + " has a self loop", n == target);
+            }
+        }
+        assertEquals("Nodes reachable from the entrance node", N, countReachableNodes(g, 0));
+    }
+
+    @Test
+    public void testNumberOfEdges() {
+        GrphBasedGraph g = new GrphBasedGraph();
+        new ChunkedBarabasiRDF("Chunked Barabasi").generateGraph(10.0, 200000, 10L, g);
+        assertEquals("Number of nodes", 40000, g.getNumberOfNodes());
+        assertEquals("Number of edges", 200000, g.getNumberOfEdges());
+    }
+
+    @Test
+    public void testOneNodeGraph() {
+        GrphBasedGraph g = new GrphBasedGraph();
+        new ChunkedBarabasiRDF("Chunked Barabasi").generateGraph(1, 0.0, 123L, g);
+        assertEquals("Number of nodes", 1, g.getNumberOfNodes());
+        assertEquals("Number of edges", 0, g.getNumberOfEdges());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooSmallDegree() {
+        new ChunkedBarabasiRDF("Chunked Barabasi").generateGraph(N, 0.9, 123L, new GrphBasedGraph());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeDegree() {
+        new ChunkedBarabasiRDF("Chunked Barabasi").generateGraph(4.0, 2, 123L, new GrphBasedGraph());
+    }
+
+    private static int countReachableNodes(Graph g, int start) {
+        boolean[] visited = new boolean[g.getNumberOfNodes()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        visited[start] = true;
+        int count = 1;
+        while (!queue.isEmpty()) {
+            for (int target : g.outgoingEdgeTargets(queue.poll())) {
+                if (!visited[target]) {
+                    visited[target] = true;
+                    ++count;
+                    queue.add(target);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,136 @@
+package org.dice_research.ldcbench.generate.sample;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FenwickTreeSamplerTest {
+
+    private static final int SIZE = 200;
+
+    private static int[] createWeights(Random random) {
+        int[] weights = new int[SIZE + 1];
+        for (int i = 1; i <= SIZE; ++i) {
+            // some weights are 0
+            weights[i] = random.nextInt(4) == 0 ? 0 : random.nextInt(10);
+        }
+        return weights;
+    }
+
+    /**
+     * Makes sure that the compatible mode draws exactly the same indexes as the
+     * linear scan, even if the weights are updated between the single samples.
+     */
+    @Test
+    public void testCompatibleMode() {
+        Random weightRandom = new Random(42);
+        int[] weights = createWeights(weightRandom);
+        WeightedSampler expectedSampler = new LinearScanSampler(weights);
+        WeightedSampler sampler = new FenwickTreeSampler(weights, SamplingMode.COMPATIBLE);
+        Random expectedRandom = new Random(123);
+        Random random = new Random(123);
+        int n;
+        int m;
+        int index;
+        for (int i = 0; i < 1000; ++i) {
+            n = 10 + weightRandom.nextInt(SIZE - 9);
+            m = 1 + weightRandom.nextInt(5);
+            int[] expected;
+            try {
+                expected = expectedSampler.sampleWithoutReplacement(n, m, expectedRandom::nextInt);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            assertArrayEquals("Sample #" + i + " (n=" + n + ", m=" + m + ")", expected,
+                    sampler.sampleWithoutReplacement(n, m, random::nextInt));
+            // update some weights
+            for (int j = 0; j < 3; ++j) {
+                index = 1 + weightRandom.nextInt(SIZE);
+                expectedSampler.addWeight(index, 1);
+                sampler.addWeight(index, 1);
+            }
+            index = 1 + weightRandom.nextInt(SIZE);
+            expectedSampler.setWeight(index, 0);
+            sampler.setWeight(index, 0);
+        }
+        for (int i = 1; i <= SIZE; ++i) {
+            assertEquals("Weight of index " + i, expectedSampler.getWeight(i), sampler.getWeight(i));
+        }
+    }
+
+    @Test
+    public void testFastMode() {
+        Random random = new Random(123);
+        int[] weights = createWeights(random);
+        WeightedSampler sampler = new FenwickTreeSampler(weights, SamplingMode.FAST);
+        for (int i = 0; i < 1000; ++i) {
+            int[] sample = sampler.sampleWithoutReplacement(SIZE, 5, random::nextInt);
+            assertEquals("Sample size", 5, sample.length);
+            for (int j = 0; j < sample.length; ++j) {
+                assertTrue("Sampled index " + sample[j] + " is out of range", (sample[j] > 0) && (sample[j] <= SIZE));
+                assertTrue("Sampled index " + sample[j] + " has the weight 0", weights[sample[j]] > 0);
+                for (int k = 0; k < j; ++k) {
+                    assertFalse("Index " + sample[j] + " has been sampled twice", sample[j] == sample[k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes sure that the fast mode terminates if the drawn indexes are rejected
+     * over and over again. The random numbers always point to the heavy index
+     * 1, which can only be drawn once.
+     */
+    @Test
+    public void testFastModeRejectionLimit() {
+        WeightedSampler sampler = new FenwickTreeSampler(new int[] { 0, 1000, 1, 1 }, SamplingMode.FAST);
+        int[] sample = sampler.sampleWithoutReplacement(3, 3, bound -> 0);
+        assertArrayEquals("Sample", new int[] { 1, 2, 3 }, sample);
+    }
+
+    @Test
+    public void testSampleAllNonZeroIndexes() {
+        int[] weights = new int[] { 0, 3, 0, 1, 0, 7 };
+        for (SamplingMode mode : SamplingMode.values()) {
+            WeightedSampler sampler = new FenwickTreeSampler(weights, mode);
+            int[] sample = sampler.sampleWithoutReplacement(5, 3, new Random(1)::nextInt);
+            Arrays.sort(sample);
+            assertArrayEquals("Sample in mode " + mode, new int[] { 1, 3, 5 }, sample);
+        }
+    }
+
+    @Test
+    public void testReset() {
+        FenwickTreeSampler sampler = new FenwickTreeSampler(5, SamplingMode.COMPATIBLE);
+        sampler.reset(new int[] { 0, 1, 2, 3, 4, 5 }, 5);
+        assertEquals("Sum of weights", 15, sampler.getPrefixSum(5));
+        sampler.reset(new int[] { 0, 0, 2, 0 }, 3);
+        assertEquals("Sum of weights", 2, sampler.getPrefixSum(5));
+        assertEquals("Number of non-zero weights", 1, sampler.getNonZeroCount(5));
+        assertEquals("Weight of index 5", 0, sampler.getWeight(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroWeights() {
+        WeightedSampler sampler = new FenwickTreeSampler(new int[5], SamplingMode.COMPATIBLE);
+        sampler.sampleWithoutReplacement(4, 1, new Random(1)::nextInt);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewNonZeroWeights() {
+        WeightedSampler sampler = new FenwickTreeSampler(new int[] { 0, 1, 0, 5 }, SamplingMode.FAST);
+        sampler.sampleWithoutReplacement(3, 3, new Random(1)::nextInt);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        WeightedSampler sampler = new FenwickTreeSampler(3, SamplingMode.COMPATIBLE);
+        sampler.setWeight(2, -1);
+    }
+}
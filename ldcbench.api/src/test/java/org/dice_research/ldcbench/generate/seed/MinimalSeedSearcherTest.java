@@ -0,0 +1,48 @@
+package org.dice_research.ldcbench.generate.seed;
+
+import java.util.Arrays;
+
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MinimalSeedSearcherTest {
+
+    @Test
+    public void testStarGraph() {
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(4);
+        builder.addEdge(3, 0, 0);
+        builder.addEdge(3, 1, 2);
+        builder.addEdge(3, 2, 1);
+
+        SeedSearcher searcher = new MinimalSeedSearcher();
+        Assert.assertArrayEquals("Seed nodes", new int[] { 3 }, searcher.searchSeedNodes(builder));
+    }
+
+    @Test
+    public void testCycleReachableFromLaterNode() {
+        // The greedy search of the default searcher picks 0 before it sees that
+        // the cycle (0->1->0) is reachable from 2.
+        //
+        // 0 -> 1
+        // 1 -> 0
+        // 2 -> 1
+        // 2 -> 3
+        // 3 -> 2
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(4);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(1, 0, 0);
+        builder.addEdge(2, 1, 0);
+        builder.addEdge(2, 3, 0);
+        builder.addEdge(3, 2, 0);
+
+        int[] defaultResult = new DefaultSeedSearcher().searchSeedNodes(builder);
+        Assert.assertEquals("Seeds of the default searcher " + Arrays.toString(defaultResult), 2,
+                defaultResult.length);
+        SeedSearcher searcher = new MinimalSeedSearcher();
+        Assert.assertArrayEquals("Seed nodes", new int[] { 2 }, searcher.searchSeedNodes(builder));
+    }
+}
@@ -0,0 +1,167 @@
+package org.dice_research.ldcbench.graph;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CSRGraphBuilderTest {
+    private GraphBuilder g;
+
+    @Before
+    public void setUp() {
+        g = new CSRGraphBuilder();
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        assertEquals("Number of nodes", 0, g.getNumberOfNodes());
+        assertEquals("Number of edges", 0, g.getNumberOfEdges());
+        assertEquals("Number of nodes of built graph", 0, g.build().getNumberOfNodes());
+    }
+
+    @Test
+    public void testEdgeWithMissingNode() {
+        int n1 = g.addNode();
+        assertFalse("Edge wasn't added", g.addEdge(n1, n1 + 1, 0));
+        assertFalse("Edge wasn't added", g.addEdge(n1 + 1, n1, 0));
+        assertFalse("Edge wasn't added", g.addEdge(-1, n1, 0));
+        assertEquals("Number of nodes", 1, g.getNumberOfNodes());
+        assertEquals("Number of edges", 0, g.getNumberOfEdges());
+    }
+
+    @Test
+    public void testIdenticalEdges() {
+        int n1 = g.addNode();
+        int n2 = g.addNode();
+        assertTrue("First edge added successfully", g.addEdge(n1, n2, 1));
+        assertTrue("Parallel edge added successfully", g.addEdge(n1, n2, 2));
+        assertFalse("Second edge wasn't added", g.addEdge(n1, n2, 1));
+        assertEquals("Number of edges", 2, g.getNumberOfEdges());
+    }
+
+    @Test
+    public void testEdgesOrder() {
+        int[] range = g.addNodes(3);
+        int n1 = range[0], n2 = range[0] + 1, n3 = range[0] + 2;
+        g.addEdge(n2, n3, 3);
+        g.addEdge(n1, n3, 2);
+        g.addEdge(n1, n2, 1);
+        assertArrayEquals("Targets of first node", new int[] { n3, n2 }, g.outgoingEdgeTargets(n1));
+        assertArrayEquals("Types of first node", new int[] { 2, 1 }, g.outgoingEdgeTypes(n1));
+        assertArrayEquals("Sources of third node", new int[] { n1, n2 }, g.incomingEdgeSources(n3));
+        assertArrayEquals("Types of third node", new int[] { 2, 3 }, g.incomingEdgeTypes(n3));
+    }
+
+    @Test
+    public void testAddEdges() {
+        int[] range = g.addNodes(4);
+        int n1 = range[0], n2 = range[0] + 1, n3 = range[0] + 2, n4 = range[0] + 3;
+        assertTrue("Existing edge added successfully", g.addEdge(n1, n2, 0));
+        int added = g.addEdges(new int[] { n1, n1, n2, n1, n2, n3, n4 + 10 },
+                new int[] { n2, n3, n3, n3, n3, n3, n1 }, new int[] { 0, 0, 1, 0, 1, 2, 0 });
+        // (n1, n2, 0) exists already, (n1, n3, 0) and (n2, n3, 1) are duplicates, n4 + 10 does not exist
+        assertEquals("Number of added edges", 3, added);
+        assertEquals("Number of edges", 4, g.getNumberOfEdges());
+        assertArrayEquals("Targets of first node", new int[] { n2, n3 }, g.outgoingEdgeTargets(n1));
+        assertArrayEquals("Types of first node", new int[] { 0, 0 }, g.outgoingEdgeTypes(n1));
+        assertArrayEquals("Targets of second node", new int[] { n3 }, g.outgoingEdgeTargets(n2));
+        assertArrayEquals("Types of second node", new int[] { 1 }, g.outgoingEdgeTypes(n2));
+        assertArrayEquals("Types of third node", new int[] { 2 }, g.outgoingEdgeTypes(n3));
+        assertEquals("Incoming edges of third node", 3, g.incomingEdgeCount(n3));
+    }
+
+    @Test
+    public void testAddEdgesWithoutTypes() {
+        int[] range = g.addNodes(3);
+        int[] sources = { range[0], range[0] + 1, range[0], -1 };
+        int[] targets = { range[0] + 1, range[0] + 2, range[0] + 2, -1 };
+        assertEquals("Number of added edges", 3, g.addEdges(sources, targets, null, 3, false));
+        assertArrayEquals("Targets of first node", new int[] { range[0] + 1, range[0] + 2 },
+                g.outgoingEdgeTargets(range[0]));
+        assertArrayEquals("Types of first node", new int[] { 0, 0 }, g.outgoingEdgeTypes(range[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgesWithShortArray() {
+        g.addNodes(2);
+        g.addEdges(new int[] { 0, 1 }, new int[] { 1 }, null);
+    }
+
+    @Test
+    public void testExternalNodes() {
+        int[] range = g.addNodes(3);
+        g.setGraphIdOfNode(range[0] + 1, 2, 3);
+        // nodes added after the first external node
+        int n4 = g.addNode();
+        g.setGraphIdOfNode(n4, 5, 7);
+        Graph built = g.build();
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, built.getGraphId(range[0]));
+        assertEquals("Internal node id", range[0], built.getExternalNodeId(range[0]));
+        assertEquals("External node graph", 2, built.getGraphId(range[0] + 1));
+        assertEquals("External node id", 3, built.getExternalNodeId(range[0] + 1));
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, built.getGraphId(range[0] + 2));
+        assertEquals("External node graph", 5, built.getGraphId(n4));
+        assertEquals("External node id", 7, built.getExternalNodeId(n4));
+        // reset a node to internal
+        g.setGraphIdOfNode(range[0] + 1, Graph.INTERNAL_NODE_GRAPH_ID, 0);
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(range[0] + 1));
+        assertEquals("Internal node id", range[0] + 1, g.getExternalNodeId(range[0] + 1));
+        assertEquals("Previously built graph", 2, built.getGraphId(range[0] + 1));
+    }
+
+    @Test
+    public void testBuild() {
+        int[] range = g.addNodes(3);
+        g.addEdges(new int[] { range[0], range[0] + 2 }, new int[] { range[0] + 1, range[0] }, new int[] { 4, 5 });
+        g.setEntranceNodes(new int[] { range[0] + 2 });
+        Graph built = g.build();
+        assertTrue("Built graph is a CSR graph", built instanceof CSRGraph);
+        assertSame("Unchanged builder returns the same graph", built, g.build());
+
+        g.addEdge(range[0] + 1, range[0] + 2, 6);
+        g.setEntranceNodes(new int[] { range[0] });
+        assertEquals("Number of edges of previously built graph", 2, built.getNumberOfEdges());
+        assertArrayEquals("Entrance nodes of previously built graph", new int[] { range[0] + 2 },
+                built.getEntranceNodes());
+        Graph rebuilt = g.build();
+        assertNotSame("Changed builder returns a new graph", built, rebuilt);
+        assertEquals("Number of edges", 3, rebuilt.getNumberOfEdges());
+        assertArrayEquals("Targets of second node", new int[] { range[0] + 2 },
+                rebuilt.outgoingEdgeTargets(range[0] + 1));
+        assertArrayEquals("Entrance nodes", new int[] { range[0] }, rebuilt.getEntranceNodes());
+    }
+
+    @Test
+    public void testSameGraphAsGrphBasedGraph() {
+        int numberOfNodes = 50;
+        int numberOfEdges = 400;
+        Random random = new Random(42);
+        int[] sources = new int[numberOfEdges];
+        int[] targets = new int[numberOfEdges];
+        int[] types = new int[numberOfEdges];
+        for (int i = 0; i < numberOfEdges; ++i) {
+            sources[i] = random.nextInt(numberOfNodes);
+            targets[i] = random.nextInt(numberOfNodes);
+            types[i] = random.nextInt(3);
+        }
+        GraphBuilder expected = new GrphBasedGraph();
+        expected.addNodes(numberOfNodes);
+        g.addNodes(numberOfNodes);
+        for (int start = 0; start < numberOfEdges; start += 100) {
+            int[] s = Arrays.copyOfRange(sources, start, start + 100);
+            int[] t = Arrays.copyOfRange(targets, start, start + 100);
+            int[] y = Arrays.copyOfRange(types, start, start + 100);
+            assertEquals("Number of added edges", expected.addEdges(s, t, y), g.addEdges(s, t, y));
+        }
+        assertEquals("Number of edges", expected.getNumberOfEdges(), g.getNumberOfEdges());
+        for (int n = 0; n < numberOfNodes; ++n) {
+            assertArrayEquals("Targets of node " + n, expected.outgoingEdgeTargets(n), g.outgoingEdgeTargets(n));
+            assertArrayEquals("Types of node " + n, expected.outgoingEdgeTypes(n), g.outgoingEdgeTypes(n));
+            assertEquals("Incoming edges of node " + n, expected.incomingEdgeCount(n), g.incomingEdgeCount(n));
+        }
+    }
+}
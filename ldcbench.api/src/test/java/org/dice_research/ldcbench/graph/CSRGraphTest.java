@@ -0,0 +1,187 @@
+package org.dice_research.ldcbench.graph;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CSRGraphTest {
+    private GraphBuilder builder;
+
+    @Before
+    public void setUp() {
+        builder = new GrphBasedGraph();
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        Graph g = builder.build();
+        assertTrue("Built graph is a CSR graph", g instanceof CSRGraph);
+        assertEquals("Number of nodes", 0, g.getNumberOfNodes());
+        assertEquals("Number of edges", 0, g.getNumberOfEdges());
+    }
+
+    @Test
+    public void testOutgoingEdges() {
+        int n1 = builder.addNode();
+        int n2 = builder.addNode();
+        int n3 = builder.addNode();
+        assertTrue("First edge added successfully", builder.addEdge(n1, n2, 1));
+        assertTrue("Second edge added successfully", builder.addEdge(n1, n3, 2));
+        assertTrue("Unrelated edge added successfully", builder.addEdge(n2, n3, 3));
+        Graph g = builder.build();
+
+        assertEquals("Number of nodes", 3, g.getNumberOfNodes());
+        assertEquals("Number of edges", 3, g.getNumberOfEdges());
+        assertArrayEquals("Targets of first node", builder.outgoingEdgeTargets(n1), g.outgoingEdgeTargets(n1));
+        assertArrayEquals("Types of first node", builder.outgoingEdgeTypes(n1), g.outgoingEdgeTypes(n1));
+        assertArrayEquals("Targets of second node", new int[] { n3 }, g.outgoingEdgeTargets(n2));
+        assertArrayEquals("Types of second node", new int[] { 3 }, g.outgoingEdgeTypes(n2));
+        assertEquals("Targets of third node", 0, g.outgoingEdgeTargets(n3).length);
+        assertEquals("Outgoing edges of first node", 2, g.outgoingEdgeCount(n1));
+        assertEquals("Outgoing edges of third node", 0, g.outgoingEdgeCount(n3));
+    }
+
+    @Test
+    public void testIncomingEdges() {
+        int n1 = builder.addNode();
+        int n2 = builder.addNode();
+        int n3 = builder.addNode();
+        assertTrue("First edge added successfully", builder.addEdge(n2, n3, 2));
+        assertTrue("Second edge added successfully", builder.addEdge(n1, n3, 1));
+        assertTrue("Unrelated edge added successfully", builder.addEdge(n1, n2, 3));
+        Graph g = builder.build();
+
+        int[] sources = g.incomingEdgeSources(n3);
+        int[] types = g.incomingEdgeTypes(n3);
+        assertEquals("Number of sources", 2, sources.length);
+        assertEquals("Number of types", 2, types.length);
+        assertEquals("First source", n1, sources[0]);
+        assertEquals("Second source", n2, sources[1]);
+        assertEquals("First type", 1, types[0]);
+        assertEquals("Second type", 2, types[1]);
+        assertEquals("Incoming edges of third node", 2, g.incomingEdgeCount(n3));
+        assertEquals("Incoming edges of first node", 0, g.incomingEdgeCount(n1));
+    }
+
+    @Test
+    public void testExternalNodesAndEntranceNodes() {
+        int n1 = builder.addNode();
+        int n2 = builder.addNode();
+        int n3 = builder.addNode();
+        builder.addEdge(n1, n2, 0);
+        builder.addEdge(n2, n3, 1);
+        builder.setEntranceNodes(new int[] { n1, n3 });
+        builder.setGraphIdOfNode(n2, 2, 3);
+        Graph g = builder.build();
+
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(n1));
+        assertEquals("Internal node id", n1, g.getExternalNodeId(n1));
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(n3));
+        assertEquals("External node graph", 2, g.getGraphId(n2));
+        assertEquals("External node id", 3, g.getExternalNodeId(n2));
+        assertArrayEquals("Entrance nodes", new int[] { n1, n3 }, g.getEntranceNodes());
+    }
+
+    @Test
+    public void testGraphWithoutExternalNodes() {
+        int n1 = builder.addNode();
+        int n2 = builder.addNode();
+        builder.addEdge(n1, n2, 0);
+        Graph g = builder.build();
+
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(n2));
+        assertEquals("Internal node id", n2, g.getExternalNodeId(n2));
+        assertEquals("Entrance nodes", 0, g.getEntranceNodes().length);
+    }
+
+    @Test
+    public void testBuiltGraphIsIndependentOfBuilder() {
+        int n1 = builder.addNode();
+        int n2 = builder.addNode();
+        builder.addEdge(n1, n2, 0);
+        Graph g = builder.build();
+        builder.addEdge(n2, n1, 0);
+
+        assertEquals("Number of edges", 1, g.getNumberOfEdges());
+        assertEquals("Outgoing edges of second node", 0, g.outgoingEdgeCount(n2));
+    }
+
+    @Test
+    public void testArrayConstructor() {
+        // 0 -> 1 (type 0), 0 -> 2 (type 1), 2 -> 1 (type 0)
+        Graph g = new CSRGraph(new int[] { 0, 2, 2, 3 }, new int[] { 1, 2, 1 }, new int[] { 0, 1, 0 },
+                new int[] { 0 }, null, null);
+
+        assertEquals("Number of nodes", 3, g.getNumberOfNodes());
+        assertEquals("Number of edges", 3, g.getNumberOfEdges());
+        assertArrayEquals("Targets of first node", new int[] { 1, 2 }, g.outgoingEdgeTargets(0));
+        assertArrayEquals("Types of first node", new int[] { 0, 1 }, g.outgoingEdgeTypes(0));
+        assertArrayEquals("Sources of second node", new int[] { 0, 2 }, g.incomingEdgeSources(1));
+        assertArrayEquals("Sources of third node", new int[] { 0 }, g.incomingEdgeSources(2));
+        assertArrayEquals("Types of third node", new int[] { 1 }, g.incomingEdgeTypes(2));
+    }
+
+    @Test
+    public void testEdgeCursor() {
+        int n1 = builder.addNode();
+        int n2 = builder.addNode();
+        int n3 = builder.addNode();
+        builder.addEdge(n1, n2, 1);
+        builder.addEdge(n1, n3, 2);
+        builder.addEdge(n2, n3, 3);
+        Graph g = builder.build();
+
+        EdgeCursor cursor = new EdgeCursor();
+        for (Graph graph : new Graph[] { builder, g }) {
+            for (int n = 0; n < graph.getNumberOfNodes(); ++n) {
+                int[] targets = graph.outgoingEdgeTargets(n);
+                int[] types = graph.outgoingEdgeTypes(n);
+                graph.outgoingEdges(n, cursor);
+                for (int i = 0; i < targets.length; ++i) {
+                    assertTrue("Cursor has further edges", cursor.hasNext());
+                    assertTrue("Cursor has further edges", cursor.next());
+                    assertEquals("Target", targets[i], cursor.nodeId());
+                    assertEquals("Type", types[i], cursor.typeId());
+                }
+                assertFalse("Cursor has no further edges", cursor.hasNext());
+                assertFalse("Cursor has no further edges", cursor.next());
+
+                int[] sources = graph.incomingEdgeSources(n);
+                types = graph.incomingEdgeTypes(n);
+                graph.incomingEdges(n, cursor);
+                for (int i = 0; i < sources.length; ++i) {
+                    assertTrue("Cursor has further edges", cursor.next());
+                    assertEquals("Source", sources[i], cursor.nodeId());
+                    assertEquals("Type", types[i], cursor.typeId());
+                }
+                assertFalse("Cursor has no further edges", cursor.next());
+            }
+        }
+    }
+
+    @Test
+    public void testForEachEdge() {
+        int n1 = builder.addNode();
+        int n2 = builder.addNode();
+        int n3 = builder.addNode();
+        builder.addEdge(n1, n2, 1);
+        builder.addEdge(n1, n3, 2);
+        builder.addEdge(n2, n3, 3);
+        Graph g = builder.build();
+
+        for (Graph graph : new Graph[] { builder, g }) {
+            StringBuilder edges = new StringBuilder();
+            graph.forEachOutgoingEdge(n1, (target, type) -> edges.append(target).append(':').append(type).append(' '));
+            assertEquals("Outgoing edges", n2 + ":1 " + n3 + ":2 ", edges.toString());
+            edges.setLength(0);
+            graph.forEachIncomingEdge(n3, (source, type) -> edges.append(source).append(':').append(type).append(' '));
+            assertEquals("Incoming edges", n1 + ":2 " + n2 + ":3 ", edges.toString());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInconsistentArrays() {
+        new CSRGraph(new int[] { 0, 2 }, new int[] { 1 }, new int[] { 0 }, null, null, null);
+    }
+}
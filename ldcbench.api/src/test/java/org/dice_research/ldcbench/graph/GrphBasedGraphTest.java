@@ -143,4 +143,74 @@ public class GrphBasedGraphTest {
         assertEquals("External node id", 3, g2.getExternalNodeId(n2));
         assertArrayEquals("Entrance nodes", new int[]{n1, n3}, g2.getEntranceNodes());
     }
+
+    @Test
+    public void testExternalNodes() {
+        int n1 = g.addNode();
+        int n2 = g.addNode();
+        int n3 = g.addNode();
+        g.setGraphIdOfNode(n2, 2, 3);
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(n1));
+        assertEquals("Internal node id", n1, g.getExternalNodeId(n1));
+        assertEquals("External node graph", 2, g.getGraphId(n2));
+        assertEquals("External node id", 3, g.getExternalNodeId(n2));
+        // nodes added after the first external node
+        int n4 = g.addNode();
+        g.setGraphIdOfNode(n4, 5, 7);
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(n3));
+        assertEquals("External node graph", 5, g.getGraphId(n4));
+        assertEquals("External node id", 7, g.getExternalNodeId(n4));
+        // reset a node to internal
+        g.setGraphIdOfNode(n2, Graph.INTERNAL_NODE_GRAPH_ID, 0);
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(n2));
+        assertEquals("Internal node id", n2, g.getExternalNodeId(n2));
+    }
+
+    @Test
+    public void testBulkExternalNodes() {
+        int[] range = g.addNodes(5);
+        g.setGraphIdsOfNodes(new int[] { range[0] + 1, range[0] + 4 }, new int[] { 1, 2 }, new int[] { 10, 20 });
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(range[0]));
+        assertEquals("External node graph", 1, g.getGraphId(range[0] + 1));
+        assertEquals("External node id", 10, g.getExternalNodeId(range[0] + 1));
+        assertEquals("Internal node graph", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(range[0] + 3));
+        assertEquals("Internal node id", range[0] + 3, g.getExternalNodeId(range[0] + 3));
+        assertEquals("External node graph", 2, g.getGraphId(range[0] + 4));
+        assertEquals("External node id", 20, g.getExternalNodeId(range[0] + 4));
+    }
+
+    @Test
+    public void testAddEdges() {
+        int[] range = g.addNodes(4);
+        int n1 = range[0], n2 = range[0] + 1, n3 = range[0] + 2, n4 = range[0] + 3;
+        assertTrue("Existing edge added successfully", g.addEdge(n1, n2, 0));
+        int added = g.addEdges(new int[] { n1, n1, n2, n1, n2, n3, n4 + 10 },
+                new int[] { n2, n3, n3, n3, n3, n3, n1 }, new int[] { 0, 0, 1, 0, 1, 2, 0 });
+        // (n1, n2, 0) exists already, (n1, n3, 0) and (n2, n3, 1) are duplicates, n4 + 10 does not exist
+        assertEquals("Number of added edges", 3, added);
+        assertEquals("Number of edges", 4, g.getNumberOfEdges());
+        assertArrayEquals("Targets of first node", new int[] { n2, n3 }, g.outgoingEdgeTargets(n1));
+        assertArrayEquals("Types of first node", new int[] { 0, 0 }, g.outgoingEdgeTypes(n1));
+        assertArrayEquals("Targets of second node", new int[] { n3 }, g.outgoingEdgeTargets(n2));
+        assertArrayEquals("Types of second node", new int[] { 1 }, g.outgoingEdgeTypes(n2));
+        assertArrayEquals("Types of third node", new int[] { 2 }, g.outgoingEdgeTypes(n3));
+        assertEquals("Incoming edges of third node", 3, g.incomingEdgeCount(n3));
+    }
+
+    @Test
+    public void testAddEdgesWithoutTypes() {
+        int[] range = g.addNodes(3);
+        int[] sources = { range[0], range[0] + 1, range[0], -1 };
+        int[] targets = { range[0] + 1, range[0] + 2, range[0] + 2, -1 };
+        assertEquals("Number of added edges", 3, g.addEdges(sources, targets, null, 3, false));
+        assertArrayEquals("Targets of first node", new int[] { range[0] + 1, range[0] + 2 },
+                g.outgoingEdgeTargets(range[0]));
+        assertArrayEquals("Types of first node", new int[] { 0, 0 }, g.outgoingEdgeTypes(range[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgesWithShortArray() {
+        g.addNodes(2);
+        g.addEdges(new int[] { 0, 1 }, new int[] { 1 }, null);
+    }
 }
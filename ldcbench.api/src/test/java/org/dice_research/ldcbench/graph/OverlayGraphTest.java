@@ -0,0 +1,96 @@
+package org.dice_research.ldcbench.graph;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class OverlayGraphTest {
+    private Graph base;
+    private int n1;
+    private int n2;
+    private int n3;
+
+    @Before
+    public void setUp() {
+        GraphBuilder builder = new GrphBasedGraph();
+        n1 = builder.addNode();
+        n2 = builder.addNode();
+        n3 = builder.addNode();
+        builder.addEdge(n1, n2, 1);
+        builder.addEdge(n2, n3, 2);
+        builder.setEntranceNodes(new int[] { n1 });
+        builder.setGraphIdOfNode(n3, 4, 7);
+        base = builder.build();
+    }
+
+    @Test
+    public void testAdditionalNodes() {
+        // two nodes are linked from n2, one from n1
+        Graph g = new OverlayGraph(base, new int[] { n2, n1, n2 }, new int[] { 0, 0, 5 });
+        assertEquals("Number of nodes", 6, g.getNumberOfNodes());
+        assertEquals("Number of edges", 5, g.getNumberOfEdges());
+        assertArrayEquals("Entrance nodes", new int[] { n1 }, g.getEntranceNodes());
+
+        assertArrayEquals("Targets of n1", new int[] { n2, 4 }, g.outgoingEdgeTargets(n1));
+        assertArrayEquals("Types of n1", new int[] { 1, 0 }, g.outgoingEdgeTypes(n1));
+        assertArrayEquals("Targets of n2", new int[] { n3, 3, 5 }, g.outgoingEdgeTargets(n2));
+        assertArrayEquals("Types of n2", new int[] { 2, 0, 5 }, g.outgoingEdgeTypes(n2));
+        assertEquals("Outgoing edges of n2", 3, g.outgoingEdgeCount(n2));
+        assertArrayEquals("Targets of n3", new int[0], g.outgoingEdgeTargets(n3));
+        assertEquals("Outgoing edges of an added node", 0, g.outgoingEdgeCount(5));
+
+        assertArrayEquals("Sources of an added node", new int[] { n2 }, g.incomingEdgeSources(5));
+        assertArrayEquals("Types of an added node", new int[] { 5 }, g.incomingEdgeTypes(5));
+        assertEquals("Incoming edges of an added node", 1, g.incomingEdgeCount(5));
+        assertArrayEquals("Sources of n3", new int[] { n2 }, g.incomingEdgeSources(n3));
+
+        assertEquals("Graph ID of n3", 4, g.getGraphId(n3));
+        assertEquals("External ID of n3", 7, g.getExternalNodeId(n3));
+        assertEquals("Graph ID of an added node", Graph.INTERNAL_NODE_GRAPH_ID, g.getGraphId(4));
+        assertEquals("External ID of an added node", 4, g.getExternalNodeId(4));
+    }
+
+    @Test
+    public void testCursorsAndConsumers() {
+        Graph g = new OverlayGraph(base, new int[] { n2, n1, n2 }, new int[] { 0, 0, 5 });
+        EdgeCursor cursor = new EdgeCursor();
+        for (int n = 0; n < g.getNumberOfNodes(); ++n) {
+            assertEdges("Outgoing edges of node " + n, g.outgoingEdgeTargets(n), g.outgoingEdgeTypes(n),
+                    g.outgoingEdges(n, cursor));
+            assertEdges("Incoming edges of node " + n, g.incomingEdgeSources(n), g.incomingEdgeTypes(n),
+                    g.incomingEdges(n, cursor));
+
+            StringBuilder expected = new StringBuilder();
+            int[] targets = g.outgoingEdgeTargets(n);
+            int[] types = g.outgoingEdgeTypes(n);
+            for (int i = 0; i < targets.length; ++i) {
+                expected.append(targets[i]).append(':').append(types[i]).append(' ');
+            }
+            StringBuilder visited = new StringBuilder();
+            g.forEachOutgoingEdge(n, (t, type) -> visited.append(t).append(':').append(type).append(' '));
+            assertEquals("Consumed outgoing edges of node " + n, expected.toString(), visited.toString());
+        }
+    }
+
+    @Test
+    public void testEmptyOverlay() {
+        Graph g = new OverlayGraph(base, new int[0], new int[0]);
+        assertEquals("Number of nodes", base.getNumberOfNodes(), g.getNumberOfNodes());
+        assertArrayEquals("Targets of n1", base.outgoingEdgeTargets(n1), g.outgoingEdgeTargets(n1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownLinkingNode() {
+        new OverlayGraph(base, new int[] { 3 }, new int[] { 0 });
+    }
+
+    private static void assertEdges(String message, int[] nodeIds, int[] typeIds, EdgeCursor cursor) {
+        for (int i = 0; i < nodeIds.length; ++i) {
+            assertTrue(message + ": missing edge " + i, cursor.next());
+            assertEquals(message + ": node of edge " + i, nodeIds[i], cursor.nodeId());
+            assertEquals(message + ": type of edge " + i, typeIds[i], cursor.typeId());
+        }
+        assertFalse(message + ": additional edge", cursor.next());
+    }
+}
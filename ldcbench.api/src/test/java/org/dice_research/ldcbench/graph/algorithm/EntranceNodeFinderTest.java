@@ -0,0 +1,58 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Test;
+
+public class EntranceNodeFinderTest {
+
+    @Test
+    public void testEmptyGraph() {
+        assertArrayEquals("Entrance nodes", new int[0], EntranceNodeFinder.findEntranceNodes(new GrphBasedGraph()));
+    }
+
+    @Test
+    public void testNodesWithoutIncomingEdges() {
+        // 0 -> 1, 2 -> 1, 2 -> 3
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(4);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(2, 1, 0);
+        builder.addEdge(2, 3, 0);
+        assertArrayEquals("Entrance nodes", new int[] { 0, 2 }, EntranceNodeFinder.findEntranceNodes(builder));
+    }
+
+    @Test
+    public void testCycles() {
+        // two cycles 0 -> 1 -> 0 and 2 -> 3 -> 4 -> 2, and 5 -> 3
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(6);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(1, 0, 0);
+        builder.addEdge(2, 3, 0);
+        builder.addEdge(3, 4, 0);
+        builder.addEdge(4, 2, 0);
+        builder.addEdge(5, 3, 0);
+        assertArrayEquals("Entrance nodes", new int[] { 0, 5 }, EntranceNodeFinder.findEntranceNodes(builder));
+    }
+
+    @Test
+    public void testLargeGraph() {
+        // 200000 cycles with 2 nodes (2i <-> 2i+1) and a chain connecting the
+        // cycles (2i-1 -> 2i+1), i.e., no node is free of incoming edges and the
+        // graph is too deep for a recursive search
+        int numberOfCycles = 200000;
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(2 * numberOfCycles);
+        for (int i = 0; i < numberOfCycles; ++i) {
+            builder.addEdge(2 * i, 2 * i + 1, 0);
+            builder.addEdge(2 * i + 1, 2 * i, 0);
+            if (i > 0) {
+                builder.addEdge(2 * i - 1, 2 * i + 1, 0);
+            }
+        }
+        assertArrayEquals("Entrance nodes", new int[] { 0 }, EntranceNodeFinder.findEntranceNodes(builder));
+    }
+}
@@ -0,0 +1,146 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.dice_research.ldcbench.graph.CSRGraph;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Test;
+
+public class ReachabilitySearchTest {
+
+    /**
+     * Creates a chain 0 -> 1 -> ... -> n-1.
+     */
+    private static Graph createChain(int numberOfNodes) {
+        int[] offsets = new int[numberOfNodes + 1];
+        int[] targets = new int[numberOfNodes - 1];
+        for (int i = 0; i < targets.length; ++i) {
+            targets[i] = i + 1;
+            offsets[i + 1] = i + 1;
+        }
+        offsets[numberOfNodes] = targets.length;
+        return new CSRGraph(offsets, targets, new int[targets.length], null, null, null);
+    }
+
+    /**
+     * Creates a random graph in which every node has the given number of outgoing
+     * edges.
+     */
+    private static Graph createRandomGraph(int numberOfNodes, int degree, long seed) {
+        return createRandomGraph(numberOfNodes, numberOfNodes, degree, seed);
+    }
+
+    /**
+     * Creates a random graph in which every node has the given number of outgoing
+     * edges. Nodes with an ID lower than {@code closedNodes} only link to each
+     * other, i.e., the remaining nodes can not be reached from them.
+     */
+    private static Graph createRandomGraph(int numberOfNodes, int closedNodes, int degree, long seed) {
+        Random random = new Random(seed);
+        int[] offsets = new int[numberOfNodes + 1];
+        int[] targets = new int[numberOfNodes * degree];
+        for (int i = 0; i < numberOfNodes; ++i) {
+            for (int e = 0; e < degree; ++e) {
+                targets[i * degree + e] = random.nextInt(i < closedNodes ? closedNodes : numberOfNodes);
+            }
+            offsets[i + 1] = (i + 1) * degree;
+        }
+        return new CSRGraph(offsets, targets, new int[targets.length], null, null, null);
+    }
+
+    @Test
+    public void testSmallGraph() {
+        // 0 -> 1 -> 2, 3 -> 2
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(4);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(1, 2, 0);
+        builder.addEdge(3, 2, 0);
+        for (ReachabilitySearch search : new ReachabilitySearch[] { new IterativeReachabilitySearch(builder),
+                new ParallelReachabilitySearch(builder, 2) }) {
+            try {
+                assertEquals("Newly visited nodes", 3, search.visitFrom(0));
+                assertTrue("Node 2 visited", search.isVisited(2));
+                assertFalse("Node 3 visited", search.isVisited(3));
+                assertEquals("Visited nodes", 3, search.getNumberOfVisitedNodes());
+                assertFalse("Search complete", search.isComplete());
+                assertEquals("Next unvisited node", 3, search.nextUnvisitedNode(0));
+                assertEquals("Newly visited nodes", 0, search.visitFrom(1));
+                assertEquals("Newly visited nodes", 1, search.visitFrom(3, 3));
+                assertTrue("Search complete", search.isComplete());
+                assertEquals("Next unvisited node", -1, search.nextUnvisitedNode(0));
+            } finally {
+                search.close();
+            }
+        }
+    }
+
+    @Test
+    public void testDeepGraph() {
+        // a chain that is far too deep for a recursive search
+        int numberOfNodes = 2000000;
+        Graph graph = createChain(numberOfNodes);
+        for (ReachabilitySearch search : new ReachabilitySearch[] { new IterativeReachabilitySearch(graph),
+                new ParallelReachabilitySearch(graph, 4) }) {
+            try {
+                assertEquals("Newly visited nodes", numberOfNodes / 2, search.visitFrom(numberOfNodes / 2));
+                assertEquals("Next unvisited node", 0, search.nextUnvisitedNode(0));
+                assertEquals("Newly visited nodes", numberOfNodes / 2, search.visitFrom(0));
+                assertTrue("Search complete", search.isComplete());
+            } finally {
+                search.close();
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSearchMatchesIterativeSearch() {
+        // With 3 edges per node, the frontiers grow quickly beyond the size that is
+        // expanded in parallel. The last third of the nodes can not be reached from
+        // the start nodes.
+        Graph graph = createRandomGraph(300000, 200000, 3, 42);
+        int[] startNodes = { 0, 1, 2, 3, 4 };
+        try (IterativeReachabilitySearch iterative = new IterativeReachabilitySearch(graph);
+                ParallelReachabilitySearch parallel = new ParallelReachabilitySearch(graph, 4)) {
+            int visited = iterative.visitFrom(startNodes);
+            assertTrue("Large parts of the graph have been visited",
+                    visited > ParallelReachabilitySearch.MIN_PARALLEL_FRONTIER_SIZE * 10);
+            assertTrue("Some nodes are unreachable", visited <= 200000);
+            assertEquals("Newly visited nodes", visited, parallel.visitFrom(startNodes));
+            for (int i = 0; i < graph.getNumberOfNodes(); ++i) {
+                assertEquals("Visited flag of node " + i, iterative.isVisited(i), parallel.isVisited(i));
+            }
+        }
+        graph = createRandomGraph(300000, 3, 42);
+        try (IterativeReachabilitySearch iterative = new IterativeReachabilitySearch(graph);
+                ParallelReachabilitySearch parallel = new ParallelReachabilitySearch(graph, 4)) {
+            int visited = iterative.visitFrom(startNodes);
+            assertTrue("Large parts of the graph have been visited",
+                    visited > ParallelReachabilitySearch.MIN_PARALLEL_FRONTIER_SIZE * 10);
+            assertEquals("Newly visited nodes", visited, parallel.visitFrom(startNodes));
+            assertEquals("Visited nodes", iterative.getNumberOfVisitedNodes(), parallel.getNumberOfVisitedNodes());
+            for (int i = 0; i < graph.getNumberOfNodes(); ++i) {
+                assertEquals("Visited flag of node " + i, iterative.isVisited(i), parallel.isVisited(i));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEntranceNodes() {
+        Graph graph = createRandomGraph(300000, 2, 7);
+        int[] expected = EntranceNodeFinder.findEntranceNodes(graph);
+        assertArrayEquals("Entrance nodes", expected, EntranceNodeFinder.findEntranceNodes(graph, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNumberOfThreads() {
+        new ParallelReachabilitySearch(new GrphBasedGraph(), 0);
+    }
+}
@@ -0,0 +1,112 @@
+package org.dice_research.ldcbench.graph.algorithm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.dice_research.ldcbench.graph.CSRGraph;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Test;
+
+public class StronglyConnectedComponentsTest {
+
+    @Test
+    public void testEmptyGraph() {
+        StronglyConnectedComponents components = new StronglyConnectedComponents(new GrphBasedGraph());
+        assertEquals("Number of components", 0, components.getNumberOfComponents());
+        assertArrayEquals("Representatives", new int[0], components.getSourceComponentRepresentatives());
+    }
+
+    @Test
+    public void testComponents() {
+        // cycle 0 -> 1 -> 2 -> 0, cycle 3 <-> 4, 2 -> 3, 5 -> 4, single node 6
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(7);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(1, 2, 0);
+        builder.addEdge(2, 0, 0);
+        builder.addEdge(3, 4, 0);
+        builder.addEdge(4, 3, 0);
+        builder.addEdge(2, 3, 0);
+        builder.addEdge(5, 4, 0);
+        StronglyConnectedComponents components = new StronglyConnectedComponents(builder);
+
+        assertEquals("Number of components", 4, components.getNumberOfComponents());
+        assertEquals("Component of 1", components.getComponentId(0), components.getComponentId(1));
+        assertEquals("Component of 2", components.getComponentId(0), components.getComponentId(2));
+        assertEquals("Component of 4", components.getComponentId(3), components.getComponentId(4));
+        assertNotEquals("Component of 3", components.getComponentId(0), components.getComponentId(3));
+        assertNotEquals("Component of 5", components.getComponentId(3), components.getComponentId(5));
+        boolean[] sources = components.getSourceComponents();
+        assertTrue("Cycle 0-1-2 is a source", sources[components.getComponentId(0)]);
+        assertFalse("Cycle 3-4 is not a source", sources[components.getComponentId(3)]);
+        assertArrayEquals("Representatives", new int[] { 0, 5, 6 }, components.getSourceComponentRepresentatives());
+    }
+
+    @Test
+    public void testDeepGraph() {
+        // a single cycle 0 -> 1 -> ... -> n-1 -> 0 that is far too deep for a
+        // recursive search
+        int numberOfNodes = 1000000;
+        int[] offsets = new int[numberOfNodes + 1];
+        int[] targets = new int[numberOfNodes];
+        for (int i = 0; i < numberOfNodes; ++i) {
+            targets[i] = (i + 1) % numberOfNodes;
+            offsets[i + 1] = i + 1;
+        }
+        Graph graph = new CSRGraph(offsets, targets, new int[numberOfNodes], null, null, null);
+        StronglyConnectedComponents components = new StronglyConnectedComponents(graph);
+        assertEquals("Number of components", 1, components.getNumberOfComponents());
+        assertArrayEquals("Representatives", new int[] { 0 }, components.getSourceComponentRepresentatives());
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(123);
+        for (int run = 0; run < 100; ++run) {
+            int numberOfNodes = 1 + random.nextInt(60);
+            GraphBuilder builder = new GrphBasedGraph();
+            builder.addNodes(numberOfNodes);
+            int numberOfEdges = random.nextInt(2 * numberOfNodes);
+            for (int e = 0; e < numberOfEdges; ++e) {
+                builder.addEdge(random.nextInt(numberOfNodes), random.nextInt(numberOfNodes), 0);
+            }
+            StronglyConnectedComponents components = new StronglyConnectedComponents(builder);
+            // two nodes are in the same component iff they can reach each other
+            boolean[][] reachable = new boolean[numberOfNodes][];
+            for (int i = 0; i < numberOfNodes; ++i) {
+                IterativeReachabilitySearch search = new IterativeReachabilitySearch(builder);
+                search.visitFrom(i);
+                reachable[i] = new boolean[numberOfNodes];
+                for (int j = 0; j < numberOfNodes; ++j) {
+                    reachable[i][j] = search.isVisited(j);
+                }
+            }
+            for (int i = 0; i < numberOfNodes; ++i) {
+                for (int j = 0; j < numberOfNodes; ++j) {
+                    assertEquals("Nodes " + i + " and " + j + " in the same component (run " + run + ")",
+                            reachable[i][j] && reachable[j][i],
+                            components.getComponentId(i) == components.getComponentId(j));
+                }
+            }
+            // the representatives cover the graph and can not reach each other
+            int[] representatives = components.getSourceComponentRepresentatives();
+            IterativeReachabilitySearch search = new IterativeReachabilitySearch(builder);
+            search.visitFrom(representatives);
+            assertTrue("Representatives cover the graph (run " + run + ")", search.isComplete());
+            for (int r1 : representatives) {
+                for (int r2 : representatives) {
+                    if (r1 != r2) {
+                        assertFalse(r2 + " is reachable from " + r1 + " (run " + run + ")", reachable[r1][r2]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashedNodeDictionaryTest {
+
+    @Test
+    public void testConsecutiveIds() {
+        HashedNodeDictionary dictionary = new HashedNodeDictionary(4);
+        int numberOfKeys = 100000;
+        for (int i = 0; i < numberOfKeys; ++i) {
+            Assert.assertEquals("ID of new key " + i, i, dictionary.getOrAdd("http://example.org/r" + i, 0));
+        }
+        Assert.assertEquals("Size", numberOfKeys, dictionary.size());
+        for (int i = 0; i < numberOfKeys; ++i) {
+            Assert.assertEquals("ID of known key " + i, i, dictionary.getOrAdd("http://example.org/r" + i, 0));
+            Assert.assertEquals("ID of known key " + i, i, dictionary.get("http://example.org/r" + i, 0));
+        }
+        Assert.assertEquals("Size", numberOfKeys, dictionary.size());
+        Assert.assertEquals("ID of unknown key", -1, dictionary.get("http://example.org/unknown", 0));
+    }
+
+    @Test
+    public void testSeeds() {
+        HashedNodeDictionary dictionary = new HashedNodeDictionary();
+        Assert.assertEquals(0, dictionary.getOrAdd("a", 0));
+        Assert.assertEquals("Same string with a different seed", 1, dictionary.getOrAdd("a", 1));
+        Assert.assertEquals(0, dictionary.getOrAdd("a", 0));
+        Assert.assertNotEquals("Hashes of different seeds", HashedNodeDictionary.hash("a", 0),
+                HashedNodeDictionary.hash("a", 1));
+    }
+
+    @Test
+    public void testClear() {
+        HashedNodeDictionary dictionary = new HashedNodeDictionary();
+        dictionary.getOrAdd("a", 0);
+        dictionary.getOrAdd("b", 0);
+        dictionary.clear();
+        Assert.assertEquals("Size", 0, dictionary.size());
+        Assert.assertEquals("ID of unknown key", -1, dictionary.get("a", 0));
+        Assert.assertEquals("ID of new key", 0, dictionary.getOrAdd("b", 0));
+    }
+}
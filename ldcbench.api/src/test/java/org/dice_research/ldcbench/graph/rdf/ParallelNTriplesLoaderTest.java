@@ -0,0 +1,130 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.jena.riot.Lang;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelNTriplesLoaderTest {
+
+    /**
+     * Creates an N-Triples file with random triples including blank nodes,
+     * literals and duplicates.
+     */
+    private static File createFile(int numberOfTriples, long seed) throws IOException {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < numberOfTriples; ++i) {
+            appendResource(builder, random);
+            builder.append(" <http://example.org/p").append(random.nextInt(5)).append("> ");
+            if (random.nextInt(10) == 0) {
+                builder.append("\"literal ").append(random.nextInt(10)).append('"');
+            } else {
+                appendResource(builder, random);
+            }
+            builder.append(" .\n");
+        }
+        File file = File.createTempFile("triples", ".nt");
+        Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void appendResource(StringBuilder builder, Random random) {
+        if (random.nextInt(5) == 0) {
+            builder.append("_:b").append(random.nextInt(20));
+        } else {
+            builder.append("<http://example.org/r").append(random.nextInt(200)).append('>');
+        }
+    }
+
+    private static void assertSameGraph(GraphBuilder expected, GraphBuilder actual) {
+        Assert.assertEquals("Number of nodes", expected.getNumberOfNodes(), actual.getNumberOfNodes());
+        Assert.assertEquals("Number of edges", expected.getNumberOfEdges(), actual.getNumberOfEdges());
+        for (int n = 0; n < expected.getNumberOfNodes(); ++n) {
+            int[] expectedTargets = expected.outgoingEdgeTargets(n);
+            int[] expectedTypes = expected.outgoingEdgeTypes(n);
+            int[] actualTargets = actual.outgoingEdgeTargets(n);
+            int[] actualTypes = actual.outgoingEdgeTypes(n);
+            Assert.assertEquals("Outgoing edges of node " + n, expectedTargets.length, actualTargets.length);
+            long[] expectedEdges = new long[expectedTargets.length];
+            long[] actualEdges = new long[actualTargets.length];
+            for (int e = 0; e < expectedEdges.length; ++e) {
+                expectedEdges[e] = (((long) expectedTypes[e]) << 32) | expectedTargets[e];
+                actualEdges[e] = (((long) actualTypes[e]) << 32) | actualTargets[e];
+            }
+            Arrays.sort(expectedEdges);
+            Arrays.sort(actualEdges);
+            Assert.assertArrayEquals("Outgoing edges of node " + n, expectedEdges, actualEdges);
+        }
+    }
+
+    @Test
+    public void testSameResultAsStreamingConverter() throws IOException {
+        File file = createFile(2000, 42);
+        try {
+            GraphBuilder expected = new GrphBasedGraph();
+            new StreamingRDF2GraphConverter(expected).parse(file.toURI().toString(), null, Lang.NTRIPLES);
+
+            for (int numberOfThreads : new int[] { 1, 4 }) {
+                ParallelNTriplesLoader loader = new ParallelNTriplesLoader(numberOfThreads);
+                // small chunks to make sure that blank nodes are shared between chunks
+                loader.setChunkSize(256);
+                GraphBuilder actual = new GrphBasedGraph();
+                int addedNodes = loader.load(file.toPath(), actual);
+                Assert.assertEquals("Added nodes", actual.getNumberOfNodes(), addedNodes);
+                assertSameGraph(expected, actual);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        File file = File.createTempFile("triples", ".nt");
+        try {
+            GraphBuilder graph = new GrphBasedGraph();
+            Assert.assertEquals("Added nodes", 0, new ParallelNTriplesLoader(2).load(file.toPath(), graph));
+            Assert.assertEquals("Number of nodes", 0, graph.getNumberOfNodes());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testChunkBoundaries() throws IOException {
+        File file = createFile(100, 7);
+        try {
+            byte[] data = Files.readAllBytes(file.toPath());
+            ParallelNTriplesLoader loader = new ParallelNTriplesLoader(1);
+            loader.setChunkSize(10);
+            long[] boundaries;
+            try (FileChannel channel = FileChannel.open(file.toPath())) {
+                boundaries = loader.findChunkBoundaries(channel);
+            }
+            Assert.assertEquals("Start of the first chunk", 0, boundaries[0]);
+            Assert.assertEquals("End of the last chunk", data.length, boundaries[boundaries.length - 1]);
+            // every line forms its own chunk since the lines are longer than 10 bytes
+            Assert.assertEquals("Number of chunks", 100, boundaries.length - 1);
+            for (int i = 1; i < boundaries.length; ++i) {
+                Assert.assertEquals("Byte in front of boundary " + i, '\n', data[(int) boundaries[i] - 1]);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedLang() {
+        new ParallelNTriplesLoader(1).setLang(Lang.TURTLE);
+    }
+}
@@ -0,0 +1,75 @@
+package org.dice_research.ldcbench.graph.rdf;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingRDF2GraphConverterTest {
+
+    private static GrphBasedGraph convert(String ntriples) {
+        GrphBasedGraph graph = new GrphBasedGraph();
+        StreamingRDF2GraphConverter converter = new StreamingRDF2GraphConverter(graph);
+        RDFDataMgr.parse(converter, new ByteArrayInputStream(ntriples.getBytes(StandardCharsets.UTF_8)),
+                Lang.NTRIPLES);
+        return graph;
+    }
+
+    @Test
+    public void testSimpleExample() {
+        GrphBasedGraph graph = convert("_:a <http://example.org/p1> _:b .\n");
+
+        Assert.assertEquals(1, graph.getNumberOfEdges());
+        Assert.assertEquals(2, graph.getNumberOfNodes());
+        Assert.assertArrayEquals(new int[] {}, graph.incomingEdgeSources(0));
+        Assert.assertArrayEquals(new int[] { 0 }, graph.outgoingEdgeTypes(0));
+        Assert.assertArrayEquals(new int[] { 1 }, graph.outgoingEdgeTargets(0));
+        Assert.assertArrayEquals(new int[] { 0 }, graph.incomingEdgeSources(1));
+    }
+
+    @Test
+    public void testCircleExample() {
+        GrphBasedGraph graph = convert("<http://example.org/r1> <http://example.org/p1> <http://example.org/r1> .\n");
+
+        Assert.assertEquals(1, graph.getNumberOfEdges());
+        Assert.assertEquals(1, graph.getNumberOfNodes());
+        Assert.assertArrayEquals(new int[] { 0 }, graph.outgoingEdgeTargets(0));
+    }
+
+    @Test
+    public void testLiteralsAndDuplicates() {
+        GrphBasedGraph graph = convert("<http://example.org/r1> <http://example.org/p1> <http://example.org/r2> .\n"
+                + "<http://example.org/r1> <http://example.org/p2> <http://example.org/r2> .\n"
+                + "<http://example.org/r1> <http://example.org/p1> <http://example.org/r2> .\n"
+                + "<http://example.org/r2> <http://example.org/p3> \"literal\" .\n"
+                + "<http://example.org/r2> <http://example.org/p1> <http://example.org/r3> .\n");
+
+        Assert.assertEquals("Number of nodes", 3, graph.getNumberOfNodes());
+        Assert.assertEquals("Number of edges", 3, graph.getNumberOfEdges());
+        Assert.assertEquals("Edges of r1", 2, graph.outgoingEdgeCount(0));
+        Assert.assertArrayEquals("Targets of r2", new int[] { 2 }, graph.outgoingEdgeTargets(1));
+        // the property of the literal triple is not part of the graph
+        Assert.assertArrayEquals("Types of r2", new int[] { 0 }, graph.outgoingEdgeTypes(1));
+    }
+
+    @Test
+    public void testManyEdges() {
+        // more edges than fit into the buffer of the converter
+        int numberOfEdges = StreamingRDF2GraphConverter.BUFFER_SIZE + 10;
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < numberOfEdges; ++i) {
+            builder.append("<http://example.org/r").append(i).append("> <http://example.org/p> <http://example.org/r")
+                    .append(i + 1).append("> .\n");
+        }
+        GrphBasedGraph graph = convert(builder.toString());
+
+        Assert.assertEquals("Number of nodes", numberOfEdges + 1, graph.getNumberOfNodes());
+        Assert.assertEquals("Number of edges", numberOfEdges, graph.getNumberOfEdges());
+        Assert.assertArrayEquals("Targets of the last but one node", new int[] { numberOfEdges },
+                graph.outgoingEdgeTargets(numberOfEdges - 1));
+    }
+}
@@ -1,5 +1,8 @@
 package org.dice_research.ldcbench.graph.serialization;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
 import java.util.Arrays;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.graph.GraphBuilder;
@@ -51,11 +54,33 @@ public abstract class AbstractSerializerTest {
     public void testNodeWithNoEdges() throws Exception {
          GraphBuilder g1 = new GrphBasedGraph();
          g1.addNode();
-         byte[] data = SerializationHelper.serialize(DumbSerializer.class, g1);
+         byte[] data = SerializationHelper.serialize(serializerClass, g1);
          Graph g2 = SerializationHelper.deserialize(data);
          checkGraphs(g1, g2);
     }
 
+    @Test
+    public void testStreams() throws Exception {
+        GraphBuilder g1 = new GrphBasedGraph();
+        int n1 = g1.addNode();
+        int n2 = g1.addNode();
+        int n3 = g1.addNode();
+        g1.addEdge(n1, n2, 0);
+        g1.addEdge(n1, n3, 1);
+        g1.addEdge(n3, n2, 0);
+        g1.setEntranceNodes(new int[] { n1 });
+        g1.setGraphIdOfNode(n2, 3, 5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SerializationHelper.serialize(serializerClass, g1, out);
+        byte[] data = out.toByteArray();
+        Assert.assertArrayEquals("Streamed serialization differs from byte array serialization",
+                SerializationHelper.serialize(serializerClass, g1), data);
+
+        checkGraphs(g1, SerializationHelper.deserialize(new ByteArrayInputStream(data)));
+        checkGraphs(g1, SerializationHelper.deserialize(Channels.newChannel(new ByteArrayInputStream(data))));
+    }
+
     public void checkGraphs(Graph g1, Graph g2) {
         // Check graph sizes
         Assert.assertEquals("Number of nodes is not equal", g1.getNumberOfNodes(), g2.getNumberOfNodes());
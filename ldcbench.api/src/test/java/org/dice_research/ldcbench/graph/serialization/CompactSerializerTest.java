@@ -0,0 +1,151 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.dice_research.ldcbench.generate.RandomRDF;
+import org.dice_research.ldcbench.graph.CSRGraph;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactSerializerTest extends AbstractSerializerTest {
+
+    public CompactSerializerTest() {
+        super(CompactSerializer.class);
+    }
+
+    @Test
+    public void testGeneratedGraph() throws Exception {
+        GraphBuilder g1 = new GrphBasedGraph();
+        new RandomRDF("test graph").generateGraph(2000, 4.0, 123L, g1);
+        g1.setEntranceNodes(new int[] { 0 });
+        g1.setGraphIdOfNode(g1.addNode(), 3, 5);
+
+        byte[] compactData = SerializationHelper.serialize(CompactSerializer.class, g1);
+        Graph g2 = SerializationHelper.deserialize(compactData);
+        Assert.assertTrue("Deserialized graph is a CSR graph", g2 instanceof CSRGraph);
+        checkGraphs(g1, g2);
+
+        byte[] dumbData = SerializationHelper.serialize(DumbSerializer.class, g1);
+        Assert.assertTrue("The compact serialization (" + compactData.length
+                + " bytes) should be at least 3 times smaller than the dumb serialization (" + dumbData.length
+                + " bytes).", (3 * compactData.length) <= dumbData.length);
+    }
+
+    @Test
+    public void testDefaultSerializer() throws Exception {
+        GraphBuilder g1 = new GrphBasedGraph();
+        int n1 = g1.addNode();
+        int n2 = g1.addNode();
+        g1.addEdge(n1, n2, 0);
+        Graph g2 = SerializationHelper.deserialize(SerializationHelper.serialize(g1));
+        checkGraphs(g1, g2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedData() {
+        GraphBuilder g1 = new GrphBasedGraph();
+        int n1 = g1.addNode();
+        int n2 = g1.addNode();
+        g1.addEdge(n1, n2, 0);
+        g1.addEdge(n2, n1, 4);
+        CompactSerializer serializer = new CompactSerializer();
+        byte[] data = serializer.serialize(g1);
+        serializer.deserialize(java.util.Arrays.copyOf(data, data.length - 1));
+    }
+
+    @Test
+    public void testEdgeOrder() throws Exception {
+        Graph g1 = new CSRGraph(new int[] { 0, 5, 7, 7 }, new int[] { 2, 0, 1, 2, 0, 2, 0 },
+                new int[] { 0, 0, 3, 3, 0, 1, 0 }, new int[] { 1 }, null, null);
+        CompactSerializer serializer = new CompactSerializer();
+        Graph g2 = serializer.deserialize(serializer.serialize(g1));
+        for (int i = 0; i < g1.getNumberOfNodes(); ++i) {
+            Assert.assertArrayEquals("Order of the edge targets of node " + i, g1.outgoingEdgeTargets(i),
+                    g2.outgoingEdgeTargets(i));
+            Assert.assertArrayEquals("Order of the edge types of node " + i, g1.outgoingEdgeTypes(i),
+                    g2.outgoingEdgeTypes(i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testTooManyExternalNodes() throws Exception {
+        // 2 nodes without edges but 3 external nodes
+        deserialize(2, 0, 3, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidExternalNodeId() throws Exception {
+        // the external node has the ID 5
+        deserialize(2, 0, 1, 0, 0, 0, 5, 1, 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnorderedExternalNodeIds() throws Exception {
+        // the same node is listed twice as external node
+        deserialize(2, 0, 2, 0, 0, 0, 1, 1, 1, 0, 1, 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidEdgeTarget() throws Exception {
+        // node 0 has a single edge of type 0 to node 4 (zig-zag encoded as 8)
+        deserialize(2, 1, 0, 0, 3, 8, 0);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidEntranceNode() throws Exception {
+        deserialize(2, 0, 0, 1, 0, 0, 2);
+    }
+
+    @Test(expected = IOException.class)
+    public void testHugeCountsOfTruncatedData() throws Exception {
+        // the arrays must not be allocated based on the counts of the header
+        deserialize(Integer.MAX_VALUE - 8, Integer.MAX_VALUE - 8, 0, Integer.MAX_VALUE - 8, 1, 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testCountExceedingArrayLength() throws Exception {
+        deserialize(Integer.MAX_VALUE, 0, 0, 0);
+    }
+
+    @Test
+    public void testGrowingArrays() throws Exception {
+        // more nodes, edges and entrance nodes than allocated in advance
+        int numberOfNodes = CompactSerializer.MAX_INITIAL_CAPACITY * 2 + 1;
+        int[] offsets = new int[numberOfNodes + 1];
+        int[] targets = new int[numberOfNodes * 2];
+        int[] types = new int[targets.length];
+        for (int i = 0; i < numberOfNodes; ++i) {
+            offsets[i + 1] = offsets[i] + 2;
+            targets[2 * i] = (i + 1) % numberOfNodes;
+            targets[(2 * i) + 1] = (i * 7) % numberOfNodes;
+            types[(2 * i) + 1] = i % 3;
+        }
+        int[] entranceNodes = new int[CompactSerializer.MAX_INITIAL_CAPACITY + 5];
+        for (int i = 0; i < entranceNodes.length; ++i) {
+            entranceNodes[i] = i;
+        }
+        Graph g1 = new CSRGraph(offsets, targets, types, entranceNodes, null, null);
+        CompactSerializer serializer = new CompactSerializer();
+        checkGraphs(g1, serializer.deserialize(serializer.serialize(g1)));
+    }
+
+    /**
+     * Deserializes the given varints (following the format version) with the
+     * {@link CompactSerializer}.
+     */
+    private static Graph deserialize(int... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VarIntWriter writer = new VarIntWriter(out);
+        writer.writeByte(CompactSerializer.FORMAT_VERSION);
+        for (int i = 0; i < values.length; ++i) {
+            writer.writeVarInt(values[i]);
+        }
+        writer.flush();
+        return new CompactSerializer().deserializeFrom(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
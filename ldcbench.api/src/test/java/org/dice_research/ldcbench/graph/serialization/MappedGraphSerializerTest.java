@@ -0,0 +1,99 @@
+package org.dice_research.ldcbench.graph.serialization;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.dice_research.ldcbench.generate.RandomRDF;
+import org.dice_research.ldcbench.graph.CSRGraph;
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedGraphSerializerTest extends AbstractSerializerTest {
+
+    public MappedGraphSerializerTest() {
+        super(MappedGraphSerializer.class);
+    }
+
+    @Test
+    public void testLoadMappedGraph() throws Exception {
+        GraphBuilder g1 = new GrphBasedGraph();
+        new RandomRDF("test graph").generateGraph(2000, 4.0, 123L, g1);
+        g1.setEntranceNodes(new int[] { 0, 7 });
+        g1.setGraphIdOfNode(g1.addNode(), 3, 5);
+        g1.setGraphIdOfNode(g1.addNode(), 2, 1);
+
+        File file = writeToFile(MappedGraphSerializer.class, g1);
+        try {
+            Graph g2 = SerializationHelper.load(file);
+            Assert.assertTrue("Loaded graph is a mapped graph", g2 instanceof MappedGraph);
+            checkGraphs(g1, g2);
+            checkCursors(g2);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testLoadNotMappableGraph() throws Exception {
+        GraphBuilder g1 = new GrphBasedGraph();
+        new RandomRDF("test graph").generateGraph(200, 4.0, 42L, g1);
+
+        File file = writeToFile(CompactSerializer.class, g1);
+        try {
+            Graph g2 = SerializationHelper.load(file);
+            Assert.assertTrue("Loaded graph is a CSR graph", g2 instanceof CSRGraph);
+            checkGraphs(g1, g2);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedData() {
+        GraphBuilder g1 = new GrphBasedGraph();
+        int n1 = g1.addNode();
+        int n2 = g1.addNode();
+        g1.addEdge(n1, n2, 0);
+        g1.setEntranceNodes(new int[] { n1 });
+        MappedGraphSerializer serializer = new MappedGraphSerializer();
+        byte[] data = serializer.serialize(g1);
+        serializer.deserialize(Arrays.copyOf(data, data.length - 1));
+    }
+
+    /**
+     * Checks that the cursors of the given graph, which read the mapped buffers
+     * directly, return the same edges as the array-based methods.
+     */
+    private static void checkCursors(Graph graph) {
+        EdgeCursor cursor = new EdgeCursor();
+        for (int n = 0; n < graph.getNumberOfNodes(); ++n) {
+            checkCursor("Outgoing edges of node " + n, graph.outgoingEdgeTargets(n), graph.outgoingEdgeTypes(n),
+                    graph.outgoingEdges(n, cursor));
+            checkCursor("Incoming edges of node " + n, graph.incomingEdgeSources(n), graph.incomingEdgeTypes(n),
+                    graph.incomingEdges(n, cursor));
+        }
+    }
+
+    private static void checkCursor(String message, int[] nodeIds, int[] typeIds, EdgeCursor cursor) {
+        for (int i = 0; i < nodeIds.length; ++i) {
+            Assert.assertTrue(message + ": missing edge " + i, cursor.next());
+            Assert.assertEquals(message + ": node of edge " + i, nodeIds[i], cursor.nodeId());
+            Assert.assertEquals(message + ": type of edge " + i, typeIds[i], cursor.typeId());
+        }
+        Assert.assertFalse(message + ": additional edge", cursor.next());
+    }
+
+    private static File writeToFile(Class<? extends Serializer> serializerClass, Graph graph) throws Exception {
+        File file = File.createTempFile("graph", ".graph");
+        try (OutputStream out = new FileOutputStream(file)) {
+            SerializationHelper.serialize(serializerClass, graph, out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,69 @@
+package org.dice_research.ldcbench.rdf;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClockNodeCacheTest {
+
+    private static Node createNode(int id) {
+        return NodeFactory.createURI("http://example.org/r" + id);
+    }
+
+    @Test
+    public void testGetAndPut() {
+        ClockNodeCache cache = new ClockNodeCache(1000, 4);
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertNull("Node " + i + " before adding it", cache.get(ClockNodeCache.key(0, i)));
+            cache.put(ClockNodeCache.key(0, i), createNode(i));
+        }
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals("Node " + i, createNode(i), cache.get(ClockNodeCache.key(0, i)));
+            Assert.assertNull("Node " + i + " of another graph", cache.get(ClockNodeCache.key(1, i)));
+        }
+        Assert.assertEquals("Hits", 100, cache.getHits());
+        Assert.assertEquals("Misses", 200, cache.getMisses());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        int capacity = 64;
+        ClockNodeCache cache = new ClockNodeCache(capacity, 1);
+        for (int i = 0; i < 1000; ++i) {
+            cache.put(ClockNodeCache.key(-1, i), createNode(i));
+            Assert.assertTrue("Size " + cache.size() + " exceeds the capacity", cache.size() <= capacity);
+        }
+        Assert.assertEquals("Size", capacity, cache.size());
+        Assert.assertEquals("Evictions", 1000 - capacity, cache.getEvictions());
+        // the last added nodes are still cached while the first nodes have been
+        // evicted
+        Assert.assertEquals("Last added node", createNode(999), cache.get(ClockNodeCache.key(-1, 999)));
+        Assert.assertNull("First added node", cache.get(ClockNodeCache.key(-1, 0)));
+    }
+
+    @Test
+    public void testReferencedEntriesSurvive() {
+        ClockNodeCache cache = new ClockNodeCache(4, 1);
+        for (int i = 0; i < 4; ++i) {
+            cache.put(ClockNodeCache.key(0, i), createNode(i));
+        }
+        // reference node 0 so that node 1 is the first victim
+        cache.get(ClockNodeCache.key(0, 0));
+        cache.put(ClockNodeCache.key(0, 4), createNode(4));
+        Assert.assertNotNull("Referenced node", cache.get(ClockNodeCache.key(0, 0)));
+        Assert.assertNull("Evicted node", cache.get(ClockNodeCache.key(0, 1)));
+        for (int i = 2; i < 5; ++i) {
+            Assert.assertNotNull("Node " + i, cache.get(ClockNodeCache.key(0, i)));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        ClockNodeCache cache = new ClockNodeCache(16);
+        cache.put(ClockNodeCache.key(0, 1), createNode(1));
+        cache.clear();
+        Assert.assertEquals("Size", 0, cache.size());
+        Assert.assertNull("Removed node", cache.get(ClockNodeCache.key(0, 1)));
+    }
+}
@@ -0,0 +1,76 @@
+package org.dice_research.ldcbench.rdf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UriTemplateTest {
+
+    private static final String[] TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s",
+            "http://domain1.org/%s/%d/%s/%d", "#%s-%s-%s-%s", "/%s-%s/%s-%s", "http://example.org/100%%/%s-%s/%s-%s",
+            "http://example.org/resource", "http://example.org/%s-%s", "http://example.org/%4$s/%3$s",
+            "http://example.org/%05d/%s", "http://example.org/%s-%s/%s-%s/%s" };
+
+    @Test
+    public void testSameResultAsFormat() {
+        for (String template : TEMPLATES) {
+            UriTemplate compiled = UriTemplate.compile(template);
+            for (int datasetId : new int[] { 0, 7, -3 }) {
+                for (int nodeId : new int[] { 0, 1, 42, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+                    for (String nodeType : new String[] { UriHelper.RESOURCE_NODE_TYPE,
+                            UriHelper.PROPERTY_NODE_TYPE }) {
+                        String expected;
+                        try {
+                            expected = String.format(template, UriHelper.DATASET_KEY_WORD, datasetId, nodeType,
+                                    nodeId);
+                        } catch (RuntimeException e) {
+                            // the compiled template should fail in the same way
+                            try {
+                                compiled.createUri(datasetId, nodeType, nodeId);
+                                Assert.fail("Expected an exception for template " + template);
+                            } catch (RuntimeException e2) {
+                                Assert.assertEquals("Exception for template " + template, e.getClass(),
+                                        e2.getClass());
+                            }
+                            continue;
+                        }
+                        Assert.assertEquals("URI for template " + template, expected,
+                                compiled.createUri(datasetId, nodeType, nodeId));
+                        Assert.assertEquals("URI of UriHelper for template " + template, expected,
+                                UriHelper.createUri(template, datasetId, nodeType, nodeId));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAppendUri() {
+        UriTemplate template = UriTemplate.compile("http://domain0.org/%s-%s/%s-%s");
+        StringBuilder builder = new StringBuilder();
+        template.appendUri(builder, 0, UriHelper.RESOURCE_NODE_TYPE, 1);
+        builder.append(' ');
+        template.appendUri(builder, 2, UriHelper.PROPERTY_NODE_TYPE, 3);
+        Assert.assertEquals("http://domain0.org/dataset-0/resource-1 http://domain0.org/dataset-2/property-3",
+                builder.toString());
+    }
+
+    @Test
+    public void testNodeIdAffixes() {
+        Assert.assertArrayEquals("Affixes of a dereferencing template",
+                new String[] { "http://domain0.org/dataset-0/resource-", "" },
+                UriTemplate.compile("http://domain0.org/%s-%s/%s-%s").getNodeIdAffixes(0, "resource"));
+        Assert.assertArrayEquals("Affixes of a dump file template",
+                new String[] { "/dump.ttl#dataset-1-property-", ".html" },
+                UriTemplate.compile("/dump.ttl#%s-%s-%s-%s.html").getNodeIdAffixes(1, "property"));
+        Assert.assertNull("Template without node ID",
+                UriTemplate.compile("http://domain0.org/%s-%s/%s").getNodeIdAffixes(0, "resource"));
+        Assert.assertNull("Template that is not compiled",
+                UriTemplate.compile("http://domain0.org/%s-%s/%s-%05d").getNodeIdAffixes(0, "resource"));
+    }
+
+    @Test
+    public void testGetInstanceIsCached() {
+        Assert.assertSame("Cached template", UriTemplate.getInstance("http://domain0.org/%s-%s/%s-%s"),
+                UriTemplate.getInstance("http://domain0.org/%s-%s/%s-%s"));
+    }
+}
@@ -0,0 +1,38 @@
+package org.dice_research.ldcbench.benchmarks;
+
+import java.util.Random;
+
+import org.dice_research.ldcbench.graph.GraphBuilder;
+
+/**
+ * Helper methods for creating the graphs used by the benchmarks.
+ */
+public class BenchmarkGraphs {
+
+    /**
+     * Fills the given builder with a random graph with the given number of nodes
+     * and (roughly) the given number of edges. The edges are drawn uniformly at
+     * random; duplicates that are rejected by the builder are not replaced. Most
+     * of the edges get the type 0, similar to the generated RDF graphs.
+     *
+     * @param builder
+     *            the builder that should be filled
+     * @param numberOfNodes
+     *            the number of nodes of the graph
+     * @param numberOfEdges
+     *            the number of edges that should be added
+     * @param seed
+     *            the seed of the random number generator
+     * @return the given builder
+     */
+    public static GraphBuilder fillRandomGraph(GraphBuilder builder, int numberOfNodes, int numberOfEdges,
+            long seed) {
+        Random random = new Random(seed);
+        int[] range = builder.addNodes(numberOfNodes);
+        for (int i = 0; i < numberOfEdges; ++i) {
+            builder.addEdge(range[0] + random.nextInt(numberOfNodes), range[0] + random.nextInt(numberOfNodes),
+                    random.nextInt(10) == 0 ? random.nextInt(4) : 0);
+        }
+        return builder;
+    }
+}
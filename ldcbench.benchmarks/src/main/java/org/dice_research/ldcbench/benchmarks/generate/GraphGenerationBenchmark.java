@@ -0,0 +1,95 @@
+package org.dice_research.ldcbench.benchmarks.generate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dice_research.ldcbench.generate.ChunkedBarabasiRDF;
+import org.dice_research.ldcbench.generate.GraphGenerator;
+import org.dice_research.ldcbench.generate.ParallelBarabasiRDF;
+import org.dice_research.ldcbench.generate.RandomRDF;
+import org.dice_research.ldcbench.generate.sample.SamplingMode;
+import org.dice_research.ldcbench.graph.CSRGraphBuilder;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time the RDF graph generators need to generate a complete graph
+ * (including the insertion of the edges into a {@link GrphBasedGraph} or a
+ * {@link CSRGraphBuilder} and the creation of the final graph) for different
+ * graph sizes and degrees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphGenerationBenchmark {
+
+    /**
+     * The generator that is benchmarked.
+     */
+    @Param({ "randomRDF", "randomRDF-fast", "parallelBarabasi", "chunkedBarabasi" })
+    public String generatorName;
+
+    /**
+     * The number of nodes of the generated graph.
+     */
+    @Param({ "10000", "100000" })
+    public int numberOfNodes;
+
+    /**
+     * The average degree of the generated graph.
+     */
+    @Param({ "4", "10" })
+    public double averageDegree;
+
+    /**
+     * The builder the edges are added to.
+     */
+    @Param({ "grph", "csr" })
+    public String builderName;
+
+    private GraphGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (generatorName) {
+        case "randomRDF":
+            generator = new RandomRDF("benchmark");
+            break;
+        case "randomRDF-fast":
+            RandomRDF fastGenerator = new RandomRDF("benchmark");
+            fastGenerator.setSamplingMode(SamplingMode.FAST);
+            generator = fastGenerator;
+            break;
+        case "parallelBarabasi":
+            generator = new ParallelBarabasiRDF("benchmark");
+            break;
+        case "chunkedBarabasi":
+            generator = new ChunkedBarabasiRDF("benchmark");
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown generator \"" + generatorName + "\".");
+        }
+    }
+
+    @Benchmark
+    public Graph generate() {
+        GraphBuilder builder = "csr".equals(builderName) ? new CSRGraphBuilder() : new GrphBasedGraph();
+        generator.generateGraph(numberOfNodes, averageDegree, 42L, builder);
+        return builder.build();
+    }
+}
@@ -0,0 +1,121 @@
+package org.dice_research.ldcbench.benchmarks.graph;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dice_research.ldcbench.benchmarks.BenchmarkGraphs;
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.graph.serialization.MappedGraphSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the edge access of the {@link GrphBasedGraph} with the frozen graph
+ * returned by {@link GraphBuilder#build()} and the graph read by the
+ * {@link MappedGraphSerializer}. Every invocation walks over all
+ * outgoing (or incoming) edges of all nodes in the same way the triple
+ * iterators and validators do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphAccessBenchmark {
+
+    /**
+     * The graph implementation that is benchmarked.
+     */
+    @Param({ "grph", "csr", "mapped" })
+    public String implementation;
+
+    /**
+     * The number of edges of the graph.
+     */
+    @Param({ "1000000" })
+    public int numberOfEdges;
+
+    /**
+     * The average degree used to derive the number of nodes.
+     */
+    @Param({ "10" })
+    public int averageDegree;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphBuilder builder = BenchmarkGraphs.fillRandomGraph(new GrphBasedGraph(),
+                numberOfEdges / averageDegree, numberOfEdges, 42L);
+        switch (implementation) {
+        case "grph":
+            graph = builder;
+            break;
+        case "csr":
+            graph = builder.build();
+            break;
+        case "mapped":
+            MappedGraphSerializer serializer = new MappedGraphSerializer();
+            graph = serializer.deserialize(serializer.serialize(builder));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown implementation \"" + implementation + "\".");
+        }
+    }
+
+    @Benchmark
+    public void outgoingEdges(Blackhole blackhole) {
+        int numberOfNodes = graph.getNumberOfNodes();
+        for (int n = 0; n < numberOfNodes; ++n) {
+            blackhole.consume(graph.outgoingEdgeTargets(n));
+            blackhole.consume(graph.outgoingEdgeTypes(n));
+        }
+    }
+
+    @Benchmark
+    public long outgoingEdgesCursor() {
+        long sum = 0;
+        EdgeCursor cursor = new EdgeCursor();
+        int numberOfNodes = graph.getNumberOfNodes();
+        for (int n = 0; n < numberOfNodes; ++n) {
+            graph.outgoingEdges(n, cursor);
+            while (cursor.next()) {
+                sum += cursor.nodeId() + cursor.typeId();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void incomingEdges(Blackhole blackhole) {
+        int numberOfNodes = graph.getNumberOfNodes();
+        for (int n = 0; n < numberOfNodes; ++n) {
+            blackhole.consume(graph.incomingEdgeSources(n));
+            blackhole.consume(graph.incomingEdgeTypes(n));
+        }
+    }
+
+    @Benchmark
+    public long edgeCounts() {
+        long sum = 0;
+        int numberOfNodes = graph.getNumberOfNodes();
+        for (int n = 0; n < numberOfNodes; ++n) {
+            sum += graph.outgoingEdgeCount(n) + graph.incomingEdgeCount(n);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,94 @@
+package org.dice_research.ldcbench.benchmarks.graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dice_research.ldcbench.graph.CSRGraphBuilder;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares adding edges one by one via {@link GraphBuilder#addEdge(int, int, int)}
+ * with the bulk loading via
+ * {@link GraphBuilder#addEdges(int[], int[], int[], int, boolean)}. The edges
+ * have the same preferential-attachment-like shape as the generated graphs,
+ * i.e., a few hubs have a very high in-degree. The bulk loading is measured
+ * for the {@link GrphBasedGraph} and the {@link CSRGraphBuilder} including the
+ * creation of the final graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBuilderBenchmark {
+
+    /**
+     * The number of edges that are added.
+     */
+    @Param({ "1000000" })
+    public int numberOfEdges;
+
+    /**
+     * The average degree used to derive the number of nodes.
+     */
+    @Param({ "10" })
+    public int averageDegree;
+
+    private int numberOfNodes;
+    private int[] sources;
+    private int[] targets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        numberOfNodes = numberOfEdges / averageDegree;
+        sources = new int[numberOfEdges];
+        targets = new int[numberOfEdges];
+        Random random = new Random(42L);
+        for (int i = 0; i < numberOfEdges; ++i) {
+            sources[i] = random.nextInt(numberOfNodes);
+            // skew the targets towards small node IDs
+            targets[i] = (int) (numberOfNodes * Math.pow(random.nextDouble(), 3));
+        }
+    }
+
+    @Benchmark
+    public GraphBuilder singleEdges() {
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(numberOfNodes);
+        for (int i = 0; i < numberOfEdges; ++i) {
+            builder.addEdge(sources[i], targets[i], 0);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public Graph bulkEdges() {
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(numberOfNodes);
+        builder.addEdges(sources, targets, null, numberOfEdges, true);
+        return builder.build();
+    }
+
+    @Benchmark
+    public Graph bulkEdgesCSR() {
+        GraphBuilder builder = new CSRGraphBuilder();
+        builder.addNodes(numberOfNodes);
+        builder.addEdges(sources, targets, null, numberOfEdges, true);
+        return builder.build();
+    }
+}
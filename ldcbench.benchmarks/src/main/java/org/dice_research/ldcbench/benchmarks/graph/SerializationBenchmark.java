@@ -0,0 +1,105 @@
+package org.dice_research.ldcbench.benchmarks.graph;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dice_research.ldcbench.benchmarks.BenchmarkGraphs;
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.graph.serialization.CompactSerializer;
+import org.dice_research.ldcbench.graph.serialization.DumbSerializer;
+import org.dice_research.ldcbench.graph.serialization.MappedGraphSerializer;
+import org.dice_research.ldcbench.graph.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the serializers. Since the {@link MappedGraphSerializer} does not
+ * copy the data during the deserialization, the {@link #roundTrip()} benchmark
+ * visits all edges of the deserialized graph to make the results comparable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /**
+     * The serializer that is benchmarked.
+     */
+    @Param({ "dumb", "compact", "mapped" })
+    public String serializerName;
+
+    /**
+     * The number of edges of the graph.
+     */
+    @Param({ "1000000" })
+    public int numberOfEdges;
+
+    /**
+     * The average degree used to derive the number of nodes.
+     */
+    @Param({ "10" })
+    public int averageDegree;
+
+    private Serializer serializer;
+    private Graph graph;
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (serializerName) {
+        case "dumb":
+            serializer = new DumbSerializer();
+            break;
+        case "compact":
+            serializer = new CompactSerializer();
+            break;
+        case "mapped":
+            serializer = new MappedGraphSerializer();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown serializer \"" + serializerName + "\".");
+        }
+        graph = BenchmarkGraphs
+                .fillRandomGraph(new GrphBasedGraph(), numberOfEdges / averageDegree, numberOfEdges, 42L).build();
+        data = serializer.serialize(graph);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(graph);
+    }
+
+    @Benchmark
+    public Graph deserialize() {
+        return serializer.deserialize(data);
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        Graph result = serializer.deserialize(serializer.serialize(graph));
+        long sum = 0;
+        EdgeCursor cursor = new EdgeCursor();
+        int numberOfNodes = result.getNumberOfNodes();
+        for (int n = 0; n < numberOfNodes; ++n) {
+            result.outgoingEdges(n, cursor);
+            while (cursor.next()) {
+                sum += cursor.nodeId() + cursor.typeId();
+            }
+        }
+        return sum;
+    }
+}
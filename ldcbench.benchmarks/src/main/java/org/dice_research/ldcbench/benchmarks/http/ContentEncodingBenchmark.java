@@ -0,0 +1,122 @@
+package org.dice_research.ldcbench.benchmarks.http;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.riot.Lang;
+import org.dice_research.ldcbench.benchmarks.BenchmarkGraphs;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.nodes.http.simple.GraphBasedResource;
+import org.dice_research.ldcbench.nodes.http.simple.ResponseCache;
+import org.dice_research.ldcbench.nodes.http.simple.SimpleHttpException;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CPU time and the number of bytes needed to answer requests for
+ * the documents of a {@link GraphBasedResource} with the different content
+ * encodings. With the response cache, every document is serialized and encoded
+ * only once, i.e., the benchmark mainly measures the copying of the cached
+ * (compressed) documents. The number of sent bytes and the number of requests
+ * of an iteration are reported as the secondary "bytes" and "requests"
+ * results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContentEncodingBenchmark {
+
+    private static final String[] URI_TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s" };
+
+    /**
+     * The name of the content encoding of the responses.
+     */
+    @Param({ "identity", "gzip", "deflate", "br" })
+    public String encodingName;
+
+    /**
+     * Whether the response cache is used.
+     */
+    @Param({ "false", "true" })
+    public boolean cached;
+
+    /**
+     * The number of nodes of the graph.
+     */
+    @Param({ "10000" })
+    public int numberOfNodes;
+
+    /**
+     * The average degree used to derive the number of edges.
+     */
+    @Param({ "20" })
+    public int averageDegree;
+
+    private GraphBasedResource resource;
+    private ContentEncoding encoding;
+    private String[] targets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoding = ContentEncoding.forName(encodingName);
+        if ((encoding == null) || !encoding.isAvailable()) {
+            throw new IllegalArgumentException("The encoding \"" + encodingName + "\" is not available.");
+        }
+        Graph graph = BenchmarkGraphs
+                .fillRandomGraph(new GrphBasedGraph(), numberOfNodes, numberOfNodes * averageDegree, 42L).build();
+        resource = new GraphBasedResource(0, URI_TEMPLATES, URI_TEMPLATES, new Graph[] { graph }, (r -> true),
+                new String[0]);
+        if (cached) {
+            resource.setResponseCache(new ResponseCache(1L << 30));
+        }
+        Random random = new Random(42);
+        targets = new String[1024];
+        for (int i = 0; i < targets.length; ++i) {
+            targets[i] = String.format(URI_TEMPLATES[0], "dataset", 0, "resource", random.nextInt(numberOfNodes));
+        }
+    }
+
+    /**
+     * Counts the requests and the bytes sent by a benchmark thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        private int next;
+        public long bytes;
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            requests = 0;
+        }
+    }
+
+    @Benchmark
+    public int request(Counters counters) throws SimpleHttpException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resource.handleRequest(targets[counters.next], Lang.TURTLE, encoding, out);
+        counters.next = (counters.next + 1) % targets.length;
+        counters.bytes += out.size();
+        ++counters.requests;
+        return out.size();
+    }
+}
@@ -0,0 +1,104 @@
+package org.dice_research.ldcbench.benchmarks.http;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.dice_research.ldcbench.nodes.http.simple.ContentNegotiator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.net.MediaType;
+
+/**
+ * Measures the time needed to select the content type of a response for Accept
+ * headers that are typically sent by crawlers and browsers. The available
+ * content types are the RDF serializations of Jena (as offered by the HTTP
+ * nodes). The linear matching parses every media range of the header and
+ * compares it with all available types (the way the types have been
+ * negotiated before the {@link ContentNegotiator} was introduced). The
+ * negotiator is measured with and without its cache of decisions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContentNegotiationBenchmark {
+
+    /**
+     * The Accept header of the request.
+     */
+    @Param({ "application/rdf+xml", "*/*",
+            "text/turtle,application/rdf+xml;q=0.9,application/n-triples;q=0.8,application/ld+json;q=0.7,*/*;q=0.1",
+            "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8" })
+    public String acceptHeader;
+
+    private MediaType[] availableTypes;
+    private String[] requestedTypes;
+    private ContentNegotiator cachingNegotiator;
+    private ContentNegotiator negotiator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Set<String> contentTypes = new LinkedHashSet<>();
+        for (Lang lang : RDFLanguages.getRegisteredLanguages()) {
+            if (!RDFLanguages.RDFNULL.equals(lang)) {
+                contentTypes.add(lang.getContentType().getContentType());
+                contentTypes.addAll(lang.getAltContentTypes());
+            }
+        }
+        String[] types = contentTypes.toArray(new String[contentTypes.size()]);
+        availableTypes = new MediaType[types.length];
+        for (int i = 0; i < types.length; ++i) {
+            availableTypes[i] = MediaType.parse(types[i]);
+        }
+        requestedTypes = acceptHeader.split(",");
+        cachingNegotiator = new ContentNegotiator(types);
+        negotiator = new ContentNegotiator(types, 0);
+    }
+
+    @Benchmark
+    public MediaType linearMatching() {
+        String typeString;
+        MediaType requestedType;
+        for (int i = 0; i < requestedTypes.length; ++i) {
+            typeString = requestedTypes[i];
+            if ("*".equals(typeString)) {
+                typeString = "*/*";
+            }
+            requestedType = MediaType.parse(typeString);
+            for (int j = 0; j < availableTypes.length; ++j) {
+                if (availableTypes[j].is(requestedType)) {
+                    return availableTypes[j];
+                }
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ContentNegotiator.NegotiatedType negotiator() {
+        return negotiator.negotiate(acceptHeader);
+    }
+
+    @Benchmark
+    public ContentNegotiator.NegotiatedType cachingNegotiator() {
+        // Every request comes with its own header string, i.e., its hash code has
+        // to be computed for the cache lookup
+        return cachingNegotiator.negotiate(new String(acceptHeader));
+    }
+}
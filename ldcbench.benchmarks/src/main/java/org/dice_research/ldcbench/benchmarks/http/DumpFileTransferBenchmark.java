@@ -0,0 +1,153 @@
+package org.dice_research.ldcbench.benchmarks.http;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.dice_research.ldcbench.nodes.http.simple.dump.DumpFileResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways a large dump file can be sent through a local socket. The
+ * copy loop reads the file through a {@link BufferedInputStream} and copies it
+ * into the output stream of the socket (the way the dump files were sent
+ * before). The other two benchmarks use
+ * {@link DumpFileResource#transfer(java.nio.channels.FileChannel, long, long, WritableByteChannel)}
+ * either with the socket channel itself (i.e., sendfile) or with a channel
+ * wrapping the socket (i.e., chunks read into a reused direct buffer, as with
+ * the channel of the Simple framework). A separate thread receives and
+ * discards the data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DumpFileTransferBenchmark {
+
+    /**
+     * The size of the dump file in MiB.
+     */
+    @Param({ "64", "512" })
+    public int fileSize;
+
+    private File dumpFile;
+    private long length;
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private Thread receiver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dumpFile = File.createTempFile("ldcbench-benchmark", ".dump");
+        byte[] chunk = new byte[1 << 20];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(dumpFile.toPath())) {
+            for (int i = 0; i < fileSize; ++i) {
+                out.write(chunk);
+            }
+        }
+        length = dumpFile.length();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("localhost", 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel receiving = server.accept();
+        receiver = new Thread(() -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+            try {
+                while (receiving.read(buffer) >= 0) {
+                    buffer.clear();
+                }
+            } catch (IOException e) {
+                // the socket has been closed
+            } finally {
+                IOUtils.closeQuietly(receiving);
+            }
+        });
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        client.close();
+        server.close();
+        receiver.join(1000);
+        dumpFile.delete();
+    }
+
+    /**
+     * Copies the file through the heap into the output stream of the socket.
+     */
+    @Benchmark
+    public void copyLoop() throws IOException {
+        OutputStream out = Channels.newOutputStream(client);
+        try (InputStream in = new BufferedInputStream(new FileInputStream(dumpFile))) {
+            IOUtils.copy(in, out);
+        }
+    }
+
+    /**
+     * Transfers the file directly to the socket channel.
+     */
+    @Benchmark
+    public void transferToSocket() throws IOException {
+        try (FileChannel file = FileChannel.open(dumpFile.toPath(), StandardOpenOption.READ)) {
+            DumpFileResource.transfer(file, 0, length, client);
+        }
+    }
+
+    /**
+     * Transfers the file to a channel which is not a socket channel.
+     */
+    @Benchmark
+    public void transferToChannel() throws IOException {
+        WritableByteChannel channel = new WritableByteChannel() {
+            @Override
+            public boolean isOpen() {
+                return client.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                client.close();
+            }
+
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                return client.write(src);
+            }
+        };
+        try (FileChannel file = FileChannel.open(dumpFile.toPath(), StandardOpenOption.READ)) {
+            DumpFileResource.transfer(file, 0, length, channel);
+        }
+    }
+}
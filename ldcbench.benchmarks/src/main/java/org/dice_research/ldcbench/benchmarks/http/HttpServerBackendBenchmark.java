@@ -0,0 +1,191 @@
+package org.dice_research.ldcbench.benchmarks.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.dice_research.ldcbench.benchmarks.BenchmarkGraphs;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.nodes.http.simple.CrawleableResourceContainer;
+import org.dice_research.ldcbench.nodes.http.simple.GraphBasedResource;
+import org.dice_research.ldcbench.nodes.http.simple.server.ElasticServerBackend;
+import org.dice_research.ldcbench.nodes.http.simple.server.HttpServerBackend;
+import org.dice_research.ldcbench.nodes.http.simple.server.SimpleServerBackend;
+import org.dice_research.ldcbench.rdf.UriHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A local load test of the HTTP server backends. A dereferencing node is
+ * started on a random local port. While an iteration runs, {@code connections
+ * - 1} background clients send requests for random resources without pausing.
+ * The benchmark thread is the last of the given number of connections and
+ * measures its own requests:
+ * <ul>
+ * <li>{@link #latency()} samples the time of single requests, i.e., the
+ * percentiles reported by JMH show how the tail latency develops with a
+ * growing number of connections.</li>
+ * <li>{@link #throughput()} counts the requests of the benchmark thread. Since
+ * all connections send the same kind of requests, the throughput of the server
+ * is roughly the score multiplied by the number of connections.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HttpServerBackendBenchmark {
+
+    /**
+     * The server backend that is benchmarked.
+     */
+    @Param({ "simple", "elastic" })
+    public String backendName;
+
+    /**
+     * The number of parallel connections of the client (including the
+     * connection of the benchmark thread).
+     */
+    @Param({ "1", "16", "128" })
+    public int connections;
+
+    /**
+     * The number of nodes of the served graph.
+     */
+    @Param({ "10000" })
+    public int numberOfNodes;
+
+    private HttpServerBackend backend;
+    private ExecutorService loadClients;
+    private List<Future<?>> loadFutures;
+    private volatile boolean loadRunning;
+    private String urlPrefix;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // HttpURLConnection keeps only 5 idle connections per server by default,
+        // i.e., the other clients would open a new connection for every request
+        System.setProperty("http.maxConnections", Integer.toString(connections));
+        Graph graph = BenchmarkGraphs.fillRandomGraph(new GrphBasedGraph(), numberOfNodes, numberOfNodes * 10, 42L)
+                .build();
+        switch (backendName) {
+        case "simple":
+            backend = new SimpleServerBackend();
+            break;
+        case "elastic":
+            backend = new ElasticServerBackend();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown server backend \"" + backendName + "\".");
+        }
+        // The templates are only used to create the URIs inside the documents
+        String[] templates = new String[] { "http://localhost/%s-%s/%s-%s" };
+        GraphBasedResource resource = new GraphBasedResource(0, templates, templates, new Graph[] { graph },
+                (r -> r.getTarget().contains(UriHelper.DATASET_KEY_WORD)), new String[] { "text/turtle" });
+        InetSocketAddress address = (InetSocketAddress) backend.start(new CrawleableResourceContainer(resource),
+                new InetSocketAddress("localhost", 0));
+        urlPrefix = "http://localhost:" + address.getPort() + "/" + UriHelper.DATASET_KEY_WORD + "-0/"
+                + UriHelper.RESOURCE_NODE_TYPE + "-";
+        loadClients = Executors.newFixedThreadPool(Math.max(1, connections - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        loadClients.shutdownNow();
+        backend.close();
+    }
+
+    /**
+     * Starts the background clients.
+     */
+    @Setup(Level.Iteration)
+    public void startLoad() {
+        loadRunning = true;
+        loadFutures = new ArrayList<>(connections - 1);
+        for (int i = 1; i < connections; ++i) {
+            final long seed = i;
+            loadFutures.add(loadClients.submit(() -> {
+                Random random = new Random(seed);
+                while (loadRunning) {
+                    request(urlPrefix + random.nextInt(numberOfNodes));
+                }
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Stops the background clients and makes sure that all of their requests
+     * have been answered successfully.
+     */
+    @TearDown(Level.Iteration)
+    public void stopLoad() throws Exception {
+        loadRunning = false;
+        for (Future<?> future : loadFutures) {
+            future.get();
+        }
+    }
+
+    /**
+     * Sends a single request while the background clients are running.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public long latency() throws IOException {
+        return request(urlPrefix + ThreadLocalRandom.current().nextInt(numberOfNodes));
+    }
+
+    /**
+     * Sends a single request while the background clients are running.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long throughput() throws IOException {
+        return request(urlPrefix + ThreadLocalRandom.current().nextInt(numberOfNodes));
+    }
+
+    /**
+     * Requests the given URL and returns the number of received bytes.
+     */
+    private static long request(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestProperty("Accept", "text/turtle");
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Got status " + connection.getResponseCode() + " for " + url);
+        }
+        long bytes = 0;
+        byte[] buffer = new byte[4096];
+        int read;
+        // read the complete response to make sure that the connection is reused
+        try (InputStream in = connection.getInputStream()) {
+            while ((read = in.read(buffer)) >= 0) {
+                bytes += read;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,219 @@
+package org.dice_research.ldcbench.benchmarks.http;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.nodes.http.simple.CrawleableResource;
+import org.dice_research.ldcbench.nodes.http.simple.DisallowedResource;
+import org.dice_research.ldcbench.nodes.http.simple.GraphBasedResource;
+import org.dice_research.ldcbench.nodes.http.simple.RequestRouter;
+import org.dice_research.ldcbench.nodes.http.simple.RobotsResource;
+import org.dice_research.ldcbench.nodes.http.simple.dump.DumpFileResource;
+import org.dice_research.ldcbench.rdf.UriHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.simpleframework.http.Path;
+import org.simpleframework.http.Request;
+import org.simpleframework.http.Response;
+import org.simpleframework.http.parse.PathParser;
+
+/**
+ * Measures the time needed to find the resource answering a request. The
+ * hosted resources are the ones of an HTTP node, i.e., the robots.txt, the
+ * disallowed resources, the resources of the graphs and a dump file. The
+ * resources are asked with their real predicates whether they answer a
+ * request. Only the answer itself is not written. The linear search asks the
+ * resources one after the other (in the same way the resources have been
+ * tested before the {@link RequestRouter} was introduced) while the router
+ * only asks the candidates of the path. The requests are a mix of 2%
+ * robots.txt, 5% disallowed resources, 3% dump file, 80% graph resources and
+ * 10% unknown paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RequestRoutingBenchmark {
+
+    /**
+     * The number of requests per invocation.
+     */
+    public static final int NUMBER_OF_REQUESTS = 1024;
+
+    private static final String[] URI_TEMPLATES = new String[] { "http://localhost/%s-%s/%s-%s" };
+    private static final String DUMP_PATH = "/dumpFile.ttl.gz";
+
+    /**
+     * The number of hosted graphs.
+     */
+    @Param({ "1", "10" })
+    public int numberOfGraphs;
+
+    /**
+     * The number of disallowed resources.
+     */
+    @Param({ "10", "1000" })
+    public int numberOfDisallowedPaths;
+
+    private CrawleableResource[] resources;
+    private RequestRouter router;
+    private Request[] requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Set<String> disallowedPaths = new HashSet<>();
+        for (int i = 0; i < numberOfDisallowedPaths; ++i) {
+            disallowedPaths.add(createGraphPath(0, 1000000 + i));
+        }
+        // The graphs are not used since the documents are not written
+        resources = new CrawleableResource[] { new BenchmarkRobotsResource(disallowedPaths),
+                new BenchmarkDisallowedResource(disallowedPaths),
+                new BenchmarkGraphBasedResource(new Graph[numberOfGraphs]), new BenchmarkDumpFileResource() };
+        router = new RequestRouter(resources);
+
+        String[] disallowed = disallowedPaths.toArray(new String[disallowedPaths.size()]);
+        Random random = new Random(42);
+        requests = new Request[NUMBER_OF_REQUESTS];
+        int type;
+        String target;
+        for (int i = 0; i < requests.length; ++i) {
+            type = random.nextInt(100);
+            if (type < 2) {
+                target = RobotsResource.ROBOTS_PATH;
+            } else if (type < 7) {
+                target = disallowed[random.nextInt(disallowed.length)];
+            } else if (type < 10) {
+                target = DUMP_PATH;
+            } else if (type < 90) {
+                target = createGraphPath(random.nextInt(numberOfGraphs), random.nextInt(1000000));
+            } else {
+                target = "/unknown-" + i;
+            }
+            requests[i] = createRequest(target);
+        }
+    }
+
+    private static String createGraphPath(int datasetId, int nodeId) {
+        return "/" + UriHelper.DATASET_KEY_WORD + "-" + datasetId + "/" + UriHelper.RESOURCE_NODE_TYPE + "-" + nodeId;
+    }
+
+    /**
+     * Creates a request that only offers the target and the path, which are
+     * the only parts of a request the predicates of the resources look at.
+     */
+    private static Request createRequest(String target) {
+        Path path = new PathParser(target);
+        return (Request) Proxy.newProxyInstance(Request.class.getClassLoader(), new Class<?>[] { Request.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getPath":
+                        return path;
+                    case "getTarget":
+                        return target;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Asks all resources until one of them answers the request.
+     */
+    @Benchmark
+    public void linearSearch(Blackhole blackhole) throws Exception {
+        for (int r = 0; r < requests.length; ++r) {
+            blackhole.consume(dispatch(resources, requests[r]));
+        }
+    }
+
+    /**
+     * Asks the candidates retrieved from the router until one of them answers
+     * the request.
+     */
+    @Benchmark
+    public void router(Blackhole blackhole) throws Exception {
+        for (int r = 0; r < requests.length; ++r) {
+            blackhole.consume(dispatch(router.route(requests[r].getPath().toString()), requests[r]));
+        }
+    }
+
+    private static int dispatch(CrawleableResource[] candidates, Request request) throws Exception {
+        int id = 0;
+        while ((id < candidates.length) && !candidates[id].handleRequest(request, null, null)) {
+            ++id;
+        }
+        return id;
+    }
+
+    /*
+     * The following resources only test their predicates instead of writing
+     * the answer.
+     */
+
+    private static class BenchmarkRobotsResource extends RobotsResource {
+        public BenchmarkRobotsResource(Set<String> disallowedPaths) {
+            super(disallowedPaths, 0);
+        }
+
+        @Override
+        public boolean handleRequest(Request request, Response response, OutputStream out) {
+            return predicate.test(request);
+        }
+    }
+
+    private static class BenchmarkDisallowedResource extends DisallowedResource {
+        public BenchmarkDisallowedResource(Set<String> disallowedPaths) {
+            super(disallowedPaths);
+        }
+
+        @Override
+        public boolean handleRequest(Request request, Response response, OutputStream out) {
+            return predicate.test(request);
+        }
+    }
+
+    private static class BenchmarkGraphBasedResource extends GraphBasedResource {
+        public BenchmarkGraphBasedResource(Graph[] graphs) {
+            // The same predicate as used by the SimpleHttpServerComponent
+            super(0, URI_TEMPLATES, URI_TEMPLATES, graphs,
+                    (r -> r.getTarget().contains(UriHelper.DATASET_KEY_WORD)
+                            && r.getTarget().contains(UriHelper.RESOURCE_NODE_TYPE)),
+                    new String[] { "text/turtle" });
+        }
+
+        @Override
+        public boolean handleRequest(Request request, Response response, OutputStream out) {
+            return predicate.test(request);
+        }
+    }
+
+    private static class BenchmarkDumpFileResource extends DumpFileResource {
+        public BenchmarkDumpFileResource() {
+            super(DUMP_PATH, "application/gzip", new File("dumpFile.ttl.gz"));
+        }
+
+        @Override
+        public boolean handleRequest(Request request, Response response, OutputStream out) {
+            return predicate.test(request);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.dice_research.ldcbench.benchmarks.rdf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.system.StreamOps;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.dice_research.ldcbench.benchmarks.BenchmarkGraphs;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.nodes.utils.RawTripleWriter;
+import org.dice_research.ldcbench.nodes.utils.TripleIterator;
+import org.dice_research.ldcbench.rdf.SimpleCachingTripleCreator;
+import org.dice_research.ldcbench.rdf.SimpleTripleCreator;
+import org.dice_research.ldcbench.rdf.TripleCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time needed to write the N-Triples document of a single
+ * resource the way a dereferencing HTTP node answers a request. The
+ * {@link RawTripleWriter} writes the bytes of the URIs directly while the
+ * triple creators create Jena triples that are serialized by Jena's streaming
+ * writer. Some of the nodes of the graph are external nodes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DocumentWritingBenchmark {
+
+    private static final String[] RESOURCE_URI_TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s",
+            "http://domain1.org/%s-%s/%s-%s" };
+    private static final String[] ACCESS_URI_TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s",
+            "http://domain1.org/%s-%s/%s-%s" };
+
+    /**
+     * The way the document is written: "raw" for the {@link RawTripleWriter},
+     * "simple" or "caching" for the respective triple creator and Jena's writer.
+     */
+    @Param({ "raw", "simple", "caching" })
+    public String writerName;
+
+    /**
+     * The number of nodes of the graph.
+     */
+    @Param({ "10000" })
+    public int numberOfNodes;
+
+    /**
+     * The average degree used to derive the number of edges.
+     */
+    @Param({ "20" })
+    public int averageDegree;
+
+    private Graph[] graphs;
+    private RawTripleWriter.Templates templates;
+    private TripleCreator creator;
+    private int[] requestedNodes;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GraphBuilder builder = BenchmarkGraphs.fillRandomGraph(new GrphBasedGraph(), numberOfNodes,
+                numberOfNodes * averageDegree, 42L);
+        // every 100th node is an external node
+        for (int n = 0; n < numberOfNodes; n += 100) {
+            builder.setGraphIdOfNode(n, 1, n);
+        }
+        graphs = new Graph[] { builder.build() };
+        switch (writerName) {
+        case "raw":
+            templates = RawTripleWriter.compileTemplates(0, RESOURCE_URI_TEMPLATES, ACCESS_URI_TEMPLATES);
+            break;
+        case "simple":
+            creator = new SimpleTripleCreator(0, RESOURCE_URI_TEMPLATES, ACCESS_URI_TEMPLATES);
+            break;
+        case "caching":
+            creator = new SimpleCachingTripleCreator(0, RESOURCE_URI_TEMPLATES, ACCESS_URI_TEMPLATES);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown writer \"" + writerName + "\".");
+        }
+        Random random = new Random(42);
+        requestedNodes = new int[1024];
+        for (int i = 0; i < requestedNodes.length; ++i) {
+            requestedNodes[i] = random.nextInt(numberOfNodes);
+        }
+    }
+
+    @Benchmark
+    public int writeDocument() throws IOException {
+        int nodeId = requestedNodes[next];
+        next = (next + 1) % requestedNodes.length;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (templates != null) {
+            RawTripleWriter writer = new RawTripleWriter(templates, out);
+            writer.writeTriples(graphs[0], nodeId);
+            writer.flush();
+        } else {
+            StreamRDF writerStream = StreamRDFWriter.getWriterStream(out, Lang.NTRIPLES);
+            writerStream.start();
+            StreamOps.sendTriplesToStream(new TripleIterator(graphs, creator, 0, nodeId), writerStream);
+            writerStream.finish();
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,122 @@
+package org.dice_research.ldcbench.benchmarks.rdf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dice_research.ldcbench.benchmarks.BenchmarkGraphs;
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.rdf.SimpleCachingTripleCreator;
+import org.dice_research.ldcbench.rdf.SimpleTripleCreator;
+import org.dice_research.ldcbench.rdf.TripleCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time the triple creators need to create the triples of all
+ * edges of a graph in the same way the nodes serve their data. Some of the
+ * nodes of the graph are external nodes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TripleCreationBenchmark {
+
+    private static final String[] RESOURCE_URI_TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s",
+            "http://domain1.org/%s-%s/%s-%s" };
+    private static final String[] ACCESS_URI_TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s",
+            "http://domain1.org/%s-%s/%s-%s" };
+
+    /**
+     * The triple creator that is benchmarked.
+     */
+    @Param({ "simple", "caching" })
+    public String creatorName;
+
+    /**
+     * The number of edges of the graph.
+     */
+    @Param({ "100000" })
+    public int numberOfEdges;
+
+    /**
+     * The average degree used to derive the number of nodes.
+     */
+    @Param({ "10" })
+    public int averageDegree;
+
+    private Graph graph;
+    /**
+     * Creator that is reused by all invocations (i.e., its cache is warm).
+     */
+    private TripleCreator creator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int numberOfNodes = numberOfEdges / averageDegree;
+        GraphBuilder builder = BenchmarkGraphs.fillRandomGraph(new GrphBasedGraph(), numberOfNodes, numberOfEdges,
+                42L);
+        // every 100th node is an external node
+        for (int n = 0; n < numberOfNodes; n += 100) {
+            builder.setGraphIdOfNode(n, 1, n);
+        }
+        graph = builder.build();
+        creator = createCreator();
+    }
+
+    private TripleCreator createCreator() {
+        switch (creatorName) {
+        case "simple":
+            return new SimpleTripleCreator(0, RESOURCE_URI_TEMPLATES, ACCESS_URI_TEMPLATES);
+        case "caching":
+            return new SimpleCachingTripleCreator(0, RESOURCE_URI_TEMPLATES, ACCESS_URI_TEMPLATES);
+        default:
+            throw new IllegalArgumentException("Unknown triple creator \"" + creatorName + "\".");
+        }
+    }
+
+    private void createTriples(TripleCreator tripleCreator, Blackhole blackhole) {
+        EdgeCursor cursor = new EdgeCursor();
+        int numberOfNodes = graph.getNumberOfNodes();
+        int target;
+        for (int n = 0; n < numberOfNodes; ++n) {
+            graph.outgoingEdges(n, cursor);
+            while (cursor.next()) {
+                target = cursor.nodeId();
+                blackhole.consume(tripleCreator.createTriple(n, cursor.typeId(), target,
+                        graph.getExternalNodeId(target), graph.getGraphId(target)));
+            }
+        }
+    }
+
+    /**
+     * Creates all triples with a creator that has been used before.
+     */
+    @Benchmark
+    public void createTriples(Blackhole blackhole) {
+        createTriples(creator, blackhole);
+    }
+
+    /**
+     * Creates all triples with a new creator, i.e., a cache has to be filled.
+     */
+    @Benchmark
+    public void createTriplesWithNewCreator(Blackhole blackhole) {
+        createTriples(createCreator(), blackhole);
+    }
+}
@@ -0,0 +1,246 @@
+package org.dice_research.ldcbench.benchmarks.report;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * A simple report of benchmark results that can be stored as tab-separated
+ * file and compared with the report of an earlier run (the baseline). Every line
+ * of the file contains the benchmark, its parameters, the mode, the score, the
+ * error of the score and the unit of the score. Lines starting with {@code #}
+ * are ignored.
+ */
+public class BenchmarkReport {
+
+    /**
+     * The header line of a report file.
+     */
+    public static final String HEADER = "# benchmark\tparams\tmode\tscore\terror\tunit";
+    /**
+     * The short label of the throughput mode. For all other modes, a lower score
+     * is better.
+     */
+    public static final String THROUGHPUT_MODE = "thrpt";
+
+    /**
+     * A single line of the report.
+     */
+    public static class Entry {
+        public final String benchmark;
+        public final String params;
+        public final String mode;
+        public final double score;
+        public final double error;
+        public final String unit;
+
+        public Entry(String benchmark, String params, String mode, double score, double error, String unit) {
+            this.benchmark = benchmark;
+            this.params = params;
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        /**
+         * @return the key of the entry that is used to find the same benchmark in a
+         *         different report
+         */
+        public String getKey() {
+            return benchmark + '\t' + params + '\t' + mode;
+        }
+
+        /**
+         * @return {@code true} if a higher score is better
+         */
+        public boolean isHigherBetter() {
+            return THROUGHPUT_MODE.equals(mode);
+        }
+
+        /**
+         * Returns the relative change of this entry's score compared to the given
+         * baseline entry. Positive values mean that this entry is worse than the
+         * baseline.
+         *
+         * @param baseline
+         *            the entry of the baseline
+         * @return the relative deterioration of the score
+         */
+        public double getDeterioration(Entry baseline) {
+            double difference = isHigherBetter() ? baseline.score - score : score - baseline.score;
+            return difference / baseline.score;
+        }
+
+        /**
+         * Checks whether this entry is worse than the given baseline entry by more
+         * than the given threshold. Differences that are smaller than the sum of
+         * both errors are seen as noise.
+         *
+         * @param baseline
+         *            the entry of the baseline
+         * @param threshold
+         *            the relative deterioration that is tolerated
+         * @return {@code true} if this entry is a regression
+         */
+        public boolean isRegression(Entry baseline, double threshold) {
+            double deterioration = getDeterioration(baseline);
+            return (deterioration > threshold)
+                    && ((deterioration * baseline.score) > (safeError(error) + safeError(baseline.error)));
+        }
+
+        private static double safeError(double error) {
+            return Double.isNaN(error) ? 0 : error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s\t%s\t%s\t%f\t%f\t%s", benchmark, params, mode, score, error, unit);
+        }
+    }
+
+    private final List<Entry> entries;
+
+    public BenchmarkReport(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Creates a report containing the primary results of the given JMH results.
+     *
+     * @param results
+     *            the results of a JMH run
+     * @return the report
+     */
+    public static BenchmarkReport create(Collection<RunResult> results) {
+        List<Entry> entries = new ArrayList<>(results.size());
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            StringBuilder paramString = new StringBuilder();
+            for (String key : new TreeSet<>(params.getParamsKeys())) {
+                if (paramString.length() > 0) {
+                    paramString.append(',');
+                }
+                paramString.append(key).append('=').append(params.getParam(key));
+            }
+            Result<?> primary = result.getPrimaryResult();
+            entries.add(new Entry(params.getBenchmark(), paramString.toString(), params.getMode().shortLabel(),
+                    primary.getScore(), primary.getScoreError(), primary.getScoreUnit()));
+        }
+        return new BenchmarkReport(entries);
+    }
+
+    /**
+     * Reads a report from the given file.
+     *
+     * @param file
+     *            the report file
+     * @return the report
+     * @throws IOException
+     *             if the file can not be read or has a wrong format
+     */
+    public static BenchmarkReport read(File file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                ++lineNumber;
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t", -1);
+                if (parts.length != 6) {
+                    throw new IOException("Line " + lineNumber + " of " + file + " does not have 6 columns.");
+                }
+                try {
+                    entries.add(new Entry(parts[0], parts[1], parts[2], Double.parseDouble(parts[3]),
+                            Double.parseDouble(parts[4]), parts[5]));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Line " + lineNumber + " of " + file + " contains an invalid number.", e);
+                }
+            }
+        }
+        return new BenchmarkReport(entries);
+    }
+
+    /**
+     * Writes this report to the given file.
+     *
+     * @param file
+     *            the file the report should be written to
+     * @throws IOException
+     *             if the file can not be written
+     */
+    public void write(File file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Entry entry : entries) {
+                writer.write(entry.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Prints a comparison of this report with the given baseline and returns the
+     * entries that are regressions. Regressions are marked with a {@code !}.
+     *
+     * @param baseline
+     *            the report of an earlier run or {@code null} if this report should
+     *            only be printed
+     * @param threshold
+     *            the relative deterioration that is tolerated
+     * @param out
+     *            the stream the comparison is printed to
+     * @return the entries of this report that are regressions
+     */
+    public List<Entry> compare(BenchmarkReport baseline, double threshold, PrintStream out) {
+        Map<String, Entry> baselineEntries = new HashMap<>();
+        if (baseline != null) {
+            for (Entry entry : baseline.entries) {
+                baselineEntries.put(entry.getKey(), entry);
+            }
+        }
+        List<Entry> regressions = new ArrayList<>();
+        out.println(String.format(Locale.US, "%-70s %-40s %6s %14s %12s %-8s %9s", "Benchmark", "Params", "Mode",
+                "Score", "Error", "Unit", "Change"));
+        for (Entry entry : entries) {
+            Entry baselineEntry = baselineEntries.get(entry.getKey());
+            String change = "";
+            if (baselineEntry != null) {
+                // the change of the score itself (independent of whether higher is better)
+                change = String.format(Locale.US, "%+.1f%%",
+                        100 * (entry.score - baselineEntry.score) / baselineEntry.score);
+                if (entry.isRegression(baselineEntry, threshold)) {
+                    regressions.add(entry);
+                    change += " !";
+                }
+            }
+            out.println(String.format(Locale.US, "%-70s %-40s %6s %14.3f %12.3f %-8s %9s", entry.benchmark,
+                    entry.params, entry.mode, entry.score, entry.error, entry.unit, change));
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,97 @@
+package org.dice_research.ldcbench.benchmarks.report;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, writes a {@link BenchmarkReport} and compares it with a
+ * baseline report. The process exits with status 1 if at least one benchmark
+ * is worse than in the baseline, which makes it possible to catch regressions
+ * before a run on the HOBBIT platform. Usage:
+ *
+ * <pre>
+ * java -cp benchmarks.jar org.dice_research.ldcbench.benchmarks.report.ReportRunner \
+ *     [-o report.tsv] [-b baseline.tsv] [-t 0.1] [-quick] [benchmark regex ...]
+ * </pre>
+ *
+ * <ul>
+ * <li>{@code -o} the file the report is written to (default:
+ * {@value #DEFAULT_REPORT_FILE})</li>
+ * <li>{@code -b} the report of an earlier run the results are compared
+ * with</li>
+ * <li>{@code -t} the relative deterioration that is tolerated (default:
+ * {@value #DEFAULT_THRESHOLD})</li>
+ * <li>{@code -quick} runs only a single warmup and measurement iteration</li>
+ * <li>the remaining arguments are regular expressions selecting the
+ * benchmarks (default: all benchmarks of this module)</li>
+ * </ul>
+ */
+public class ReportRunner {
+
+    public static final String DEFAULT_REPORT_FILE = "benchmark-report.tsv";
+    public static final double DEFAULT_THRESHOLD = 0.1;
+
+    public static void main(String[] args) throws Exception {
+        File reportFile = new File(DEFAULT_REPORT_FILE);
+        File baselineFile = null;
+        double threshold = DEFAULT_THRESHOLD;
+        boolean quick = false;
+        List<String> includes = new ArrayList<>();
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+            case "-o":
+                reportFile = new File(getValue(args, ++i));
+                break;
+            case "-b":
+                baselineFile = new File(getValue(args, ++i));
+                break;
+            case "-t":
+                threshold = Double.parseDouble(getValue(args, ++i));
+                break;
+            case "-quick":
+                quick = true;
+                break;
+            default:
+                includes.add(args[i]);
+                break;
+            }
+        }
+        if (includes.isEmpty()) {
+            includes.add("org\\.dice_research\\.ldcbench\\.benchmarks\\..*");
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().shouldFailOnError(true);
+        for (String include : includes) {
+            options.include(include);
+        }
+        if (quick) {
+            options.warmupIterations(1).measurementIterations(1);
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        BenchmarkReport report = BenchmarkReport.create(results);
+        report.write(reportFile);
+        BenchmarkReport baseline = (baselineFile != null) ? BenchmarkReport.read(baselineFile) : null;
+        List<BenchmarkReport.Entry> regressions = report.compare(baseline, threshold, System.out);
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " benchmark(s) are more than " + (threshold * 100)
+                    + "% worse than the baseline.");
+            System.exit(1);
+        }
+    }
+
+    private static String getValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("The option " + args[index - 1] + " needs a value.");
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,137 @@
+package org.dice_research.ldcbench.benchmarks.report;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dice_research.ldcbench.benchmarks.report.BenchmarkReport.Entry;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BenchmarkReportTest {
+
+    private static final String AVERAGE_TIME_MODE = "avgt";
+
+    private static Entry entry(String mode, double score, double error) {
+        return new Entry("org.example.Benchmark.method", "size=10", mode, score, error, "us/op");
+    }
+
+    @Test
+    public void testRegressionLowerIsBetter() {
+        Entry baseline = entry(AVERAGE_TIME_MODE, 100, 1);
+        Assert.assertTrue("15% slower", entry(AVERAGE_TIME_MODE, 115, 1).isRegression(baseline, 0.1));
+        Assert.assertFalse("5% slower", entry(AVERAGE_TIME_MODE, 105, 1).isRegression(baseline, 0.1));
+        Assert.assertFalse("Exactly at the threshold", entry(AVERAGE_TIME_MODE, 110, 1).isRegression(baseline, 0.1));
+        Assert.assertFalse("Faster", entry(AVERAGE_TIME_MODE, 50, 1).isRegression(baseline, 0.1));
+        Assert.assertTrue("15% slower with a lower threshold",
+                entry(AVERAGE_TIME_MODE, 115, 1).isRegression(baseline, 0.05));
+    }
+
+    @Test
+    public void testRegressionHigherIsBetter() {
+        Entry baseline = entry(BenchmarkReport.THROUGHPUT_MODE, 100, 1);
+        Assert.assertTrue("15% less throughput",
+                entry(BenchmarkReport.THROUGHPUT_MODE, 85, 1).isRegression(baseline, 0.1));
+        Assert.assertFalse("5% less throughput",
+                entry(BenchmarkReport.THROUGHPUT_MODE, 95, 1).isRegression(baseline, 0.1));
+        Assert.assertFalse("More throughput",
+                entry(BenchmarkReport.THROUGHPUT_MODE, 150, 1).isRegression(baseline, 0.1));
+    }
+
+    @Test
+    public void testRegressionWithinErrors() {
+        Entry baseline = entry(AVERAGE_TIME_MODE, 100, 10);
+        // the difference of 15 is smaller than the sum of both errors
+        Assert.assertFalse("Difference within the errors",
+                entry(AVERAGE_TIME_MODE, 115, 10).isRegression(baseline, 0.1));
+        Assert.assertTrue("Difference larger than the errors",
+                entry(AVERAGE_TIME_MODE, 125, 10).isRegression(baseline, 0.1));
+        // unknown errors (e.g., of a single iteration) are treated as 0
+        Assert.assertTrue("Unknown errors", entry(AVERAGE_TIME_MODE, 115, Double.NaN)
+                .isRegression(entry(AVERAGE_TIME_MODE, 100, Double.NaN), 0.1));
+    }
+
+    @Test
+    public void testCompare() {
+        BenchmarkReport baseline = new BenchmarkReport(Arrays.asList(entry(AVERAGE_TIME_MODE, 100, 1),
+                new Entry("org.example.Benchmark.other", "", AVERAGE_TIME_MODE, 100, 1, "us/op")));
+        Entry slower = entry(AVERAGE_TIME_MODE, 150, 1);
+        Entry faster = new Entry("org.example.Benchmark.other", "", AVERAGE_TIME_MODE, 50, 1, "us/op");
+        // a benchmark that is not part of the baseline can not be a regression
+        Entry unknown = new Entry("org.example.Benchmark.method", "size=20", AVERAGE_TIME_MODE, 500, 1, "us/op");
+        BenchmarkReport report = new BenchmarkReport(Arrays.asList(slower, faster, unknown));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Entry> regressions = report.compare(baseline, 0.1, new PrintStream(out));
+        Assert.assertEquals("Regressions", Arrays.asList(slower), regressions);
+        Assert.assertTrue("The regression is marked", out.toString().contains("+50.0% !"));
+        Assert.assertTrue("No regressions without baseline",
+                report.compare(null, 0.1, new PrintStream(new ByteArrayOutputStream())).isEmpty());
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        BenchmarkReport report = new BenchmarkReport(Arrays.asList(entry(AVERAGE_TIME_MODE, 123.456, 1.5),
+                new Entry("org.example.Benchmark.other", "", BenchmarkReport.THROUGHPUT_MODE, 42, Double.NaN,
+                        "ops/s")));
+        File file = File.createTempFile("report", ".tsv");
+        try {
+            report.write(file);
+            BenchmarkReport read = BenchmarkReport.read(file);
+            Assert.assertEquals("Number of entries", report.getEntries().size(), read.getEntries().size());
+            for (int i = 0; i < report.getEntries().size(); ++i) {
+                Entry expected = report.getEntries().get(i);
+                Entry actual = read.getEntries().get(i);
+                Assert.assertEquals("Key of entry " + i, expected.getKey(), actual.getKey());
+                Assert.assertEquals("Score of entry " + i, expected.score, actual.score, 0.000001);
+                Assert.assertEquals("Error of entry " + i, expected.error, actual.error, 0.000001);
+                Assert.assertEquals("Unit of entry " + i, expected.unit, actual.unit);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testReadSkipsComments() throws IOException {
+        File file = File.createTempFile("report", ".tsv");
+        try {
+            Files.write(file.toPath(), Arrays.asList(BenchmarkReport.HEADER, "",
+                    "org.example.Benchmark.method\tsize=10\tavgt\t1.5\t0.1\tus/op"), StandardCharsets.UTF_8);
+            BenchmarkReport read = BenchmarkReport.read(file);
+            Assert.assertEquals("Number of entries", 1, read.getEntries().size());
+            Assert.assertEquals("Score", 1.5, read.getEntries().get(0).score, 0.000001);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadWrongNumberOfColumns() throws IOException {
+        File file = File.createTempFile("report", ".tsv");
+        try {
+            Files.write(file.toPath(), Arrays.asList("org.example.Benchmark.method\tavgt\t1.5"),
+                    StandardCharsets.UTF_8);
+            BenchmarkReport.read(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadInvalidScore() throws IOException {
+        File file = File.createTempFile("report", ".tsv");
+        try {
+            Files.write(file.toPath(), Arrays.asList("org.example.Benchmark.method\tsize=10\tavgt\tfast\t0.1\tus/op"),
+                    StandardCharsets.UTF_8);
+            BenchmarkReport.read(file);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -60,6 +60,8 @@ import org.dice_research.ldcbench.benchmark.node.NodeSizeDeterminerFactory;
 import org.dice_research.ldcbench.data.NodeMetadata;
 import org.dice_research.ldcbench.generate.SeedGenerator;
 import org.dice_research.ldcbench.generate.SequentialSeedGenerator;
+import org.dice_research.ldcbench.generate.seed.MinimalSeedSearcher;
+import org.dice_research.ldcbench.generate.seed.SeedSearcher;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.rdf.SimpleTripleCreator;
 import org.dice_research.ldcbench.utils.CloseableHelper;
@@ -119,6 +121,10 @@ public class BenchmarkController extends AbstractBenchmarkController {
     protected NodeMetadata[] nodeMetadata = null;
     protected Map<String, NodeMetadata> nodeContainerMap = new HashMap<>();
     private Graph nodeGraph;
+    /**
+     * The searcher used to determine the seed nodes within the node graph.
+     */
+    protected SeedSearcher seedSearcher = new MinimalSeedSearcher();
 
     protected List<String> dotlangLines = Collections.synchronizedList(new ArrayList<>());
 
@@ -222,6 +228,10 @@ public class BenchmarkController extends AbstractBenchmarkController {
                 .getInt();
         double httpDumpNodeCompressedRatio = RdfHelper
                 .getLiteral(benchmarkParamModel, null, LDCBench.httpDumpNodeCompressedRatio).getDouble();
+        // 0 lets the data generators use all available processors
+        Literal dataGeneratorThreadsLiteral = RdfHelper.getLiteral(benchmarkParamModel, null,
+                LDCBench.dataGeneratorThreads);
+        int dataGeneratorThreads = dataGeneratorThreadsLiteral != null ? dataGeneratorThreadsLiteral.getInt() : 0;
 
         /*
          * Determine the number of components which will make use of a random number
@@ -432,7 +442,8 @@ public class BenchmarkController extends AbstractBenchmarkController {
                         ApiConstants.ENV_COMPONENT_COUNT_KEY + "=" + componentCount,
                         ApiConstants.ENV_COMPONENT_ID_KEY + "=" + componentId++,
                         DataGenerator.ENV_ACCESS_URI_TEMPLATES_KEY + "=" + serializedAccessUris,
-                        DataGenerator.ENV_RESOURCE_URI_TEMPLATES_KEY + "=" + serializedResourceUris, },
+                        DataGenerator.ENV_RESOURCE_URI_TEMPLATES_KEY + "=" + serializedResourceUris,
+                        DataGenerator.ENV_NUMBER_OF_THREADS_KEY + "=" + dataGeneratorThreads, },
                         nodeManagers.get(i).getDataGeneratorEnvironment(averageRdfGraphDegree,
                                 nodeSizeDeterminer.getNodeSize()));
                 createDataGenerator(nodeManagers.get(i), envVariables);
@@ -542,7 +553,8 @@ public class BenchmarkController extends AbstractBenchmarkController {
                 addNodeToSeed(seedURIs, node);
             }
         } else {
-            int[] entranceNodes = g.getEntranceNodes();
+            // use the smallest set of nodes from which all other nodes can be reached
+            int[] entranceNodes = seedSearcher.searchSeedNodes(g);
             for (int node : entranceNodes) {
                 addNodeToSeed(seedURIs, node);
             }
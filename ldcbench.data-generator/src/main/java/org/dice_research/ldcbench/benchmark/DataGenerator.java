@@ -1,10 +1,15 @@
 package org.dice_research.ldcbench.benchmark;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -15,17 +20,20 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.dice_research.ldcbench.ApiConstants;
+import org.dice_research.ldcbench.generate.ChunkedBarabasiRDF;
 import org.dice_research.ldcbench.generate.GraphGenerator;
 import org.dice_research.ldcbench.generate.RandomCloudGraph;
 import org.dice_research.ldcbench.generate.RandomRDF;
 import org.dice_research.ldcbench.generate.SeedGenerator;
 import org.dice_research.ldcbench.generate.SequentialSeedGenerator;
+import org.dice_research.ldcbench.generate.sample.SamplingMode;
+import org.dice_research.ldcbench.graph.CSRGraphBuilder;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.graph.GraphBuilder;
 import org.dice_research.ldcbench.graph.GraphMetadata;
-import org.dice_research.ldcbench.graph.GrphBasedGraph;
-import org.dice_research.ldcbench.graph.serialization.DumbSerializer;
+import org.dice_research.ldcbench.graph.serialization.MappedGraphSerializer;
 import org.dice_research.ldcbench.graph.serialization.SerializationHelper;
+import org.dice_research.ldcbench.graph.serialization.Serializer;
 import org.hobbit.core.components.AbstractDataGenerator;
 import org.hobbit.core.rabbit.SimpleFileSender;
 import org.hobbit.utils.EnvVariables;
@@ -55,6 +63,31 @@ public class DataGenerator extends AbstractDataGenerator {
     public static final String ENV_TYPECONNECTIVITY_KEY = "LDCBENCH_DATAGENERATOR_TYPECONNECTIVITY";
     public static final String ENV_ACCESS_URI_TEMPLATES_KEY = "ACCESS_URI_TEMPLATES";
     public static final String ENV_RESOURCE_URI_TEMPLATES_KEY = "RESOURCE_URI_TEMPLATES";
+    /**
+     * Name of the serializer class that is used to send the final graph to the
+     * node and the evaluation module. Choose {@link MappedGraphSerializer} to let
+     * them map the graph file instead of deserializing it into the heap.
+     */
+    public static final String ENV_SERIALIZER_KEY = "LDCBENCH_DATAGENERATOR_SERIALIZER";
+    /**
+     * Name of the {@link SamplingMode} used by the graph generators. The default
+     * {@link SamplingMode#COMPATIBLE} generates the same graphs for the same seed
+     * as previous versions.
+     */
+    public static final String ENV_SAMPLING_MODE_KEY = "LDCBENCH_DATAGENERATOR_SAMPLING_MODE";
+    /**
+     * Name of the {@link RDFGeneratorTypes} used to generate the RDF graph. The
+     * default {@link RDFGeneratorTypes#RANDOM_RDF} generates the same graphs for
+     * the same seed as previous versions.
+     */
+    public static final String ENV_RDF_GENERATOR_KEY = "LDCBENCH_DATAGENERATOR_RDF_GENERATOR";
+    /**
+     * Number of threads used by the generators that support multiple threads
+     * ({@link RDFGeneratorTypes#CHUNKED_BARABASI_RDF}). Values &lt;= 0 (default)
+     * lead to one thread per available processor. The number of threads does not
+     * change the generated graph.
+     */
+    public static final String ENV_NUMBER_OF_THREADS_KEY = "LDCBENCH_DATAGENERATOR_THREADS";
 
     /**
      * Types of data generator instances.
@@ -65,6 +98,23 @@ public class DataGenerator extends AbstractDataGenerator {
         NODE_GRAPH_GENERATOR, RDF_GRAPH_GENERATOR
     };
 
+    /**
+     * Generators that can be used to generate the RDF graph.
+     */
+    public static enum RDFGeneratorTypes {
+        /**
+         * The sequential {@link RandomRDF} generator. It uses the configured
+         * {@link SamplingMode}.
+         */
+        RANDOM_RDF,
+        /**
+         * The parallel {@link ChunkedBarabasiRDF} generator, which generates the
+         * same graph for a given seed independently of the number of threads. It
+         * does not use a weighted sampler, i.e., there is no sampling mode.
+         */
+        CHUNKED_BARABASI_RDF
+    };
+
     /**
      * Semaphore used to synchronize the data generators (i.e., the data generators
      * waits until all other generators are ready as well).
@@ -91,7 +141,32 @@ public class DataGenerator extends AbstractDataGenerator {
      * Serializer class used to serialize graphs for transmission. TODO this should
      * be received via dependency injection.
      */
-    protected static final Class<DumbSerializer> SERIALIZER_CLASS = DumbSerializer.class;
+    protected static final Class<? extends Serializer> SERIALIZER_CLASS = SerializationHelper.DEFAULT_SERIALIZER_CLASS;
+    /**
+     * Serializer class used to serialize the final graph. It can be set via
+     * {@link #ENV_SERIALIZER_KEY} and defaults to {@link #SERIALIZER_CLASS}.
+     */
+    protected Class<? extends Serializer> finalGraphSerializerClass = SERIALIZER_CLASS;
+    /**
+     * The sampling mode of the graph generators. It can be set via
+     * {@link #ENV_SAMPLING_MODE_KEY}.
+     */
+    protected SamplingMode samplingMode = SamplingMode.COMPATIBLE;
+    /**
+     * Whether the sampling mode has been set explicitly via
+     * {@link #ENV_SAMPLING_MODE_KEY}.
+     */
+    protected boolean samplingModeSet = false;
+    /**
+     * The generator used to generate the RDF graph. It can be set via
+     * {@link #ENV_RDF_GENERATOR_KEY}.
+     */
+    protected RDFGeneratorTypes rdfGeneratorType = RDFGeneratorTypes.RANDOM_RDF;
+    /**
+     * The number of threads used by generators that support multiple threads. It
+     * can be set via {@link #ENV_NUMBER_OF_THREADS_KEY}.
+     */
+    protected int numberOfThreads = Runtime.getRuntime().availableProcessors();
     /**
      * Logger used for logging. It is created at runtime to add information about
      * the data generator.
@@ -201,6 +276,14 @@ public class DataGenerator extends AbstractDataGenerator {
     protected void addInterlinks(GraphBuilder g) {
         int numberOfInternalNodes = g.getNumberOfNodes();
         Random random = new Random(seedGenerator.getNextSeed());
+        // add one new node per linked graph
+        int firstExternalNode = g.addNodes(rdfMetadata.size())[0];
+        int[] externalNodes = new int[rdfMetadata.size()];
+        int[] targetNodeGraphs = new int[externalNodes.length];
+        int[] entrancesInTargetGraphs = new int[externalNodes.length];
+        int[] nodesWithOutgoingLink = new int[externalNodes.length];
+        int[] propertyIds = new int[externalNodes.length];
+        int externalNodeCount = 0;
         for (Map.Entry<Integer, GraphMetadata> entry : rdfMetadata.entrySet()) {
             int targetNodeGraph = entry.getKey();
 //            GraphMetadata gm = entry.getValue();
@@ -213,33 +296,51 @@ public class DataGenerator extends AbstractDataGenerator {
 //            }
             // get node in target graph
             int entranceInTargetGraph = 0;// FIXME use gm.entranceNodes[random.nextInt(gm.entranceNodes.length)];
-            // add a new node
-            int externalNode = g.addNode();
-            g.setGraphIdOfNode(externalNode, targetNodeGraph, entranceInTargetGraph);
+            int externalNode = firstExternalNode + externalNodeCount;
+            externalNodes[externalNodeCount] = externalNode;
+            targetNodeGraphs[externalNodeCount] = targetNodeGraph;
+            entrancesInTargetGraphs[externalNodeCount] = entranceInTargetGraph;
 
             // FIXME don't always use edge type 0
             int propertyId = 0;
-            g.addEdge(nodeWithOutgoingLink, externalNode, propertyId);
-            LOGGER.debug("Added the edge ({}, {}, {}) where the target is node {} in graph {}.", nodeWithOutgoingLink,
+            nodesWithOutgoingLink[externalNodeCount] = nodeWithOutgoingLink;
+            propertyIds[externalNodeCount] = propertyId;
+            ++externalNodeCount;
+            LOGGER.debug("Adding the edge ({}, {}, {}) where the target is node {} in graph {}.", nodeWithOutgoingLink,
                     propertyId, externalNode, entranceInTargetGraph, targetNodeGraph);
         }
+        // The targets are new nodes, i.e., the edges can not exist already
+        g.addEdges(nodesWithOutgoingLink, externalNodes, propertyIds, externalNodeCount, false);
+        g.setGraphIdsOfNodes(externalNodes, targetNodeGraphs, entrancesInTargetGraphs);
     }
 
     protected void sendFinalGraph(Graph g) throws Exception {
-        byte[] data = SerializationHelper.serialize(SERIALIZER_CLASS, g);
         String name = String.format("graph-%0" + (int) Math.ceil(Math.log10(getNumberOfGenerators() + 1)) + "d"
                 + ApiConstants.FILE_ENDING_GRAPH, getNodeId());
 
-        // TODO: Use RabbitMQ exchange to send the data (SimpleFileSender doesn't
-        // support that)
-        try (InputStream is = new ByteArrayInputStream(data);
-                SimpleFileSender dataSender = SimpleFileSender.create(outgoingDataQueuefactory, dataQueueName);) {
-            dataSender.streamData(is, name);
-        }
+        // Write the graph into a temporary file which is streamed to both queues.
+        // This avoids keeping several copies of the serialized graph in memory.
+        File graphFile = File.createTempFile("graph-", ApiConstants.FILE_ENDING_GRAPH);
+        try {
+            try (OutputStream os = new BufferedOutputStream(new FileOutputStream(graphFile))) {
+                SerializationHelper.serialize(finalGraphSerializerClass, g, os);
+            }
 
-        try (InputStream is = new ByteArrayInputStream(data);
-                SimpleFileSender dataSender = SimpleFileSender.create(outgoingDataQueuefactory, evalDataQueueName);) {
-            dataSender.streamData(is, name);
+            // TODO: Use RabbitMQ exchange to send the data (SimpleFileSender doesn't
+            // support that)
+            try (InputStream is = new BufferedInputStream(new FileInputStream(graphFile));
+                    SimpleFileSender dataSender = SimpleFileSender.create(outgoingDataQueuefactory, dataQueueName);) {
+                dataSender.streamData(is, name);
+            }
+
+            try (InputStream is = new BufferedInputStream(new FileInputStream(graphFile));
+                    SimpleFileSender dataSender = SimpleFileSender.create(outgoingDataQueuefactory, evalDataQueueName);) {
+                dataSender.streamData(is, name);
+            }
+        } finally {
+            if (!graphFile.delete()) {
+                LOGGER.warn("Couldn't delete temporary graph file {}.", graphFile);
+            }
         }
     }
 
@@ -256,7 +357,9 @@ public class DataGenerator extends AbstractDataGenerator {
                 .map(Boolean::parseBoolean).toArray(Boolean[]::new));
         int[][] typeconnectivity = Stream.of(EnvVariables.getString(ENV_TYPECONNECTIVITY_KEY).split(";"))
                 .map(s -> Stream.of(s.split(",")).mapToInt(Integer::parseInt).toArray()).toArray(int[][]::new);
-        return new RandomCloudGraph("Graph " + generatorId, nodetypes, 0, typeconnectivity);
+        RandomCloudGraph graphGenerator = new RandomCloudGraph("Graph " + generatorId, nodetypes, 0, typeconnectivity);
+        graphGenerator.setSamplingMode(samplingMode);
+        return graphGenerator;
     }
 
     /**
@@ -266,7 +369,21 @@ public class DataGenerator extends AbstractDataGenerator {
      * @return the {@link GraphGenerator} instance used to generated the RDF graph
      */
     protected GraphGenerator createRDFGraphGenerator() {
-        return new RandomRDF("Graph " + generatorId);
+        switch (rdfGeneratorType) {
+        case CHUNKED_BARABASI_RDF: {
+            if (samplingModeSet) {
+                LOGGER.warn("The {} generator does not use a weighted sampler. The sampling mode {} has no effect.",
+                        rdfGeneratorType, samplingMode);
+            }
+            return new ChunkedBarabasiRDF("Graph " + generatorId, numberOfThreads);
+        }
+        case RANDOM_RDF: // falls through
+        default: {
+            RandomRDF graphGenerator = new RandomRDF("Graph " + generatorId);
+            graphGenerator.setSamplingMode(samplingMode);
+            return graphGenerator;
+        }
+        }
     }
 
     @Override
@@ -288,15 +405,31 @@ public class DataGenerator extends AbstractDataGenerator {
         numberOfNodes = EnvVariables.getInt(ENV_NUMBER_OF_NODES_KEY, 0);
         avgDegree = Double.parseDouble(EnvVariables.getString(ENV_AVERAGE_DEGREE_KEY));
         numberOfEdges = EnvVariables.getInt(ENV_NUMBER_OF_EDGES_KEY, 0);
+        String samplingModeName = EnvVariables.getString(ENV_SAMPLING_MODE_KEY, (String) null);
+        samplingModeSet = samplingModeName != null;
+        if (samplingModeSet) {
+            samplingMode = SamplingMode.valueOf(samplingModeName);
+        }
+        rdfGeneratorType = RDFGeneratorTypes
+                .valueOf(EnvVariables.getString(ENV_RDF_GENERATOR_KEY, RDFGeneratorTypes.RANDOM_RDF.name()));
+        int threads = EnvVariables.getInt(ENV_NUMBER_OF_THREADS_KEY, 0);
+        if (threads > 0) {
+            numberOfThreads = threads;
+        }
 
-        LOGGER.info("Seed: {}; number of nodes: {}, average degree: {}, number of edges: {}", seed, numberOfNodes,
-                avgDegree, numberOfEdges);
+        LOGGER.info(
+                "Seed: {}; number of nodes: {}, average degree: {}, number of edges: {}, sampling mode: {}, RDF generator: {}, threads: {}",
+                seed, numberOfNodes, avgDegree, numberOfEdges, samplingMode, rdfGeneratorType, numberOfThreads);
 
         // BenchmarkController and DataGenerators communication
         dataGeneratorsExchange = EnvVariables.getString(ENV_DATAGENERATOR_EXCHANGE_KEY);
         dataGeneratorsChannel = cmdQueueFactory.getConnection().createChannel();
 
         if (type == Types.RDF_GRAPH_GENERATOR) {
+            String serializerName = EnvVariables.getString(ENV_SERIALIZER_KEY, SERIALIZER_CLASS.getName());
+            finalGraphSerializerClass = Class.forName(serializerName).asSubclass(Serializer.class);
+            LOGGER.info("Using {} to serialize the final graph.", finalGraphSerializerClass.getSimpleName());
+
             accessUriTemplates = parseStringArray(EnvVariables.getString(ENV_ACCESS_URI_TEMPLATES_KEY, LOGGER));
             resourceUriTemplates = parseStringArray(EnvVariables.getString(ENV_RESOURCE_URI_TEMPLATES_KEY, LOGGER));
 
@@ -321,7 +454,9 @@ public class DataGenerator extends AbstractDataGenerator {
             generator = createRDFGraphGenerator();
         }
 
-        GraphBuilder graph = new GrphBasedGraph();
+        // The generators add their edges in bulk, so collecting them in arrays
+        // is much cheaper than maintaining an adjacency structure
+        GraphBuilder graph = new CSRGraphBuilder();
 
         if (type == Types.NODE_GRAPH_GENERATOR) {
             nodeGraph = graph;
@@ -352,11 +487,10 @@ public class DataGenerator extends AbstractDataGenerator {
 
         if (type == Types.NODE_GRAPH_GENERATOR) {
             // Broadcast our graph.
-            byte[] data = SerializationHelper.serialize(SERIALIZER_CLASS, nodeGraph);
-            ByteBuffer buf = ByteBuffer.allocate(header.capacity() + data.length);
-            buf.put(header.array());
-            buf.put(data);
-            dataGeneratorsChannel.basicPublish(dataGeneratorsExchange, "", null, buf.array());
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            buf.write(header.array(), 0, header.capacity());
+            SerializationHelper.serialize(SERIALIZER_CLASS, nodeGraph, buf);
+            dataGeneratorsChannel.basicPublish(dataGeneratorsExchange, "", null, buf.toByteArray());
         } else {
             // Broadcast our graph's metadata.
             GraphMetadata gm = new GraphMetadata();
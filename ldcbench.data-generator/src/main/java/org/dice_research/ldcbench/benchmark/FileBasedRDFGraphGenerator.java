@@ -21,6 +21,7 @@ public class FileBasedRDFGraphGenerator extends DataGenerator {
         String fileLocation = EnvVariables.getString(RDF_FILE_LOCATION_KEY, LOGGER);
         String fileLang = EnvVariables.getString(RDF_FILE_LANG_KEY, LOGGER);
         LOGGER.info("Loading data from \"{}\" using the \"{}\" serialization...", fileLocation, fileLang);
-        return new FileBasedGraphGenerator(fileLocation, "", fileLang);
+        // the threads of the data generator are used to search the seed nodes
+        return new FileBasedGraphGenerator(fileLocation, "", fileLang, Math.max(1, numberOfThreads));
     }
 }
@@ -2,7 +2,6 @@ package org.dice_research.ldcbench.benchmark.eval.supplier.graph;
 
 import java.io.File;
 
-import org.apache.commons.io.FileUtils;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.graph.serialization.SerializationHelper;
 import org.slf4j.Logger;
@@ -31,7 +30,7 @@ public class FileBasedGraphSupplier implements GraphSupplier {
     @Override
     public Graph getGraph(int id) {
         try {
-            return SerializationHelper.deserialize(FileUtils.readFileToByteArray(new File(graphFiles[id])));
+            return SerializationHelper.load(new File(graphFiles[id]));
         } catch (Exception e) {
             LOGGER.error("Couldn't load graph #" + id + ". Returning null.", e);
         }
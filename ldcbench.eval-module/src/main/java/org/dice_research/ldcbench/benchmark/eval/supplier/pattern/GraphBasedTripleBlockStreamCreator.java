@@ -5,7 +5,6 @@ import java.util.Arrays;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.jena.sparql.syntax.ElementTriplesBlock;
 import org.dice_research.ldcbench.ApiConstants;
 import org.dice_research.ldcbench.benchmark.eval.sparql.CkanQueryPatternCreator;
@@ -29,7 +28,7 @@ public class GraphBasedTripleBlockStreamCreator implements TripleBlockStreamCrea
     public Stream<ElementTriplesBlock> createStream(int graphId, String graphFile, String[] resourceUriTemplates,
             String[] accessUriTemplates) {
         try {
-            Graph graph = SerializationHelper.deserialize(FileUtils.readFileToByteArray(new File(graphFile)));
+            Graph graph = SerializationHelper.load(new File(graphFile));
             QueryPatternCreator creator;
             if (accessUriTemplates[graphId].matches(".*:5000/")) {
                 LOGGER.debug("Using CKAN pattern creator to validate results from graph {}", graphId);
@@ -52,10 +51,10 @@ public class GraphBasedTripleBlockStreamCreator implements TripleBlockStreamCrea
     }
 
     public static Stream<ElementTriplesBlock> createStreamForNode(int node, Graph graph, QueryPatternCreator creator) {
-        final int[] edgeTypes = graph.outgoingEdgeTypes(node);
-        final int[] edgeTargets = graph.outgoingEdgeTargets(node);
-        return IntStream.range(0, edgeTypes.length).mapToObj(e -> creator.create(node, edgeTypes[e], edgeTargets[e],
-                graph.getExternalNodeId(edgeTargets[e]), graph.getGraphId(edgeTargets[e])));
+        Stream.Builder<ElementTriplesBlock> builder = Stream.builder();
+        graph.forEachOutgoingEdge(node, (target, type) -> builder
+                .add(creator.create(node, type, target, graph.getExternalNodeId(target), graph.getGraphId(target))));
+        return builder.build();
     }
 
 }
@@ -5,7 +5,6 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -52,10 +51,10 @@ public class TTLTarGZBasedTripleBlockStreamCreator implements TripleBlockStreamC
     }
 
     protected Stream<ElementTriplesBlock> createStreamForNode(int node, Graph graph, QueryPatternCreator creator) {
-        final int[] edgeTypes = graph.outgoingEdgeTypes(node);
-        final int[] edgeTargets = graph.outgoingEdgeTargets(node);
-        return IntStream.range(0, edgeTypes.length).mapToObj(e -> creator.create(node, edgeTypes[e], edgeTargets[e],
-                graph.getExternalNodeId(edgeTargets[e]), graph.getGraphId(edgeTargets[e])));
+        Stream.Builder<ElementTriplesBlock> builder = Stream.builder();
+        graph.forEachOutgoingEdge(node, (target, type) -> builder
+                .add(creator.create(node, type, target, graph.getExternalNodeId(target), graph.getGraphId(target))));
+        return builder.build();
     }
 
 }
@@ -1,10 +1,14 @@
 package org.dice_research.ldcbench.nodes.http.simple;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.function.Predicate;
 
 import org.apache.http.HttpHeaders;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
 import org.simpleframework.http.Request;
 import org.simpleframework.http.Response;
 import org.simpleframework.http.Status;
@@ -45,14 +49,107 @@ public abstract class AbstractCrawleableResource implements CrawleableResource {
             return false;
         }
         // Get the response type
-        MediaType responseType = getResponseType(request.getValues(HttpHeaders.ACCEPT).iterator());
+        MediaType responseType = getResponseType(request);
         if (responseType == null) {
             throw new SimpleHttpException("Couldn't find a fitting content type in the list of accepted types ("
                     + request.getValues(HttpHeaders.ACCEPT).toString() + ").", Status.NOT_ACCEPTABLE);
         }
         // Set the response type
         response.setContentType(responseType.toString());
-        return handleRequest(request.getTarget(), responseType, response, out);
+        // Get the content encoding
+        ContentEncoding encoding = getResponseEncoding(request);
+        if (encoding == null) {
+            throw new SimpleHttpException("Couldn't find a fitting content encoding in the list of accepted encodings ("
+                    + request.getValue(HttpHeaders.ACCEPT_ENCODING) + ").", Status.NOT_ACCEPTABLE);
+        }
+        return handleRequest(request.getTarget(), responseType, encoding, response, out);
+    }
+
+    /**
+     * This method decides which {@link ContentEncoding} should be used to answer
+     * the given request. The default implementation splits the (unparsed)
+     * Accept-Encoding header of the request at its commas and hands the values
+     * to {@link #getResponseEncoding(Iterator)}. Note that
+     * {@link Request#getValues(String)} can not be used since it sorts the
+     * values by their quality and removes the quality parameters, i.e., an
+     * encoding excluded with "q=0" would look like an accepted encoding.
+     * 
+     * @param request
+     *            the request that should be answered
+     * @return the encoding with which the response should be sent or
+     *         {@code null} if none of the encodings is acceptable
+     */
+    protected ContentEncoding getResponseEncoding(Request request) {
+        String header = request.getValue(HttpHeaders.ACCEPT_ENCODING);
+        if (header == null) {
+            return getResponseEncoding(Collections.emptyIterator());
+        }
+        return getResponseEncoding(Arrays.asList(header.split(",")).iterator());
+    }
+
+    /**
+     * This method decides which {@link ContentEncoding} should be used to answer
+     * the current request based on the given values of the HTTP Accept-Encoding
+     * header. The default implementation always returns
+     * {@link ContentEncoding#IDENTITY}, i.e., the response is not encoded.
+     * 
+     * @param iterator
+     *            an iterator giving the encodings which are accepted by the
+     *            request
+     * @return the encoding with which the response should be sent or
+     *         {@code null} if none of the encodings is acceptable
+     */
+    protected ContentEncoding getResponseEncoding(Iterator<String> iterator) {
+        return ContentEncoding.IDENTITY;
+    }
+
+    /**
+     * Internal method which answers the request with the given encoding. The
+     * default implementation sets the Content-Encoding header, wraps the given
+     * stream with a stream of the encoding and calls
+     * {@link #handleRequest(String, MediaType, Response, OutputStream)}.
+     * Overriding methods might make use of already encoded data.
+     * 
+     * @param target
+     *            the target of the request
+     * @param responseType
+     *            the media type the response should have negotiated by the super
+     *            class
+     * @param encoding
+     *            the negotiated content encoding of the response
+     * @param response
+     *            the response object which can be used to set the response status
+     * @param out
+     *            the output stream that should be used to write the response
+     * @return returns {@code true} if the request has been handled or {@code false}
+     *         if the request couldn't be handled by this method
+     * @throws SimpleHttpException
+     */
+    protected boolean handleRequest(String target, MediaType responseType, ContentEncoding encoding,
+            Response response, OutputStream out) throws SimpleHttpException {
+        setEncodingHeaders(encoding, response);
+        if (encoding == ContentEncoding.IDENTITY) {
+            return handleRequest(target, responseType, response, out);
+        }
+        try (OutputStream encodingStream = encoding.createStream(out)) {
+            return handleRequest(target, responseType, response, encodingStream);
+        } catch (IOException e) {
+            throw new SimpleHttpException("Couldn't encode the response.", e, Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * This method decides which {@link MediaType} should be used to answer the
+     * given request. The default implementation hands the values of the HTTP
+     * Accept header to {@link #getResponseType(Iterator)}.
+     * 
+     * @param request
+     *            the request that should be answered
+     * @return the media type with which the request should be answered or
+     *         {@code null} if such a media type does not exist.
+     */
+    protected MediaType getResponseType(Request request) {
+        return getResponseType(request.getValues(HttpHeaders.ACCEPT).iterator());
     }
 
     /**
@@ -93,6 +190,20 @@ public abstract class AbstractCrawleableResource implements CrawleableResource {
     protected abstract boolean handleRequest(String target, MediaType responseType, Response response, OutputStream out)
             throws SimpleHttpException;
 
+    /**
+     * Sets the headers of the response related to the given content encoding.
+     * 
+     * @param encoding
+     *            the content encoding of the response
+     * @param response
+     *            the response object
+     */
+    protected void setEncodingHeaders(ContentEncoding encoding, Response response) {
+        if (encoding != ContentEncoding.IDENTITY) {
+            response.setValue(HttpHeaders.CONTENT_ENCODING, encoding.getName());
+        }
+    }
+
     /**
      * Sets the default content type.
      * 
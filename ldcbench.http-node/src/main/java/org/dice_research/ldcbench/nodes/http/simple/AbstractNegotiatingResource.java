@@ -2,57 +2,97 @@ package org.dice_research.ldcbench.nodes.http.simple;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.apache.http.HttpHeaders;
+import org.dice_research.ldcbench.nodes.http.simple.ContentNegotiator.NegotiatedType;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
 import org.simpleframework.http.Request;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.simpleframework.http.Response;
 
 import com.google.common.net.MediaType;
 
 public abstract class AbstractNegotiatingResource extends AbstractCrawleableResource {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractNegotiatingResource.class);
-
     protected Set<MediaType> availableContentTypes;
+    /**
+     * The negotiator selecting one of the available content types for a
+     * request.
+     */
+    protected ContentNegotiator negotiator;
+    /**
+     * The content encodings that can be used for the responses ordered by
+     * preference. The array is empty if the responses should not be encoded.
+     */
+    protected ContentEncoding[] availableEncodings = new ContentEncoding[0];
 
     public AbstractNegotiatingResource(Predicate<Request> predicate, String[] contentTypes) {
         super(predicate);
         this.availableContentTypes = Arrays.stream(contentTypes).map(c -> MediaType.parse(c))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        this.negotiator = new ContentNegotiator(contentTypes);
     }
 
+    /**
+     * Negotiates the response type based on the given values of the Accept
+     * header. The values are joined to a single header value which is handed
+     * to the {@link #negotiator}.
+     */
+    @Override
     protected MediaType getResponseType(Iterator<String> iterator) {
-        // If the request header is empty
-        if (!iterator.hasNext()) {
-            if (availableContentTypes.size() > 0) {
-                return availableContentTypes.stream().findFirst().get();
-            } else {
-                return null;
-            }
-        }
-        String typeString;
-        MediaType requestedType;
+        StringBuilder header = new StringBuilder();
         while (iterator.hasNext()) {
-            typeString = iterator.next();
-            try {
-                // A single star is not allowed in the MediaType class that we use
-                if ("*".equals(typeString)) {
-                    typeString = "*/*";
-                }
-                requestedType = MediaType.parse(typeString);
-                for (MediaType availableType : availableContentTypes) {
-                    if (availableType.is(requestedType)) {
-                        return availableType;
-                    }
-                }
-            } catch (Exception e) {
-                LOGGER.warn("Couldn't parse requested media type \"{}\".", typeString);
+            if (header.length() > 0) {
+                header.append(',');
             }
+            header.append(iterator.next());
         }
-        return null;
+        return toMediaType(negotiator.negotiate(header.toString()));
+    }
+
+    /**
+     * Negotiates the response type based on the (unparsed) Accept header of the
+     * given request. Since the {@link #negotiator} caches its decisions, the
+     * header values sent by a crawler are parsed only once.
+     */
+    @Override
+    protected MediaType getResponseType(Request request) {
+        return toMediaType(negotiator.negotiate(request.getValue(HttpHeaders.ACCEPT)));
+    }
+
+    private static MediaType toMediaType(NegotiatedType type) {
+        return type == null ? null : type.getMediaType();
+    }
+
+    @Override
+    protected ContentEncoding getResponseEncoding(Iterator<String> iterator) {
+        return ContentEncoding.negotiate(iterator, availableEncodings);
+    }
+
+    @Override
+    protected void setEncodingHeaders(ContentEncoding encoding, Response response) {
+        if (availableEncodings.length > 0) {
+            // The response depends on the Accept-Encoding header of the request
+            response.setValue(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        super.setEncodingHeaders(encoding, response);
+    }
+
+    public ContentEncoding[] getAvailableEncodings() {
+        return availableEncodings;
+    }
+
+    /**
+     * Sets the content encodings that can be used for the responses.
+     * 
+     * @param availableEncodings
+     *            the available encodings ordered by preference
+     */
+    public void setAvailableEncodings(ContentEncoding[] availableEncodings) {
+        this.availableEncodings = availableEncodings;
     }
 
     @Deprecated
@@ -0,0 +1,314 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Multimaps;
+import com.google.common.net.MediaType;
+
+/**
+ * Selects the content type of a response based on the value of the Accept
+ * header of the request (RFC 7231, section 5.3.2). The available content types
+ * and their RDF serializations are determined once when the negotiator is
+ * created. Crawlers tend to send the same Accept header with every request.
+ * Hence, the decision for a header value is cached, i.e., a header is parsed
+ * and matched only once. The cache is bounded. If it is full, the decisions for
+ * further header values are computed for every request.
+ *
+ * <p>
+ * For every available type, the most specific media range of the header that
+ * matches the type defines the quality of the type. The type with the highest
+ * quality is chosen. Ties are broken by the specificity of the matching range,
+ * the position of the range in the header and the order of the available
+ * types. Types with a quality of 0 are never chosen.
+ * </p>
+ */
+public class ContentNegotiator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentNegotiator.class);
+
+    /**
+     * The default maximum number of cached header values.
+     */
+    public static final int DEFAULT_MAX_CACHE_SIZE = 256;
+
+    /**
+     * Marks header values for which no available type is acceptable (the cache
+     * can not contain {@code null} values).
+     */
+    private static final NegotiatedType NOT_ACCEPTABLE = new NegotiatedType(null);
+
+    private final NegotiatedType[] availableTypes;
+    private final Map<MediaType, NegotiatedType> typeMapping = new HashMap<>();
+    private final Map<String, NegotiatedType> cache = new ConcurrentHashMap<>();
+    private final int maxCacheSize;
+
+    /**
+     * Constructor.
+     *
+     * @param contentTypes
+     *            the available content types ordered by preference
+     */
+    public ContentNegotiator(String[] contentTypes) {
+        this(contentTypes, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param contentTypes
+     *            the available content types ordered by preference
+     * @param maxCacheSize
+     *            the maximum number of header values for which the decision is
+     *            cached
+     */
+    public ContentNegotiator(String[] contentTypes, int maxCacheSize) {
+        List<NegotiatedType> types = new ArrayList<>(contentTypes.length);
+        NegotiatedType type;
+        for (int i = 0; i < contentTypes.length; ++i) {
+            type = new NegotiatedType(MediaType.parse(contentTypes[i]));
+            if (!typeMapping.containsKey(type.mediaType)) {
+                typeMapping.put(type.mediaType, type);
+                types.add(type);
+            }
+        }
+        this.availableTypes = types.toArray(new NegotiatedType[types.size()]);
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * Selects the content type of the response.
+     *
+     * @param acceptHeader
+     *            the value of the Accept header of the request or {@code null}
+     *            if the request does not have such a header
+     * @return the selected type or {@code null} if none of the available types
+     *         is acceptable
+     */
+    public NegotiatedType negotiate(String acceptHeader) {
+        if ((acceptHeader == null) || acceptHeader.isEmpty()) {
+            return getDefaultType();
+        }
+        NegotiatedType result = cache.get(acceptHeader);
+        if (result == null) {
+            result = select(acceptHeader);
+            if (cache.size() < maxCacheSize) {
+                cache.put(acceptHeader, result);
+            }
+        }
+        return result == NOT_ACCEPTABLE ? null : result;
+    }
+
+    /**
+     * Returns the precomputed type for the given available media type.
+     *
+     * @param mediaType
+     *            one of the available media types
+     * @return the type or {@code null} if the given media type is not available
+     */
+    public NegotiatedType getType(MediaType mediaType) {
+        return typeMapping.get(mediaType);
+    }
+
+    /**
+     * Returns the type that is used if the request does not have an Accept
+     * header, i.e., the first available type.
+     *
+     * @return the default type or {@code null} if no types are available
+     */
+    public NegotiatedType getDefaultType() {
+        return availableTypes.length > 0 ? availableTypes[0] : null;
+    }
+
+    /**
+     * Returns the number of cached header values.
+     *
+     * @return the number of cached header values
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    private NegotiatedType select(String acceptHeader) {
+        List<MediaRange> ranges = parse(acceptHeader);
+        if (ranges == null) {
+            // the header does not contain any range
+            NegotiatedType defaultType = getDefaultType();
+            return defaultType == null ? NOT_ACCEPTABLE : defaultType;
+        }
+        NegotiatedType best = NOT_ACCEPTABLE;
+        double bestQuality = 0;
+        int bestSpecificity = -1;
+        int bestPosition = Integer.MAX_VALUE;
+        MediaRange range;
+        for (int i = 0; i < availableTypes.length; ++i) {
+            // find the most specific range matching this type
+            MediaRange match = null;
+            int position = -1;
+            for (int j = 0; j < ranges.size(); ++j) {
+                range = ranges.get(j);
+                if (((match == null) || (range.specificity > match.specificity))
+                        && availableTypes[i].mediaType.is(range.mediaType)) {
+                    match = range;
+                    position = j;
+                }
+            }
+            if ((match == null) || (match.quality <= 0)) {
+                continue;
+            }
+            if ((match.quality > bestQuality)
+                    || ((match.quality == bestQuality) && ((match.specificity > bestSpecificity)
+                            || ((match.specificity == bestSpecificity) && (position < bestPosition))))) {
+                best = availableTypes[i];
+                bestQuality = match.quality;
+                bestSpecificity = match.specificity;
+                bestPosition = position;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Parses the media ranges of the given header value. Ranges that can not be
+     * parsed are skipped.
+     *
+     * @return the parsed ranges or {@code null} if the value does not contain
+     *         any (valid or invalid) range
+     */
+    private static List<MediaRange> parse(String acceptHeader) {
+        List<MediaRange> ranges = new ArrayList<>();
+        boolean empty = true;
+        String element;
+        for (String e : split(acceptHeader)) {
+            element = e.trim();
+            if (element.isEmpty()) {
+                continue;
+            }
+            empty = false;
+            // A single star is not allowed in the MediaType class that we use
+            if (element.equals("*") || element.startsWith("*;")) {
+                element = "*/*" + element.substring(1);
+            }
+            try {
+                ranges.add(new MediaRange(MediaType.parse(element)));
+            } catch (Exception ex) {
+                LOGGER.warn("Couldn't parse requested media type \"{}\".", element);
+            }
+        }
+        return empty ? null : ranges;
+    }
+
+    /**
+     * Splits the given header value at all commas that are not part of a quoted
+     * string.
+     */
+    private static List<String> split(String value) {
+        List<String> elements = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        char c;
+        for (int i = 0; i < value.length(); ++i) {
+            c = value.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if ((c == '\\') && quoted) {
+                ++i;
+            } else if ((c == ',') && !quoted) {
+                elements.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        elements.add(value.substring(start));
+        return elements;
+    }
+
+    /**
+     * An available content type together with its precomputed string
+     * representation and RDF serialization.
+     */
+    public static class NegotiatedType {
+        private final MediaType mediaType;
+        private final String contentType;
+        private final Lang lang;
+
+        protected NegotiatedType(MediaType mediaType) {
+            this.mediaType = mediaType;
+            if (mediaType != null) {
+                this.contentType = mediaType.toString();
+                Lang lang = RDFLanguages.contentTypeToLang(contentType);
+                if (lang == null) {
+                    lang = RDFLanguages.contentTypeToLang(mediaType.withoutParameters().toString());
+                }
+                this.lang = lang;
+            } else {
+                this.contentType = null;
+                this.lang = null;
+            }
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return the RDF serialization of the type or {@code null} if the type
+         *         is not an RDF serialization known to Jena
+         */
+        public Lang getLang() {
+            return lang;
+        }
+
+        @Override
+        public String toString() {
+            return contentType;
+        }
+    }
+
+    /**
+     * A media range of an Accept header with its quality value.
+     */
+    private static class MediaRange {
+        private final MediaType mediaType;
+        private final double quality;
+        /**
+         * 0 for *&#47;*, 1 for type/*, 2 for type/subtype plus the number of
+         * parameters.
+         */
+        private final int specificity;
+
+        public MediaRange(MediaType range) {
+            double quality = 1;
+            List<String> qValues = range.parameters().get("q");
+            if (!qValues.isEmpty()) {
+                try {
+                    quality = Math.min(1, Math.max(0, Double.parseDouble(qValues.get(0))));
+                } catch (NumberFormatException e) {
+                    LOGGER.warn("Couldn't parse quality value of requested media type \"{}\".", range);
+                    quality = 0;
+                }
+                range = range.withParameters(Multimaps.filterKeys(range.parameters(), k -> !"q".equals(k)));
+            }
+            this.mediaType = range;
+            this.quality = quality;
+            if (range.type().equals("*")) {
+                specificity = 0;
+            } else if (range.subtype().equals("*")) {
+                specificity = 1;
+            } else {
+                specificity = 2 + range.parameters().size();
+            }
+        }
+    }
+}
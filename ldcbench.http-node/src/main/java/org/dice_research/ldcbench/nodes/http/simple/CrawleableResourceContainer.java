@@ -21,9 +21,10 @@ public class CrawleableResourceContainer implements Container {
     private static final Logger LOGGER = LoggerFactory.getLogger(CrawleableResourceContainer.class);
 
     /**
-     * Resources hosted by this container.
+     * Router selecting the resources hosted by this container that might answer
+     * a request.
      */
-    private CrawleableResource[] resources;
+    private RequestRouter router;
 
     /**
      * Constructor.
@@ -32,21 +33,22 @@ public class CrawleableResourceContainer implements Container {
      *            resources that should be hosted by this container.
      */
     public CrawleableResourceContainer(CrawleableResource... resources) {
-        this.resources = resources;
+        this.router = new RequestRouter(resources);
     }
 
     @Override
     public void handle(Request request, Response response) {
         int id = 0;
         try (OutputStream out = response.getOutputStream()) {
+            CrawleableResource[] resources = router.route(request.getPath().toString());
+            // A resource answering the request may replace this status (e.g., with 206 or 304)
+            response.setStatus(Status.OK);
             while ((id < resources.length) && (!resources[id].handleRequest(request, response, out))) {
                 ++id;
             }
             if (id >= resources.length) {
                 LOGGER.info("Got a request for an unknown URL: \"" + request.getAddress() + "\".");
                 response.setStatus(Status.NOT_FOUND);
-            } else {
-                response.setStatus(Status.OK);
             }
         } catch (SimpleHttpException e) {
             if (e.status.code < 500) {
@@ -14,7 +14,7 @@ import com.google.common.net.MediaType;
 /**
  * Detects when a disallowed path (from a provided set) is requested.
  */
-public class DisallowedResource extends AbstractCrawleableResource {
+public class DisallowedResource extends AbstractCrawleableResource implements RoutableResource {
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleHttpServerComponent.class);
 
     private Set<String> paths = new HashSet<>();
@@ -25,6 +25,11 @@ public class DisallowedResource extends AbstractCrawleableResource {
         this.paths = paths;
     }
 
+    @Override
+    public Set<String> getPaths() {
+        return paths;
+    }
+
     public int getTotalAmount() {
         return paths.size();
     }
@@ -6,6 +6,7 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.io.IOUtils;
 import org.simpleframework.http.Response;
@@ -15,7 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.net.MediaType;
 
-public class FileBasedResource extends AbstractCrawleableResource {
+public class FileBasedResource extends AbstractCrawleableResource implements RoutableResource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FileBasedResource.class);
 
@@ -26,6 +27,11 @@ public class FileBasedResource extends AbstractCrawleableResource {
         this.files = files;
     }
 
+    @Override
+    public Set<String> getPaths() {
+        return files.keySet();
+    }
+
     @Override
     protected boolean handleRequest(String target, MediaType responseType, Response response, OutputStream out)
             throws SimpleHttpException {
@@ -1,12 +1,14 @@
 package org.dice_research.ldcbench.nodes.http.simple;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Predicate;
 
+import org.apache.http.HttpHeaders;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.riot.Lang;
@@ -17,8 +19,11 @@ import org.apache.jena.riot.system.StreamRDF;
 import org.apache.jena.riot.system.StreamRDFWriter;
 import org.apache.jena.sparql.graph.GraphFactory;
 import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
+import org.dice_research.ldcbench.nodes.utils.RawTripleWriter;
 import org.dice_research.ldcbench.nodes.utils.TripleIterator;
 import org.dice_research.ldcbench.rdf.UriHelper;
+import org.dice_research.ldcbench.rdf.UriTemplate;
 import org.simpleframework.http.Request;
 import org.simpleframework.http.Response;
 import org.simpleframework.http.Status;
@@ -27,7 +32,14 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.net.MediaType;
 
-public class GraphBasedResource extends AbstractNegotiatingResource {
+/**
+ * A resource answering requests for the nodes of the hosted graphs with the
+ * triples of the requested node. The resource declares the paths of the URIs
+ * of its nodes up to the node ID (e.g., {@code /dataset-0/resource-}) as path
+ * prefixes. Hence, the {@link RequestRouter} offers it only requests for such
+ * paths. Note that the given predicate still has to accept the request.
+ */
+public class GraphBasedResource extends AbstractNegotiatingResource implements RoutableResource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GraphBasedResource.class);
     
@@ -35,8 +47,24 @@ public class GraphBasedResource extends AbstractNegotiatingResource {
     protected final String[] resourceUriTemplates;
     protected final String[] accessUriTemplates;
     protected final Graph[] graphs;
+    /**
+     * The pre-encoded templates used to write N-Triples, Turtle and N3 without
+     * Jena or {@code null} if the templates can not be written that way.
+     */
+    protected final RawTripleWriter.Templates rawTemplates;
+    /**
+     * The prefixes of the paths of the hosted nodes.
+     */
+    protected final Set<String> pathPrefixes;
     protected boolean failIfContentTypeMismatch = false;
-    protected List<Long> requestTimes = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Recorder of the delays between the requests.
+     */
+    protected final RequestDelayRecorder delayRecorder = new RequestDelayRecorder();
+    /**
+     * Optional cache of serialized documents (can be {@code null}).
+     */
+    protected ResponseCache responseCache = null;
 
     public GraphBasedResource(int domainId, String[] resourceUriTemplates, String[] accessUriTemplates, Graph[] graphs,
             Predicate<Request> predicate, String[] contentTypes) {
@@ -45,65 +73,133 @@ public class GraphBasedResource extends AbstractNegotiatingResource {
         this.resourceUriTemplates = resourceUriTemplates;
         this.accessUriTemplates = accessUriTemplates;
         this.graphs = graphs;
+        this.rawTemplates = RawTripleWriter.compileTemplates(domainId, resourceUriTemplates, accessUriTemplates);
+        this.pathPrefixes = createPathPrefixes(domainId, resourceUriTemplates, accessUriTemplates, graphs.length);
     }
 
-    public Double getAverageDelay() {
-        synchronized (requestTimes) {
-            Collections.sort(requestTimes);
-            long total = 0;
-            int size = requestTimes.size();
-            if (size <= 1) {
-                return null;
+    /**
+     * Derives the path prefixes of the nodes of the given number of graphs from
+     * the resource and access URI templates of the given domain. If the path of
+     * a template can not be determined, the empty prefix is used, i.e., every
+     * request is offered to the resource.
+     */
+    protected static Set<String> createPathPrefixes(int domainId, String[] resourceUriTemplates,
+            String[] accessUriTemplates, int numberOfGraphs) {
+        Set<String> prefixes = new HashSet<>();
+        for (String[] templates : new String[][] { resourceUriTemplates, accessUriTemplates }) {
+            if ((domainId < 0) || (domainId >= templates.length) || (templates[domainId] == null)) {
+                return Collections.singleton("");
             }
-            for (int i = 0; i < size - 1; i++) {
-                total += requestTimes.get(i+1) - requestTimes.get(i);
+            UriTemplate template = UriTemplate.getInstance(templates[domainId]);
+            String[] affixes;
+            String path;
+            for (int g = 0; g < numberOfGraphs; ++g) {
+                affixes = template.getNodeIdAffixes(g, UriHelper.RESOURCE_NODE_TYPE);
+                path = (affixes != null) ? getPath(affixes[0]) : null;
+                if (path == null) {
+                    return Collections.singleton("");
+                }
+                prefixes.add(path);
             }
-            return ((double)total) / (size - 1);
         }
+        return Collections.unmodifiableSet(prefixes);
     }
 
-    public Long getMinDelay() {
-        synchronized (requestTimes) {
-            Collections.sort(requestTimes);
-            Long min = null;
-            int size = requestTimes.size();
-            for (int i = 0; i < size - 1; i++) {
-                long val = requestTimes.get(i+1) - requestTimes.get(i);
-                if (min == null || min > val) min = val;
+    /**
+     * Returns the path of the given (possibly incomplete) URI, i.e., the part
+     * between the authority and the query or fragment.
+     *
+     * @return the path or {@code null} if the given URI ends before its path
+     *         starts
+     */
+    private static String getPath(String uri) {
+        int start = uri.indexOf("://");
+        if (start >= 0) {
+            start = uri.indexOf('/', start + 3);
+            if (start < 0) {
+                return null;
             }
-            return min;
+        } else if (!uri.startsWith("/")) {
+            return null;
+        } else {
+            start = 0;
+        }
+        int end = uri.length();
+        int pos = uri.indexOf('?', start);
+        if (pos >= 0) {
+            end = pos;
+        }
+        pos = uri.indexOf('#', start);
+        if ((pos >= 0) && (pos < end)) {
+            end = pos;
         }
+        return uri.substring(start, end);
+    }
+
+    @Override
+    public Set<String> getPaths() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Set<String> getPathPrefixes() {
+        return pathPrefixes;
+    }
+
+    public Double getAverageDelay() {
+        return delayRecorder.getAverageDelay();
+    }
+
+    public Long getMinDelay() {
+        return delayRecorder.getMinDelay();
     }
 
     public Long getMaxDelay() {
-        synchronized (requestTimes) {
-            Collections.sort(requestTimes);
-            Long max = null;
-            int size = requestTimes.size();
-            for (int i = 0; i < size - 1; i++) {
-                long val = requestTimes.get(i+1) - requestTimes.get(i);
-                if (max == null || max < val) max = val;
-            }
-            return max;
-        }
+        return delayRecorder.getMaxDelay();
+    }
+
+    public RequestDelayRecorder getDelayRecorder() {
+        return delayRecorder;
     }
 
     @Override
     protected boolean handleRequest(String target, MediaType responseType, Response response, OutputStream out) throws SimpleHttpException {
-        Lang lang = RDFLanguages.contentTypeToLang(responseType.toString());
+        return handleRequest(target, getLang(responseType), out);
+    }
+
+    @Override
+    protected boolean handleRequest(String target, MediaType responseType, ContentEncoding encoding,
+            Response response, OutputStream out) throws SimpleHttpException {
+        setEncodingHeaders(encoding, response);
+        return handleRequest(target, getLang(responseType), encoding, out);
+    }
+
+    private Lang getLang(MediaType responseType) {
+        // The negotiator has already determined the languages of the available types
+        ContentNegotiator.NegotiatedType type = negotiator.getType(responseType);
+        Lang lang = (type != null) ? type.getLang() : RDFLanguages.contentTypeToLang(responseType.toString());
         if(lang == null) {
             lang = RDFLanguages.contentTypeToLang(responseType.type());
         }
         if(lang == null) {
             LOGGER.error("Couldn't identify negotiated content type. This shouldn't happen!");
         }
-        return handleRequest(target, lang, out);
+        return lang;
     }
 
     public boolean handleRequest(String target, Lang lang, OutputStream out)
             throws SimpleHttpException {
-        long time = new Date().getTime();
-        requestTimes.add(time);
+        return handleRequest(target, lang, ContentEncoding.IDENTITY, out);
+    }
+
+    /**
+     * Writes the document of the requested resource with the given
+     * serialization and content encoding. If a response cache is available,
+     * the encoded documents are cached, i.e., they are compressed only once.
+     */
+    public boolean handleRequest(String target, Lang lang, ContentEncoding encoding, OutputStream out)
+            throws SimpleHttpException {
+        delayRecorder.recordRequest();
 
         // Lang lang = RDFLanguages.contentTypeToLang(contentType);
         // if ((lang == null) && (failIfContentTypeMismatch)) {
@@ -119,6 +215,43 @@ public class GraphBasedResource extends AbstractNegotiatingResource {
         // TODO add a prefix map
 
         int ids[] = parseIds(target);
+        try {
+            if (responseCache != null) {
+                if (!responseCache.write(ids[0], ids[1], lang, encoding, out)) {
+                    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+                    writeData(ids, bout, lang);
+                    byte[] data = encoding.encode(bout.toByteArray());
+                    responseCache.put(ids[0], ids[1], lang, encoding, data);
+                    out.write(data);
+                }
+            } else if (encoding == ContentEncoding.IDENTITY) {
+                writeData(ids, out, lang);
+            } else {
+                try (OutputStream encodingStream = encoding.createStream(out)) {
+                    writeData(ids, encodingStream, lang);
+                }
+            }
+        } catch (IOException e) {
+            throw new SimpleHttpException("Couldn't send the document.", e, Status.INTERNAL_SERVER_ERROR);
+        }
+        return true;
+    }
+
+    /**
+     * Serializes the triples of the given resource and writes them to the given
+     * stream.
+     */
+    protected void writeData(int ids[], OutputStream out, Lang lang) throws SimpleHttpException {
+        if ((rawTemplates != null) && RawTripleWriter.isSupported(lang)) {
+            RawTripleWriter writer = new RawTripleWriter(rawTemplates, out);
+            try {
+                writer.writeTriples(graphs[ids[0]], ids[1]);
+                writer.flush();
+            } catch (IOException e) {
+                throw new SimpleHttpException("Couldn't send the document.", e, Status.INTERNAL_SERVER_ERROR);
+            }
+            return;
+        }
         TripleIterator iterator = new TripleIterator(graphs, domainId, resourceUriTemplates, accessUriTemplates, ids[0],
                 ids[1]);
 
@@ -132,7 +265,6 @@ public class GraphBasedResource extends AbstractNegotiatingResource {
                 throw e;
             }
         }
-        return true;
     }
 
     private void streamData(TripleIterator iterator, OutputStream out, Lang lang) {
@@ -151,6 +283,14 @@ public class GraphBasedResource extends AbstractNegotiatingResource {
         model.write(out, lang.getName());
     }
 
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     protected int[] parseIds(String target) throws SimpleHttpException {
         int start = target.indexOf(UriHelper.DATASET_KEY_WORD);
         if (start < 0) {
@@ -0,0 +1,306 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free recorder of the delays between consecutive requests. Instead of
+ * storing the time of every request, only the gap to the latest request seen
+ * so far is recorded. The gaps are counted in a log-linear histogram (similar
+ * to an HdrHistogram) with a relative error below 2%. Hence, the memory
+ * consumption does not grow with the number of requests and the minimum,
+ * average and maximum delay as well as percentiles are available at any time.
+ *
+ * <p>
+ * The histogram is striped, i.e., the threads recording gaps are spread over
+ * several counter arrays to reduce contention. The arrays are summed up when
+ * a percentile is requested. Recorders can be merged using
+ * {@link #add(RequestDelayRecorder)}.
+ * </p>
+ *
+ * <p>
+ * {@link #recordRequest()} takes the time of a request while it updates the
+ * latest request time. Hence, requests that are handled in parallel are
+ * recorded in the order of their times and every gap is measured against the
+ * preceding request. Requests that are recorded with an explicit time earlier
+ * than the latest request are out of order. They are not recorded, since their
+ * preceding request is not known anymore, and only counted (see
+ * {@link #getOutOfOrderCount()}).
+ * </p>
+ */
+public class RequestDelayRecorder {
+
+    /**
+     * The number of bits used for the linear sub buckets of a power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    /**
+     * The highest delay that is tracked precisely by the histogram (about two
+     * years in milliseconds). Larger delays are counted in the last bucket but
+     * are still taken into account for the maximum and the average.
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << 36) - 1;
+    private static final int NUMBER_OF_BUCKETS = bucketIndex(HIGHEST_TRACKABLE_VALUE) + 1;
+    /**
+     * The maximum number of histogram stripes.
+     */
+    public static final int MAX_NUMBER_OF_STRIPES = 64;
+    private static final long NO_REQUEST = Long.MIN_VALUE;
+
+    /**
+     * The time of the latest request.
+     */
+    private final AtomicLong latestRequestTime = new AtomicLong(NO_REQUEST);
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder outOfOrder = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * Constructor. The number of stripes is derived from the number of
+     * available processors.
+     */
+    public RequestDelayRecorder() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param numberOfStripes
+     *            the number of histogram stripes (rounded up to the next power
+     *            of two, at most {@link #MAX_NUMBER_OF_STRIPES})
+     */
+    public RequestDelayRecorder(int numberOfStripes) {
+        if (numberOfStripes < 1) {
+            throw new IllegalArgumentException("The number of stripes has to be > 0.");
+        }
+        numberOfStripes = Math.min(numberOfStripes, MAX_NUMBER_OF_STRIPES);
+        int stripeCount = Integer.highestOneBit(numberOfStripes);
+        if (stripeCount < numberOfStripes) {
+            stripeCount <<= 1;
+        }
+        stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripes.length; ++i) {
+            stripes[i] = new AtomicLongArray(NUMBER_OF_BUCKETS);
+        }
+        stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Records a request that happened now.
+     */
+    public void recordRequest() {
+        long previous;
+        long time;
+        do {
+            previous = latestRequestTime.get();
+            // the clock is read after the latest time, i.e., a request that is
+            // overtaken by a parallel request retries with a new time
+            time = Math.max(previous, System.currentTimeMillis());
+        } while (!latestRequestTime.compareAndSet(previous, time));
+        if (previous != NO_REQUEST) {
+            recordDelay(time - previous);
+        }
+    }
+
+    /**
+     * Records a request that happened at the given time. If the time is earlier
+     * than the time of the latest request, the request is only counted as out of
+     * order.
+     *
+     * @param time
+     *            the time of the request in milliseconds
+     */
+    public void recordRequest(long time) {
+        long previous;
+        do {
+            previous = latestRequestTime.get();
+            if ((previous != NO_REQUEST) && (time < previous)) {
+                outOfOrder.increment();
+                return;
+            }
+        } while (!latestRequestTime.compareAndSet(previous, time));
+        if (previous != NO_REQUEST) {
+            recordDelay(time - previous);
+        }
+    }
+
+    /**
+     * Records the given delay between two requests.
+     *
+     * @param delay
+     *            the delay in milliseconds (has to be >= 0)
+     */
+    public void recordDelay(long delay) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("The delay has to be >= 0.");
+        }
+        stripes[(int) Thread.currentThread().getId() & stripeMask]
+                .getAndIncrement(bucketIndex(Math.min(delay, HIGHEST_TRACKABLE_VALUE)));
+        count.increment();
+        sum.add(delay);
+        min.accumulate(delay);
+        max.accumulate(delay);
+    }
+
+    /**
+     * Adds the delays recorded by the given recorder to this recorder. Note
+     * that the delay between the requests of both recorders is not added.
+     *
+     * @param other
+     *            the recorder whose delays are added
+     */
+    public void add(RequestDelayRecorder other) {
+        outOfOrder.add(other.outOfOrder.sum());
+        if (other.getCount() == 0) {
+            return;
+        }
+        AtomicLongArray target = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        long[] counts = other.getBucketCounts();
+        for (int i = 0; i < counts.length; ++i) {
+            if (counts[i] > 0) {
+                target.getAndAdd(i, counts[i]);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        min.accumulate(other.min.get());
+        max.accumulate(other.max.get());
+    }
+
+    /**
+     * Returns the number of recorded delays.
+     *
+     * @return the number of recorded delays
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the number of requests that have not been recorded because they
+     * have been older than the latest request.
+     *
+     * @return the number of requests that have been out of order
+     */
+    public long getOutOfOrderCount() {
+        return outOfOrder.sum();
+    }
+
+    /**
+     * Returns the average delay or {@code null} if no delay has been recorded.
+     *
+     * @return the average delay in milliseconds
+     */
+    public Double getAverageDelay() {
+        long n = count.sum();
+        return n == 0 ? null : ((double) sum.sum()) / n;
+    }
+
+    /**
+     * Returns the minimum delay or {@code null} if no delay has been recorded.
+     *
+     * @return the minimum delay in milliseconds
+     */
+    public Long getMinDelay() {
+        return count.sum() == 0 ? null : min.get();
+    }
+
+    /**
+     * Returns the maximum delay or {@code null} if no delay has been recorded.
+     *
+     * @return the maximum delay in milliseconds
+     */
+    public Long getMaxDelay() {
+        return count.sum() == 0 ? null : max.get();
+    }
+
+    /**
+     * Returns the delay at the given percentile, i.e., the (approximated)
+     * smallest delay which is larger than or equal to the given percentage of
+     * all recorded delays.
+     *
+     * @param percentile
+     *            the percentile in the range [0, 100]
+     * @return the delay in milliseconds or {@code null} if no delay has been
+     *         recorded
+     */
+    public Long getDelayAtPercentile(double percentile) {
+        if ((percentile < 0) || (percentile > 100)) {
+            throw new IllegalArgumentException("The percentile has to be in the range [0, 100].");
+        }
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            total += counts[i];
+        }
+        if (total == 0) {
+            return null;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil((percentile / 100.0) * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= countAtPercentile) {
+                // the histogram is only an approximation of the min and max values
+                return Math.max(min.get(), Math.min(highestValueOfBucket(i), max.get()));
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Sums up the counts of all stripes.
+     */
+    private long[] getBucketCounts() {
+        long[] counts = new long[NUMBER_OF_BUCKETS];
+        for (int s = 0; s < stripes.length; ++s) {
+            for (int i = 0; i < counts.length; ++i) {
+                counts[i] += stripes[s].get(i);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the index of the bucket for the given value. Values smaller than
+     * {@link #SUB_BUCKET_COUNT} have their own bucket. Every following power of
+     * two is split into {@link #SUB_BUCKET_HALF_COUNT} linear buckets.
+     */
+    protected static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + ((shift - 1) * SUB_BUCKET_HALF_COUNT)
+                + (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    /**
+     * Returns the highest value that is counted in the bucket with the given
+     * index.
+     */
+    protected static long highestValueOfBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = ((index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT) + 1;
+        long subBucket = ((index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT) + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestDelayRecorder [count=" + getCount() + ", min=" + getMinDelay() + ", avg=" + getAverageDelay()
+                + ", median=" + getDelayAtPercentile(50) + ", p95=" + getDelayAtPercentile(95) + ", p99="
+                + getDelayAtPercentile(99) + ", max=" + getMaxDelay() + ", outOfOrder=" + getOutOfOrderCount() + "]";
+    }
+}
@@ -0,0 +1,225 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A routing table that selects the resources which might answer a request
+ * with a given path. It is built once for a fixed array of resources. The
+ * paths of {@link RoutableResource}s are stored in a hash map and their path
+ * prefixes in a prefix trie. All other resources are fallbacks which are
+ * candidates for every request since their predicates can not be analyzed.
+ *
+ * <p>
+ * The candidates of a path are returned in the order of the array the router
+ * has been created with. Hence, trying them one after the other leads to the
+ * same result as testing all resources of the array.
+ * </p>
+ */
+public class RequestRouter {
+
+    private static final int[] NO_IDS = new int[0];
+
+    /**
+     * The resources in their original order.
+     */
+    protected final CrawleableResource[] resources;
+    /**
+     * Mapping of paths to the sorted IDs of the resources answering them.
+     */
+    protected final Map<String, int[]> pathRoutes = new HashMap<>();
+    /**
+     * The root of the prefix trie.
+     */
+    protected final TrieNode prefixRoutes = new TrieNode();
+    /**
+     * The sorted IDs of the resources that are candidates for every request.
+     */
+    protected final int[] fallbackIds;
+    /**
+     * The candidates of a path that neither has a route nor a matching prefix.
+     */
+    protected final CrawleableResource[] fallbackResources;
+    /**
+     * Cache of the candidate arrays of the single routes.
+     */
+    protected final Map<String, CrawleableResource[]> pathCandidates = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param resources
+     *            the resources that should be routed
+     */
+    public RequestRouter(CrawleableResource... resources) {
+        this.resources = resources;
+        int[] fallbacks = new int[resources.length];
+        int fallbackCount = 0;
+        boolean hasPrefixes = false;
+        for (int i = 0; i < resources.length; ++i) {
+            if (resources[i] instanceof RoutableResource) {
+                RoutableResource routable = (RoutableResource) resources[i];
+                for (String path : routable.getPaths()) {
+                    pathRoutes.put(path, addId(pathRoutes.getOrDefault(path, NO_IDS), i));
+                }
+                for (String prefix : routable.getPathPrefixes()) {
+                    prefixRoutes.insert(prefix, i);
+                    hasPrefixes = true;
+                }
+            } else {
+                fallbacks[fallbackCount] = i;
+                ++fallbackCount;
+            }
+        }
+        fallbackIds = Arrays.copyOf(fallbacks, fallbackCount);
+        fallbackResources = toResources(fallbackIds);
+        // Without prefixes, the candidates of every path are known in advance
+        if (!hasPrefixes) {
+            for (Map.Entry<String, int[]> route : pathRoutes.entrySet()) {
+                pathCandidates.put(route.getKey(), toResources(merge(route.getValue(), fallbackIds)));
+            }
+        }
+    }
+
+    /**
+     * Returns the resources which might answer a request with the given path.
+     *
+     * @param path
+     *            the path of the request
+     * @return the candidates in their original order
+     */
+    public CrawleableResource[] route(String path) {
+        CrawleableResource[] candidates = pathCandidates.get(path);
+        if (candidates != null) {
+            return candidates;
+        }
+        int[] ids = prefixRoutes.match(path);
+        int[] pathIds = pathRoutes.get(path);
+        if (pathIds != null) {
+            ids = merge(ids, pathIds);
+        }
+        if (ids.length == 0) {
+            return fallbackResources;
+        }
+        return toResources(merge(ids, fallbackIds));
+    }
+
+    public CrawleableResource[] getResources() {
+        return resources;
+    }
+
+    private CrawleableResource[] toResources(int[] ids) {
+        CrawleableResource[] selected = new CrawleableResource[ids.length];
+        for (int i = 0; i < ids.length; ++i) {
+            selected[i] = resources[ids[i]];
+        }
+        return selected;
+    }
+
+    /**
+     * Adds the given ID to the given sorted array if it is not already
+     * contained.
+     */
+    private static int[] addId(int[] ids, int id) {
+        return merge(ids, new int[] { id });
+    }
+
+    /**
+     * Merges the two given sorted arrays into a sorted array without
+     * duplicates.
+     */
+    protected static int[] merge(int[] ids1, int[] ids2) {
+        if (ids1.length == 0) {
+            return ids2;
+        }
+        if (ids2.length == 0) {
+            return ids1;
+        }
+        int[] merged = new int[ids1.length + ids2.length];
+        int i1 = 0;
+        int i2 = 0;
+        int m = 0;
+        while ((i1 < ids1.length) && (i2 < ids2.length)) {
+            if (ids1[i1] < ids2[i2]) {
+                merged[m++] = ids1[i1++];
+            } else if (ids1[i1] > ids2[i2]) {
+                merged[m++] = ids2[i2++];
+            } else {
+                merged[m++] = ids1[i1++];
+                ++i2;
+            }
+        }
+        while (i1 < ids1.length) {
+            merged[m++] = ids1[i1++];
+        }
+        while (i2 < ids2.length) {
+            merged[m++] = ids2[i2++];
+        }
+        return m == merged.length ? merged : Arrays.copyOf(merged, m);
+    }
+
+    /**
+     * A node of the prefix trie. The children are stored in arrays sorted by
+     * their character.
+     */
+    protected static class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        /**
+         * The sorted IDs of the resources with a prefix ending at this node.
+         */
+        private int[] ids = NO_IDS;
+
+        /**
+         * Adds the given prefix with the given resource ID.
+         */
+        public void insert(String prefix, int id) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length(); ++i) {
+                node = node.getOrCreateChild(prefix.charAt(i));
+            }
+            node.ids = addId(node.ids, id);
+        }
+
+        private TrieNode getOrCreateChild(char c) {
+            int pos = Arrays.binarySearch(keys, c);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            pos = -(pos + 1);
+            char[] newKeys = new char[keys.length + 1];
+            TrieNode[] newChildren = new TrieNode[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newKeys[pos] = c;
+            newChildren[pos] = new TrieNode();
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[pos];
+        }
+
+        /**
+         * Returns the sorted IDs of all resources with a prefix of the given
+         * path.
+         */
+        public int[] match(String path) {
+            int[] matches = ids;
+            TrieNode node = this;
+            int pos;
+            for (int i = 0; i < path.length(); ++i) {
+                pos = Arrays.binarySearch(node.keys, path.charAt(i));
+                if (pos < 0) {
+                    break;
+                }
+                node = node.children[pos];
+                if (node.ids.length > 0) {
+                    matches = merge(matches, node.ids);
+                }
+            }
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.jena.riot.Lang;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
+
+/**
+ * A cache for serialized responses of a {@link GraphBasedResource}. Since the
+ * graphs of a node do not change after the data generation, the document of a
+ * resource only depends on the dataset, the ID of the resource, the
+ * serialization and the content encoding. Hence, compressed documents can be
+ * cached as well.
+ *
+ * <p>
+ * The memory budget of the cache is split into blocks of a fixed size. The
+ * blocks are carved out of large direct (i.e., off-heap) slabs which are
+ * allocated on demand until the budget is used up. A document occupies as many
+ * blocks as it needs, i.e., the unused rest of its last block is counted in the
+ * budget as well. The blocks of evicted documents are reused for new documents.
+ * </p>
+ *
+ * <p>
+ * Looking up a document does not lock the cache. If the budget is exceeded,
+ * documents are evicted with the CLOCK approximation of LRU, i.e., a document
+ * that has been requested since the clock hand passed it the last time gets a
+ * second chance. Only adding documents is synchronized. While a document is
+ * written to a response, it is pinned and can not be evicted, i.e., its blocks
+ * are not overwritten.
+ * </p>
+ */
+public class ResponseCache {
+
+    /**
+     * The default size of a single block in bytes.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+    /**
+     * The size of the slabs in bytes from which the blocks are carved.
+     */
+    public static final int SLAB_SIZE = 1 << 20;
+
+    /**
+     * The maximum number of bytes the cached documents may occupy.
+     */
+    protected final long capacity;
+    /**
+     * The size of a single block in bytes.
+     */
+    protected final int blockSize;
+    /**
+     * The maximum number of blocks that fit into the capacity.
+     */
+    protected final long maxBlocks;
+    /**
+     * The cached documents.
+     */
+    protected final ConcurrentHashMap<Key, Document> documents = new ConcurrentHashMap<>();
+    /**
+     * The cached documents in the order of the clock hand (guarded by
+     * {@link #lock}).
+     */
+    protected final ArrayDeque<Document> clock = new ArrayDeque<>();
+    /**
+     * The allocated blocks that are not used by a document (guarded by
+     * {@link #lock}).
+     */
+    protected final ArrayDeque<ByteBuffer> freeBlocks = new ArrayDeque<>();
+    /**
+     * The number of allocated blocks (guarded by {@link #lock}).
+     */
+    protected long allocatedBlocks = 0;
+    /**
+     * The number of bytes of the cached documents (guarded by {@link #lock}).
+     */
+    protected long size = 0;
+    protected final Object lock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the maximum number of bytes the cached documents may occupy
+     */
+    public ResponseCache(long capacity) {
+        this(capacity, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the maximum number of bytes the cached documents may occupy
+     * @param blockSize
+     *            the size of a single block in bytes (it is reduced to the
+     *            capacity if it is larger)
+     */
+    public ResponseCache(long capacity, int blockSize) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity has to be > 0.");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size has to be > 0.");
+        }
+        this.capacity = capacity;
+        this.blockSize = (int) Math.min(blockSize, capacity);
+        this.maxBlocks = capacity / this.blockSize;
+    }
+
+    /**
+     * Returns a copy of the cached document or {@code null} if the document is
+     * not cached.
+     *
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeId
+     *            the ID of the resource within the dataset
+     * @param lang
+     *            the serialization of the document
+     * @return the cached document or {@code null}
+     */
+    public ByteBuffer get(int datasetId, int nodeId, Lang lang) {
+        return get(datasetId, nodeId, lang, ContentEncoding.IDENTITY);
+    }
+
+    /**
+     * Returns a copy of the cached encoded document or {@code null} if the
+     * document is not cached. Responses should be sent with
+     * {@link #write(int, int, Lang, ContentEncoding, OutputStream)} which does
+     * not copy the document.
+     *
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeId
+     *            the ID of the resource within the dataset
+     * @param lang
+     *            the serialization of the document
+     * @param encoding
+     *            the content encoding of the document
+     * @return the cached document or {@code null}
+     */
+    public ByteBuffer get(int datasetId, int nodeId, Lang lang, ContentEncoding encoding) {
+        Document document = pin(datasetId, nodeId, lang, encoding);
+        if (document == null) {
+            return null;
+        }
+        try {
+            ByteBuffer copy = ByteBuffer.allocate(document.length);
+            for (int i = 0; i < document.blocks.length; ++i) {
+                copy.put(document.getBlock(i));
+            }
+            copy.flip();
+            return copy;
+        } finally {
+            document.unpin();
+        }
+    }
+
+    /**
+     * Writes the cached encoded document to the given stream.
+     *
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeId
+     *            the ID of the resource within the dataset
+     * @param lang
+     *            the serialization of the document
+     * @param encoding
+     *            the content encoding of the document
+     * @param out
+     *            the stream to which the document is written
+     * @return {@code true} if the document is cached and has been written,
+     *         {@code false} if the document is not cached
+     * @throws IOException
+     *             if the document can not be written to the stream
+     */
+    public boolean write(int datasetId, int nodeId, Lang lang, ContentEncoding encoding, OutputStream out)
+            throws IOException {
+        Document document = pin(datasetId, nodeId, lang, encoding);
+        if (document == null) {
+            return false;
+        }
+        try {
+            WritableByteChannel channel = Channels.newChannel(out);
+            for (int i = 0; i < document.blocks.length; ++i) {
+                channel.write(document.getBlock(i));
+            }
+        } finally {
+            document.unpin();
+        }
+        return true;
+    }
+
+    /**
+     * Looks up the given document and pins it, i.e., the document can not be
+     * evicted before {@link Document#unpin()} is called.
+     *
+     * @return the pinned document or {@code null} if the document is not cached
+     */
+    protected Document pin(int datasetId, int nodeId, Lang lang, ContentEncoding encoding) {
+        Document document = documents.get(new Key(datasetId, nodeId, lang, encoding));
+        // the document may have been evicted after the lookup
+        if ((document == null) || !document.pin()) {
+            misses.increment();
+            return null;
+        }
+        if (!document.referenced) {
+            document.referenced = true;
+        }
+        hits.increment();
+        return document;
+    }
+
+    /**
+     * Adds the given document to the cache. Documents that are larger than the
+     * capacity of the cache are not added.
+     *
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeId
+     *            the ID of the resource within the dataset
+     * @param lang
+     *            the serialization of the document
+     * @param data
+     *            the serialized document
+     * @return {@code true} if the document has been added
+     */
+    public boolean put(int datasetId, int nodeId, Lang lang, byte[] data) {
+        return put(datasetId, nodeId, lang, ContentEncoding.IDENTITY, data);
+    }
+
+    /**
+     * Adds the given encoded document to the cache. Documents that are larger
+     * than the capacity of the cache, documents that are already cached and
+     * documents for which not enough blocks can be freed (because all other
+     * documents are pinned) are not added.
+     *
+     * @param datasetId
+     *            the ID of the dataset
+     * @param nodeId
+     *            the ID of the resource within the dataset
+     * @param lang
+     *            the serialization of the document
+     * @param encoding
+     *            the content encoding of the document
+     * @param data
+     *            the serialized and encoded document
+     * @return {@code true} if the document has been added
+     */
+    public boolean put(int datasetId, int nodeId, Lang lang, ContentEncoding encoding, byte[] data) {
+        int length = data.length;
+        int numberOfBlocks = (int) ((length + (long) blockSize - 1) / blockSize);
+        if (numberOfBlocks > maxBlocks) {
+            return false;
+        }
+        Key key = new Key(datasetId, nodeId, lang, encoding);
+        if (documents.containsKey(key)) {
+            return false;
+        }
+        ByteBuffer[] blocks = new ByteBuffer[numberOfBlocks];
+        synchronized (lock) {
+            if (!reserveBlocks(numberOfBlocks)) {
+                return false;
+            }
+            for (int i = 0; i < blocks.length; ++i) {
+                blocks[i] = freeBlocks.pollFirst();
+            }
+        }
+        // the blocks are not visible to other threads before the document is added
+        for (int i = 0; i < blocks.length; ++i) {
+            blocks[i].clear();
+            blocks[i].put(data, i * blockSize, Math.min(blockSize, length - (i * blockSize)));
+        }
+        Document document = new Document(key, blocks, length);
+        synchronized (lock) {
+            if (documents.putIfAbsent(key, document) != null) {
+                // another thread added the same document in the meantime
+                for (int i = 0; i < blocks.length; ++i) {
+                    freeBlocks.addLast(blocks[i]);
+                }
+                return false;
+            }
+            clock.addLast(document);
+            size += length;
+        }
+        return true;
+    }
+
+    /**
+     * Makes sure that the given number of blocks is free. Allocates a new slab if
+     * the capacity allows it or evicts documents otherwise. Has to be called while
+     * holding {@link #lock}.
+     *
+     * @return {@code true} if enough blocks are free
+     */
+    protected boolean reserveBlocks(int numberOfBlocks) {
+        while (freeBlocks.size() < numberOfBlocks) {
+            if (allocatedBlocks < maxBlocks) {
+                allocateSlab();
+            } else if (!evict()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Allocates a new slab and adds its blocks to the free blocks. Has to be
+     * called while holding {@link #lock}.
+     */
+    protected void allocateSlab() {
+        int numberOfBlocks = (int) Math.min(Math.max(1, SLAB_SIZE / blockSize), maxBlocks - allocatedBlocks);
+        ByteBuffer slab = ByteBuffer.allocateDirect(numberOfBlocks * blockSize);
+        for (int i = 0; i < numberOfBlocks; ++i) {
+            slab.limit((i + 1) * blockSize);
+            slab.position(i * blockSize);
+            freeBlocks.addLast(slab.slice());
+        }
+        allocatedBlocks += numberOfBlocks;
+    }
+
+    /**
+     * Moves the clock hand until a document can be evicted and evicts it. Has to
+     * be called while holding {@link #lock}.
+     *
+     * @return {@code true} if a document has been evicted, {@code false} if all
+     *         documents are pinned
+     */
+    protected boolean evict() {
+        // after one round all reference bits are cleared, i.e., the second round
+        // only skips pinned documents
+        int steps = 2 * clock.size();
+        Document document;
+        for (int i = 0; i < steps; ++i) {
+            document = clock.pollFirst();
+            if (document.referenced) {
+                document.referenced = false;
+                clock.addLast(document);
+            } else if (document.evict()) {
+                release(document);
+                evictions.increment();
+                return true;
+            } else {
+                clock.addLast(document);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the given evicted document from the cache and frees its blocks.
+     * Has to be called while holding {@link #lock}.
+     */
+    protected void release(Document document) {
+        documents.remove(document.key, document);
+        for (int i = 0; i < document.blocks.length; ++i) {
+            freeBlocks.addLast(document.blocks[i]);
+        }
+        size -= document.length;
+    }
+
+    /**
+     * Removes all documents that are not pinned from the cache. The allocated
+     * slabs are kept for new documents.
+     */
+    public void clear() {
+        synchronized (lock) {
+            int count = clock.size();
+            Document document;
+            for (int i = 0; i < count; ++i) {
+                document = clock.pollFirst();
+                if (document.evict()) {
+                    release(document);
+                } else {
+                    clock.addLast(document);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the cached documents.
+     *
+     * @return the number of bytes of the cached documents
+     */
+    public long size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the blocks that are used by the cached
+     * documents, i.e., the part of the capacity that is occupied.
+     *
+     * @return the number of bytes occupied by the cached documents
+     */
+    public long getOccupiedBytes() {
+        synchronized (lock) {
+            return (allocatedBlocks - freeBlocks.size()) * blockSize;
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the slabs that have been allocated so far.
+     *
+     * @return the number of allocated bytes
+     */
+    public long getAllocatedBytes() {
+        synchronized (lock) {
+            return allocatedBlocks * blockSize;
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache [size=" + size() + ", occupied=" + getOccupiedBytes() + ", capacity=" + capacity
+                + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "]";
+    }
+
+    /**
+     * A cached document stored in one or more blocks.
+     */
+    protected static class Document {
+        private final Key key;
+        private final ByteBuffer[] blocks;
+        private final int length;
+        /**
+         * The reference bit of the CLOCK algorithm.
+         */
+        private volatile boolean referenced = false;
+        /**
+         * The number of threads that currently read the document or -1 if the
+         * document has been evicted.
+         */
+        private final AtomicInteger pins = new AtomicInteger();
+
+        public Document(Key key, ByteBuffer[] blocks, int length) {
+            this.key = key;
+            this.blocks = blocks;
+            this.length = length;
+        }
+
+        /**
+         * Returns a view of the content of the given block that can be read
+         * without affecting other readers.
+         */
+        protected ByteBuffer getBlock(int index) {
+            ByteBuffer block = blocks[index].duplicate();
+            block.clear();
+            block.limit(Math.min(block.capacity(), length - (index * block.capacity())));
+            return block;
+        }
+
+        /**
+         * @return {@code true} if the document has been pinned, {@code false} if
+         *         it has been evicted
+         */
+        protected boolean pin() {
+            int current;
+            do {
+                current = pins.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!pins.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        protected void unpin() {
+            pins.decrementAndGet();
+        }
+
+        /**
+         * @return {@code true} if the document has been marked as evicted,
+         *         {@code false} if it is pinned
+         */
+        protected boolean evict() {
+            return pins.compareAndSet(0, -1);
+        }
+    }
+
+    /**
+     * The key of a cached document.
+     */
+    protected static class Key {
+        private final int datasetId;
+        private final int nodeId;
+        private final Lang lang;
+        private final ContentEncoding encoding;
+
+        public Key(int datasetId, int nodeId, Lang lang, ContentEncoding encoding) {
+            this.datasetId = datasetId;
+            this.nodeId = nodeId;
+            this.lang = lang;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * ((31 * (31 * datasetId + nodeId)) + Objects.hashCode(lang))) + encoding.ordinal();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return (datasetId == other.datasetId) && (nodeId == other.nodeId) && Objects.equals(lang, other.lang)
+                    && (encoding == other.encoding);
+        }
+    }
+}
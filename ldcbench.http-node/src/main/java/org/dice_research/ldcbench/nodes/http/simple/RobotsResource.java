@@ -1,6 +1,7 @@
 package org.dice_research.ldcbench.nodes.http.simple;
 
 import java.io.OutputStream;
+import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -12,7 +13,10 @@ import com.google.common.net.MediaType;
  * A resource which provides robots.txt file
  * as described at https://en.wikipedia.org/wiki/Robots_exclusion_standard
  */
-public class RobotsResource extends StringResource {
+public class RobotsResource extends StringResource implements RoutableResource {
+
+    public static final String ROBOTS_PATH = "/robots.txt";
+
     private static String getContent(Set<String> paths, int crawlDelay) {
         StringBuilder s = new StringBuilder();
         if (crawlDelay != 0) {
@@ -24,7 +28,12 @@ public class RobotsResource extends StringResource {
     }
 
     public RobotsResource(Set<String> paths, int crawlDelay) {
-        super(r -> r.getPath().toString().equals("/robots.txt"), getContent(paths, crawlDelay));
+        super(r -> r.getPath().toString().equals(ROBOTS_PATH), getContent(paths, crawlDelay));
+    }
+
+    @Override
+    public Set<String> getPaths() {
+        return Collections.singleton(ROBOTS_PATH);
     }
 
     @Override
@@ -0,0 +1,34 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A {@link CrawleableResource} that declares the request paths it can answer.
+ * The {@link RequestRouter} uses these paths to select the resources of a
+ * request without testing every resource. A routable resource must not
+ * answer a request whose path is neither one of its {@link #getPaths()} nor
+ * starts with one of its {@link #getPathPrefixes()}. Note that the router
+ * only preselects resources, i.e., the resource still decides whether it
+ * handles a request with one of its paths.
+ */
+public interface RoutableResource extends CrawleableResource {
+
+    /**
+     * Returns the paths this resource answers.
+     *
+     * @return the paths of the requests this resource can answer
+     */
+    public Set<String> getPaths();
+
+    /**
+     * Returns the path prefixes this resource answers. The default
+     * implementation returns an empty set.
+     *
+     * @return the prefixes of the paths of the requests this resource can
+     *         answer
+     */
+    public default Set<String> getPathPrefixes() {
+        return Collections.emptySet();
+    }
+}
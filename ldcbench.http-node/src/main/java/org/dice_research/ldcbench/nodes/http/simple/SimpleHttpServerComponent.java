@@ -23,13 +23,16 @@ import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFLanguages;
 import org.dice_research.ldcbench.ApiConstants;
 import org.dice_research.ldcbench.graph.Graph;
-import org.dice_research.ldcbench.graph.GraphBuilder;
-import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.graph.OverlayGraph;
 import org.dice_research.ldcbench.nodes.components.NodeComponent;
 import org.dice_research.ldcbench.nodes.http.simple.dump.DumpFileBuilder;
 import org.dice_research.ldcbench.nodes.http.simple.dump.DumpFileResource;
 import org.dice_research.ldcbench.nodes.http.simple.dump.comp.Archiver;
 import org.dice_research.ldcbench.nodes.http.simple.dump.comp.CompressionStreamFactory;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
+import org.dice_research.ldcbench.nodes.http.simple.server.ElasticServerBackend;
+import org.dice_research.ldcbench.nodes.http.simple.server.HttpServerBackend;
+import org.dice_research.ldcbench.nodes.http.simple.server.SimpleServerBackend;
 import org.dice_research.ldcbench.nodes.utils.LangUtils;
 import org.dice_research.ldcbench.rdf.SimpleTripleCreator;
 import org.dice_research.ldcbench.rdf.UriHelper;
@@ -38,10 +41,6 @@ import org.dice_research.ldcbench.vocab.LDCBench;
 import org.hobbit.core.components.Component;
 import org.hobbit.utils.EnvVariables;
 import org.simpleframework.http.core.Container;
-import org.simpleframework.http.core.ContainerServer;
-import org.simpleframework.transport.Server;
-import org.simpleframework.transport.connect.Connection;
-import org.simpleframework.transport.connect.SocketConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,16 +51,33 @@ public class SimpleHttpServerComponent extends NodeComponent implements Componen
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleHttpServerComponent.class);
 
     protected static final int DEFAULT_PORT = 80;
+    /**
+     * The default memory budget of the response cache in MiB. The cache is
+     * disabled by default, i.e., it has to be enabled explicitly.
+     */
+    protected static final int DEFAULT_RESPONSE_CACHE_SIZE = 0;
+    /**
+     * The name of the default server backend. The elastic backend has to be
+     * enabled explicitly.
+     */
+    protected static final String DEFAULT_SERVER_BACKEND = "simple";
+    /**
+     * The content encodings that are used by default (ordered by preference).
+     * Responses are not encoded unless encodings are enabled explicitly, e.g.,
+     * with "gzip,br,deflate".
+     */
+    protected static final String DEFAULT_CONTENT_ENCODINGS = "";
 
     protected int port;
 //    protected String pathTemplate;
     protected Container container;
-    protected Server server;
-    protected Connection connection;
+    protected HttpServerBackend serverBackend;
     protected boolean dumpFileNode;
     protected int crawlDelay;
     protected double compressedRatio;
     protected double disallowedRatio;
+    protected int responseCacheSize;
+    protected ContentEncoding[] contentEncodings;
     protected GraphBasedResource graphBasedResource = null;
     protected DisallowedResource disallowedResource = null;
     protected String dumpFilePath = null;
@@ -75,6 +91,10 @@ public class SimpleHttpServerComponent extends NodeComponent implements Componen
         compressedRatio = Double.parseDouble(EnvVariables.getString(ApiConstants.ENV_COMPRESSED_RATIO_KEY, LOGGER));
         disallowedRatio = Double.parseDouble(EnvVariables.getString(ApiConstants.ENV_DISALLOWED_RATIO_KEY, LOGGER));
         crawlDelay = EnvVariables.getInt(ApiConstants.ENV_CRAWL_DELAY_KEY, LOGGER);
+        responseCacheSize = EnvVariables.getInt(ApiConstants.ENV_RESPONSE_CACHE_SIZE_KEY,
+                DEFAULT_RESPONSE_CACHE_SIZE, LOGGER);
+        contentEncodings = ContentEncoding.parseList(EnvVariables.getString(ApiConstants.ENV_CONTENT_ENCODINGS_KEY,
+                DEFAULT_CONTENT_ENCODINGS, LOGGER));
 
         String hostname = InetAddress.getLocalHost().getHostName();
         LOGGER.info("Hostname: {}", hostname);
@@ -131,10 +151,44 @@ public class SimpleHttpServerComponent extends NodeComponent implements Componen
         container = createContainer();
         graphs = null;
         // Start server
-        server = new ContainerServer(container);
-        connection = new SocketConnection(server);
+        startServer(container);
+    }
+
+    /**
+     * Starts the server backend (see {@link #createServerBackend()}) with the
+     * given container.
+     *
+     * @param container
+     *            the container handling the requests
+     * @throws IOException
+     *             if the server can not be started
+     */
+    protected void startServer(Container container) throws IOException {
+        serverBackend = createServerBackend();
         SocketAddress address = new InetSocketAddress(port);
-        connection.connect(address);
+        serverBackend.start(container, address);
+    }
+
+    /**
+     * Creates the server backend based on the environment variables
+     * {@link ApiConstants#ENV_HTTP_SERVER_BACKEND_KEY} and
+     * {@link ApiConstants#ENV_HTTP_SERVER_THREADS_KEY}.
+     *
+     * @return the server backend
+     */
+    protected HttpServerBackend createServerBackend() {
+        String backendName = EnvVariables.getString(ApiConstants.ENV_HTTP_SERVER_BACKEND_KEY, DEFAULT_SERVER_BACKEND,
+                LOGGER);
+        int threads = EnvVariables.getInt(ApiConstants.ENV_HTTP_SERVER_THREADS_KEY, 0, LOGGER);
+        LOGGER.info("Using the {} server backend.", backendName);
+        switch (backendName) {
+        case "simple":
+            return threads > 0 ? new SimpleServerBackend(threads) : new SimpleServerBackend();
+        case "elastic":
+            return threads > 0 ? new ElasticServerBackend(threads) : new ElasticServerBackend();
+        default:
+            throw new IllegalArgumentException("Unknown server backend \"" + backendName + "\".");
+        }
     }
 
     @Override
@@ -179,33 +233,37 @@ public class SimpleHttpServerComponent extends NodeComponent implements Componen
                     Stream.of(nodeMetadata).map(nm -> nm.getResourceUriTemplate()).toArray(String[]::new),
                     Stream.of(nodeMetadata).map(nm -> nm.getAccessUriTemplate()).toArray(String[]::new),
                     graphs.toArray(new Graph[graphs.size()]),
-                    r -> r.getPath().toString().equals(dumpFilePath),
-                    dumpFileLang, dumpFileCompression, dumpfileArchiver);
+                    dumpFilePath, dumpFileLang, dumpFileCompression, dumpfileArchiver);
         } else {
             SimpleTripleCreator tripleCreator = new SimpleTripleCreator(cloudNodeId.get(), resourceUriTemplates,
                     accessUriTemplates);
             HashSet<String> disallowedPaths = new HashSet<>();
             Random random = new Random(seedGenerator.getNextSeed());
             for (int g = 0; g < graphs.size(); g++) {
-                GraphBuilder gb = new GrphBasedGraph(graphs.get(g));
-                int nodes = gb.getNumberOfNodes();
+                Graph graph = graphs.get(g);
+                int nodes = graph.getNumberOfNodes();
                 int disallowedAmount = Math.max((int) (nodes * disallowedRatio / (1 - disallowedRatio)),
                         disallowedRatio == 0 ? 0 : 1);
                 LOGGER.debug("Adding {} disallowed resources...", disallowedAmount);
+                // The disallowed nodes are added as an overlay, i.e., the (possibly
+                // memory mapped) graph is not copied
+                int[] linkingNodes = new int[disallowedAmount];
                 for (int i = 0; i < disallowedAmount; i++) {
                     int linkingNode = random.nextInt(nodes);
                     // Make sure it's an internal node (belonging to this graph).
                     // Otherwise, the link will not be available for crawling.
-                    while (gb.getGraphId(linkingNode) != Graph.INTERNAL_NODE_GRAPH_ID) {
+                    while (graph.getGraphId(linkingNode) != Graph.INTERNAL_NODE_GRAPH_ID) {
                         linkingNode = (linkingNode + 1) % nodes;
                     }
-                    int disallowedNode = gb.addNode();
-                    gb.addEdge(linkingNode, disallowedNode, 0);
+                    linkingNodes[i] = linkingNode;
+                    int disallowedNode = nodes + i;
                     String path = new URL(tripleCreator.createNode(disallowedNode, -1, -1, false).toString()).getPath();
                     disallowedPaths.add(path);
                     LOGGER.debug("Added a disallowed resource {}.", path);
                 }
-                graphsArray[g] = gb.build();
+                if (disallowedAmount > 0) {
+                    graphsArray[g] = new OverlayGraph(graph, linkingNodes, new int[disallowedAmount]);
+                }
             }
             resources.add(new RobotsResource(disallowedPaths, crawlDelay));
             disallowedResource = new DisallowedResource(disallowedPaths);
@@ -224,6 +282,10 @@ public class SimpleHttpServerComponent extends NodeComponent implements Componen
                     (r -> r.getTarget().contains(UriHelper.DATASET_KEY_WORD)
                             && r.getTarget().contains(UriHelper.RESOURCE_NODE_TYPE)),
                     contentTypes.toArray(new String[contentTypes.size()]));
+            if (responseCacheSize > 0) {
+                graphBasedResource.setResponseCache(new ResponseCache(((long) responseCacheSize) << 20));
+            }
+            graphBasedResource.setAvailableEncodings(contentEncodings);
             resource = graphBasedResource;
         }
         Objects.requireNonNull(resource, "Couldn't create crawleable resource. Exiting.");
@@ -248,14 +310,13 @@ public class SimpleHttpServerComponent extends NodeComponent implements Componen
 
     @Override
     public void close() throws IOException {
-        CloseableHelper.closeQuietly(connection);
-        try {
-            if (server != null) {
-                server.stop();
-            }
-        } catch (IOException e) {
-            LOGGER.error("Exception while closing server. It will be ignored.", e);
+        if (graphBasedResource != null) {
+            LOGGER.info("Request delay statistics: {}", graphBasedResource.getDelayRecorder());
+        }
+        if ((graphBasedResource != null) && (graphBasedResource.getResponseCache() != null)) {
+            LOGGER.info("Response cache statistics: {}", graphBasedResource.getResponseCache());
         }
+        CloseableHelper.closeQuietly(serverBackend);
         super.close();
     }
 }
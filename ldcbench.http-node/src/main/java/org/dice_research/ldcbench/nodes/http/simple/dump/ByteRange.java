@@ -0,0 +1,174 @@
+package org.dice_research.ldcbench.nodes.http.simple.dump;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A range of bytes of a file as requested with the HTTP Range header (RFC
+ * 7233). The first and last position are inclusive.
+ */
+public class ByteRange {
+
+    /**
+     * The unit of the ranges supported by this class.
+     */
+    public static final String BYTES_UNIT = "bytes";
+    /**
+     * The maximum number of ranges of a single request. Requests with more
+     * ranges are answered with the complete file.
+     */
+    public static final int MAX_NUMBER_OF_RANGES = 32;
+
+    private final long first;
+    private final long last;
+
+    /**
+     * Constructor.
+     *
+     * @param first
+     *            the position of the first byte of the range
+     * @param last
+     *            the position of the last byte of the range (inclusive)
+     */
+    public ByteRange(long first, long last) {
+        if ((first < 0) || (last < first)) {
+            throw new IllegalArgumentException("Invalid range [" + first + ", " + last + "].");
+        }
+        this.first = first;
+        this.last = last;
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    public long getLast() {
+        return last;
+    }
+
+    /**
+     * Returns the number of bytes of this range.
+     *
+     * @return the number of bytes of this range
+     */
+    public long getLength() {
+        return last - first + 1;
+    }
+
+    /**
+     * Creates the value of the Content-Range header for this range.
+     *
+     * @param completeLength
+     *            the length of the complete file
+     * @return the value of the Content-Range header
+     */
+    public String toContentRange(long completeLength) {
+        return BYTES_UNIT + " " + first + "-" + last + "/" + completeLength;
+    }
+
+    /**
+     * Parses the given value of a Range header.
+     *
+     * @param header
+     *            the value of the Range header (can be {@code null})
+     * @param completeLength
+     *            the length of the complete file
+     * @return the satisfiable ranges in the order of the header, an empty list
+     *         if none of the ranges can be satisfied or {@code null} if the
+     *         header should be ignored, i.e., if it is missing, can not be
+     *         parsed, uses a different unit or contains too many ranges
+     */
+    public static List<ByteRange> parse(String header, long completeLength) {
+        if (header == null) {
+            return null;
+        }
+        header = header.trim();
+        int pos = header.indexOf('=');
+        if ((pos < 0) || !BYTES_UNIT.equalsIgnoreCase(header.substring(0, pos).trim())) {
+            return null;
+        }
+        String[] specs = header.substring(pos + 1).split(",");
+        if (specs.length > MAX_NUMBER_OF_RANGES) {
+            return null;
+        }
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        String spec;
+        String firstString;
+        String lastString;
+        long first;
+        long last;
+        for (int i = 0; i < specs.length; ++i) {
+            spec = specs[i].trim();
+            pos = spec.indexOf('-');
+            if (pos < 0) {
+                return null;
+            }
+            firstString = spec.substring(0, pos).trim();
+            lastString = spec.substring(pos + 1).trim();
+            try {
+                if (firstString.isEmpty()) {
+                    // suffix range, i.e., the last n bytes
+                    if (lastString.isEmpty()) {
+                        return null;
+                    }
+                    last = parsePosition(lastString);
+                    if (last == 0) {
+                        // an empty suffix can not be satisfied
+                        continue;
+                    }
+                    first = Math.max(0, completeLength - last);
+                    last = completeLength - 1;
+                } else {
+                    first = parsePosition(firstString);
+                    if (lastString.isEmpty()) {
+                        last = completeLength - 1;
+                    } else {
+                        last = parsePosition(lastString);
+                        if (last < first) {
+                            // syntactically invalid
+                            return null;
+                        }
+                        last = Math.min(last, completeLength - 1);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if ((first < completeLength) && (first <= last)) {
+                ranges.add(new ByteRange(first, last));
+            }
+        }
+        return ranges.isEmpty() ? Collections.emptyList() : ranges;
+    }
+
+    private static long parsePosition(String position) {
+        long value = Long.parseLong(position);
+        if (value < 0) {
+            throw new NumberFormatException("Negative position " + position);
+        }
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * Long.hashCode(first)) + Long.hashCode(last);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ByteRange)) {
+            return false;
+        }
+        ByteRange other = (ByteRange) obj;
+        return (first == other.first) && (last == other.last);
+    }
+
+    @Override
+    public String toString() {
+        return "ByteRange [" + first + "-" + last + "]";
+    }
+}
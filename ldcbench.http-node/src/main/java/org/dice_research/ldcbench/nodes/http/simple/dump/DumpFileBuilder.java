@@ -23,6 +23,7 @@ import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.nodes.http.simple.dump.comp.BrotliStreamFactory;
 import org.dice_research.ldcbench.nodes.http.simple.dump.comp.CompressionStreamFactory;
 import org.dice_research.ldcbench.nodes.http.simple.dump.comp.ReflectionBasedStreamFactory;
+import org.dice_research.ldcbench.nodes.utils.RawTripleWriter;
 import org.dice_research.ldcbench.nodes.utils.TripleIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,7 +71,14 @@ public class DumpFileBuilder {
     public File build()
             throws IOException, NoSuchMethodException, SecurityException, ReflectiveOperationException {
         try (OutputStream out = generateOutputStream()) {
-            streamData(out, lang);
+            RawTripleWriter.Templates rawTemplates = RawTripleWriter.isSupported(lang)
+                    ? RawTripleWriter.compileTemplates(domainId, resourceUriTemplates, accessUriTemplates)
+                    : null;
+            if (rawTemplates != null) {
+                writeRawData(out, rawTemplates);
+            } else {
+                streamData(out, lang);
+            }
         }
         return dumpFile;
     }
@@ -126,6 +134,22 @@ public class DumpFileBuilder {
         }
     }
 
+    /**
+     * Writes the triples of all graphs as N-Triples without creating Jena
+     * objects (see {@link RawTripleWriter}).
+     */
+    private void writeRawData(OutputStream out, RawTripleWriter.Templates rawTemplates) throws IOException {
+        LOGGER.info("Domain ID: " + domainId);
+        LOGGER.info("graph size: " + graphs.length);
+        RawTripleWriter writer = new RawTripleWriter(rawTemplates, out);
+        for (Graph graph : graphs) {
+            for (int i = 0; i < graph.getNumberOfNodes(); ++i) {
+                writer.writeTriples(graph, i);
+            }
+        }
+        writer.flush();
+    }
+
     private void writeData(OutputStream out, Lang lang) {
         TripleIterator iterator;
         LOGGER.info("Domain ID: " + domainId);
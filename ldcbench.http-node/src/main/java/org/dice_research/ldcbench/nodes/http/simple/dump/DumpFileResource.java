@@ -1,19 +1,25 @@
 package org.dice_research.ldcbench.nodes.http.simple.dump;
 
-import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
-import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHeaders;
 import org.apache.jena.riot.Lang;
 import org.dice_research.ldcbench.graph.Graph;
-import org.dice_research.ldcbench.nodes.http.simple.AbstractCrawleableResource;
+import org.dice_research.ldcbench.nodes.http.simple.RoutableResource;
 import org.dice_research.ldcbench.nodes.http.simple.SimpleHttpException;
 import org.dice_research.ldcbench.nodes.http.simple.dump.comp.Archiver;
 import org.dice_research.ldcbench.nodes.http.simple.dump.comp.CompressionStreamFactory;
@@ -26,9 +32,14 @@ import org.simpleframework.http.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.net.MediaType;
-
-public class DumpFileResource extends AbstractCrawleableResource {
+/**
+ * A resource serving a dump file. The file is sent without copying it through
+ * the heap. Range requests (single and multiple ranges) as well as
+ * conditional requests based on the ETag and Last-Modified headers are
+ * supported, e.g., to enable a crawler to resume the download of a large dump
+ * file. The file is served at a single path.
+ */
+public class DumpFileResource implements RoutableResource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DumpFileResource.class);
     public static final List<Archiver> ARCHIVERS = Arrays.asList(new TarArchiver(),
@@ -36,7 +47,7 @@ public class DumpFileResource extends AbstractCrawleableResource {
             new ZipArchiver());
 
     public static DumpFileResource create(int domainId, String[] resourceUriTemplates, String[] accessUriTemplates,
-            Graph[] graphs, Predicate<Request> predicate, Lang lang, CompressionStreamFactory compression, Archiver archiver) {
+            Graph[] graphs, String path, Lang lang, CompressionStreamFactory compression, Archiver archiver) {
         DumpFileBuilder builder = new DumpFileBuilder(domainId, resourceUriTemplates, accessUriTemplates, graphs,
                 lang, compression);
         try {
@@ -48,9 +59,9 @@ public class DumpFileResource extends AbstractCrawleableResource {
                 File archive = File.createTempFile("ldcbench", ".archive");
             	archiver.buildArchive(archive,dumpFile);
             	contentType = archiver.getMediaType();
-                return new DumpFileResource(predicate, contentType, archive);
+                return new DumpFileResource(path, contentType, archive);
             }
-            return new DumpFileResource(predicate, contentType, dumpFile);
+            return new DumpFileResource(path, contentType, dumpFile);
         } catch (IOException e) {
             LOGGER.error("Couldn't create dump file.", e);
         } catch (NoSuchMethodException e) {
@@ -63,23 +74,281 @@ public class DumpFileResource extends AbstractCrawleableResource {
         return null;
     }
 
+    /**
+     * The size of the buffer used if the file can not be transferred directly
+     * to the target channel.
+     */
+    protected static final int TRANSFER_BUFFER_SIZE = 1 << 16;
+    /**
+     * The direct buffers used if the file can not be transferred directly to
+     * the target channel. Every thread reuses its buffer.
+     */
+    private static final ThreadLocal<ByteBuffer> TRANSFER_BUFFER = ThreadLocal
+            .withInitial(() -> ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE));
+    private static final String MULTIPART_BYTERANGES = "multipart/byteranges; boundary=";
+    private static final String HEAD_METHOD = "HEAD";
+
+    /**
+     * The path at which the dump file is served.
+     */
+    protected final String path;
+    /**
+     * The predicate deciding whether a given request asks for the dump file.
+     */
+    protected final Predicate<Request> predicate;
+    /**
+     * The content type of the dump file.
+     */
+    protected final String contentType;
     protected final File dumpFile;
+    /**
+     * The length of the dump file.
+     */
+    protected final long length;
+    /**
+     * The time of the last modification of the dump file.
+     */
+    protected final long lastModified;
+    /**
+     * The (strong) entity tag of the dump file.
+     */
+    protected final String eTag;
+    /**
+     * The boundary separating the parts of a multipart/byteranges response.
+     */
+    protected final String boundary;
 
-    protected DumpFileResource(Predicate<Request> predicate, String contentType, File dumpFile) {
-        super(predicate, contentType);
+    protected DumpFileResource(String path, String contentType, File dumpFile) {
+        this.path = path;
+        this.predicate = r -> r.getPath().toString().equals(path);
+        this.contentType = contentType;
         this.dumpFile = dumpFile;
+        this.length = dumpFile.length();
+        this.lastModified = dumpFile.lastModified();
+        this.eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        this.boundary = "LDCBENCH" + Long.toHexString(length ^ (lastModified << 8)) + "BYTERANGES";
     }
 
+    /**
+     * Answers the request with the complete dump file or the requested ranges
+     * of it. Conditional requests (If-None-Match, If-Modified-Since and
+     * If-Range) are supported as well.
+     */
     @Override
-    protected boolean handleRequest(String target, MediaType responseType, Response response, OutputStream out)
-            throws SimpleHttpException {
-        try (InputStream in = new BufferedInputStream(new FileInputStream(dumpFile))) {
-            IOUtils.copy(in, out);
+    public boolean handleRequest(Request request, Response response, OutputStream out) throws SimpleHttpException {
+        if (!predicate.test(request)) {
+            return false;
+        }
+        response.setValue(HttpHeaders.ETAG, eTag);
+        response.setDate(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setValue(HttpHeaders.ACCEPT_RANGES, ByteRange.BYTES_UNIT);
+        if (isNotModified(request)) {
+            response.setStatus(Status.NOT_MODIFIED);
             return true;
-        } catch (Exception e) {
+        }
+        List<ByteRange> ranges = isIfRangeFulfilled(request)
+                ? ByteRange.parse(request.getValue(HttpHeaders.RANGE), length)
+                : null;
+        if ((ranges != null) && ranges.isEmpty()) {
+            response.setStatus(Status.REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setValue(HttpHeaders.CONTENT_RANGE, ByteRange.BYTES_UNIT + " */" + length);
+            response.setContentLength(0);
+            return true;
+        }
+        boolean sendBody = !HEAD_METHOD.equalsIgnoreCase(request.getMethod());
+        try (FileChannel file = FileChannel.open(dumpFile.toPath(), StandardOpenOption.READ)) {
+            if (ranges == null) {
+                response.setContentType(contentType);
+                response.setContentLength(length);
+                if (sendBody) {
+                    transfer(file, 0, length, response.getByteChannel());
+                }
+            } else if (ranges.size() == 1) {
+                ByteRange range = ranges.get(0);
+                response.setStatus(Status.PARTIAL_CONTENT);
+                response.setContentType(contentType);
+                response.setValue(HttpHeaders.CONTENT_RANGE, range.toContentRange(length));
+                response.setContentLength(range.getLength());
+                if (sendBody) {
+                    transfer(file, range.getFirst(), range.getLength(), response.getByteChannel());
+                }
+            } else {
+                response.setStatus(Status.PARTIAL_CONTENT);
+                response.setContentType(MULTIPART_BYTERANGES + boundary);
+                response.setContentLength(writeRanges(file, ranges, contentType, null));
+                if (sendBody) {
+                    writeRanges(file, ranges, contentType, response.getByteChannel());
+                }
+            }
+            return true;
+        } catch (IOException e) {
             LOGGER.error("Error while writing dump file to stream.", e);
             throw new SimpleHttpException("Error while writing dump file to stream.", e, Status.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Checks the If-None-Match and If-Modified-Since headers of the given
+     * request.
+     *
+     * @return {@code true} if the client already has the current version of
+     *         the file
+     */
+    protected boolean isNotModified(Request request) {
+        String ifNoneMatch = request.getValue(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String tag;
+            for (String value : ifNoneMatch.split(",")) {
+                tag = value.trim();
+                // If-None-Match uses the weak comparison
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || eTag.equals(tag)) {
+                    return true;
+                }
+            }
+            // If-Modified-Since has to be ignored if If-None-Match is present
+            return false;
+        }
+        if (request.getValue(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            try {
+                return (lastModified / 1000) <= (request.getDate(HttpHeaders.IF_MODIFIED_SINCE) / 1000);
+            } catch (Exception e) {
+                LOGGER.info("Couldn't parse If-Modified-Since header. It will be ignored.");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the If-Range header of the given request.
+     *
+     * @return {@code true} if the Range header of the request should be taken
+     *         into account
+     */
+    protected boolean isIfRangeFulfilled(Request request) {
+        String ifRange = request.getValue(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range uses the strong comparison, i.e., weak tags never match
+            return eTag.equals(ifRange);
+        }
+        try {
+            return (lastModified / 1000) == (request.getDate(HttpHeaders.IF_RANGE) / 1000);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the given ranges of the given file as multipart/byteranges body
+     * to the given channel.
+     *
+     * @param file
+     *            the file from which the ranges are read
+     * @param ranges
+     *            the ranges that should be written
+     * @param contentType
+     *            the content type of the single parts
+     * @param target
+     *            the channel to which the body is written or {@code null} if
+     *            only the length of the body should be determined
+     * @return the number of bytes of the body
+     * @throws IOException
+     *             if the data can not be read or written
+     */
+    protected long writeRanges(FileChannel file, List<ByteRange> ranges, String contentType,
+            WritableByteChannel target) throws IOException {
+        long bodyLength = 0;
+        ByteBuffer header;
+        for (ByteRange range : ranges) {
+            header = StandardCharsets.US_ASCII.encode("\r\n--" + boundary + "\r\nContent-Type: " + contentType
+                    + "\r\nContent-Range: " + range.toContentRange(length) + "\r\n\r\n");
+            bodyLength += header.remaining() + range.getLength();
+            if (target != null) {
+                writeFully(header, target);
+                transfer(file, range.getFirst(), range.getLength(), target);
+            }
+        }
+        header = StandardCharsets.US_ASCII.encode("\r\n--" + boundary + "--\r\n");
+        bodyLength += header.remaining();
+        if (target != null) {
+            writeFully(header, target);
+        }
+        return bodyLength;
+    }
+
+    /**
+     * Transfers the given number of bytes starting at the given position of
+     * the given file to the given channel. If the channel is a file or socket
+     * channel, {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+     * is used, which lets the operating system copy the data (e.g., using
+     * sendfile). Otherwise, the data is read into a reused direct buffer of
+     * {@link #TRANSFER_BUFFER_SIZE} bytes and written from there, which avoids
+     * copying the file through the heap.
+     *
+     * @param file
+     *            the file from which the data is read
+     * @param position
+     *            the position of the first byte that should be transferred
+     * @param count
+     *            the number of bytes that should be transferred
+     * @param target
+     *            the channel to which the data is written
+     * @throws IOException
+     *             if the data can not be read or written
+     */
+    public static void transfer(FileChannel file, long position, long count, WritableByteChannel target)
+            throws IOException {
+        long transferred;
+        if ((target instanceof FileChannel) || (target instanceof SocketChannel)) {
+            while (count > 0) {
+                transferred = file.transferTo(position, count, target);
+                if ((transferred <= 0) && (position >= file.size())) {
+                    throw new EOFException("Reached end of file before transferring all bytes.");
+                }
+                position += transferred;
+                count -= transferred;
+            }
+        } else {
+            ByteBuffer buffer = TRANSFER_BUFFER.get();
+            while (count > 0) {
+                buffer.clear();
+                if (count < buffer.capacity()) {
+                    buffer.limit((int) count);
+                }
+                transferred = file.read(buffer, position);
+                if (transferred < 0) {
+                    throw new EOFException("Reached end of file before transferring all bytes.");
+                }
+                buffer.flip();
+                writeFully(buffer, target);
+                position += transferred;
+                count -= transferred;
+            }
+        }
+    }
+
+    private static void writeFully(ByteBuffer buffer, WritableByteChannel target) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    @Override
+    public Set<String> getPaths() {
+        return Collections.singleton(path);
+    }
+
+    public File getDumpFile() {
+        return dumpFile;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
 }
@@ -0,0 +1,309 @@
+package org.dice_research.ldcbench.nodes.http.simple.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+/**
+ * The content codings (RFC 7231) a response can be encoded with. The gzip and
+ * deflate encodings use pooled {@link Deflater} instances. The brotli encoding
+ * is only available if the native brotli library can be loaded.
+ */
+public enum ContentEncoding {
+
+    IDENTITY("identity") {
+        @Override
+        public OutputStream createStream(OutputStream out) {
+            return new CloseShieldOutputStream(out);
+        }
+    },
+    GZIP("gzip") {
+        private final DeflaterPool pool = new DeflaterPool(DEFLATE_LEVEL, true);
+
+        @Override
+        public OutputStream createStream(OutputStream out) throws IOException {
+            return new PooledDeflaterOutputStream(out, pool, true);
+        }
+    },
+    DEFLATE("deflate") {
+        private final DeflaterPool pool = new DeflaterPool(DEFLATE_LEVEL, false);
+
+        @Override
+        public OutputStream createStream(OutputStream out) throws IOException {
+            return new PooledDeflaterOutputStream(out, pool, false);
+        }
+    },
+    BROTLI("br") {
+        @Override
+        public OutputStream createStream(OutputStream out) throws IOException {
+            return new BrotliOutputStream(new CloseShieldOutputStream(out),
+                    new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return BrotliAvailability.AVAILABLE;
+        }
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentEncoding.class);
+
+    /**
+     * The compression level of the gzip and deflate encodings.
+     */
+    public static final int DEFLATE_LEVEL = Deflater.DEFAULT_COMPRESSION;
+    /**
+     * The quality of the brotli encoding. The maximum quality (11) is too slow
+     * for compressing responses on the fly.
+     */
+    public static final int BROTLI_QUALITY = 5;
+
+    private final String name;
+
+    private ContentEncoding(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the encoding as used in the Accept-Encoding and
+     * Content-Encoding headers.
+     *
+     * @return the name of the encoding
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Wraps the given stream with a stream encoding the written data. Closing
+     * the returned stream finishes the encoded data but does not close the
+     * given stream.
+     *
+     * @param out
+     *            the stream to which the encoded data is written
+     * @return the stream encoding the data
+     * @throws IOException
+     *             if the stream can not be created
+     */
+    public abstract OutputStream createStream(OutputStream out) throws IOException;
+
+    /**
+     * Encodes the given data.
+     *
+     * @param data
+     *            the data that should be encoded
+     * @return the encoded data
+     * @throws IOException
+     *             if the data can not be encoded
+     */
+    public byte[] encode(byte[] data) throws IOException {
+        if (this == IDENTITY) {
+            return data;
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(Math.max(32, data.length >> 2));
+        try (OutputStream out = createStream(bout)) {
+            out.write(data);
+        }
+        return bout.toByteArray();
+    }
+
+    /**
+     * Returns whether the encoding can be used.
+     *
+     * @return {@code true} if the encoding can be used
+     */
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Returns the encoding with the given name.
+     *
+     * @param name
+     *            the name of the encoding (case insensitive)
+     * @return the encoding or {@code null} if the name is not known
+     */
+    public static ContentEncoding forName(String name) {
+        for (ContentEncoding encoding : values()) {
+            if (encoding.name.equalsIgnoreCase(name)) {
+                return encoding;
+            }
+        }
+        // x-gzip should be handled like gzip (RFC 7230)
+        if ("x-gzip".equalsIgnoreCase(name)) {
+            return GZIP;
+        }
+        return null;
+    }
+
+    /**
+     * Parses the given comma separated list of encoding names. Unknown and
+     * unavailable encodings are skipped.
+     *
+     * @param names
+     *            the comma separated list of encoding names
+     * @return the encodings in the order of the given list
+     */
+    public static ContentEncoding[] parseList(String names) {
+        List<ContentEncoding> encodings = new ArrayList<>();
+        ContentEncoding encoding;
+        for (String name : names.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            encoding = forName(name);
+            if (encoding == null) {
+                LOGGER.warn("Unknown content encoding \"{}\". It will be ignored.", name);
+            } else if (!encoding.isAvailable()) {
+                LOGGER.warn("The content encoding \"{}\" is not available. It will be ignored.", name);
+            } else if (!encodings.contains(encoding)) {
+                encodings.add(encoding);
+            }
+        }
+        return encodings.toArray(new ContentEncoding[encodings.size()]);
+    }
+
+    /**
+     * Selects the encoding of a response based on the values of the
+     * Accept-Encoding header of the request. The encoding with the highest
+     * quality value is chosen. If several encodings have the same quality, the
+     * one mentioned first by the client is chosen. A wildcard is replaced by the
+     * first available encoding that is not explicitly mentioned by the client.
+     * If none of the available encodings is accepted, {@link #IDENTITY} is
+     * returned unless the client excludes it with "identity;q=0" or with
+     * "*;q=0" without mentioning identity (RFC 7231, section 5.3.4). In this
+     * case, no acceptable encoding exists and the request should be answered
+     * with 406 Not Acceptable.
+     *
+     * @param values
+     *            the values of the Accept-Encoding header
+     * @param available
+     *            the encodings that can be used (ordered by preference)
+     * @return the encoding of the response or {@code null} if neither one of
+     *         the available encodings nor {@link #IDENTITY} is acceptable
+     */
+    public static ContentEncoding negotiate(Iterator<String> values, ContentEncoding[] available) {
+        if (!values.hasNext()) {
+            return IDENTITY;
+        }
+        ContentEncoding best = null;
+        double bestQuality = 0;
+        boolean wildcard = false;
+        double wildcardQuality = 0;
+        boolean identityMentioned = false;
+        double identityQuality = 0;
+        Set<ContentEncoding> mentioned = new HashSet<>();
+        String value;
+        String name;
+        double quality;
+        int pos;
+        ContentEncoding encoding;
+        while (values.hasNext()) {
+            value = values.next();
+            if (value == null) {
+                continue;
+            }
+            quality = 1;
+            pos = value.indexOf(';');
+            if (pos >= 0) {
+                quality = parseQuality(value.substring(pos + 1));
+                name = value.substring(0, pos).trim();
+            } else {
+                name = value.trim();
+            }
+            if ("*".equals(name)) {
+                if (!wildcard) {
+                    wildcard = true;
+                    wildcardQuality = quality;
+                }
+                continue;
+            }
+            encoding = forName(name);
+            if ((encoding == null) || !mentioned.add(encoding)) {
+                continue;
+            }
+            if (encoding == IDENTITY) {
+                identityMentioned = true;
+                identityQuality = quality;
+            }
+            if ((quality > bestQuality) && contains(available, encoding)) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        if (wildcard && (wildcardQuality > bestQuality)) {
+            for (int i = 0; i < available.length; ++i) {
+                if (!mentioned.contains(available[i])) {
+                    return available[i];
+                }
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        // identity is acceptable unless it has been excluded
+        if (identityMentioned ? (identityQuality <= 0) : (wildcard && (wildcardQuality <= 0))) {
+            return null;
+        }
+        return IDENTITY;
+    }
+
+    /**
+     * Parses the quality value of the given parameters of an Accept-Encoding
+     * value.
+     */
+    private static double parseQuality(String parameters) {
+        String parameter;
+        for (String p : parameters.split(";")) {
+            parameter = p.trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static boolean contains(ContentEncoding[] encodings, ContentEncoding encoding) {
+        for (int i = 0; i < encodings.length; ++i) {
+            if (encodings[i] == encoding) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lazily checks whether the native brotli library can be loaded.
+     */
+    private static class BrotliAvailability {
+        private static final boolean AVAILABLE = checkAvailability();
+
+        private static boolean checkAvailability() {
+            try {
+                return Brotli4jLoader.isAvailable();
+            } catch (Throwable e) {
+                LOGGER.warn("Couldn't load brotli library. The br content encoding is not available.", e);
+                return false;
+            }
+        }
+    }
+}
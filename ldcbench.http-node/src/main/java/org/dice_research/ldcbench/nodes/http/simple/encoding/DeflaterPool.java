@@ -0,0 +1,96 @@
+package org.dice_research.ldcbench.nodes.http.simple.encoding;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * A pool of {@link Deflater} instances. Creating a deflater allocates native
+ * memory and ending it frees this memory again. Reusing the deflaters saves
+ * these steps for every compressed response.
+ */
+public class DeflaterPool {
+
+    /**
+     * The default maximum number of idle deflaters kept in the pool.
+     */
+    public static final int DEFAULT_MAX_IDLE = 64;
+
+    private final int level;
+    private final boolean nowrap;
+    private final int maxIdle;
+    private final Queue<Deflater> idleDeflaters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param level
+     *            the compression level of the deflaters
+     * @param nowrap
+     *            if {@code true} the deflaters create raw deflate data without
+     *            the zlib header and checksum (as needed for gzip)
+     */
+    public DeflaterPool(int level, boolean nowrap) {
+        this(level, nowrap, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param level
+     *            the compression level of the deflaters
+     * @param nowrap
+     *            if {@code true} the deflaters create raw deflate data without
+     *            the zlib header and checksum (as needed for gzip)
+     * @param maxIdle
+     *            the maximum number of idle deflaters kept in the pool
+     */
+    public DeflaterPool(int level, boolean nowrap, int maxIdle) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns an idle deflater or creates a new one if the pool is empty.
+     *
+     * @return a deflater that has to be given back using
+     *         {@link #release(Deflater)}
+     */
+    public Deflater acquire() {
+        Deflater deflater = idleDeflaters.poll();
+        if (deflater == null) {
+            return new Deflater(level, nowrap);
+        }
+        idleCount.decrementAndGet();
+        return deflater;
+    }
+
+    /**
+     * Resets the given deflater and adds it to the pool. If the pool is full,
+     * the deflater is ended.
+     *
+     * @param deflater
+     *            the deflater that is not used anymore
+     */
+    public void release(Deflater deflater) {
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            deflater.end();
+            return;
+        }
+        deflater.reset();
+        idleDeflaters.offer(deflater);
+    }
+
+    /**
+     * Returns the number of idle deflaters in the pool.
+     *
+     * @return the number of idle deflaters
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+}
@@ -0,0 +1,117 @@
+package org.dice_research.ldcbench.nodes.http.simple.encoding;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A stream compressing the written data with a {@link Deflater} taken from a
+ * {@link DeflaterPool}. The data is either written in the zlib format (HTTP
+ * "deflate") or in the gzip format, for which the deflater of the pool has to
+ * create raw deflate data.
+ *
+ * <p>
+ * <b>Note</b> that {@link #close()} finishes the compressed data and gives the
+ * deflater back to the pool but does not close the underlying stream.
+ * </p>
+ */
+public class PooledDeflaterOutputStream extends FilterOutputStream {
+
+    private static final byte[] GZIP_HEADER = new byte[] { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0,
+            (byte) 0xff };
+    private static final int BUFFER_SIZE = 8192;
+
+    private final DeflaterPool pool;
+    private final boolean gzip;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private Deflater deflater;
+    private CRC32 crc;
+
+    /**
+     * Constructor.
+     *
+     * @param out
+     *            the stream to which the compressed data is written
+     * @param pool
+     *            the pool from which the deflater is taken
+     * @param gzip
+     *            {@code true} if the gzip format should be written
+     * @throws IOException
+     *             if the gzip header can not be written
+     */
+    public PooledDeflaterOutputStream(OutputStream out, DeflaterPool pool, boolean gzip) throws IOException {
+        super(out);
+        this.pool = pool;
+        this.gzip = gzip;
+        // write the header before taking the deflater, which would be lost if
+        // the header could not be written
+        if (gzip) {
+            crc = new CRC32();
+            out.write(GZIP_HEADER);
+        }
+        this.deflater = pool.acquire();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (deflater == null) {
+            throw new IOException("Stream has already been closed.");
+        }
+        if (len == 0) {
+            return;
+        }
+        if (gzip) {
+            crc.update(b, off, len);
+        }
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            deflate();
+        }
+    }
+
+    private void deflate() throws IOException {
+        int length = deflater.deflate(buffer, 0, buffer.length);
+        if (length > 0) {
+            out.write(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Finishes the compressed data, gives the deflater back to the pool and
+     * flushes the underlying stream without closing it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (deflater == null) {
+            return;
+        }
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate();
+            }
+            if (gzip) {
+                writeIntLE((int) crc.getValue());
+                writeIntLE((int) deflater.getBytesRead());
+            }
+        } finally {
+            pool.release(deflater);
+            deflater = null;
+        }
+        out.flush();
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+}
@@ -0,0 +1,150 @@
+package org.dice_research.ldcbench.nodes.http.simple.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.simpleframework.http.Request;
+import org.simpleframework.http.Response;
+import org.simpleframework.http.Status;
+import org.simpleframework.http.core.Container;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A backend that hands every request over to an elastic thread pool. The
+ * connections are accepted and parsed by the non-blocking transport layer of
+ * the Simple framework. Its few request threads only dispatch the requests to
+ * the pool, which grows up to the given maximum number of threads if many
+ * requests are handled in parallel and shrinks again when the threads are
+ * idle. Hence, a crawler with many parallel connections does not have to wait
+ * for a small, fixed set of threads.
+ *
+ * <p>
+ * A response is committed when the {@link Container} closes its output
+ * stream, which makes it possible to answer the request after
+ * {@link Container#handle(Request, Response)} has returned.
+ * </p>
+ */
+public class ElasticServerBackend extends SimpleServerBackend {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElasticServerBackend.class);
+
+    /**
+     * The default maximum number of threads handling requests.
+     */
+    public static final int DEFAULT_MAX_NUMBER_OF_THREADS = 512;
+    /**
+     * The number of threads dispatching the requests to the pool.
+     */
+    protected static final int NUMBER_OF_DISPATCHING_THREADS = 2;
+    /**
+     * The time (in seconds) an idle thread is kept alive.
+     */
+    protected static final long KEEP_ALIVE_TIME = 30;
+
+    /**
+     * The maximum number of threads handling requests.
+     */
+    protected final int maxNumberOfThreads;
+    protected ThreadPoolExecutor executor;
+
+    /**
+     * Constructor.
+     */
+    public ElasticServerBackend() {
+        this(DEFAULT_MAX_NUMBER_OF_THREADS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxNumberOfThreads
+     *            the maximum number of threads handling requests in parallel
+     */
+    public ElasticServerBackend(int maxNumberOfThreads) {
+        super(NUMBER_OF_DISPATCHING_THREADS);
+        if (maxNumberOfThreads < 1) {
+            throw new IllegalArgumentException("The maximum number of threads has to be > 0.");
+        }
+        this.maxNumberOfThreads = maxNumberOfThreads;
+    }
+
+    @Override
+    public SocketAddress start(Container container, SocketAddress address) throws IOException {
+        // core size == max size + core thread time out gives an elastic pool that
+        // queues requests only if all threads are busy
+        executor = new ThreadPoolExecutor(maxNumberOfThreads, maxNumberOfThreads, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new RequestThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return super.start(new DispatchingContainer(container, executor), address);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the number of threads that are currently part of the pool.
+     *
+     * @return the number of threads of the pool or 0 if the server has not been
+     *         started
+     */
+    public int getPoolSize() {
+        return executor == null ? 0 : executor.getPoolSize();
+    }
+
+    /**
+     * A container that hands the requests over to an executor.
+     */
+    protected static class DispatchingContainer implements Container {
+
+        private final Container container;
+        private final ExecutorService executor;
+
+        public DispatchingContainer(Container container, ExecutorService executor) {
+            this.container = container;
+            this.executor = executor;
+        }
+
+        @Override
+        public void handle(Request request, Response response) {
+            try {
+                executor.execute(() -> container.handle(request, response));
+            } catch (RejectedExecutionException e) {
+                // the server is shutting down
+                response.setStatus(Status.SERVICE_UNAVAILABLE);
+                try {
+                    response.close();
+                } catch (IOException e2) {
+                    LOGGER.warn("Couldn't close response of rejected request.", e2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates named daemon threads.
+     */
+    protected static class RequestThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "http-request-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
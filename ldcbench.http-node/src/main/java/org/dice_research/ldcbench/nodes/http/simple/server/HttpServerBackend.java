@@ -0,0 +1,32 @@
+package org.dice_research.ldcbench.nodes.http.simple.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+
+import org.simpleframework.http.core.Container;
+
+/**
+ * The server that accepts the HTTP connections of a node and hands the requests
+ * over to a {@link Container}. The backends only differ in the way the
+ * connections and requests are scheduled, i.e., the {@link Container} and the
+ * resources it hosts are the same for all backends. Closing the backend stops
+ * the server.
+ */
+public interface HttpServerBackend extends Closeable {
+
+    /**
+     * Starts the server.
+     *
+     * @param container
+     *            the container handling the requests
+     * @param address
+     *            the address the server should listen to
+     * @return the address the server is listening to (e.g., containing the
+     *         chosen port if the given address has the port 0)
+     * @throws IOException
+     *             if the server can not be started
+     */
+    public SocketAddress start(Container container, SocketAddress address) throws IOException;
+
+}
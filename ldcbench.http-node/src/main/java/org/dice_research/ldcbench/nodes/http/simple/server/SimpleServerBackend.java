@@ -0,0 +1,74 @@
+package org.dice_research.ldcbench.nodes.http.simple.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+
+import org.dice_research.ldcbench.utils.CloseableHelper;
+import org.simpleframework.http.core.Container;
+import org.simpleframework.http.core.ContainerServer;
+import org.simpleframework.transport.Server;
+import org.simpleframework.transport.connect.Connection;
+import org.simpleframework.transport.connect.SocketConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A backend that uses the {@link ContainerServer} of the Simple framework. The
+ * connections are handled by the non-blocking transport layer of the framework
+ * while the requests are handled by a fixed number of threads.
+ */
+public class SimpleServerBackend implements HttpServerBackend {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleServerBackend.class);
+
+    /**
+     * The number of threads the {@link ContainerServer} uses by default.
+     */
+    public static final int DEFAULT_NUMBER_OF_THREADS = 8;
+
+    /**
+     * The number of threads handling requests.
+     */
+    protected final int numberOfThreads;
+    protected Server server;
+    protected Connection connection;
+
+    /**
+     * Constructor.
+     */
+    public SimpleServerBackend() {
+        this(DEFAULT_NUMBER_OF_THREADS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param numberOfThreads
+     *            the number of threads handling requests
+     */
+    public SimpleServerBackend(int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("The number of threads has to be > 0.");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    @Override
+    public SocketAddress start(Container container, SocketAddress address) throws IOException {
+        server = new ContainerServer(container, numberOfThreads);
+        connection = new SocketConnection(server);
+        return connection.connect(address);
+    }
+
+    @Override
+    public void close() throws IOException {
+        CloseableHelper.closeQuietly(connection);
+        try {
+            if (server != null) {
+                server.stop();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Exception while closing server. It will be ignored.", e);
+        }
+    }
+}
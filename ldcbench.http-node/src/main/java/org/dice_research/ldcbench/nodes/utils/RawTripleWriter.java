@@ -0,0 +1,303 @@
+package org.dice_research.ldcbench.nodes.utils;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.jena.riot.Lang;
+import org.dice_research.ldcbench.graph.EdgeCursor;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.rdf.SimpleTripleCreator;
+import org.dice_research.ldcbench.rdf.UriHelper;
+import org.dice_research.ldcbench.rdf.UriTemplate;
+
+/**
+ * A writer that serializes the outgoing edges of graph nodes as N-Triples
+ * without creating any Jena objects. Since all triples of the synthetic graphs
+ * consist of IRIs generated from URI templates, every IRI can be written as a
+ * pre-encoded prefix followed by the decimal node ID and a pre-encoded suffix.
+ * The bytes are collected in an internal buffer that is written to the
+ * underlying stream when it is full or when {@link #flush()} is called.
+ *
+ * <p>
+ * The created triples are the same as the triples created by the
+ * {@link SimpleTripleCreator}. Since N-Triples is a subset of Turtle and N3,
+ * the output can be used for these languages as well (see
+ * {@link #isSupported(Lang)}). The pre-encoded templates are created with
+ * {@link #compileTemplates(int, String[], String[])}. They are immutable and
+ * can be shared by several writers.
+ * </p>
+ */
+public class RawTripleWriter implements Flushable {
+
+    /**
+     * The default size of the internal buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    /**
+     * The maximum number of bytes of a decimal int.
+     */
+    private static final int MAX_INT_LENGTH = 11;
+    private static final byte[] TRIPLE_END = " .\n".getBytes(StandardCharsets.US_ASCII);
+
+    protected final Templates templates;
+    protected final OutputStream out;
+    protected final byte[] buffer;
+    protected int position = 0;
+    private final EdgeCursor cursor = new EdgeCursor();
+
+    /**
+     * Constructor.
+     *
+     * @param templates
+     *            the pre-encoded templates
+     * @param out
+     *            the stream to which the triples are written
+     */
+    public RawTripleWriter(Templates templates, OutputStream out) {
+        this(templates, out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param templates
+     *            the pre-encoded templates
+     * @param out
+     *            the stream to which the triples are written
+     * @param bufferSize
+     *            the size of the internal buffer
+     */
+    public RawTripleWriter(Templates templates, OutputStream out, int bufferSize) {
+        this.templates = templates;
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 256)];
+    }
+
+    /**
+     * Returns {@code true} if the given language can be written by this writer.
+     *
+     * @param lang
+     *            the RDF serialization
+     * @return {@code true} if the language is N-Triples, Turtle or N3
+     */
+    public static boolean isSupported(Lang lang) {
+        return Lang.NTRIPLES.equals(lang) || Lang.TURTLE.equals(lang) || Lang.N3.equals(lang);
+    }
+
+    /**
+     * Writes the outgoing edges of the given node.
+     *
+     * @param graph
+     *            the graph containing the node
+     * @param nodeId
+     *            the ID of the node
+     * @throws IOException
+     *             if the data can not be written to the stream
+     */
+    public void writeTriples(Graph graph, int nodeId) throws IOException {
+        graph.outgoingEdges(nodeId, cursor);
+        int targetId;
+        int extGraphId;
+        while (cursor.next()) {
+            targetId = cursor.nodeId();
+            writeIri(templates.resourcePrefix, nodeId, templates.resourceSuffix);
+            write((byte) ' ');
+            writeIri(templates.propertyPrefix, cursor.typeId(), templates.propertySuffix);
+            write((byte) ' ');
+            extGraphId = graph.getGraphId(targetId);
+            if (extGraphId == Graph.INTERNAL_NODE_GRAPH_ID) {
+                writeIri(templates.resourcePrefix, targetId, templates.resourceSuffix);
+            } else if (extGraphId == -2) {
+                writeIri(templates.baseAccessPrefix, targetId, templates.baseAccessSuffix);
+            } else {
+                writeIri(templates.getAccessPrefix(extGraphId), graph.getExternalNodeId(targetId),
+                        templates.accessSuffixes[extGraphId]);
+            }
+            write(TRIPLE_END);
+        }
+    }
+
+    /**
+     * Writes a single IRI including the angle brackets which are part of the
+     * given prefix and suffix.
+     */
+    protected void writeIri(byte[] prefix, int id, byte[] suffix) throws IOException {
+        write(prefix);
+        if ((buffer.length - position) < MAX_INT_LENGTH) {
+            flushBuffer();
+        }
+        writeDecimal(id);
+        write(suffix);
+    }
+
+    /**
+     * Writes the decimal representation of the given number into the buffer.
+     * The buffer must have at least {@link #MAX_INT_LENGTH} free bytes.
+     */
+    private void writeDecimal(int value) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                byte[] digits = Integer.toString(value).getBytes(StandardCharsets.US_ASCII);
+                System.arraycopy(digits, 0, buffer, position, digits.length);
+                position += digits.length;
+                return;
+            }
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int length = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            ++length;
+        }
+        int pos = position + length;
+        do {
+            buffer[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        position += length;
+    }
+
+    private void write(byte b) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = b;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > (buffer.length - position)) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Writes the buffered data to the stream and flushes the stream. Note that
+     * the stream is not closed by this writer.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Pre-encodes the templates of the given domain.
+     *
+     * @param domainId
+     *            the ID of the graph / domain for which the triples are written
+     * @param resourceUriTemplates
+     *            a mapping from graph Ids to resource IRI templates.
+     * @param accessUriTemplates
+     *            a mapping from graph Ids to access URL templates.
+     * @return the encoded templates or {@code null} if one of the templates can
+     *         not be written without escaping or does not contain the node ID
+     */
+    public static Templates compileTemplates(int domainId, String[] resourceUriTemplates,
+            String[] accessUriTemplates) {
+        if ((resourceUriTemplates[domainId] == null) || (accessUriTemplates[domainId] == null)) {
+            return null;
+        }
+        UriTemplate resourceTemplate = UriTemplate.getInstance(resourceUriTemplates[domainId]);
+        byte[][] resource = encode(resourceTemplate.getNodeIdAffixes(0, UriHelper.RESOURCE_NODE_TYPE));
+        byte[][] property = encode(resourceTemplate.getNodeIdAffixes(0, UriHelper.PROPERTY_NODE_TYPE));
+        byte[][] accessPrefixes = new byte[accessUriTemplates.length][];
+        byte[][] accessSuffixes = new byte[accessUriTemplates.length][];
+        byte[][] access;
+        for (int i = 0; i < accessUriTemplates.length; ++i) {
+            if (accessUriTemplates[i] != null) {
+                access = encode(UriTemplate.getInstance(accessUriTemplates[i]).getNodeIdAffixes(0,
+                        UriHelper.RESOURCE_NODE_TYPE));
+                if (access == null) {
+                    return null;
+                }
+                accessPrefixes[i] = access[0];
+                accessSuffixes[i] = access[1];
+            }
+        }
+        if ((resource == null) || (property == null)) {
+            return null;
+        }
+        return new Templates(resource[0], resource[1], property[0], property[1], accessPrefixes[domainId],
+                accessSuffixes[domainId], accessPrefixes, accessSuffixes);
+    }
+
+    /**
+     * Encodes the given prefix and suffix of an IRI including the angle
+     * brackets.
+     *
+     * @return the encoded prefix and suffix or {@code null} if the IRI would
+     *         need escaping
+     */
+    private static byte[][] encode(String[] affixes) {
+        if ((affixes == null) || !isValidIriPart(affixes[0]) || !isValidIriPart(affixes[1])) {
+            return null;
+        }
+        return new byte[][] { ("<" + affixes[0]).getBytes(StandardCharsets.UTF_8),
+                (affixes[1] + ">").getBytes(StandardCharsets.UTF_8) };
+    }
+
+    /**
+     * Checks whether the given string can be part of an N-Triples IRIREF
+     * without escaping any of its characters.
+     */
+    private static boolean isValidIriPart(String part) {
+        char c;
+        for (int i = 0; i < part.length(); ++i) {
+            c = part.charAt(i);
+            if ((c <= 0x20) || (c == '<') || (c == '>') || (c == '"') || (c == '{') || (c == '}') || (c == '|')
+                    || (c == '^') || (c == '`') || (c == '\\')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The pre-encoded parts of the IRIs of a single domain.
+     */
+    public static class Templates {
+        private final byte[] resourcePrefix;
+        private final byte[] resourceSuffix;
+        private final byte[] propertyPrefix;
+        private final byte[] propertySuffix;
+        private final byte[] baseAccessPrefix;
+        private final byte[] baseAccessSuffix;
+        private final byte[][] accessPrefixes;
+        private final byte[][] accessSuffixes;
+
+        protected Templates(byte[] resourcePrefix, byte[] resourceSuffix, byte[] propertyPrefix,
+                byte[] propertySuffix, byte[] baseAccessPrefix, byte[] baseAccessSuffix, byte[][] accessPrefixes,
+                byte[][] accessSuffixes) {
+            this.resourcePrefix = resourcePrefix;
+            this.resourceSuffix = resourceSuffix;
+            this.propertyPrefix = propertyPrefix;
+            this.propertySuffix = propertySuffix;
+            this.baseAccessPrefix = baseAccessPrefix;
+            this.baseAccessSuffix = baseAccessSuffix;
+            this.accessPrefixes = accessPrefixes;
+            this.accessSuffixes = accessSuffixes;
+        }
+
+        private byte[] getAccessPrefix(int graphId) {
+            if (accessPrefixes[graphId] == null) {
+                throw new IllegalArgumentException("There is no access URI template for graph " + graphId + ".");
+            }
+            return accessPrefixes[graphId];
+        }
+    }
+}
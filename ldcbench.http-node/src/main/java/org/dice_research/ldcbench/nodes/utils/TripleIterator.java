@@ -1,43 +1,73 @@
 package org.dice_research.ldcbench.nodes.utils;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.jena.graph.Triple;
+import org.dice_research.ldcbench.graph.EdgeCursor;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.rdf.SimpleCachingTripleCreator;
 import org.dice_research.ldcbench.rdf.TripleCreator;
 
 public class TripleIterator implements Iterator<Triple> {
 
+    /**
+     * The triple creators shared by all iterators of a domain. Sharing them
+     * makes sure that their node caches are reused across requests.
+     */
+    private static final Map<Integer, SimpleCachingTripleCreator> SHARED_CREATORS = new ConcurrentHashMap<>();
+
     /**
      * 
      */
     protected Graph[] graphs;
     protected int datasetId;
     protected int nodeId;
-    protected int[] targets;
-    protected int[] edgeTypes;
-    protected int nextTargetId = 0;
+    protected EdgeCursor edges;
     protected TripleCreator tripleCreator;
 
     public TripleIterator(Graph[] graphs, int domainId, String[] resourceUriTemplates, String[] accessUriTemplates, int datasetId, int nodeId) {
+        this(graphs, getSharedTripleCreator(domainId, resourceUriTemplates, accessUriTemplates), datasetId, nodeId);
+    }
+
+    public TripleIterator(Graph[] graphs, TripleCreator tripleCreator, int datasetId, int nodeId) {
         this.graphs = graphs;
         this.datasetId = datasetId;
         this.nodeId = nodeId;
-        targets = graphs[datasetId].outgoingEdgeTargets(nodeId);
-        edgeTypes = graphs[datasetId].outgoingEdgeTypes(nodeId);
-        tripleCreator = new SimpleCachingTripleCreator(domainId, resourceUriTemplates, accessUriTemplates);
+        edges = graphs[datasetId].outgoingEdges(nodeId, new EdgeCursor());
+        this.tripleCreator = tripleCreator;
+    }
+
+    /**
+     * Returns the caching triple creator that is shared by all iterators of the
+     * given domain. A new creator is created if there is none or if the
+     * templates of the existing creator differ from the given templates.
+     */
+    public static SimpleCachingTripleCreator getSharedTripleCreator(int domainId, String[] resourceUriTemplates,
+            String[] accessUriTemplates) {
+        SimpleCachingTripleCreator creator = SHARED_CREATORS.get(domainId);
+        if ((creator == null) || !Arrays.equals(resourceUriTemplates, creator.getResourceUriTemplates())
+                || !Arrays.equals(accessUriTemplates, creator.getAccessUriTemplates())) {
+            creator = new SimpleCachingTripleCreator(domainId, resourceUriTemplates, accessUriTemplates);
+            SHARED_CREATORS.put(domainId, creator);
+        }
+        return creator;
     }
 
     @Override
     public boolean hasNext() {
-        return nextTargetId < targets.length;
+        return edges.hasNext();
     }
 
     @Override
     public Triple next() {
-        int targetId = nextTargetId++;
-        return createTriple(targets[targetId], edgeTypes[targetId]);
+        if (!edges.next()) {
+            throw new NoSuchElementException();
+        }
+        return createTriple(edges.nodeId(), edges.typeId());
     }
 
     private Triple createTriple(int targetId, int propertyId) {
@@ -0,0 +1,136 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHeaders;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
+import org.dice_research.ldcbench.nodes.http.simple.server.HttpServerBackend;
+import org.dice_research.ldcbench.nodes.http.simple.server.SimpleServerBackend;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.simpleframework.http.Response;
+import org.simpleframework.http.Status;
+
+import com.google.common.net.MediaType;
+
+/**
+ * Sends real requests with different Accept-Encoding headers to a resource
+ * that offers gzip to make sure that the quality values of the header reach
+ * the negotiation.
+ */
+public class ContentEncodingRequestTest {
+
+    private static final String CONTENT = "<http://example.org/s> <http://example.org/p> <http://example.org/o> .\n";
+
+    private static HttpServerBackend backend;
+    private static String url;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        TextResource resource = new TextResource();
+        resource.setAvailableEncodings(new ContentEncoding[] { ContentEncoding.GZIP });
+        backend = new SimpleServerBackend();
+        InetSocketAddress address = (InetSocketAddress) backend.start(new CrawleableResourceContainer(resource),
+                new InetSocketAddress("localhost", 0));
+        url = "http://localhost:" + address.getPort() + "/resource";
+    }
+
+    @AfterClass
+    public static void stopServer() throws IOException {
+        backend.close();
+    }
+
+    @Test
+    public void testWithoutHeader() throws IOException {
+        HttpURLConnection connection = request(null);
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertNull("Content-Encoding", connection.getHeaderField(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertEquals("Body", CONTENT, readBody(connection, false));
+    }
+
+    @Test
+    public void testAcceptedEncoding() throws IOException {
+        HttpURLConnection connection = request("identity;q=0.5, gzip");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertEquals("Content-Encoding", "gzip", connection.getHeaderField(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertEquals("Body", CONTENT, readBody(connection, true));
+    }
+
+    @Test
+    public void testRefusedEncoding() throws IOException {
+        HttpURLConnection connection = request("gzip;q=0");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertNull("Content-Encoding", connection.getHeaderField(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertEquals("Body", CONTENT, readBody(connection, false));
+
+        connection = request("gzip;q=0, *");
+        Assert.assertEquals("Status with wildcard", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertNull("Content-Encoding with wildcard", connection.getHeaderField(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertEquals("Body with wildcard", CONTENT, readBody(connection, false));
+    }
+
+    @Test
+    public void testExcludedIdentity() throws IOException {
+        HttpURLConnection connection = request("identity;q=0");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_NOT_ACCEPTABLE, connection.getResponseCode());
+
+        connection = request("*;q=0");
+        Assert.assertEquals("Status with wildcard", HttpURLConnection.HTTP_NOT_ACCEPTABLE,
+                connection.getResponseCode());
+
+        connection = request("identity;q=0, gzip;q=0.1");
+        Assert.assertEquals("Status with accepted encoding", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertEquals("Content-Encoding", "gzip", connection.getHeaderField(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertEquals("Body", CONTENT, readBody(connection, true));
+    }
+
+    /**
+     * Creates a request with the given Accept-Encoding header (or without the
+     * header if the given value is {@code null}).
+     */
+    private static HttpURLConnection request(String acceptEncoding) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        if (acceptEncoding != null) {
+            connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return connection;
+    }
+
+    private static String readBody(HttpURLConnection connection, boolean gzip) throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(connection.getInputStream())
+                : connection.getInputStream()) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * A resource answering every request with the same N-Triples document.
+     */
+    private static class TextResource extends AbstractNegotiatingResource {
+
+        public TextResource() {
+            super((r -> true), new String[] { "application/n-triples" });
+        }
+
+        @Override
+        protected boolean handleRequest(String target, MediaType responseType, Response response, OutputStream out)
+                throws SimpleHttpException {
+            try {
+                out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new SimpleHttpException("Couldn't write response.", e, Status.INTERNAL_SERVER_ERROR);
+            }
+            return true;
+        }
+    }
+}
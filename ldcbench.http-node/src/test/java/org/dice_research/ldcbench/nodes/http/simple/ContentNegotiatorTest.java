@@ -0,0 +1,72 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import org.apache.jena.riot.Lang;
+import org.dice_research.ldcbench.nodes.http.simple.ContentNegotiator.NegotiatedType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContentNegotiatorTest {
+
+    private static final String[] AVAILABLE_TYPES = new String[] { "application/n-triples", "text/turtle",
+            "application/rdf+xml", "application/ld+json" };
+
+    private static String negotiate(ContentNegotiator negotiator, String header) {
+        NegotiatedType type = negotiator.negotiate(header);
+        return type == null ? null : type.getContentType();
+    }
+
+    @Test
+    public void testNegotiation() {
+        ContentNegotiator negotiator = new ContentNegotiator(AVAILABLE_TYPES);
+        Assert.assertEquals("No header", "application/n-triples", negotiate(negotiator, null));
+        Assert.assertEquals("Empty header", "application/n-triples", negotiate(negotiator, ""));
+        Assert.assertEquals("Single type", "text/turtle", negotiate(negotiator, "text/turtle"));
+        Assert.assertEquals("Order of the client", "application/rdf+xml",
+                negotiate(negotiator, "application/rdf+xml, text/turtle"));
+        Assert.assertEquals("Quality values", "text/turtle",
+                negotiate(negotiator, "application/rdf+xml;q=0.5, text/turtle;q=0.9, */*;q=0.1"));
+        Assert.assertEquals("Wildcard", "application/n-triples", negotiate(negotiator, "*/*"));
+        Assert.assertEquals("Single star", "application/n-triples", negotiate(negotiator, "*"));
+        Assert.assertEquals("Specific type before wildcard", "application/ld+json",
+                negotiate(negotiator, "*/*, application/ld+json"));
+        Assert.assertEquals("Type wildcard", "text/turtle", negotiate(negotiator, "text/*, application/json"));
+        Assert.assertEquals("Excluded type", "text/turtle",
+                negotiate(negotiator, "application/n-triples;q=0, */*"));
+        // only the wildcard of a browser matches the available types
+        Assert.assertEquals("Browser", "application/n-triples",
+                negotiate(negotiator, "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"));
+        Assert.assertNull("Not acceptable", negotiate(negotiator, "text/html, application/json"));
+        Assert.assertNull("Only excluded types", negotiate(negotiator, "text/turtle;q=0"));
+        Assert.assertNull("Invalid type", negotiate(negotiator, "invalid"));
+    }
+
+    @Test
+    public void testLang() {
+        ContentNegotiator negotiator = new ContentNegotiator(new String[] { "text/turtle", "text/plain" });
+        Assert.assertEquals("Lang of text/turtle", Lang.TURTLE, negotiator.negotiate("text/turtle").getLang());
+        Assert.assertNull("Lang of text/plain", negotiator.negotiate("text/plain").getLang());
+        Assert.assertSame("Precomputed type", negotiator.negotiate("text/turtle"),
+                negotiator.getType(negotiator.negotiate("text/turtle").getMediaType()));
+    }
+
+    @Test
+    public void testCache() {
+        ContentNegotiator negotiator = new ContentNegotiator(AVAILABLE_TYPES, 2);
+        NegotiatedType type = negotiator.negotiate("text/turtle;q=0.9, */*;q=0.1");
+        Assert.assertSame("Cached decision", type, negotiator.negotiate("text/turtle;q=0.9, */*;q=0.1"));
+        Assert.assertNull("Cached rejection", negotiate(negotiator, "text/html"));
+        Assert.assertNull("Cached rejection", negotiate(negotiator, "text/html"));
+        Assert.assertEquals("Cache size", 2, negotiator.getCacheSize());
+        // the cache is full
+        Assert.assertEquals("Decision without cache", "application/ld+json",
+                negotiate(negotiator, "application/ld+json"));
+        Assert.assertEquals("Cache size", 2, negotiator.getCacheSize());
+    }
+
+    @Test
+    public void testEmptyNegotiator() {
+        ContentNegotiator negotiator = new ContentNegotiator(new String[0]);
+        Assert.assertNull("No header", negotiate(negotiator, null));
+        Assert.assertNull("Wildcard", negotiate(negotiator, "*/*"));
+    }
+}
@@ -2,8 +2,14 @@ package org.dice_research.ldcbench.nodes.http.simple;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Property;
@@ -13,6 +19,7 @@ import org.apache.jena.riot.Lang;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.graph.GraphBuilder;
 import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
 import org.hobbit.utils.test.ModelComparisonHelper;
 import org.junit.Test;
 
@@ -106,6 +113,84 @@ public class GraphBasedResourceTest {
         executeTest(lang, builder, 1, expectedModel);
     }
 
+    @Test
+    public void testResponseCache() throws Exception {
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(3);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(0, 2, 1);
+        builder.addEdge(1, 2, 0);
+        Graph[] graphs = new Graph[] { builder };
+
+        GraphBasedResource resource = new GraphBasedResource(0, URI_TEMPLATES, URI_TEMPLATES, graphs, (r -> true),
+                new String[0]);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        resource.handleRequest(getUri("resource", 0, 0), Lang.NTRIPLES, expected);
+
+        ResponseCache cache = new ResponseCache(1 << 20);
+        resource.setResponseCache(cache);
+        for (int i = 0; i < 3; ++i) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            resource.handleRequest(getUri("resource", 0, 0), Lang.NTRIPLES, out);
+            Assert.assertEquals("Response of request " + i, new String(expected.toByteArray(), "UTF-8"),
+                    new String(out.toByteArray(), "UTF-8"));
+        }
+        Assert.assertEquals("Cache misses", 1, cache.getMisses());
+        Assert.assertEquals("Cache hits", 2, cache.getHits());
+        Assert.assertEquals("Cache size", expected.size(), cache.size());
+    }
+
+    @Test
+    public void testContentEncoding() throws Exception {
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(3);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(0, 2, 1);
+        builder.addEdge(1, 2, 0);
+        Graph[] graphs = new Graph[] { builder };
+
+        GraphBasedResource resource = new GraphBasedResource(0, URI_TEMPLATES, URI_TEMPLATES, graphs, (r -> true),
+                new String[0]);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        resource.handleRequest(getUri("resource", 0, 0), Lang.NTRIPLES, expected);
+
+        // without and with cache
+        for (int i = 0; i < 2; ++i) {
+            if (i == 1) {
+                resource.setResponseCache(new ResponseCache(1 << 20));
+            }
+            for (int j = 0; j < 2; ++j) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                resource.handleRequest(getUri("resource", 0, 0), Lang.NTRIPLES, ContentEncoding.GZIP, out);
+                ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                    IOUtils.copy(in, decoded);
+                }
+                Assert.assertEquals("Decoded response " + j + (i == 1 ? " with cache" : ""),
+                        new String(expected.toByteArray(), "UTF-8"), new String(decoded.toByteArray(), "UTF-8"));
+            }
+        }
+        Assert.assertEquals("Cache misses", 1, resource.getResponseCache().getMisses());
+        Assert.assertEquals("Cache hits", 1, resource.getResponseCache().getHits());
+    }
+
+    @Test
+    public void testPathPrefixes() throws Exception {
+        GraphBasedResource resource = new GraphBasedResource(1, URI_TEMPLATES, URI_TEMPLATES,
+                new Graph[] { new GrphBasedGraph(), new GrphBasedGraph() }, (r -> true), new String[0]);
+        Assert.assertEquals("Path prefixes",
+                new HashSet<>(Arrays.asList("/dataset-0/resource-", "/dataset-1/resource-")),
+                resource.getPathPrefixes());
+        RequestRouter router = new RequestRouter(resource);
+        Assert.assertEquals("Candidates of a node", 1, router.route("/dataset-1/resource-42").length);
+        Assert.assertEquals("Candidates of /robots.txt", 0, router.route("/robots.txt").length);
+
+        // a template without a path can not restrict the requests
+        resource = new GraphBasedResource(0, new String[] { "http://domain0.org" }, URI_TEMPLATES,
+                new Graph[] { new GrphBasedGraph() }, (r -> true), new String[0]);
+        Assert.assertEquals("Path prefixes", Collections.singleton(""), resource.getPathPrefixes());
+    }
+
     protected void executeTest(Lang lang, Graph graph, int domainId, Model expectedModel) throws Exception {
         Graph[] graphs = new Graph[] { graph };
 
@@ -0,0 +1,166 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestDelayRecorderTest {
+
+    @Test
+    public void testEmpty() {
+        RequestDelayRecorder recorder = new RequestDelayRecorder();
+        Assert.assertNull("Average of an empty recorder", recorder.getAverageDelay());
+        Assert.assertNull("Minimum of an empty recorder", recorder.getMinDelay());
+        Assert.assertNull("Maximum of an empty recorder", recorder.getMaxDelay());
+        Assert.assertNull("Median of an empty recorder", recorder.getDelayAtPercentile(50));
+        // a single request does not have a delay
+        recorder.recordRequest(1000);
+        Assert.assertEquals("Number of delays", 0, recorder.getCount());
+        Assert.assertNull("Average of a single request", recorder.getAverageDelay());
+    }
+
+    @Test
+    public void testSortedRequests() {
+        RequestDelayRecorder recorder = new RequestDelayRecorder();
+        long[] times = new long[] { 1000, 1500, 1600, 3600, 3700 };
+        for (long time : times) {
+            recorder.recordRequest(time);
+        }
+        Assert.assertEquals("Number of delays", 4, recorder.getCount());
+        Assert.assertEquals("Minimum delay", Long.valueOf(100), recorder.getMinDelay());
+        Assert.assertEquals("Maximum delay", Long.valueOf(2000), recorder.getMaxDelay());
+        Assert.assertEquals("Average delay", 675.0, recorder.getAverageDelay(), 0.000001);
+        Assert.assertEquals("Lowest percentile", Long.valueOf(100), recorder.getDelayAtPercentile(0));
+        Assert.assertEquals("Highest percentile", Long.valueOf(2000), recorder.getDelayAtPercentile(100));
+    }
+
+    @Test
+    public void testUnsortedRequests() {
+        RequestDelayRecorder recorder = new RequestDelayRecorder();
+        long[] times = new long[] { 1000, 1600, 1500, 3700, 3600 };
+        for (long time : times) {
+            recorder.recordRequest(time);
+        }
+        // late requests are not recorded
+        Assert.assertEquals("Number of delays", 2, recorder.getCount());
+        Assert.assertEquals("Out of order requests", 2, recorder.getOutOfOrderCount());
+        Assert.assertEquals("Average delay", 1350.0, recorder.getAverageDelay(), 0.000001);
+        Assert.assertEquals("Minimum delay", Long.valueOf(600), recorder.getMinDelay());
+        Assert.assertEquals("Maximum delay", Long.valueOf(2100), recorder.getMaxDelay());
+    }
+
+    @Test
+    public void testPercentiles() {
+        RequestDelayRecorder recorder = new RequestDelayRecorder(4);
+        Random random = new Random(42);
+        List<Long> delays = new ArrayList<>();
+        long delay;
+        for (int i = 0; i < 10000; ++i) {
+            delay = random.nextInt(100000);
+            delays.add(delay);
+            recorder.recordDelay(delay);
+        }
+        delays.sort(null);
+        for (double percentile : new double[] { 1, 10, 50, 90, 95, 99, 99.9 }) {
+            long expected = delays.get((int) Math.ceil((percentile / 100.0) * delays.size()) - 1);
+            long actual = recorder.getDelayAtPercentile(percentile);
+            Assert.assertTrue("Delay " + actual + " at percentile " + percentile + " is smaller than " + expected,
+                    actual >= expected);
+            Assert.assertTrue("Delay " + actual + " at percentile " + percentile + " differs too much from "
+                    + expected, actual <= (expected * 1.02));
+        }
+    }
+
+    @Test
+    public void testMultipleThreads() throws InterruptedException {
+        RequestDelayRecorder recorder = new RequestDelayRecorder();
+        final int numberOfThreads = 8;
+        final int requestsPerThread = 10000;
+        recorder.recordRequest(0);
+        Thread[] threads = new Thread[numberOfThreads];
+        for (int t = 0; t < numberOfThreads; ++t) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < requestsPerThread; ++i) {
+                    recorder.recordRequest((i * numberOfThreads) + offset + 1);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long numberOfRequests = numberOfThreads * requestsPerThread;
+        Assert.assertEquals("Number of recorded and out of order requests", numberOfRequests,
+                recorder.getCount() + recorder.getOutOfOrderCount());
+        // all times are different, i.e., a late request must not lead to a delay of 0
+        Assert.assertTrue("Minimum delay " + recorder.getMinDelay(), recorder.getMinDelay() >= 1);
+        // the sum of all delays is the time between the first and the last request
+        Assert.assertEquals("Average delay", ((double) numberOfRequests) / recorder.getCount(),
+                recorder.getAverageDelay(), 0.000001);
+    }
+
+    @Test
+    public void testMultipleThreadsWithClock() throws InterruptedException {
+        RequestDelayRecorder recorder = new RequestDelayRecorder();
+        final int numberOfThreads = 8;
+        final int requestsPerThread = 200;
+        long start = System.currentTimeMillis();
+        Thread[] threads = new Thread[numberOfThreads];
+        for (int t = 0; t < numberOfThreads; ++t) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < requestsPerThread; ++i) {
+                    recorder.recordRequest();
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long end = System.currentTimeMillis();
+        long numberOfRequests = numberOfThreads * requestsPerThread;
+        // the requests are recorded in the order of their times
+        Assert.assertEquals("Out of order requests", 0, recorder.getOutOfOrderCount());
+        Assert.assertEquals("Number of delays", numberOfRequests - 1, recorder.getCount());
+        Assert.assertTrue("Minimum delay", recorder.getMinDelay() >= 0);
+        Assert.assertTrue("Maximum delay", recorder.getMaxDelay() <= (end - start));
+        // the sum of all delays is at most the time of the test
+        Assert.assertTrue("Average delay " + recorder.getAverageDelay(),
+                (recorder.getAverageDelay() * recorder.getCount()) <= (end - start));
+    }
+
+    @Test
+    public void testAdd() {
+        RequestDelayRecorder recorder1 = new RequestDelayRecorder();
+        RequestDelayRecorder recorder2 = new RequestDelayRecorder();
+        RequestDelayRecorder expected = new RequestDelayRecorder();
+        for (long delay : Arrays.asList(10L, 20L, 30L)) {
+            recorder1.recordDelay(delay);
+            expected.recordDelay(delay);
+        }
+        for (long delay : Arrays.asList(5L, 200L)) {
+            recorder2.recordDelay(delay);
+            expected.recordDelay(delay);
+        }
+        recorder1.add(recorder2);
+        Assert.assertEquals("Number of delays", expected.getCount(), recorder1.getCount());
+        Assert.assertEquals("Minimum delay", expected.getMinDelay(), recorder1.getMinDelay());
+        Assert.assertEquals("Maximum delay", expected.getMaxDelay(), recorder1.getMaxDelay());
+        Assert.assertEquals("Average delay", expected.getAverageDelay(), recorder1.getAverageDelay(), 0.000001);
+        Assert.assertEquals("Median delay", expected.getDelayAtPercentile(50), recorder1.getDelayAtPercentile(50));
+    }
+}
@@ -0,0 +1,92 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.simpleframework.http.Request;
+import org.simpleframework.http.Response;
+
+public class RequestRouterTest {
+
+    @Test
+    public void testPathsAndFallbacks() {
+        CrawleableResource robots = new TestResource(Collections.singleton("/robots.txt"), Collections.emptySet());
+        CrawleableResource disallowed = new TestResource(new HashSet<>(Arrays.asList("/a", "/b")),
+                Collections.emptySet());
+        CrawleableResource fallback = new FallbackResource();
+        CrawleableResource files = new TestResource(new HashSet<>(Arrays.asList("/b", "/c")), Collections.emptySet());
+        RequestRouter router = new RequestRouter(robots, disallowed, fallback, files);
+
+        Assert.assertArrayEquals("Candidates of /robots.txt", new CrawleableResource[] { robots, fallback },
+                router.route("/robots.txt"));
+        Assert.assertArrayEquals("Candidates of /a", new CrawleableResource[] { disallowed, fallback },
+                router.route("/a"));
+        Assert.assertArrayEquals("Candidates of /b", new CrawleableResource[] { disallowed, fallback, files },
+                router.route("/b"));
+        Assert.assertArrayEquals("Candidates of /c", new CrawleableResource[] { fallback, files },
+                router.route("/c"));
+        Assert.assertArrayEquals("Candidates of an unknown path", new CrawleableResource[] { fallback },
+                router.route("/dataset-0/resource-1"));
+    }
+
+    @Test
+    public void testPrefixes() {
+        CrawleableResource robots = new TestResource(Collections.singleton("/robots.txt"), Collections.emptySet());
+        CrawleableResource dataset = new TestResource(Collections.emptySet(), Collections.singleton("/dataset-"));
+        CrawleableResource dataset1 = new TestResource(Collections.singleton("/other"),
+                Collections.singleton("/dataset-1/"));
+        CrawleableResource root = new TestResource(Collections.emptySet(), Collections.singleton(""));
+        RequestRouter router = new RequestRouter(robots, dataset, dataset1, root);
+
+        Assert.assertArrayEquals("Candidates of /robots.txt", new CrawleableResource[] { robots, root },
+                router.route("/robots.txt"));
+        Assert.assertArrayEquals("Candidates of /dataset-0/resource-1", new CrawleableResource[] { dataset, root },
+                router.route("/dataset-0/resource-1"));
+        Assert.assertArrayEquals("Candidates of /dataset-1/resource-1",
+                new CrawleableResource[] { dataset, dataset1, root }, router.route("/dataset-1/resource-1"));
+        Assert.assertArrayEquals("Candidates of /dataset-1", new CrawleableResource[] { dataset, root },
+                router.route("/dataset-1"));
+        Assert.assertArrayEquals("Candidates of /other", new CrawleableResource[] { dataset1, root },
+                router.route("/other"));
+        Assert.assertArrayEquals("Candidates of /unknown", new CrawleableResource[] { root },
+                router.route("/unknown"));
+    }
+
+    @Test
+    public void testEmpty() {
+        RequestRouter router = new RequestRouter();
+        Assert.assertEquals("Number of candidates", 0, router.route("/robots.txt").length);
+    }
+
+    protected static class FallbackResource implements CrawleableResource {
+        @Override
+        public boolean handleRequest(Request request, Response response, OutputStream out) {
+            return false;
+        }
+    }
+
+    protected static class TestResource extends FallbackResource implements RoutableResource {
+        private final Set<String> paths;
+        private final Set<String> prefixes;
+
+        public TestResource(Set<String> paths, Set<String> prefixes) {
+            this.paths = paths;
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        public Set<String> getPaths() {
+            return paths;
+        }
+
+        @Override
+        public Set<String> getPathPrefixes() {
+            return prefixes;
+        }
+    }
+}
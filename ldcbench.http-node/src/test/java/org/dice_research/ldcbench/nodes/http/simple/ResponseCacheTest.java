@@ -0,0 +1,189 @@
+package org.dice_research.ldcbench.nodes.http.simple;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.jena.riot.Lang;
+import org.dice_research.ldcbench.nodes.http.simple.encoding.ContentEncoding;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResponseCacheTest {
+
+    private static byte[] read(ByteBuffer buffer) {
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    @Test
+    public void testGetAndPut() {
+        ResponseCache cache = new ResponseCache(100);
+        Assert.assertNull("Document before adding it", cache.get(0, 1, Lang.TURTLE));
+        Assert.assertTrue(cache.put(0, 1, Lang.TURTLE, new byte[] { 1, 2, 3 }));
+        Assert.assertArrayEquals("Cached document", new byte[] { 1, 2, 3 }, read(cache.get(0, 1, Lang.TURTLE)));
+        // reading a document must not change the cached document
+        Assert.assertArrayEquals("Cached document", new byte[] { 1, 2, 3 }, read(cache.get(0, 1, Lang.TURTLE)));
+        Assert.assertNull("Other serialization", cache.get(0, 1, Lang.NTRIPLES));
+        Assert.assertNull("Other dataset", cache.get(1, 1, Lang.TURTLE));
+        Assert.assertEquals("Hits", 2, cache.getHits());
+        Assert.assertEquals("Misses", 3, cache.getMisses());
+        Assert.assertEquals("Size", 3, cache.size());
+    }
+
+    @Test
+    public void testEviction() {
+        ResponseCache cache = new ResponseCache(30, 10);
+        cache.put(0, 0, Lang.TURTLE, new byte[10]);
+        cache.put(0, 1, Lang.TURTLE, new byte[10]);
+        cache.put(0, 2, Lang.TURTLE, new byte[10]);
+        // use the first document to make the second one the least recently used
+        cache.get(0, 0, Lang.TURTLE);
+        cache.put(0, 3, Lang.TURTLE, new byte[10]);
+        Assert.assertEquals("Size", 30, cache.size());
+        Assert.assertEquals("Evictions", 1, cache.getEvictions());
+        Assert.assertNotNull("Recently used document", cache.get(0, 0, Lang.TURTLE));
+        Assert.assertNull("Least recently used document", cache.get(0, 1, Lang.TURTLE));
+        Assert.assertNotNull(cache.get(0, 2, Lang.TURTLE));
+        Assert.assertNotNull(cache.get(0, 3, Lang.TURTLE));
+    }
+
+    @Test
+    public void testTooLargeDocument() {
+        ResponseCache cache = new ResponseCache(10);
+        cache.put(0, 0, Lang.TURTLE, new byte[5]);
+        Assert.assertFalse("Document larger than the cache", cache.put(0, 1, Lang.TURTLE, new byte[11]));
+        Assert.assertEquals("Size", 5, cache.size());
+        Assert.assertNotNull(cache.get(0, 0, Lang.TURTLE));
+    }
+
+    @Test
+    public void testBlocks() {
+        ResponseCache cache = new ResponseCache(100, 10);
+        byte[] data = new byte[25];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) i;
+        }
+        Assert.assertTrue(cache.put(0, 0, Lang.TURTLE, data));
+        Assert.assertArrayEquals("Document spanning several blocks", data, read(cache.get(0, 0, Lang.TURTLE)));
+        Assert.assertEquals("Size", 25, cache.size());
+        // the rest of the last block is counted in the budget
+        Assert.assertEquals("Occupied bytes", 30, cache.getOccupiedBytes());
+        Assert.assertEquals("Allocated bytes", 100, cache.getAllocatedBytes());
+
+        // 8 documents with 10 bytes do not fit into the 7 remaining blocks
+        for (int i = 1; i <= 8; ++i) {
+            Assert.assertTrue(cache.put(0, i, Lang.TURTLE, new byte[10]));
+        }
+        Assert.assertEquals("Evictions", 1, cache.getEvictions());
+        // the first document has been read, i.e., it gets a second chance
+        Assert.assertNotNull("Recently used document", cache.get(0, 0, Lang.TURTLE));
+        Assert.assertNull("Evicted document", cache.get(0, 1, Lang.TURTLE));
+        Assert.assertEquals("Occupied bytes", 100, cache.getOccupiedBytes());
+        Assert.assertEquals("Allocated bytes", 100, cache.getAllocatedBytes());
+        Assert.assertFalse("Document that is already cached", cache.put(0, 2, Lang.TURTLE, new byte[10]));
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        ResponseCache cache = new ResponseCache(100, 10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertFalse("Document before adding it", cache.write(0, 0, Lang.TURTLE, ContentEncoding.GZIP, out));
+        Assert.assertEquals("Written bytes of a miss", 0, out.size());
+        byte[] data = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+        cache.put(0, 0, Lang.TURTLE, ContentEncoding.GZIP, data);
+        Assert.assertTrue(cache.write(0, 0, Lang.TURTLE, ContentEncoding.GZIP, out));
+        Assert.assertArrayEquals("Written document", data, out.toByteArray());
+        Assert.assertEquals("Hits", 1, cache.getHits());
+        Assert.assertEquals("Misses", 1, cache.getMisses());
+    }
+
+    @Test
+    public void testPinnedDocumentIsNotEvicted() throws IOException {
+        ResponseCache cache = new ResponseCache(10, 10);
+        byte[] data = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        cache.put(0, 0, Lang.TURTLE, data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean[] added = new boolean[1];
+        // add another document while the first document is written
+        cache.write(0, 0, Lang.TURTLE, ContentEncoding.IDENTITY, new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                added[0] = cache.put(0, 1, Lang.TURTLE, new byte[10]);
+                out.write(b, off, len);
+            }
+        });
+        Assert.assertFalse("Document that needs the blocks of a pinned document", added[0]);
+        Assert.assertArrayEquals("Written document", data, out.toByteArray());
+        Assert.assertEquals("Evictions", 0, cache.getEvictions());
+        // after writing, the document can be evicted
+        Assert.assertTrue(cache.put(0, 1, Lang.TURTLE, new byte[10]));
+        Assert.assertNull("Evicted document", cache.get(0, 0, Lang.TURTLE));
+    }
+
+    @Test
+    public void testClear() {
+        ResponseCache cache = new ResponseCache(100, 10);
+        cache.put(0, 0, Lang.TURTLE, new byte[15]);
+        cache.put(0, 1, Lang.TURTLE, new byte[10]);
+        cache.clear();
+        Assert.assertEquals("Size", 0, cache.size());
+        Assert.assertEquals("Occupied bytes", 0, cache.getOccupiedBytes());
+        Assert.assertNull(cache.get(0, 0, Lang.TURTLE));
+        Assert.assertTrue(cache.put(0, 0, Lang.TURTLE, new byte[15]));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final int numberOfDocuments = 200;
+        // only a part of the documents fits into the cache
+        ResponseCache cache = new ResponseCache(2000, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                final long seed = t;
+                results.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    int hits = 0;
+                    for (int i = 0; i < 20000; ++i) {
+                        int node = random.nextInt(numberOfDocuments);
+                        byte[] expected = new byte[1 + (node % 50)];
+                        Arrays.fill(expected, (byte) node);
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        if (cache.write(0, node, Lang.TURTLE, ContentEncoding.IDENTITY, out)) {
+                            Assert.assertArrayEquals("Document " + node, expected, out.toByteArray());
+                            ++hits;
+                        } else {
+                            cache.put(0, node, Lang.TURTLE, expected);
+                        }
+                    }
+                    return hits;
+                }));
+            }
+            int hits = 0;
+            for (Future<Integer> result : results) {
+                hits += result.get();
+            }
+            Assert.assertEquals("Hits", hits, cache.getHits());
+            Assert.assertTrue("Occupied bytes within the capacity", cache.getOccupiedBytes() <= cache.getCapacity());
+            Assert.assertTrue("Evictions", cache.getEvictions() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.dice_research.ldcbench.nodes.http.simple.dump;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteRangeTest {
+
+    private static final long LENGTH = 10000;
+
+    @Test
+    public void testSingleRanges() {
+        Assert.assertEquals("First 500 bytes", Arrays.asList(new ByteRange(0, 499)),
+                ByteRange.parse("bytes=0-499", LENGTH));
+        Assert.assertEquals("Second 500 bytes", Arrays.asList(new ByteRange(500, 999)),
+                ByteRange.parse("bytes=500-999", LENGTH));
+        Assert.assertEquals("Open range", Arrays.asList(new ByteRange(9500, 9999)),
+                ByteRange.parse("bytes=9500-", LENGTH));
+        Assert.assertEquals("Suffix range", Arrays.asList(new ByteRange(9500, 9999)),
+                ByteRange.parse("bytes=-500", LENGTH));
+        Assert.assertEquals("Suffix range larger than the file", Arrays.asList(new ByteRange(0, 9999)),
+                ByteRange.parse("bytes=-20000", LENGTH));
+        Assert.assertEquals("Range exceeding the file", Arrays.asList(new ByteRange(9000, 9999)),
+                ByteRange.parse("bytes=9000-20000", LENGTH));
+        Assert.assertEquals("Single byte", Arrays.asList(new ByteRange(0, 0)), ByteRange.parse(" bytes = 0-0 ", LENGTH));
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        Assert.assertEquals("First and last byte", Arrays.asList(new ByteRange(0, 0), new ByteRange(9999, 9999)),
+                ByteRange.parse("bytes=0-0,-1", LENGTH));
+        Assert.assertEquals("Ranges with white spaces",
+                Arrays.asList(new ByteRange(500, 600), new ByteRange(601, 999)),
+                ByteRange.parse("bytes=500-600, 601-999", LENGTH));
+        // unsatisfiable ranges are skipped
+        Assert.assertEquals("Partially satisfiable", Arrays.asList(new ByteRange(0, 9)),
+                ByteRange.parse("bytes=0-9,20000-30000", LENGTH));
+    }
+
+    @Test
+    public void testUnsatisfiableRanges() {
+        Assert.assertEquals("Range after the end of the file", Collections.emptyList(),
+                ByteRange.parse("bytes=10000-", LENGTH));
+        Assert.assertEquals("Empty suffix", Collections.emptyList(), ByteRange.parse("bytes=-0", LENGTH));
+        Assert.assertEquals("Empty file", Collections.emptyList(), ByteRange.parse("bytes=0-10", 0));
+    }
+
+    @Test
+    public void testIgnoredHeaders() {
+        Assert.assertNull("Missing header", ByteRange.parse(null, LENGTH));
+        Assert.assertNull("Unknown unit", ByteRange.parse("items=0-10", LENGTH));
+        Assert.assertNull("Missing unit", ByteRange.parse("0-10", LENGTH));
+        Assert.assertNull("Missing dash", ByteRange.parse("bytes=10", LENGTH));
+        Assert.assertNull("Missing positions", ByteRange.parse("bytes=-", LENGTH));
+        Assert.assertNull("Last before first", ByteRange.parse("bytes=500-100", LENGTH));
+        Assert.assertNull("No number", ByteRange.parse("bytes=a-100", LENGTH));
+        StringBuilder header = new StringBuilder("bytes=0-0");
+        for (int i = 1; i <= ByteRange.MAX_NUMBER_OF_RANGES; ++i) {
+            header.append(',').append(i).append('-').append(i);
+        }
+        Assert.assertNull("Too many ranges", ByteRange.parse(header.toString(), LENGTH));
+    }
+
+    @Test
+    public void testContentRange() {
+        Assert.assertEquals("bytes 0-499/10000", new ByteRange(0, 499).toContentRange(LENGTH));
+        Assert.assertEquals("Length of a range", 500, new ByteRange(0, 499).getLength());
+    }
+}
@@ -0,0 +1,228 @@
+package org.dice_research.ldcbench.nodes.http.simple.dump;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHeaders;
+import org.dice_research.ldcbench.nodes.http.simple.CrawleableResourceContainer;
+import org.dice_research.ldcbench.nodes.http.simple.server.HttpServerBackend;
+import org.dice_research.ldcbench.nodes.http.simple.server.SimpleServerBackend;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DumpFileResourceTest {
+
+    private static final String DUMP_PATH = "/dumpFile.nt";
+
+    private static File dumpFile;
+    private static byte[] content;
+    private static DumpFileResource resource;
+    private static HttpServerBackend backend;
+    private static String url;
+
+    @BeforeClass
+    public static void createFileAndStartServer() throws IOException {
+        content = new byte[100000];
+        new Random(42).nextBytes(content);
+        dumpFile = File.createTempFile("ldcbench-test", ".dump");
+        Files.write(dumpFile.toPath(), content);
+        resource = new DumpFileResource(DUMP_PATH, "application/n-triples", dumpFile);
+        backend = new SimpleServerBackend();
+        InetSocketAddress address = (InetSocketAddress) backend.start(new CrawleableResourceContainer(resource),
+                new InetSocketAddress("localhost", 0));
+        url = "http://localhost:" + address.getPort() + DUMP_PATH;
+    }
+
+    @AfterClass
+    public static void stopServerAndDeleteFile() throws IOException {
+        backend.close();
+        dumpFile.delete();
+    }
+
+    @Test
+    public void testTransferToStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FileChannel file = FileChannel.open(dumpFile.toPath(), StandardOpenOption.READ)) {
+            DumpFileResource.transfer(file, 0, content.length, Channels.newChannel(out));
+            DumpFileResource.transfer(file, 1000, 500, Channels.newChannel(out));
+        }
+        byte[] expected = new byte[content.length + 500];
+        System.arraycopy(content, 0, expected, 0, content.length);
+        System.arraycopy(content, 1000, expected, content.length, 500);
+        Assert.assertArrayEquals("Transferred bytes", expected, out.toByteArray());
+    }
+
+    @Test
+    public void testTransferToFile() throws IOException {
+        File target = File.createTempFile("ldcbench-test", ".dump");
+        try {
+            try (FileChannel file = FileChannel.open(dumpFile.toPath(), StandardOpenOption.READ);
+                    FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+                DumpFileResource.transfer(file, 99000, 1000, out);
+            }
+            Assert.assertArrayEquals("Transferred bytes", Arrays.copyOfRange(content, 99000, 100000),
+                    Files.readAllBytes(target.toPath()));
+        } finally {
+            target.delete();
+        }
+    }
+
+    @Test
+    public void testMultipleRanges() throws IOException {
+        ByteRange range1 = new ByteRange(0, 9);
+        ByteRange range2 = new ByteRange(99990, 99999);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long length;
+        try (FileChannel file = FileChannel.open(dumpFile.toPath(), StandardOpenOption.READ)) {
+            length = resource.writeRanges(file, Arrays.asList(range1, range2), "application/n-triples",
+                    Channels.newChannel(out));
+            Assert.assertEquals("Length without writing", length,
+                    resource.writeRanges(file, Arrays.asList(range1, range2), "application/n-triples", null));
+        }
+        byte[] body = out.toByteArray();
+        Assert.assertEquals("Length of the body", length, body.length);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(("\r\n--" + resource.boundary + "\r\nContent-Type: application/n-triples\r\n"
+                + "Content-Range: bytes 0-9/100000\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        expected.write(content, 0, 10);
+        expected.write(("\r\n--" + resource.boundary + "\r\nContent-Type: application/n-triples\r\n"
+                + "Content-Range: bytes 99990-99999/100000\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        expected.write(content, 99990, 10);
+        expected.write(("\r\n--" + resource.boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        Assert.assertArrayEquals("Multipart body", expected.toByteArray(), body);
+    }
+
+    @Test
+    public void testETag() {
+        Assert.assertTrue("Strong ETag " + resource.getETag(),
+                resource.getETag().startsWith("\"") && resource.getETag().endsWith("\""));
+        Assert.assertEquals("ETag of the same file", resource.getETag(),
+                new DumpFileResource(DUMP_PATH, "application/n-triples", dumpFile).getETag());
+    }
+
+    @Test
+    public void testCompleteFile() throws IOException {
+        HttpURLConnection connection = request("GET");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertEquals("Content-Type", "application/n-triples",
+                connection.getHeaderField(HttpHeaders.CONTENT_TYPE));
+        Assert.assertEquals("Content-Length", Integer.toString(content.length),
+                connection.getHeaderField(HttpHeaders.CONTENT_LENGTH));
+        Assert.assertEquals("ETag", resource.getETag(), connection.getHeaderField(HttpHeaders.ETAG));
+        Assert.assertEquals("Accept-Ranges", ByteRange.BYTES_UNIT,
+                connection.getHeaderField(HttpHeaders.ACCEPT_RANGES));
+        Assert.assertArrayEquals("Body", content, readBody(connection));
+    }
+
+    @Test
+    public void testSingleRange() throws IOException {
+        HttpURLConnection connection = request("GET", HttpHeaders.RANGE, "bytes=1000-1499");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_PARTIAL, connection.getResponseCode());
+        Assert.assertEquals("Content-Range", "bytes 1000-1499/100000",
+                connection.getHeaderField(HttpHeaders.CONTENT_RANGE));
+        Assert.assertArrayEquals("Body", Arrays.copyOfRange(content, 1000, 1500), readBody(connection));
+
+        // a suffix range
+        connection = request("GET", HttpHeaders.RANGE, "bytes=-100");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_PARTIAL, connection.getResponseCode());
+        Assert.assertEquals("Content-Range", "bytes 99900-99999/100000",
+                connection.getHeaderField(HttpHeaders.CONTENT_RANGE));
+        Assert.assertArrayEquals("Body", Arrays.copyOfRange(content, 99900, 100000), readBody(connection));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() throws IOException {
+        HttpURLConnection connection = request("GET", HttpHeaders.RANGE, "bytes=200000-");
+        Assert.assertEquals("Status", 416, connection.getResponseCode());
+        Assert.assertEquals("Content-Range", "bytes */100000", connection.getHeaderField(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void testNotModified() throws IOException {
+        HttpURLConnection connection = request("GET", HttpHeaders.IF_NONE_MATCH, resource.getETag());
+        Assert.assertEquals("Status with matching ETag", HttpURLConnection.HTTP_NOT_MODIFIED,
+                connection.getResponseCode());
+        connection = request("GET", HttpHeaders.IF_NONE_MATCH, "\"other\"");
+        Assert.assertEquals("Status with other ETag", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertArrayEquals("Body", content, readBody(connection));
+
+        connection = request("GET");
+        connection.setIfModifiedSince(dumpFile.lastModified());
+        Assert.assertEquals("Status if not modified since the last modification",
+                HttpURLConnection.HTTP_NOT_MODIFIED, connection.getResponseCode());
+        connection = request("GET");
+        connection.setIfModifiedSince(dumpFile.lastModified() - 60000);
+        Assert.assertEquals("Status if modified since an earlier time", HttpURLConnection.HTTP_OK,
+                connection.getResponseCode());
+        Assert.assertArrayEquals("Body", content, readBody(connection));
+    }
+
+    @Test
+    public void testHead() throws IOException {
+        HttpURLConnection connection = request("HEAD");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertEquals("Content-Length", Integer.toString(content.length),
+                connection.getHeaderField(HttpHeaders.CONTENT_LENGTH));
+        Assert.assertEquals("Length of the body", 0, readBody(connection).length);
+
+        connection = request("HEAD", HttpHeaders.RANGE, "bytes=0-9");
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_PARTIAL, connection.getResponseCode());
+        Assert.assertEquals("Content-Length", "10", connection.getHeaderField(HttpHeaders.CONTENT_LENGTH));
+        Assert.assertEquals("Length of the body", 0, readBody(connection).length);
+    }
+
+    @Test
+    public void testIfRange() throws IOException {
+        HttpURLConnection connection = request("GET", HttpHeaders.RANGE, "bytes=0-9", HttpHeaders.IF_RANGE,
+                resource.getETag());
+        Assert.assertEquals("Status with matching ETag", HttpURLConnection.HTTP_PARTIAL,
+                connection.getResponseCode());
+        Assert.assertArrayEquals("Body", Arrays.copyOfRange(content, 0, 10), readBody(connection));
+
+        // the range is ignored if the file has changed
+        connection = request("GET", HttpHeaders.RANGE, "bytes=0-9", HttpHeaders.IF_RANGE, "\"other\"");
+        Assert.assertEquals("Status with other ETag", HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        Assert.assertArrayEquals("Body", content, readBody(connection));
+    }
+
+    @Test
+    public void testOtherPath() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url + ".gz").openConnection();
+        Assert.assertEquals("Status", HttpURLConnection.HTTP_NOT_FOUND, connection.getResponseCode());
+    }
+
+    /**
+     * Creates a request for the dump file with the given method and the given
+     * pairs of header names and values.
+     */
+    private static HttpURLConnection request(String method, String... headers) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            connection.setRequestProperty(headers[i], headers[i + 1]);
+        }
+        return connection;
+    }
+
+    private static byte[] readBody(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.dice_research.ldcbench.nodes.http.simple.encoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContentEncodingTest {
+
+    private static final ContentEncoding[] AVAILABLE = new ContentEncoding[] { ContentEncoding.GZIP,
+            ContentEncoding.BROTLI, ContentEncoding.DEFLATE };
+
+    private static ContentEncoding negotiate(String... values) {
+        return ContentEncoding.negotiate(Arrays.asList(values).iterator(), AVAILABLE);
+    }
+
+    @Test
+    public void testNegotiation() {
+        Assert.assertEquals("No header", ContentEncoding.IDENTITY,
+                ContentEncoding.negotiate(Collections.emptyIterator(), AVAILABLE));
+        Assert.assertEquals("No available encodings", ContentEncoding.IDENTITY,
+                ContentEncoding.negotiate(Arrays.asList("gzip").iterator(), new ContentEncoding[0]));
+        Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip"));
+        Assert.assertEquals(ContentEncoding.GZIP, negotiate("x-gzip"));
+        Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("deflate"));
+        Assert.assertEquals(ContentEncoding.BROTLI, negotiate("br"));
+        Assert.assertEquals("Order of the client", ContentEncoding.DEFLATE, negotiate("deflate", "gzip", "br"));
+        Assert.assertEquals("Quality values", ContentEncoding.BROTLI,
+                negotiate("gzip;q=0.5", "deflate; q=0.8", "br;q=1.0"));
+        Assert.assertEquals("Unknown encoding", ContentEncoding.IDENTITY, negotiate("compress"));
+        Assert.assertEquals("Rejected encoding", ContentEncoding.IDENTITY, negotiate("gzip;q=0"));
+        Assert.assertEquals("Wildcard", ContentEncoding.GZIP, negotiate("*"));
+        Assert.assertEquals("Wildcard with rejected encoding", ContentEncoding.BROTLI, negotiate("gzip;q=0", "*"));
+        Assert.assertEquals("Wildcard with lower quality", ContentEncoding.DEFLATE,
+                negotiate("*;q=0.1", "deflate"));
+        Assert.assertEquals("Identity", ContentEncoding.IDENTITY, negotiate("identity"));
+    }
+
+    @Test
+    public void testExcludedIdentity() {
+        Assert.assertEquals("Excluded identity with accepted encoding", ContentEncoding.GZIP,
+                negotiate("identity;q=0", "gzip"));
+        Assert.assertNull("Excluded identity", negotiate("identity;q=0", "compress"));
+        Assert.assertNull("Excluded identity without available encodings",
+                ContentEncoding.negotiate(Arrays.asList("identity;q=0").iterator(), new ContentEncoding[0]));
+        Assert.assertNull("Identity excluded by the wildcard", negotiate("*;q=0"));
+        Assert.assertEquals("Identity accepted besides the wildcard", ContentEncoding.IDENTITY,
+                negotiate("*;q=0", "identity"));
+        Assert.assertEquals("Rejected encoding with wildcard", ContentEncoding.BROTLI,
+                negotiate("gzip;q=0", "*;q=0.5"));
+    }
+
+    @Test
+    public void testParseList() {
+        Assert.assertArrayEquals("Parsed encodings",
+                new ContentEncoding[] { ContentEncoding.DEFLATE, ContentEncoding.GZIP },
+                ContentEncoding.parseList("deflate, gzip,unknown,gzip"));
+        Assert.assertArrayEquals("Parsed empty list", new ContentEncoding[0], ContentEncoding.parseList(""));
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        byte[] data = createData();
+        for (int i = 0; i < 3; ++i) {
+            byte[] encoded = ContentEncoding.GZIP.encode(data);
+            Assert.assertTrue("Data has not been compressed", encoded.length < data.length);
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+                Assert.assertArrayEquals("Decoded data of run " + i, data, IOUtils.toByteArray(in));
+            }
+        }
+    }
+
+    @Test
+    public void testDeflate() throws IOException {
+        byte[] data = createData();
+        for (int i = 0; i < 3; ++i) {
+            byte[] encoded = ContentEncoding.DEFLATE.encode(data);
+            Assert.assertTrue("Data has not been compressed", encoded.length < data.length);
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(encoded))) {
+                Assert.assertArrayEquals("Decoded data of run " + i, data, IOUtils.toByteArray(in));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamDoesNotCloseUnderlyingStream() throws IOException {
+        final boolean[] closed = new boolean[1];
+        ByteArrayOutputStream bout = new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+            }
+        };
+        for (ContentEncoding encoding : new ContentEncoding[] { ContentEncoding.IDENTITY, ContentEncoding.GZIP,
+                ContentEncoding.DEFLATE }) {
+            try (OutputStream out = encoding.createStream(bout)) {
+                out.write(1);
+            }
+            Assert.assertFalse("Stream of " + encoding + " closed the underlying stream", closed[0]);
+        }
+    }
+
+    @Test
+    public void testDeflaterPool() throws IOException {
+        DeflaterPool pool = new DeflaterPool(ContentEncoding.DEFLATE_LEVEL, true, 1);
+        OutputStream out1 = new PooledDeflaterOutputStream(new ByteArrayOutputStream(), pool, true);
+        OutputStream out2 = new PooledDeflaterOutputStream(new ByteArrayOutputStream(), pool, true);
+        Assert.assertEquals("Idle deflaters", 0, pool.getIdleCount());
+        out1.close();
+        out2.close();
+        // the second deflater exceeds the maximum number of idle deflaters
+        Assert.assertEquals("Idle deflaters", 1, pool.getIdleCount());
+    }
+
+    @Test
+    public void testDeflaterKeptIfHeaderFails() throws IOException {
+        DeflaterPool pool = new DeflaterPool(ContentEncoding.DEFLATE_LEVEL, true);
+        new PooledDeflaterOutputStream(new ByteArrayOutputStream(), pool, true).close();
+        Assert.assertEquals("Idle deflaters", 1, pool.getIdleCount());
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection closed.");
+            }
+        };
+        try {
+            new PooledDeflaterOutputStream(failing, pool, true);
+            Assert.fail("The gzip header has been written to a failing stream");
+        } catch (IOException e) {
+            // expected
+        }
+        Assert.assertEquals("Idle deflaters after the failed header", 1, pool.getIdleCount());
+    }
+
+    private static byte[] createData() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            builder.append("<http://domain0.org/dataset-0/resource-").append(i)
+                    .append("> <http://domain0.org/dataset-0/property-0> <http://domain0.org/dataset-0/resource-")
+                    .append(i + 1).append("> .\n");
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
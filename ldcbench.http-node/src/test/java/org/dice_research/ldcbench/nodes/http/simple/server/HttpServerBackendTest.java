@@ -0,0 +1,79 @@
+package org.dice_research.ldcbench.nodes.http.simple.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.IOUtils;
+import org.dice_research.ldcbench.nodes.http.simple.CrawleableResourceContainer;
+import org.dice_research.ldcbench.nodes.http.simple.StringResource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class HttpServerBackendTest {
+
+    private static final String CONTENT = "Hello crawler!";
+
+    @Parameters
+    public static List<Object[]> testCases() {
+        return Arrays.asList(new Object[][] { { new SimpleServerBackend() }, { new SimpleServerBackend(1) },
+                { new ElasticServerBackend() }, { new ElasticServerBackend(2) } });
+    }
+
+    private HttpServerBackend backend;
+
+    public HttpServerBackendTest(HttpServerBackend backend) {
+        this.backend = backend;
+    }
+
+    @Test
+    public void test() throws Exception {
+        CrawleableResourceContainer container = new CrawleableResourceContainer(
+                new StringResource(r -> r.getPath().toString().equals("/test"), CONTENT));
+        try {
+            InetSocketAddress address = (InetSocketAddress) backend.start(container,
+                    new InetSocketAddress("localhost", 0));
+            String url = "http://localhost:" + address.getPort();
+            // send several requests in parallel
+            ExecutorService clients = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<String>> futures = new ArrayList<>();
+                for (int i = 0; i < 32; ++i) {
+                    futures.add(clients.submit(() -> request(url + "/test", HttpURLConnection.HTTP_OK)));
+                }
+                for (Future<String> future : futures) {
+                    Assert.assertEquals("Content of the response", CONTENT, future.get());
+                }
+            } finally {
+                clients.shutdownNow();
+            }
+            request(url + "/unknown", HttpURLConnection.HTTP_NOT_FOUND);
+        } finally {
+            backend.close();
+        }
+    }
+
+    private static String request(String url, int expectedStatus) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        Assert.assertEquals("Status of " + url, expectedStatus, connection.getResponseCode());
+        if (expectedStatus != HttpURLConnection.HTTP_OK) {
+            return null;
+        }
+        try (InputStream in = connection.getInputStream()) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.dice_research.ldcbench.nodes.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.dice_research.ldcbench.graph.Graph;
+import org.dice_research.ldcbench.graph.GraphBuilder;
+import org.dice_research.ldcbench.graph.GrphBasedGraph;
+import org.dice_research.ldcbench.rdf.SimpleTripleCreator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RawTripleWriterTest {
+
+    private static final String[] RESOURCE_URI_TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s",
+            "http://domain1.org/%s-%s/%s-%s", "http://domain2.org/dump.ttl#%s-%s-%s-%s" };
+    private static final String[] ACCESS_URI_TEMPLATES = new String[] { "http://domain0.org/%s-%s/%s-%s",
+            "http://domain1.org:8080/%s-%s/%s-%s", "http://domain2.org/dump.ttl#%s-%s-%s-%s" };
+
+    private static Graph createGraph() {
+        GraphBuilder builder = new GrphBasedGraph();
+        builder.addNodes(6);
+        builder.setGraphIdOfNode(3, 1, 7);
+        builder.setGraphIdOfNode(4, 2, 12345);
+        builder.setGraphIdOfNode(5, -2, 0);
+        builder.addEdge(0, 1, 0);
+        builder.addEdge(0, 1, 10);
+        builder.addEdge(0, 2, 0);
+        builder.addEdge(0, 3, 0);
+        builder.addEdge(0, 4, 1);
+        builder.addEdge(1, 5, 2);
+        builder.addEdge(2, 0, 0);
+        return builder;
+    }
+
+    private static String toNTriples(Triple triple) {
+        return toNTriples(triple.getSubject()) + " " + toNTriples(triple.getPredicate()) + " "
+                + toNTriples(triple.getObject()) + " .\n";
+    }
+
+    private static String toNTriples(Node node) {
+        return "<" + node.getURI() + ">";
+    }
+
+    @Test
+    public void testSameTriplesAsTripleCreator() throws IOException {
+        Graph graph = createGraph();
+        for (int domainId = 0; domainId < RESOURCE_URI_TEMPLATES.length; ++domainId) {
+            SimpleTripleCreator creator = new SimpleTripleCreator(domainId, RESOURCE_URI_TEMPLATES,
+                    ACCESS_URI_TEMPLATES);
+            StringBuilder expected = new StringBuilder();
+            for (int n = 0; n < graph.getNumberOfNodes(); ++n) {
+                int[] targets = graph.outgoingEdgeTargets(n);
+                int[] types = graph.outgoingEdgeTypes(n);
+                for (int e = 0; e < targets.length; ++e) {
+                    expected.append(toNTriples(creator.createTriple(n, types[e], targets[e],
+                            graph.getExternalNodeId(targets[e]), graph.getGraphId(targets[e]))));
+                }
+            }
+
+            RawTripleWriter.Templates templates = RawTripleWriter.compileTemplates(domainId, RESOURCE_URI_TEMPLATES,
+                    ACCESS_URI_TEMPLATES);
+            Assert.assertNotNull("Templates of domain " + domainId, templates);
+            int[] writes = new int[1];
+            ByteArrayOutputStream out = new ByteArrayOutputStream() {
+                @Override
+                public synchronized void write(byte[] b, int off, int len) {
+                    ++writes[0];
+                    super.write(b, off, len);
+                }
+            };
+            // the writer uses a buffer of at least 256 bytes
+            RawTripleWriter writer = new RawTripleWriter(templates, out, 16);
+            for (int n = 0; n < graph.getNumberOfNodes(); ++n) {
+                writer.writeTriples(graph, n);
+            }
+            writer.flush();
+            Assert.assertEquals("Triples of domain " + domainId, expected.toString(),
+                    new String(out.toByteArray(), StandardCharsets.UTF_8));
+            // make sure that the triples do not fit into the buffer, i.e., the
+            // buffer has been flushed while writing
+            Assert.assertTrue("Number of written buffers of domain " + domainId + " (" + out.size() + " bytes)",
+                    writes[0] > 1);
+        }
+    }
+
+    @Test
+    public void testUnsupportedTemplates() {
+        Assert.assertNull("Template with a white space", RawTripleWriter.compileTemplates(0,
+                new String[] { "http://domain0.org/%s %s/%s-%s" }, new String[] { "http://domain0.org/%s-%s/%s-%s" }));
+        Assert.assertNull("Template without node ID", RawTripleWriter.compileTemplates(0,
+                new String[] { "http://domain0.org/%s-%s/%s" }, new String[] { "http://domain0.org/%s-%s/%s-%s" }));
+        Assert.assertNull("Access template with a special character", RawTripleWriter.compileTemplates(0,
+                new String[] { "http://domain0.org/%s-%s/%s-%s" },
+                new String[] { "http://domain0.org/%s-%s/%s-%s", "http://domain1.org/{%s-%s/%s-%s}" }));
+    }
+
+    @Test
+    public void testSupportedLangs() {
+        Assert.assertTrue(RawTripleWriter.isSupported(Lang.NTRIPLES));
+        Assert.assertTrue(RawTripleWriter.isSupported(Lang.TURTLE));
+        Assert.assertTrue(RawTripleWriter.isSupported(Lang.N3));
+        Assert.assertFalse(RawTripleWriter.isSupported(Lang.RDFXML));
+        Assert.assertFalse(RawTripleWriter.isSupported(Lang.JSONLD));
+    }
+}
@@ -58,7 +58,8 @@ public class LemmingBasedBenchmarkController extends BenchmarkController {
             variables = envVariables != null ? Arrays.copyOf(envVariables, envVariables.length + 4) : new String[4];
             variables[variables.length - 4] = "CLASS=" + DATA_GEN_CLASS_NAME;
             variables[variables.length - 3] = FileBasedRDFGraphGenerator.RDF_FILE_LOCATION_KEY + "=" + files[fileId];
-            variables[variables.length - 2] = FileBasedRDFGraphGenerator.RDF_FILE_LANG_KEY + "=TTL";
+            variables[variables.length - 2] = FileBasedRDFGraphGenerator.RDF_FILE_LANG_KEY + "="
+                    + getFileLang(files[fileId]);
             ++fileId;
             // If we have reached the end of the files, start again
             if (fileId == files.length) {
@@ -73,4 +74,21 @@ public class LemmingBasedBenchmarkController extends BenchmarkController {
                 variables);
         dataGenContainers.add(container);
     }
+
+    /**
+     * Determines the serialization of the given file based on its name. N-Triples
+     * files can be parsed by the data generator using several threads.
+     * 
+     * @param file the file generated by Lemming
+     * @return the serialization of the file
+     */
+    protected static String getFileLang(File file) {
+        String name = file.getName().toLowerCase();
+        if (name.endsWith(".nt")) {
+            return "N-TRIPLES";
+        } else if (name.endsWith(".nq")) {
+            return "N-QUADS";
+        }
+        return "TTL";
+    }
 }
@@ -1,7 +1,6 @@
 package org.dice_research.ldcbench.nodes.rabbit;
 
 import java.io.File;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,7 +26,7 @@ private static final Logger LOGGER = LoggerFactory.getLogger(GraphHandler.class)
             super.run();
             if(!encounteredError()) {
                 // FIXME fix usage of file [0]
-                handleData(Files.readAllBytes(new File(receivedFiles[0]).toPath()));
+                handleData(receivedFiles[0]);
             }
         } catch (Exception e) {
             LOGGER.error("Error while reading graph. Increasing error count.", e);
@@ -35,9 +34,9 @@ private static final Logger LOGGER = LoggerFactory.getLogger(GraphHandler.class)
         }
     }
 
-    private void handleData(byte[] data) {
+    private void handleData(String graphFile) {
         try {
-            graphs.add(SerializationHelper.deserialize(data));
+            graphs.add(SerializationHelper.load(new File(graphFile)));
         } catch (Exception e) {
             LOGGER.error("Error while deserializing graph. Increasing error count.", e);
             ++errorCount;
@@ -3,9 +3,7 @@ package org.dice_research.ldcbench.rdfa.node;
 import java.io.File;
 import java.io.IOException;
 import java.net.InetAddress;
-import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
-import java.net.SocketAddress;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -18,15 +16,12 @@ import org.dice_research.ldcbench.nodes.http.simple.FileBasedResource;
 import org.dice_research.ldcbench.nodes.http.simple.SimpleHttpServerComponent;
 import org.dice_research.ldcbench.nodes.rabbit.DataHandler;
 import org.dice_research.ldcbench.rdfa.gen.RDFaDataGenerator;
-import org.dice_research.ldcbench.utils.CloseableHelper;
 import org.dice_research.ldcbench.utils.tar.FileHandler;
 import org.dice_research.ldcbench.utils.tar.SimpleWritingFileHandler;
 import org.dice_research.ldcbench.utils.tar.TarFileReader;
 import org.hobbit.core.rabbit.SimpleFileReceiver;
 import org.hobbit.utils.EnvVariables;
 import org.simpleframework.http.core.Container;
-import org.simpleframework.http.core.ContainerServer;
-import org.simpleframework.transport.connect.SocketConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -111,11 +106,7 @@ public class SimpleRDFaComponent extends SimpleHttpServerComponent {
         // Create container using the file mapping
         Container container = new CrawleableResourceContainer(new FileBasedResource(mapping, "text/html"));
         // Start server
-        
-        server = new ContainerServer(container);
-        connection = new SocketConnection(server);
-        SocketAddress address = new InetSocketAddress(port);
-        connection.connect(address);
+        startServer(container);
     }
 
     protected Map<String, File> createMapping(File contentDir, Set<String> files) throws MalformedURLException {
@@ -197,19 +188,6 @@ public class SimpleRDFaComponent extends SimpleHttpServerComponent {
         return null;
     }
 
-    @Override
-    public void close() throws IOException {
-        CloseableHelper.closeQuietly(connection);
-        try {
-            if (server != null) {
-                server.stop();
-            }
-        } catch (IOException e) {
-            LOGGER.error("Exception while closing server. It will be ignored.", e);
-        }
-        super.close();
-    }
-
     protected Set<String> extractTarFiles(File contentDir) throws IOException {
         TarFileReader reader = new TarFileReader();
         FileHandler handler = new SimpleWritingFileHandler(contentDir.getAbsolutePath());
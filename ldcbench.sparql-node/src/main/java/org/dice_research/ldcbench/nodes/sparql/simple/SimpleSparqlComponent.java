@@ -9,6 +9,7 @@ import static org.hobbit.core.Constants.CONTAINER_TYPE_BENCHMARK;
 
 import org.apache.jena.graph.Triple;
 import org.dice_research.ldcbench.ApiConstants;
+import org.dice_research.ldcbench.graph.EdgeCursor;
 import org.dice_research.ldcbench.graph.Graph;
 import org.dice_research.ldcbench.nodes.components.NodeComponent;
 import org.dice_research.ldcbench.rdf.SimpleTripleCreator;
@@ -62,14 +63,13 @@ public class SimpleSparqlComponent extends NodeComponent implements Component {
         );
 
         int triples = 0;
+        EdgeCursor edges = new EdgeCursor();
         for (Graph graph : graphs) {
             int nodes = graph.getNumberOfNodes();
             for (int node = 0; node < nodes; node++) {
-                int[] types = graph.outgoingEdgeTypes(node);
-                int[] targets = graph.outgoingEdgeTargets(node);
-                int edges = targets.length;
-                for (int edge = 0; edge < edges; edge++) {
-                    Triple t = tripleCreator.createTriple(node, types[edge], targets[edge], graph.getExternalNodeId(targets[edge]), graph.getGraphId(targets[edge]));
+                graph.outgoingEdges(node, edges);
+                while (edges.next()) {
+                    Triple t = tripleCreator.createTriple(node, edges.typeId(), edges.nodeId(), graph.getExternalNodeId(edges.nodeId()), graph.getGraphId(edges.nodeId()));
                     LOGGER.debug("Triple: {}", t);
                     sink.addTriple(uri, t);
                     triples++;